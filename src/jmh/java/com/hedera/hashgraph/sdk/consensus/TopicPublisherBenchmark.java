@@ -0,0 +1,97 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.SimulatedNetwork;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The throughput of {@link TopicPublisher} against a {@link SimulatedNetwork} with a fixed
+ * latency per call and a fraction of calls answered BUSY; compare the settings of the
+ * publisher under the same network conditions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TopicPublisherBenchmark {
+    private static final int MESSAGES = 200;
+
+    private static final ConsensusTopicId TOPIC_ID = new ConsensusTopicId(1000);
+
+    @Param({"1", "20"})
+    public int latencyMillis;
+
+    @Param({"0", "0.05"})
+    public double busyRate;
+
+    @Param({"16", "256"})
+    public int maxInFlight;
+
+    private SimulatedNetwork network;
+
+    private Client client;
+
+    private TopicPublisher publisher;
+
+    @Setup
+    public void setUp() {
+        network = new SimulatedNetwork(4, 1)
+            .setLatency(Duration.ofMillis(latencyMillis))
+            .setBusyRate(busyRate);
+
+        client = network.newClient().setOperator(new AccountId(2), Ed25519PrivateKey.generate());
+
+        publisher = new TopicPublisher(client)
+            .setMaxInFlight(maxInFlight)
+            .setReceiptPollInterval(Duration.ofMillis(latencyMillis));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        publisher.close();
+        client.close();
+        network.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public List<TransactionReceipt> publish() throws Exception {
+        final List<CompletableFuture<TransactionReceipt>> futures = new ArrayList<>(MESSAGES);
+
+        for (int i = 0; i < MESSAGES; i += 1) {
+            futures.add(publisher.publish(TOPIC_ID, "message " + i));
+        }
+
+        final List<TransactionReceipt> receipts = new ArrayList<>(MESSAGES);
+
+        for (CompletableFuture<TransactionReceipt> future : futures) {
+            receipts.add(future.get());
+        }
+
+        return receipts;
+    }
+}
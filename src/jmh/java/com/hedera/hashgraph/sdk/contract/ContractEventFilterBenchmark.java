@@ -0,0 +1,95 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.ContractLoginfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of finding {@code Transfer} events in a result with 16 logs of another event, by
+ * checking every log or by testing the bloom first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractEventFilterBenchmark {
+    private static final int LOGS = 16;
+
+    private final ContractAbi abi = ContractAbi.fromJson("["
+        + "{\"type\": \"event\", \"name\": \"Transfer\", \"inputs\": ["
+        + " {\"name\": \"from\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"to\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"event\", \"name\": \"Approval\", \"inputs\": ["
+        + " {\"name\": \"owner\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\"}]}"
+        + "]");
+
+    private final AbiEvent transfer = abi.getEvent("Transfer");
+
+    private final ContractEventFilter filter = new ContractEventFilter().addEvent(transfer);
+
+    private com.hedera.hashgraph.proto.ContractFunctionResult proto;
+
+    @Setup
+    public void setUp() {
+        final AbiEvent approval = abi.getEvent("Approval");
+        final byte[] bloom = new byte[ContractEventFilter.BLOOM_LEN];
+        final com.hedera.hashgraph.proto.ContractFunctionResult.Builder builder =
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder();
+
+        for (int i = 0; i < LOGS; i += 1) {
+            final byte[] owner = new byte[AbiEncoder.WORD];
+            owner[AbiEncoder.WORD - 1] = (byte) i;
+
+            builder.addLogInfo(ContractLoginfo.newBuilder()
+                .addTopic(ByteString.copyFrom(approval.topic()))
+                .addTopic(ByteString.copyFrom(owner))
+                .setData(new ContractFunctionParams().addUint256(BigInteger.valueOf(i)).toBytes(null)));
+
+            for (byte[] topic : new byte[][]{approval.topic(), owner}) {
+                for (int bit : ContractEventFilter.bloomBits(topic)) {
+                    bloom[ContractEventFilter.BLOOM_LEN - 1 - (bit >>> 3)] |= 1 << (bit & 7);
+                }
+            }
+        }
+
+        proto = builder.setBloom(ByteString.copyFrom(bloom)).build();
+    }
+
+    @Benchmark
+    public long everyLog() {
+        final ContractFunctionResult result = new ContractFunctionResult(proto);
+        long count = 0;
+
+        for (ContractLogInfo log : result.logs) {
+            if (transfer.matches(log)) {
+                count += transfer.decode(log).size();
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public long filtered() {
+        return filter.decode(new ContractFunctionResult(proto))
+            .mapToLong(event -> event.getValues().size())
+            .sum();
+    }
+}
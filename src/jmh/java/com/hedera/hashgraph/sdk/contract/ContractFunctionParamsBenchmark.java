@@ -0,0 +1,81 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of encoding a call with large array parameters, allocating the result with
+ * {@link ContractFunctionParams#toBytes(String)} or writing into a reused buffer with
+ * {@link ContractFunctionParams#encodeTo(String, ByteBuffer)}, and with the selector of a
+ * {@link ContractFunction} instead of the function name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractFunctionParamsBenchmark {
+    @Param({"10", "1000"})
+    public int length;
+
+    private ContractFunctionParams params;
+
+    private ContractFunction function;
+
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        final BigInteger[] amounts = new BigInteger[length];
+        final byte[][] memos = new byte[length][];
+
+        for (int i = 0; i < length; i += 1) {
+            amounts[i] = BigInteger.valueOf(i).shiftLeft(128);
+            memos[i] = new byte[i % 64];
+            Arrays.fill(memos[i], (byte) i);
+        }
+
+        params = new ContractFunctionParams()
+            .addUint256Array(amounts)
+            .addBytesArray(memos);
+
+        function = ContractFunction.forParams("settle", params);
+        buffer = ByteBuffer.allocate(params.encodedSize("settle"));
+    }
+
+    @Benchmark
+    public ByteString toBytes() {
+        return params.toBytes("settle");
+    }
+
+    @Benchmark
+    public ByteBuffer encodeTo() {
+        buffer.clear();
+        params.encodeTo("settle", buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeToFunction() {
+        buffer.clear();
+        function.encodeTo(params, buffer);
+        return buffer;
+    }
+}
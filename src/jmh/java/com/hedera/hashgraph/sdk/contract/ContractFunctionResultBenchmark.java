@@ -0,0 +1,66 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of decoding a {@code uint256[]} of 1000 elements from a result, into a
+ * {@link BigInteger} per element or into a reused buffer through an {@link AbiArray}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractFunctionResultBenchmark {
+    private static final int LENGTH = 1000;
+
+    private ContractFunctionResult result;
+
+    private final long[] words = new long[LENGTH * 4];
+
+    @Setup
+    public void setUp() {
+        final BigInteger[] values = new BigInteger[LENGTH];
+
+        for (int i = 0; i < LENGTH; i += 1) {
+            values[i] = BigInteger.valueOf(i).shiftLeft(128);
+        }
+
+        result = new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(new ContractFunctionParams()
+                    .addUint256Array(values)
+                    .toBytes(null)));
+    }
+
+    @Benchmark
+    public BigInteger bigIntegers() {
+        final AbiArray array = result.getView().getArray(0);
+        BigInteger sum = BigInteger.ZERO;
+
+        for (int i = 0; i < array.length(); i += 1) {
+            sum = sum.add(array.getUint256(i));
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long[] words() {
+        result.getView().getArray(0).getWords(words, 0);
+        return words;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of PBKDF2 with each implementation: for the seed of a mnemonic (HMAC-SHA512, 2048
+ * iterations), for the key of a keystore (HMAC-SHA256, 262144 iterations), and to decrypt 8
+ * keystores one at a time or with {@link Ed25519PrivateKey#fromKeystores(List, String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Pbkdf2Benchmark {
+    private static final int KEYSTORES = 8;
+
+    private static final String PASSPHRASE = "passphrase";
+
+    @Param({"BOUNCY_CASTLE", "JCA"})
+    public String implementation;
+
+    private Pbkdf2 pbkdf2;
+
+    private final byte[] salt = "salt".getBytes(StandardCharsets.UTF_8);
+
+    private final String mnemonic = Mnemonic.generate().toString();
+
+    private final List<byte[]> keystores = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        pbkdf2 = "JCA".equals(implementation) ? Pbkdf2.JCA : Pbkdf2.BOUNCY_CASTLE;
+        Pbkdf2.setDefault(pbkdf2);
+
+        for (int i = 0; i < KEYSTORES; i += 1) {
+            keystores.add(Ed25519PrivateKey.generate().toKeystore(PASSPHRASE));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Pbkdf2.setDefault(Pbkdf2.JCA.isSupported() ? Pbkdf2.JCA : Pbkdf2.BOUNCY_CASTLE);
+    }
+
+    @Benchmark
+    public byte[] mnemonicSeed() {
+        return pbkdf2.deriveKey(Pbkdf2.Prf.HMAC_SHA512, mnemonic, salt, 2048, 64);
+    }
+
+    @Benchmark
+    public byte[] keystoreKey() {
+        return pbkdf2.deriveKey(Pbkdf2.Prf.HMAC_SHA256, PASSPHRASE, salt, CryptoUtils.ITERATIONS, CryptoUtils.DK_LEN);
+    }
+
+    @Benchmark
+    public Ed25519PrivateKey[] keystoresSequential() {
+        final Ed25519PrivateKey[] keys = new Ed25519PrivateKey[KEYSTORES];
+
+        for (int i = 0; i < KEYSTORES; i += 1) {
+            keys[i] = Ed25519PrivateKey.fromKeystore(keystores.get(i), PASSPHRASE);
+        }
+
+        return keys;
+    }
+
+    @Benchmark
+    public Ed25519PrivateKey[] keystoresParallel() {
+        return Ed25519PrivateKey.fromKeystores(keystores, PASSPHRASE);
+    }
+}
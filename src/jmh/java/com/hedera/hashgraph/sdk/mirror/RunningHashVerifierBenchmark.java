@@ -0,0 +1,68 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.proto.TopicID;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost per message of verifying running hashes; compare with {@link #deduplicateOnly()},
+ * which is the work a subscription does per message without verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunningHashVerifierBenchmark {
+    private static final int MESSAGES = 1000;
+
+    private static final TopicID TOPIC_ID = TopicID.newBuilder().setTopicNum(1000).build();
+
+    private List<ConsensusTopicResponse> chain;
+
+    @Setup
+    public void setUp() throws Exception {
+        chain = RunningHashVerifierTest.chain(MESSAGES, 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public RunningHashVerifier verify() throws TopicIntegrityException {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+
+        for (ConsensusTopicResponse response : chain) {
+            verifier.verify(response);
+        }
+
+        return verifier;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long deduplicateOnly() {
+        long lastSequenceNumber = 0;
+
+        for (ConsensusTopicResponse response : chain) {
+            if (response.getSequenceNumber() > lastSequenceNumber) {
+                lastSequenceNumber = response.getSequenceNumber();
+            }
+        }
+
+        return lastSequenceNumber;
+    }
+}
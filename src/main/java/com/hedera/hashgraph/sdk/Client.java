@@ -16,19 +16,25 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
 /**
  * The Hedera protocol wrapper for the SDK, used by all transaction and query types.
  *
@@ -54,6 +60,8 @@ public final class Client implements AutoCloseable {
     final Random random = new Random();
     private Map<AccountId, Node> nodes;
 
+    private final Function<String, ManagedChannel> channelFactory;
+
     static final long DEFAULT_MAX_TXN_FEE = 100_000_000; // 1 hbar
 
     // todo: transaction fees should be defaulted to whatever the transaction fee schedule is
@@ -72,13 +80,27 @@ public final class Client implements AutoCloseable {
     private TransactionSigner operatorSigner;
 
     public Client(Map<AccountId, String> nodes) {
+        this(nodes, address -> ManagedChannelBuilder.forTarget(address)
+            .usePlaintext()
+            .build());
+    }
+
+    /**
+     * Create a client which opens its channels to the nodes with a custom factory; e.g. to use
+     * gRPC's in-process transport in tests, or to configure TLS or interceptors.
+     *
+     * @param nodes a map of node account ID to node address.
+     * @param channelFactory creates the channel to a node from its address.
+     */
+    public Client(Map<AccountId, String> nodes, Function<String, ManagedChannel> channelFactory) {
         if (nodes.isEmpty()) {
             throw new IllegalArgumentException("List of nodes must not be empty");
         }
 
+        this.channelFactory = channelFactory;
         this.nodes = nodes.entrySet()
             .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, t -> new Node(t.getKey(), t.getValue())));
+            .collect(Collectors.toMap(Map.Entry::getKey, t -> new Node(t.getKey(), t.getValue(), channelFactory)));
     }
 
     /**
@@ -223,7 +245,7 @@ public final class Client implements AutoCloseable {
 
             // replace node
             if (newNodeUrl != null) {
-                return new Node(nodeAcct, newNodeUrl);
+                return new Node(nodeAcct, newNodeUrl, channelFactory);
             }
 
             // make null for removal
@@ -235,7 +257,7 @@ public final class Client implements AutoCloseable {
 
         // add new nodes
         for (Map.Entry<AccountId, String> node : nodes.entrySet()) {
-            this.nodes.put(node.getKey(), new Node(node.getKey(), node.getValue()));
+            this.nodes.put(node.getKey(), new Node(node.getKey(), node.getValue(), channelFactory));
         }
 
         return this;
@@ -361,6 +383,15 @@ public final class Client implements AutoCloseable {
         return maxQueryPayment;
     }
 
+    /**
+     * Get the account IDs of the nodes this client submits transactions and queries to.
+     *
+     * @return a copy of the account IDs.
+     */
+    public List<AccountId> getNodeAccountIds() {
+        return new ArrayList<>(nodes.keySet());
+    }
+
     @Nullable
     public AccountId getOperatorId() {
         return operatorId;
@@ -4,33 +4,34 @@ import com.hedera.hashgraph.sdk.account.AccountId;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 
 class Node {
 
     final AccountId accountId;
     final String address;
 
+    private final Function<String, ManagedChannel> channelFactory;
+
     // volatile is required for correct double-checked locking
     @Nullable
     private volatile ManagedChannel channel = null;
 
-    Node(AccountId accountId, String address) {
+    Node(AccountId accountId, String address, Function<String, ManagedChannel> channelFactory) {
         this.accountId = accountId;
         this.address = address;
+        this.channelFactory = channelFactory;
     }
 
     ManagedChannel getChannel() {
         if (channel == null) {
             synchronized (this) {
                 if (channel == null) {
-                    channel = ManagedChannelBuilder.forTarget(address)
-                        .usePlaintext()
-                        .build();
+                    channel = channelFactory.apply(address);
                 }
             }
         }
@@ -51,7 +52,7 @@ class Node {
     void awaitChannelTermination(long timeout, TimeUnit timeUnit) throws InterruptedException, TimeoutException {
         final ManagedChannel channel = this.channel;
 
-        if (channel != null && channel.shutdown().awaitTermination(timeout, timeUnit)) {
+        if (channel != null && !channel.shutdown().awaitTermination(timeout, timeUnit)) {
             throw new TimeoutException("Timed out waiting for node channel to shutdown: "
                 + accountId + " :: " + address);
         }
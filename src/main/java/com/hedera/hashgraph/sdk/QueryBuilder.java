@@ -47,15 +47,7 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
 
     private Node getNode(Client client) {
         if (nodeId == null && getHeaderBuilder().hasPayment()) {
-            TransactionBody paymentBody;
-
-            try {
-                paymentBody = TransactionBody.parseFrom(getHeaderBuilder().getPayment().getBodyBytes());
-            } catch (InvalidProtocolBufferException e) {
-                throw new RuntimeException("payment transaction was not properly encoded", e);
-            }
-
-            List<AccountAmount> transfers = paymentBody.getCryptoTransfer()
+            List<AccountAmount> transfers = getPaymentBody().getCryptoTransfer()
                 .getTransfers().getAccountAmountsList();
 
             //
@@ -76,6 +68,14 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
         }
     }
 
+    private TransactionBody getPaymentBody() {
+        try {
+            return TransactionBody.parseFrom(getHeaderBuilder().getPayment().getBodyBytes());
+        } catch (InvalidProtocolBufferException e) {
+            throw new RuntimeException("payment transaction was not properly encoded", e);
+        }
+    }
+
     private long getMaxPayment(Client client) {
         if (maxPayment > 0) return maxPayment;
         return client.getMaxQueryPayment();
@@ -87,6 +87,20 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
         return inner.build();
     }
 
+    /**
+     * Sets the account of the node that answers the query; by default a random node of the
+     * client, or the recipient of the payment transaction if one was set. A payment transaction
+     * must be for the same node.
+     *
+     * @return {@code this} for fluent usage.
+     */
+    public T setNodeAccountId(AccountId accountId) {
+        this.nodeId = accountId;
+
+        //noinspection unchecked
+        return (T) this;
+    }
+
     public T setMaxQueryPayment(Hbar maxPayment) {
         this.maxPayment = maxPayment.asTinybar();
 
@@ -194,6 +208,12 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
         final long maxQueryPayment = client.getMaxQueryPayment();
 
         if (!getHeaderBuilder().hasPayment() && isPaymentRequired() && maxQueryPayment > 0) {
+            if (paymentAmount != 0) {
+                generatePayment(client);
+                super.executeAsync(client, timeout, onSuccess, onError);
+                return;
+            }
+
             getCostAsync(client, cost -> {
                 if (cost > maxQueryPayment) {
                     onError.accept(new MaxQueryPaymentExceededException(this, cost, maxQueryPayment));
@@ -201,6 +221,7 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
                 }
                 paymentAmount = cost;
 
+                generatePayment(client);
                 super.executeAsync(client, timeout, onSuccess, onError);
             }, onError);
         } else {
@@ -220,6 +241,13 @@ public abstract class QueryBuilder<Resp, T extends QueryBuilder<Resp, T>> extend
             require(getHeaderBuilder().hasPayment(), ".setPayment() required");
         }
 
+        if (nodeId != null && getHeaderBuilder().hasPayment()) {
+            final AccountId paymentNodeId = new AccountId(getPaymentBody().getNodeAccountID());
+
+            require(paymentNodeId.equals(nodeId), "payment transaction is for node " + paymentNodeId
+                + " but the query is sent to node " + nodeId);
+        }
+
         doValidate();
 
         checkValidationErrors("query builder failed local validation");
@@ -84,6 +84,22 @@ public final class TransactionRecord {
         this.tokenTransfers = tokenTransfers;
     }
 
+    /**
+     * @return whether the record contains a result from
+     * {@link com.hedera.hashgraph.sdk.contract.ContractExecuteTransaction}.
+     */
+    public boolean hasContractExecuteResult() {
+        return inner.hasContractCallResult();
+    }
+
+    /**
+     * @return whether the record contains a result from
+     * {@link com.hedera.hashgraph.sdk.contract.ContractCreateTransaction}.
+     */
+    public boolean hasContractCreateResult() {
+        return inner.hasContractCreateResult();
+    }
+
     /**
      * Record of the value returned by the smart contract function (if it completed and didn't fail)
      * from {@link com.hedera.hashgraph.sdk.contract.ContractExecuteTransaction}.
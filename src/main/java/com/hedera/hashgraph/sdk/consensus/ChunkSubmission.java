@@ -0,0 +1,232 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.HederaNetworkException;
+import com.hedera.hashgraph.sdk.HederaPrecheckStatusException;
+import com.hedera.hashgraph.sdk.HederaStatusException;
+import com.hedera.hashgraph.sdk.HederaThrowable;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.account.AccountId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Submits the chunks of a message concurrently, with at most {@code window} chunks waiting for
+ * their precheck at a time.
+ * <p>
+ * Each chunk is retried on its own: if a node is unreachable or can't take the chunk, only that
+ * chunk is submitted again, to the next node and with the same transaction ID. If the first
+ * node did take it after all, the network rejects the retry as a duplicate, which counts as
+ * accepted.
+ * <p>
+ * Once a chunk fails for good no more chunks are submitted, and the error is reported when the
+ * chunks in flight have completed; the errors of any of those which also failed are attached
+ * to it as suppressed.
+ */
+final class ChunkSubmission {
+    // how long to retry a busy or unavailable node before moving on to the next one
+    static final Duration NODE_RETRY_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Client client;
+
+    // the chunks, without signatures and without a node unless one was chosen by the user
+    private final List<TransactionBody> chunks;
+
+    private final List<AccountId> nodes;
+
+    private final int window;
+
+    private final Consumer<List<TransactionId>> onSuccess;
+
+    private final Consumer<HederaThrowable> onError;
+
+    // the transactions for the first attempt of each chunk, built up front so a chunk which
+    // doesn't validate is thrown from the caller
+    private final Transaction[] firstAttempts;
+
+    // the state below is guarded by `this`
+
+    private final TransactionId[] transactionIds;
+
+    private int nextChunk;
+
+    private int inFlight;
+
+    private int acceptedCount;
+
+    // the first chunk to fail for good
+    @Nullable
+    private Throwable failure;
+
+    ChunkSubmission(
+        Client client,
+        List<TransactionBody> chunks,
+        int window,
+        Consumer<List<TransactionId>> onSuccess,
+        Consumer<HederaThrowable> onError)
+    {
+        if (window < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be >= 1");
+        }
+
+        this.client = client;
+        this.chunks = chunks;
+        this.nodes = client.getNodeAccountIds();
+        this.window = window;
+        this.onSuccess = onSuccess;
+        this.onError = onError;
+        this.firstAttempts = new Transaction[chunks.size()];
+        this.transactionIds = new TransactionId[chunks.size()];
+
+        for (int i = 0; i < firstAttempts.length; i += 1) {
+            firstAttempts[i] = buildChunk(i, 0);
+        }
+    }
+
+    void start() {
+        if (chunks.isEmpty()) {
+            onSuccess.accept(new ArrayList<>());
+            return;
+        }
+
+        submitMore();
+    }
+
+    private void submitMore() {
+        while (true) {
+            final int index;
+
+            synchronized (this) {
+                if (failure != null || nextChunk == chunks.size() || inFlight == window) {
+                    return;
+                }
+
+                index = nextChunk;
+                nextChunk += 1;
+                inFlight += 1;
+            }
+
+            submit(index, 0, firstAttempts[index]);
+        }
+    }
+
+    private void submit(int index, int attempt, Transaction transaction) {
+        transaction.executeAsync(client, NODE_RETRY_TIMEOUT,
+            transactionId -> onAccepted(index, transactionId),
+            error -> onChunkError(index, attempt, transaction.id, error));
+    }
+
+    private void onChunkError(int index, int attempt, TransactionId transactionId, HederaThrowable error) {
+        if (attempt > 0 && error instanceof HederaPrecheckStatusException
+            && ((HederaPrecheckStatusException) error).status == Status.DuplicateTransaction)
+        {
+            // an earlier attempt reached the network after all
+            onAccepted(index, transactionId);
+            return;
+        }
+
+        if (isNodeError(error) && canFailOver(index, attempt)) {
+            final Transaction retry;
+
+            try {
+                retry = buildChunk(index, attempt + 1);
+            } catch (RuntimeException e) {
+                // the chunk built for the first attempt, so this can only be a surprise; report
+                // the error which got us here rather than leave the chunk hanging
+                ((Throwable) error).addSuppressed(e);
+                onFailed(error);
+                return;
+            }
+
+            submit(index, attempt + 1, retry);
+            return;
+        }
+
+        onFailed(error);
+    }
+
+    private void onAccepted(int index, TransactionId transactionId) {
+        final boolean done;
+        @Nullable final Throwable report;
+
+        synchronized (this) {
+            transactionIds[index] = transactionId;
+            inFlight -= 1;
+            acceptedCount += 1;
+
+            report = inFlight == 0 ? failure : null;
+            done = acceptedCount == chunks.size();
+        }
+
+        if (report != null) {
+            onError.accept((HederaThrowable) report);
+        } else if (done) {
+            onSuccess.accept(new ArrayList<>(Arrays.asList(transactionIds)));
+        } else {
+            submitMore();
+        }
+    }
+
+    private void onFailed(HederaThrowable error) {
+        @Nullable final Throwable report;
+
+        synchronized (this) {
+            inFlight -= 1;
+
+            if (failure == null) {
+                failure = (Throwable) error;
+            } else {
+                failure.addSuppressed((Throwable) error);
+            }
+
+            report = inFlight == 0 ? failure : null;
+        }
+
+        if (report != null) {
+            onError.accept((HederaThrowable) report);
+        }
+    }
+
+    private boolean canFailOver(int index, int attempt) {
+        // a node chosen by the user is the only one we may use
+        return !chunks.get(index).hasNodeAccountID() && attempt + 1 < nodes.size();
+    }
+
+    private Transaction buildChunk(int index, int attempt) {
+        final TransactionBody body = chunks.get(index);
+        final ConsensusMessageSubmitTransaction.SingleConsensusMessageSubmitTransaction chunk =
+            new ConsensusMessageSubmitTransaction.SingleConsensusMessageSubmitTransaction(body);
+
+        if (!body.hasNodeAccountID()) {
+            // spread the chunks over the nodes, and move each retry on to the next node
+            chunk.setNodeAccountId(nodes.get((index + attempt) % nodes.size()));
+        }
+
+        return chunk.build(client);
+    }
+
+    private static boolean isNodeError(HederaThrowable error) {
+        if (error instanceof HederaNetworkException) {
+            return true;
+        }
+
+        if (error instanceof HederaStatusException) {
+            final Status status = ((HederaStatusException) error).status;
+
+            return status == Status.Busy
+                || status == Status.PlatformNotActive
+                || status == Status.PlatformTransactionNotCreated;
+        }
+
+        return false;
+    }
+}
@@ -4,15 +4,17 @@ import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.proto.Transaction;
 import com.hedera.hashgraph.proto.*;
 import com.hedera.hashgraph.sdk.*;
+import com.hedera.hashgraph.sdk.account.AccountId;
 import io.grpc.MethodDescriptor;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ConsensusMessageSubmitTransaction extends TransactionBuilder<TransactionId, TransactionList, ConsensusMessageSubmitTransaction> {
-    private static final int CHUNK_SIZE = 4096;
+    static final int CHUNK_SIZE = 4096;
 
     @Nullable
     private ConsensusTopicId topicId;
@@ -24,6 +26,9 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
 
     private int maxChunks = 10;
 
+    @Nullable
+    private MessageCompressor compressor;
+
     public ConsensusMessageSubmitTransaction() {
         super();
     }
@@ -38,6 +43,23 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
         return this;
     }
 
+    /**
+     * Set a codec to compress the message with before it is split into chunks, if that makes
+     * it smaller. Subscribers decompress it transparently (see
+     * {@link com.hedera.hashgraph.sdk.mirror.MirrorConsensusTopicQuery#setDecompress(boolean)}),
+     * provided they know the codec.
+     * <p>
+     * Not applied to a message sent with {@link #setChunkInfo(TransactionId, int, int)}, as
+     * its chunks would each be compressed on their own.
+     *
+     * @param compressor the codec, e.g. {@link DeflateCompressor}.
+     * @return {@code this} for fluent usage.
+     */
+    public ConsensusMessageSubmitTransaction setCompressor(MessageCompressor compressor) {
+        this.compressor = compressor;
+        return this;
+    }
+
     public ConsensusMessageSubmitTransaction setChunkInfo(
         TransactionId initialTransactionId,
         int totalNumber,
@@ -70,6 +92,45 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
         return build(client).executeAll(client);
     }
 
+    /**
+     * Submit all chunks of the message at once, rather than one after the other like
+     * {@link #executeAll(Client)}.
+     *
+     * @see #executeAllAsync(Client, int, Consumer, Consumer)
+     */
+    public void executeAllAsync(Client client, Consumer<List<TransactionId>> onSuccess, Consumer<HederaThrowable> onError) {
+        executeAllAsync(client, maxChunks, onSuccess, onError);
+    }
+
+    /**
+     * Submit the chunks of the message concurrently, with at most {@code maxConcurrentChunks}
+     * waiting for their precheck at a time.
+     * <p>
+     * Unless a node was set with {@link #setNodeAccountId(AccountId)}, the chunks are spread
+     * over the nodes of the client. A chunk which a node can't take (because the node is
+     * unreachable, busy or not active) is submitted again to the next node on its own, with the
+     * same transaction ID; the other chunks are not resent.
+     * <p>
+     * The chunks are signed by the operator of the client only; to add other signatures use
+     * {@link #build(Client)} and {@link TransactionList#executeAll(Client)} instead.
+     *
+     * @param client the client, which must have an operator.
+     * @param maxConcurrentChunks the maximum number of chunks in flight, at least 1.
+     * @param onSuccess called with the transaction IDs of the chunks, in order, once every chunk
+     *                  has passed precheck.
+     * @param onError called if a chunk failed precheck, once the chunks in flight have
+     *                completed; the errors of other chunks which failed are suppressed by it.
+     * @throws LocalValidationException if the transaction is not valid.
+     */
+    public void executeAllAsync(
+        Client client,
+        int maxConcurrentChunks,
+        Consumer<List<TransactionId>> onSuccess,
+        Consumer<HederaThrowable> onError)
+    {
+        new ChunkSubmission(client, buildChunks(client), maxConcurrentChunks, onSuccess, onError).start();
+    }
+
     @Override
     public TransactionId execute(Client client) throws HederaStatusException, HederaNetworkException {
         return build(client).execute(client);
@@ -77,17 +138,22 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
 
     @Override
     public TransactionList build(@Nullable Client client) throws LocalValidationException {
-        if (chunkInfo != null) {
-            // This is duplicated from SingleTransactionBuilder
-            // FIXME: De-duplicate it
+        ArrayList<com.hedera.hashgraph.sdk.Transaction> txs = new ArrayList<>();
 
-            SingleConsensusMessageSubmitTransaction singleTransaction = new SingleConsensusMessageSubmitTransaction(
-                bodyBuilder.buildPartial(),
-                topicId,
-                chunkInfo,
-                message);
+        for (TransactionBody chunk : buildChunks(client)) {
+            txs.add(new SingleConsensusMessageSubmitTransaction(chunk).build(client));
+        }
 
-            return new TransactionList(Collections.singleton(singleTransaction.build(client)));
+        return new TransactionList(txs);
+    }
+
+    /**
+     * Split the message into the bodies of its chunks, each with its own transaction ID.
+     */
+    private List<TransactionBody> buildChunks(@Nullable Client client) {
+        if (chunkInfo != null) {
+            // the transaction ID, if not set, is filled in by SingleTransactionBuilder
+            return Collections.singletonList(chunkBody(bodyBuilder.buildPartial(), topicId, chunkInfo, message));
         }
 
         // lock into a transaction ID
@@ -102,7 +168,11 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
             initialTransactionId = new TransactionId(bodyBuilder.getTransactionID());
         }
 
-        long totalMessageSize = this.message.size();
+        ByteString message = compressor != null
+            ? MessageCompression.compress(this.message, compressor)
+            : this.message;
+
+        long totalMessageSize = message.size();
         long requiredChunks = (totalMessageSize + (CHUNK_SIZE - 1)) / CHUNK_SIZE;
 
         if (requiredChunks > maxChunks) {
@@ -111,7 +181,7 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
                     + " chunks but the maximum allowed chunks is " + maxChunks + ", try using setMaxChunks");
         }
 
-        ArrayList<com.hedera.hashgraph.sdk.Transaction> txs = new ArrayList<>();
+        ArrayList<TransactionBody> chunks = new ArrayList<>();
         TransactionId nextTransactionId = initialTransactionId;
 
         for (int i = 0; i < requiredChunks; i += 1) {
@@ -124,10 +194,8 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
 
             ByteString chunkMessage = message.substring(startIndex, endIndex);
 
-            bodyBuilder.setTransactionID(nextTransactionId.toProto());
-
-            txs.add(new SingleConsensusMessageSubmitTransaction(
-                bodyBuilder.buildPartial(),
+            chunks.add(chunkBody(
+                bodyBuilder.clone().setTransactionID(nextTransactionId.toProto()).buildPartial(),
                 topicId,
                 requiredChunks > 1 ?
                     ConsensusMessageChunkInfo.newBuilder()
@@ -136,13 +204,39 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
                         .setNumber(i + 1) // 1..=total
                         .build() :
                     null,
-                chunkMessage).build(client));
+                chunkMessage));
 
             // add 1 ns to make cascading transaction IDs
             nextTransactionId = TransactionId.withValidStart(nextTransactionId.accountId, nextTransactionId.validStart.plusNanos(1));
         }
 
-        return new TransactionList(txs);
+        return chunks;
+    }
+
+    /**
+     * The body of a single message submission: {@code body} with the topic, chunk info and
+     * message of the submission set.
+     */
+    static TransactionBody chunkBody(
+        TransactionBody body,
+        @Nullable ConsensusTopicId topicId,
+        @Nullable ConsensusMessageChunkInfo chunkInfo,
+        ByteString chunkMessage)
+    {
+        TransactionBody.Builder chunk = body.toBuilder();
+        ConsensusSubmitMessageTransactionBody.Builder builder = chunk.getConsensusSubmitMessageBuilder();
+
+        if (topicId != null) {
+            builder.setTopicID(topicId.toProto());
+        }
+
+        if (chunkInfo != null) {
+            builder.setChunkInfo(chunkInfo);
+        }
+
+        builder.setMessage(chunkMessage);
+
+        return chunk.buildPartial();
     }
 
     @Override
@@ -161,24 +255,8 @@ public class ConsensusMessageSubmitTransaction extends TransactionBuilder<Transa
     }
 
     static class SingleConsensusMessageSubmitTransaction extends SingleTransactionBuilder<SingleConsensusMessageSubmitTransaction> {
-        SingleConsensusMessageSubmitTransaction(
-            TransactionBody bodyBuilder,
-            @Nullable ConsensusTopicId topicId,
-            ConsensusMessageChunkInfo chunkInfo,
-            ByteString message) {
-            this.bodyBuilder.mergeFrom(bodyBuilder);
-
-            ConsensusSubmitMessageTransactionBody.Builder builder = this.bodyBuilder.getConsensusSubmitMessageBuilder();
-
-            if (topicId != null) {
-                builder.setTopicID(topicId.toProto());
-            }
-
-            if (chunkInfo != null) {
-                builder.setChunkInfo(chunkInfo);
-            }
-
-            builder.setMessage(message);
+        SingleConsensusMessageSubmitTransaction(TransactionBody body) {
+            this.bodyBuilder.mergeFrom(body);
         }
 
         @Override
@@ -0,0 +1,123 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link MessageCompressor} using the JDK's {@link Deflater} (raw DEFLATE, without a zlib
+ * header).
+ * <p>
+ * A {@code Deflater} or {@code Inflater} holds native memory until it is ended, so they are
+ * pooled rather than created for each message; a pool grows to the number of threads
+ * compressing at once.
+ */
+public final class DeflateCompressor implements MessageCompressor {
+    static final int ID = 1;
+
+    private final int level;
+
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Compress with {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public DeflateCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param level the compression level, from 0 to 9 (or {@link Deflater#DEFAULT_COMPRESSION}).
+     */
+    public DeflateCompressor(int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("level must be from 0 to 9");
+        }
+
+        this.level = level;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public ByteString compress(ByteString message) {
+        Deflater deflater = deflaters.poll();
+
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+
+        try {
+            deflater.setInput(message.toByteArray());
+            deflater.finish();
+
+            // the worst case of DEFLATE for incompressible input, as computed by zlib
+            final int size = message.size();
+            byte[] output = new byte[size + ((size + 7) >> 3) + ((size + 63) >> 6) + 11];
+            int length = 0;
+
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                length += deflater.deflate(output, length, output.length - length);
+            }
+
+            return ByteString.copyFrom(output, 0, length);
+        } finally {
+            deflater.reset();
+            deflaters.offer(deflater);
+        }
+    }
+
+    @Override
+    public ByteString decompress(ByteString compressed, int size) throws IOException {
+        Inflater inflater = inflaters.poll();
+
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+
+        try {
+            inflater.setInput(compressed.toByteArray());
+
+            final byte[] output = new byte[size];
+            int length = 0;
+
+            while (length < size) {
+                final int inflated = inflater.inflate(output, length, size - length);
+
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("compressed message is shorter than its declared " + size + " bytes");
+                }
+
+                length += inflated;
+            }
+
+            if (!inflater.finished() && inflater.inflate(new byte[1]) > 0) {
+                throw new IOException("compressed message is longer than its declared " + size + " bytes");
+            }
+
+            // `output` is never written again
+            return UnsafeByteOperations.unsafeWrap(output);
+        } catch (DataFormatException e) {
+            throw new IOException("malformed compressed message", e);
+        } finally {
+            inflater.reset();
+            inflaters.offer(inflater);
+        }
+    }
+}
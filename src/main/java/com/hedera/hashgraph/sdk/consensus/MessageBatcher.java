@@ -0,0 +1,366 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Packs small records published to a topic into {@link MessageEnvelope envelopes}, so many
+ * records share the fee and consensus round of a single message.
+ * <p>
+ * The records of a topic are collected into a batch, which is published through a
+ * {@link TopicPublisher} once the next record wouldn't fit in it
+ * ({@link #setMaxBatchSize(int) maxBatchSize}), or once its first record has waited for
+ * {@link #setLinger(Duration) linger}. The records of a topic stay in the order they were
+ * added, and batches are handed to the publisher in order (so use
+ * {@link TopicPublisher#setPreserveOrder(boolean)} if they must also reach consensus in order).
+ * <p>
+ * Subscribe with {@link com.hedera.hashgraph.sdk.mirror.MirrorConsensusTopicQuery#subscribeRecords}
+ * to get the records back out.
+ */
+public final class MessageBatcher implements AutoCloseable {
+    // how soon the linger thread tries again to hand batches to a full publisher
+    private static final long RETRY_MILLIS = 5;
+
+    private final TopicPublisher publisher;
+
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "hedera-batcher-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // held while batches are handed to the publisher, so they are published in the order they
+    // became ready; the linger thread only tries to take it, so it never waits on a full publisher
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    // the state below is guarded by `this`
+
+    private final Map<ConsensusTopicId, Batch> batches = new HashMap<>();
+
+    // batches which are full or have lingered, waiting to be handed to the publisher
+    private final Deque<Batch> ready = new ArrayDeque<>();
+
+    private boolean retryScheduled;
+
+    private int maxBatchSize = ConsensusMessageSubmitTransaction.CHUNK_SIZE;
+
+    private Duration linger = Duration.ofMillis(20);
+
+    private boolean closed;
+
+    /**
+     * @param publisher the publisher to publish the batches with; it is not closed along with
+     *                  this batcher.
+     */
+    public MessageBatcher(TopicPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Set the maximum size of a batch, including the envelope. Defaults to (and can't be more
+     * than) 4 KiB, the most that fits in a single transaction.
+     *
+     * @param maxBatchSize the size, in bytes.
+     * @return {@code this} for fluent usage.
+     */
+    public synchronized MessageBatcher setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= MessageEnvelope.sizeOf(1, 1)
+            || maxBatchSize > ConsensusMessageSubmitTransaction.CHUNK_SIZE)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be > " + MessageEnvelope.sizeOf(1, 1)
+                + " and <= " + ConsensusMessageSubmitTransaction.CHUNK_SIZE);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Set how long a record may wait for more records to join its batch. Defaults to 20ms.
+     *
+     * @param linger the time.
+     * @return {@code this} for fluent usage.
+     */
+    public synchronized MessageBatcher setLinger(Duration linger) {
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("linger must not be negative");
+        }
+
+        this.linger = linger;
+        return this;
+    }
+
+    /**
+     * Add a record to the batch of a topic, publishing the batch first if the record doesn't
+     * fit in it (which blocks while the queue of the publisher is full).
+     *
+     * @param topicId the topic.
+     * @param record the record.
+     * @return a future of the receipt of the message the record was published in.
+     * @throws InterruptedException if interrupted while waiting for room in the publisher.
+     * @throws IllegalArgumentException if the record is too large to fit in a batch on its own.
+     * @throws IllegalStateException if the batcher has been closed.
+     */
+    public CompletableFuture<TransactionReceipt> add(ConsensusTopicId topicId, byte[] record) throws InterruptedException {
+        return add(topicId, ByteString.copyFrom(record));
+    }
+
+    /**
+     * Add a record, encoded as UTF-8, to the batch of a topic.
+     *
+     * @see #add(ConsensusTopicId, byte[])
+     */
+    public CompletableFuture<TransactionReceipt> add(ConsensusTopicId topicId, String record) throws InterruptedException {
+        return add(topicId, ByteString.copyFrom(record, StandardCharsets.UTF_8));
+    }
+
+    private CompletableFuture<TransactionReceipt> add(ConsensusTopicId topicId, ByteString record) throws InterruptedException {
+        final int encodedSize = CodedOutputStream.computeUInt32SizeNoTag(record.size()) + record.size();
+
+        while (true) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("MessageBatcher has been closed");
+                }
+
+                if (MessageEnvelope.sizeOf(1, encodedSize) > maxBatchSize) {
+                    throw new IllegalArgumentException("record of " + record.size()
+                        + " bytes does not fit in a batch of at most " + maxBatchSize + " bytes");
+                }
+
+                Batch batch = batches.get(topicId);
+
+                if (batch == null) {
+                    batch = new Batch(topicId);
+                    batches.put(topicId, batch);
+
+                    final Batch lingering = batch;
+
+                    batch.lingerFlush = lingerTimer.schedule(
+                        () -> flushLingering(topicId, lingering),
+                        linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+
+                if (batch.fits(encodedSize, maxBatchSize)) {
+                    batch.records.add(record);
+                    batch.recordsSize += encodedSize;
+
+                    // a future per record, so one caller can't complete the batch for the others
+                    return batch.future.thenApply(Function.identity());
+                }
+            }
+
+            // the batch is full; publish it and try again with a new one
+            flush(topicId);
+        }
+    }
+
+    /**
+     * Publish the batch of every topic now.
+     *
+     * @throws InterruptedException if interrupted while waiting for room in the publisher.
+     */
+    public void flush() throws InterruptedException {
+        final List<ConsensusTopicId> topicIds;
+
+        synchronized (this) {
+            topicIds = new ArrayList<>(batches.keySet());
+        }
+
+        for (ConsensusTopicId topicId : topicIds) {
+            flush(topicId);
+        }
+
+        // batches which lingered while the publisher was full
+        publishReady();
+    }
+
+    /**
+     * Publish the remaining batches and stop accepting records.
+     *
+     * @throws InterruptedException if interrupted while waiting for room in the publisher.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+        }
+
+        try {
+            flush();
+        } finally {
+            lingerTimer.shutdownNow();
+        }
+    }
+
+    private void flush(ConsensusTopicId topicId) throws InterruptedException {
+        synchronized (this) {
+            final Batch batch = batches.remove(topicId);
+
+            if (batch != null) {
+                markReady(batch);
+            }
+        }
+
+        publishReady();
+    }
+
+    private void flushLingering(ConsensusTopicId topicId, Batch lingering) {
+        synchronized (this) {
+            // the batch may have been published already because it filled up
+            if (batches.get(topicId) != lingering) {
+                return;
+            }
+
+            batches.remove(topicId);
+            markReady(lingering);
+        }
+
+        tryPublishReady();
+    }
+
+    private void markReady(Batch batch) {
+        if (batch.lingerFlush != null) {
+            batch.lingerFlush.cancel(false);
+        }
+
+        ready.add(batch);
+    }
+
+    /**
+     * Hand the ready batches to the publisher, blocking while its queue is full.
+     */
+    private void publishReady() throws InterruptedException {
+        publishLock.lockInterruptibly();
+
+        try {
+            Batch batch;
+
+            while ((batch = nextReady()) != null) {
+                final CompletableFuture<TransactionReceipt> published;
+
+                try {
+                    published = publisher.publish(batch.topicId, MessageEnvelope.pack(batch.records).toByteArray());
+                } catch (InterruptedException | RuntimeException e) {
+                    removeReady(batch);
+                    batch.future.completeExceptionally(e);
+                    throw e;
+                }
+
+                removeReady(batch);
+                complete(batch, published);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Hand the ready batches to the publisher without blocking, on the linger thread; if the
+     * publisher is full or another thread is publishing, try again shortly.
+     */
+    private void tryPublishReady() {
+        if (publishLock.tryLock()) {
+            try {
+                Batch batch;
+
+                while ((batch = nextReady()) != null) {
+                    final CompletableFuture<TransactionReceipt> published;
+
+                    try {
+                        published = publisher.tryPublish(batch.topicId, MessageEnvelope.pack(batch.records));
+                    } catch (RuntimeException e) {
+                        removeReady(batch);
+                        batch.future.completeExceptionally(e);
+                        continue;
+                    }
+
+                    if (published == null) {
+                        break;
+                    }
+
+                    removeReady(batch);
+                    complete(batch, published);
+                }
+            } finally {
+                publishLock.unlock();
+            }
+        }
+
+        synchronized (this) {
+            if (ready.isEmpty() || retryScheduled || lingerTimer.isShutdown()) {
+                return;
+            }
+
+            retryScheduled = true;
+        }
+
+        lingerTimer.schedule(() -> {
+            synchronized (this) {
+                retryScheduled = false;
+            }
+
+            tryPublishReady();
+        }, RETRY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Nullable
+    private synchronized Batch nextReady() {
+        return ready.peek();
+    }
+
+    private synchronized void removeReady(Batch batch) {
+        ready.remove(batch);
+    }
+
+    private static void complete(Batch batch, CompletableFuture<TransactionReceipt> published) {
+        published.whenComplete((receipt, error) -> {
+            if (error != null) {
+                batch.future.completeExceptionally(error);
+            } else {
+                batch.future.complete(receipt);
+            }
+        });
+    }
+
+    private static final class Batch {
+        final ConsensusTopicId topicId;
+
+        final List<ByteString> records = new ArrayList<>();
+
+        // the size of the records in the envelope, with their lengths
+        int recordsSize;
+
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        @Nullable
+        ScheduledFuture<?> lingerFlush;
+
+        Batch(ConsensusTopicId topicId) {
+            this.topicId = topicId;
+        }
+
+        boolean fits(int encodedSize, int maxBatchSize) {
+            return MessageEnvelope.sizeOf(records.size() + 1, recordsSize + encodedSize) <= maxBatchSize;
+        }
+    }
+}
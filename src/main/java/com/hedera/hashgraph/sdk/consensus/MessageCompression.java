@@ -0,0 +1,155 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compresses consensus messages with a {@link MessageCompressor}, and decompresses them by
+ * the codec named in their header.
+ * <p>
+ * A compressed message is a 2-byte header ({@code 0xFE 'Z'}), the ID of the codec as a varint,
+ * the size of the message before compression as a varint, and then the compressed message.
+ * {@code 0xFE} never appears in UTF-8, so a text message is never mistaken for a compressed one.
+ */
+public final class MessageCompression {
+    static final byte[] HEADER = { (byte) 0xFE, 'Z' };
+
+    /**
+     * The largest message that will be decompressed, so a small message can't claim to expand
+     * to more memory than we have.
+     */
+    public static final int MAX_DECOMPRESSED_SIZE = 16 * 1024 * 1024;
+
+    private static final Map<Integer, MessageCompressor> compressors = new ConcurrentHashMap<>();
+
+    static {
+        register(new DeflateCompressor());
+
+        for (MessageCompressor compressor : ServiceLoader.load(MessageCompressor.class)) {
+            register(compressor);
+        }
+    }
+
+    private MessageCompression() { }
+
+    /**
+     * Register a codec, so messages compressed by it can be decompressed.
+     *
+     * @param compressor the codec.
+     * @throws IllegalArgumentException if a different kind of codec has the same ID.
+     */
+    public static void register(MessageCompressor compressor) {
+        final MessageCompressor existing = compressors.putIfAbsent(compressor.getId(), compressor);
+
+        if (existing != null && existing.getClass() != compressor.getClass()) {
+            throw new IllegalArgumentException("codec ID " + compressor.getId() + " is already used by "
+                + existing.getClass().getName());
+        }
+    }
+
+    /**
+     * Compress a message, if that makes it smaller.
+     *
+     * @param message the message.
+     * @param compressor the codec, which is {@link #register(MessageCompressor) registered} if it
+     *                   isn't already.
+     * @return the compressed message with its header, or {@code message} if that isn't smaller.
+     */
+    public static ByteString compress(ByteString message, MessageCompressor compressor) {
+        register(compressor);
+
+        final ByteString compressed = compressor.compress(message);
+        final int headerSize = HEADER.length
+            + CodedOutputStream.computeUInt32SizeNoTag(compressor.getId())
+            + CodedOutputStream.computeUInt32SizeNoTag(message.size());
+
+        if (headerSize + compressed.size() >= message.size()) {
+            return message;
+        }
+
+        final byte[] header = new byte[headerSize];
+        final CodedOutputStream output = CodedOutputStream.newInstance(header);
+
+        try {
+            output.writeRawBytes(HEADER);
+            output.writeUInt32NoTag(compressor.getId());
+            output.writeUInt32NoTag(message.size());
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // the array was sized exactly
+            throw new IllegalStateException(e);
+        }
+
+        // a rope; the compressed message is not copied again
+        return ByteString.copyFrom(header).concat(compressed);
+    }
+
+    /**
+     * @param message a consensus message.
+     * @return whether the message starts like a compressed message.
+     */
+    public static boolean isCompressed(ByteString message) {
+        return message.size() > HEADER.length
+            && message.byteAt(0) == HEADER[0]
+            && message.byteAt(1) == HEADER[1];
+    }
+
+    /**
+     * Decompress a message.
+     *
+     * @param message the compressed message with its header.
+     * @return the message.
+     * @throws IOException if the message is malformed, its codec is unknown or it would be
+     *                     larger than {@link #MAX_DECOMPRESSED_SIZE}.
+     */
+    public static ByteString decompress(ByteString message) throws IOException {
+        if (!isCompressed(message)) {
+            throw new IOException("message is not compressed");
+        }
+
+        final CodedInputStream input = message.newCodedInput();
+        input.skipRawBytes(HEADER.length);
+
+        final int id = input.readUInt32();
+        final int size = input.readUInt32();
+
+        final MessageCompressor compressor = compressors.get(id);
+
+        if (compressor == null) {
+            throw new IOException("unknown compression codec " + id);
+        }
+
+        if (size < 0 || size > MAX_DECOMPRESSED_SIZE) {
+            throw new IOException("compressed message of " + Integer.toUnsignedString(size)
+                + " bytes is larger than the maximum of " + MAX_DECOMPRESSED_SIZE);
+        }
+
+        return compressor.decompress(message.substring(input.getTotalBytesRead()), size);
+    }
+
+    /**
+     * Decompress a message if it is compressed; a message which only looks compressed but can't
+     * be decompressed is returned as it is, since it may be an uncompressed message which just
+     * happens to start like one.
+     *
+     * @param message the message.
+     * @return the message, decompressed.
+     */
+    public static ByteString decompressIfCompressed(ByteString message) {
+        if (!isCompressed(message)) {
+            return message;
+        }
+
+        try {
+            return decompress(message);
+        } catch (IOException e) {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+
+/**
+ * A compression codec for consensus messages.
+ * <p>
+ * A compressed message names the codec by its ID, so the subscriber must know the same codec:
+ * codecs are found with {@link java.util.ServiceLoader} (list the class in
+ * {@code META-INF/services/com.hedera.hashgraph.sdk.consensus.MessageCompressor}) or registered
+ * with {@link MessageCompression#register(MessageCompressor)}. Implementations must be
+ * thread-safe.
+ *
+ * @see DeflateCompressor
+ */
+public interface MessageCompressor {
+    /**
+     * The ID of the codec in the header of a compressed message. IDs below 16 are reserved for
+     * the codecs of this SDK.
+     *
+     * @return the ID.
+     */
+    int getId();
+
+    /**
+     * @param message the message.
+     * @return the compressed message.
+     */
+    ByteString compress(ByteString message);
+
+    /**
+     * @param compressed a message compressed by this codec.
+     * @param size the size of the message before it was compressed.
+     * @return the message.
+     * @throws IOException if the message is malformed or not {@code size} bytes.
+     */
+    ByteString decompress(ByteString compressed, int size) throws IOException;
+}
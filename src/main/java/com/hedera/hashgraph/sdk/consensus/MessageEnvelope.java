@@ -0,0 +1,132 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs many small records into a single consensus message, and unpacks them again.
+ * <p>
+ * An envelope is a 3-byte header ({@code 0xFE 'B'} and a version byte), the number of records
+ * as a varint, and then each record as a varint length followed by its bytes. {@code 0xFE}
+ * never appears in UTF-8, so a text message is never mistaken for an envelope.
+ *
+ * @see MessageBatcher
+ */
+public final class MessageEnvelope {
+    static final byte[] HEADER = { (byte) 0xFE, 'B', 1 };
+
+    private MessageEnvelope() { }
+
+    /**
+     * Pack records into an envelope.
+     *
+     * @param records the records, in order.
+     * @return the envelope.
+     */
+    public static ByteString pack(List<ByteString> records) {
+        int recordsSize = 0;
+
+        for (ByteString record : records) {
+            recordsSize += CodedOutputStream.computeUInt32SizeNoTag(record.size()) + record.size();
+        }
+
+        final byte[] envelope = new byte[sizeOf(records.size(), recordsSize)];
+        final CodedOutputStream output = CodedOutputStream.newInstance(envelope);
+
+        try {
+            output.writeRawBytes(HEADER);
+            output.writeUInt32NoTag(records.size());
+
+            for (ByteString record : records) {
+                output.writeUInt32NoTag(record.size());
+                output.writeRawBytes(record);
+            }
+
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // the array was sized exactly
+            throw new IllegalStateException(e);
+        }
+
+        return ByteString.copyFrom(envelope);
+    }
+
+    /**
+     * @param message a consensus message.
+     * @return whether the message starts like an envelope.
+     */
+    public static boolean isEnvelope(ByteString message) {
+        if (message.size() < HEADER.length) {
+            return false;
+        }
+
+        for (int i = 0; i < HEADER.length; i += 1) {
+            if (message.byteAt(i) != HEADER[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Unpack the records of an envelope. The records are views of the message, not copies.
+     *
+     * @param message the envelope.
+     * @return the records, in order.
+     * @throws IllegalArgumentException if the message is not a well-formed envelope.
+     */
+    public static List<ByteString> unpack(ByteString message) {
+        if (!isEnvelope(message)) {
+            throw new IllegalArgumentException("message is not an envelope");
+        }
+
+        final CodedInputStream input = message.newCodedInput();
+
+        try {
+            input.skipRawBytes(HEADER.length);
+
+            final int count = input.readUInt32();
+
+            // every record takes at least one byte, so this also bounds the allocation below
+            if (count < 0 || count > message.size()) {
+                throw new IllegalArgumentException("malformed envelope: bad record count " + count);
+            }
+
+            final List<ByteString> records = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i += 1) {
+                final int length = input.readUInt32();
+                final int offset = input.getTotalBytesRead();
+
+                if (length < 0 || length > message.size() - offset) {
+                    throw new IllegalArgumentException("malformed envelope: record " + i + " runs past the end");
+                }
+
+                records.add(message.substring(offset, offset + length));
+                input.skipRawBytes(length);
+            }
+
+            if (!input.isAtEnd()) {
+                throw new IllegalArgumentException("malformed envelope: trailing bytes after " + count + " records");
+            }
+
+            return records;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed envelope", e);
+        }
+    }
+
+    /**
+     * The size of an envelope of {@code count} records whose lengths and contents take
+     * {@code recordsSize} bytes.
+     */
+    static int sizeOf(int count, int recordsSize) {
+        return HEADER.length + CodedOutputStream.computeUInt32SizeNoTag(count) + recordsSize;
+    }
+}
@@ -0,0 +1,460 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.HederaNetworkException;
+import com.hedera.hashgraph.sdk.HederaStatusException;
+import com.hedera.hashgraph.sdk.HederaThrowable;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.TransactionReceiptQuery;
+import com.hedera.hashgraph.sdk.account.AccountId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Publishes messages to topics with many submissions in flight at once.
+ * <p>
+ * Messages are accepted into a bounded queue and submitted from a background thread, spread
+ * round-robin over the nodes of the client, with at most {@link #setMaxInFlight(int) maxInFlight}
+ * messages submitted but not yet confirmed by a receipt. Receipts are polled in rounds: every
+ * {@link #setReceiptPollInterval(Duration) receiptPollInterval}, one receipt query is sent for
+ * each message that is still unconfirmed (the network has no query for several receipts at
+ * once).
+ * <p>
+ * Each message gets a future of its receipt, from which
+ * {@link TransactionReceipt#getConsensusTopicSequenceNumber()} gives the sequence number the
+ * message was assigned. The future fails with the {@link HederaThrowable} of the submission
+ * or receipt if the message was rejected.
+ * <p>
+ * With {@link #setPreserveOrder(boolean) preserveOrder}, messages to the same topic reach
+ * consensus in the order they were published: all of them are submitted to the same node, and
+ * each is only submitted once the node has accepted the one before it. Messages to different
+ * topics are still pipelined.
+ * <p>
+ * Messages must fit in a single transaction (4 KiB); use
+ * {@link ConsensusMessageSubmitTransaction} for larger messages. The client must have an
+ * operator, which pays for and signs the messages.
+ */
+public final class TopicPublisher implements AutoCloseable {
+    // a receipt is kept for 3 minutes after consensus, which must happen within the valid duration
+    private static final Duration RECEIPT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Client client;
+
+    private int maxQueueSize = 10_000;
+
+    private int maxInFlight = 256;
+
+    private boolean preserveOrder;
+
+    private Duration receiptPollInterval = Duration.ofMillis(500);
+
+    // the state below is created when the first message is published
+
+    @Nullable
+    private BlockingQueue<PendingMessage> queue;
+
+    @Nullable
+    private Semaphore window;
+
+    @Nullable
+    private ScheduledExecutorService receiptPoller;
+
+    // messages which have been accepted by a node and are waiting for their receipt
+    private final Set<PendingMessage> unconfirmed = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    private volatile boolean dispatcherDone;
+
+    public TopicPublisher(Client client) {
+        if (client.getOperatorId() == null) {
+            throw new IllegalArgumentException("client must have an operator to publish messages");
+        }
+
+        this.client = client;
+    }
+
+    /**
+     * Set the maximum number of messages that may be waiting to be submitted; once it is
+     * reached, {@link #publish(ConsensusTopicId, byte[])} blocks. Defaults to 10,000.
+     *
+     * @param maxQueueSize the number of messages.
+     * @return {@code this} for fluent usage.
+     * @throws IllegalStateException if messages have already been published.
+     */
+    public synchronized TopicPublisher setMaxQueueSize(int maxQueueSize) {
+        requireNotStarted();
+
+        if (maxQueueSize < 1) {
+            throw new IllegalArgumentException("maxQueueSize must be >= 1");
+        }
+
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of messages which have been submitted but whose receipts have not
+     * arrived yet. Defaults to 256.
+     *
+     * @param maxInFlight the number of messages.
+     * @return {@code this} for fluent usage.
+     * @throws IllegalStateException if messages have already been published.
+     */
+    public synchronized TopicPublisher setMaxInFlight(int maxInFlight) {
+        requireNotStarted();
+
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be >= 1");
+        }
+
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Set whether messages to the same topic must reach consensus in the order they were
+     * published. Defaults to {@code false}.
+     * <p>
+     * If a message is rejected, the messages after it are still submitted.
+     *
+     * @param preserveOrder whether to preserve the order of messages per topic.
+     * @return {@code this} for fluent usage.
+     * @throws IllegalStateException if messages have already been published.
+     */
+    public synchronized TopicPublisher setPreserveOrder(boolean preserveOrder) {
+        requireNotStarted();
+
+        this.preserveOrder = preserveOrder;
+        return this;
+    }
+
+    /**
+     * Set how often the receipts of unconfirmed messages are polled. Defaults to 500ms.
+     *
+     * @param receiptPollInterval the interval.
+     * @return {@code this} for fluent usage.
+     * @throws IllegalStateException if messages have already been published.
+     */
+    public synchronized TopicPublisher setReceiptPollInterval(Duration receiptPollInterval) {
+        requireNotStarted();
+
+        if (receiptPollInterval.isNegative() || receiptPollInterval.isZero()) {
+            throw new IllegalArgumentException("receiptPollInterval must be > 0");
+        }
+
+        this.receiptPollInterval = receiptPollInterval;
+        return this;
+    }
+
+    /**
+     * Publish a message, blocking while the queue is full.
+     *
+     * @param topicId the topic to publish to.
+     * @param message the message, at most 4 KiB.
+     * @return a future of the receipt of the message.
+     * @throws InterruptedException if interrupted while waiting for room in the queue.
+     * @throws IllegalStateException if the publisher has been closed.
+     */
+    public CompletableFuture<TransactionReceipt> publish(ConsensusTopicId topicId, byte[] message) throws InterruptedException {
+        return publish(topicId, ByteString.copyFrom(message));
+    }
+
+    /**
+     * Publish a message, encoded as UTF-8, blocking while the queue is full.
+     *
+     * @param topicId the topic to publish to.
+     * @param message the message, at most 4 KiB when encoded.
+     * @return a future of the receipt of the message.
+     * @throws InterruptedException if interrupted while waiting for room in the queue.
+     * @throws IllegalStateException if the publisher has been closed.
+     */
+    public CompletableFuture<TransactionReceipt> publish(ConsensusTopicId topicId, String message) throws InterruptedException {
+        return publish(topicId, ByteString.copyFrom(message, StandardCharsets.UTF_8));
+    }
+
+    private CompletableFuture<TransactionReceipt> publish(ConsensusTopicId topicId, ByteString message) throws InterruptedException {
+        if (message.size() > ConsensusMessageSubmitTransaction.CHUNK_SIZE) {
+            throw new IllegalArgumentException("message of " + message.size() + " bytes is larger than the maximum of "
+                + ConsensusMessageSubmitTransaction.CHUNK_SIZE + " bytes for a single transaction");
+        }
+
+        final BlockingQueue<PendingMessage> queue = start();
+        final PendingMessage pending = new PendingMessage(topicId, message);
+
+        queue.put(pending);
+
+        return pending.future;
+    }
+
+    /**
+     * Publish a message if there is room in the queue, without blocking.
+     *
+     * @return a future of the receipt of the message, or {@code null} if the queue is full.
+     */
+    @Nullable
+    CompletableFuture<TransactionReceipt> tryPublish(ConsensusTopicId topicId, ByteString message) {
+        if (message.size() > ConsensusMessageSubmitTransaction.CHUNK_SIZE) {
+            throw new IllegalArgumentException("message of " + message.size() + " bytes is larger than the maximum of "
+                + ConsensusMessageSubmitTransaction.CHUNK_SIZE + " bytes for a single transaction");
+        }
+
+        final PendingMessage pending = new PendingMessage(topicId, message);
+
+        return start().offer(pending) ? pending.future : null;
+    }
+
+    /**
+     * Stop accepting messages. Messages which were already published are still submitted and
+     * their futures completed; the background threads stop once they are.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+
+        if (queue == null) {
+            // never started
+            dispatcherDone = true;
+        }
+    }
+
+    private void requireNotStarted() {
+        if (queue != null) {
+            throw new IllegalStateException("cannot configure a TopicPublisher after messages have been published");
+        }
+    }
+
+    private synchronized BlockingQueue<PendingMessage> start() {
+        if (closed) {
+            throw new IllegalStateException("TopicPublisher has been closed");
+        }
+
+        if (queue != null) {
+            return queue;
+        }
+
+        final BlockingQueue<PendingMessage> queue = new ArrayBlockingQueue<>(maxQueueSize);
+        final Semaphore window = new Semaphore(maxInFlight);
+        final ScheduledExecutorService receiptPoller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hedera-publisher-receipts");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final Thread dispatcher = new Thread(() -> dispatch(queue, window), "hedera-publisher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        final long pollMillis = receiptPollInterval.toMillis();
+
+        receiptPoller.scheduleWithFixedDelay(() -> pollReceipts(window, receiptPoller), pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+
+        this.queue = queue;
+        this.window = window;
+        this.receiptPoller = receiptPoller;
+
+        return queue;
+    }
+
+    private void dispatch(BlockingQueue<PendingMessage> queue, Semaphore window) {
+        final List<AccountId> nodes = client.getNodeAccountIds();
+        int nextNode = 0;
+        int nextTopicNode = 0;
+
+        // with `preserveOrder`, the last message submitted to each topic that has not reached
+        // consensus yet; an entry is removed once its message is confirmed or rejected, unless
+        // another message of the topic has been submitted since
+        final Map<ConsensusTopicId, TopicTail> topicTails = new ConcurrentHashMap<>();
+
+        try {
+            while (!closed || !queue.isEmpty()) {
+                final PendingMessage pending = queue.poll(100, TimeUnit.MILLISECONDS);
+
+                if (pending == null) {
+                    continue;
+                }
+
+                window.acquire();
+
+                if (!preserveOrder) {
+                    submit(pending, nodes.get(nextNode++ % nodes.size()), window, null);
+                    continue;
+                }
+
+                final ConsensusTopicId topicId = pending.topicId;
+                final TopicTail previous = topicTails.get(topicId);
+
+                // once the previous tail has reached consensus, the topic may move to another
+                // node without its messages reaching consensus out of order
+                final TopicTail tail = new TopicTail(previous != null
+                    ? previous.node
+                    : nodes.get(nextTopicNode++ % nodes.size()));
+
+                topicTails.put(topicId, tail);
+                pending.future.whenComplete((receipt, error) -> topicTails.remove(topicId, tail));
+
+                if (previous == null || previous.accepted.isDone()) {
+                    submit(pending, tail.node, window, tail.accepted);
+                } else {
+                    previous.accepted.thenRun(() -> submit(pending, tail.node, window, tail.accepted));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            dispatcherDone = true;
+        }
+    }
+
+    private void submit(PendingMessage pending, AccountId node, Semaphore window, @Nullable CompletableFuture<Void> accepted) {
+        try {
+            final Transaction transaction = new ConsensusMessageSubmitTransaction.SingleConsensusMessageSubmitTransaction(
+                ConsensusMessageSubmitTransaction.chunkBody(
+                    TransactionBody.getDefaultInstance(), pending.topicId, null, pending.message))
+                .setNodeAccountId(node)
+                .build(client);
+
+            transaction.executeAsync(client, transactionId -> {
+                pending.transactionId = transactionId;
+                pending.submittedAt = System.nanoTime();
+                unconfirmed.add(pending);
+
+                if (accepted != null) {
+                    accepted.complete(null);
+                }
+            }, error -> {
+                window.release();
+                pending.future.completeExceptionally((Throwable) error);
+
+                if (accepted != null) {
+                    accepted.complete(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            window.release();
+            pending.future.completeExceptionally(e);
+
+            if (accepted != null) {
+                accepted.complete(null);
+            }
+        }
+    }
+
+    private void pollReceipts(Semaphore window, ScheduledExecutorService receiptPoller) {
+        // a message holds its permit from submission until its receipt, so once all permits are
+        // back there is nothing left in flight (`unconfirmed` misses messages awaiting precheck)
+        if (dispatcherDone && window.availablePermits() == maxInFlight) {
+            receiptPoller.shutdown();
+            return;
+        }
+
+        for (PendingMessage pending : unconfirmed) {
+            final TransactionId transactionId = pending.transactionId;
+
+            if (pending.polling || transactionId == null) {
+                continue;
+            }
+
+            pending.polling = true;
+
+            new TransactionReceiptQuery()
+                .setTransactionId(transactionId)
+                // no retries; the message is polled again in the next round
+                .executeAsync(client, Duration.ZERO, receipt -> {
+                    unconfirmed.remove(pending);
+                    window.release();
+                    pending.future.complete(receipt);
+                }, error -> {
+                    final boolean expired = System.nanoTime() - pending.submittedAt > RECEIPT_TIMEOUT.toNanos();
+
+                    if (isStillPending(error) && !expired) {
+                        pending.polling = false;
+                        return;
+                    }
+
+                    unconfirmed.remove(pending);
+                    window.release();
+                    pending.future.completeExceptionally(isStillPending(error)
+                        ? new TimeoutException("no receipt for transaction " + transactionId)
+                        : (Throwable) error);
+                });
+        }
+    }
+
+    private static boolean isStillPending(HederaThrowable error) {
+        if (error instanceof HederaNetworkException) {
+            // a transient network error; the receipt may be there next time
+            return true;
+        }
+
+        if (!(error instanceof HederaStatusException)) {
+            return false;
+        }
+
+        switch (((HederaStatusException) error).status) {
+            // still in the node's queue
+            case Unknown:
+            // accepted but has not reached consensus
+            case Ok:
+            // has reached consensus but not generated
+            case ReceiptNotFound:
+            case Busy:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static final class TopicTail {
+        // the node the topic is pinned to
+        final AccountId node;
+
+        // completes once the message has been accepted (or rejected) by the node
+        final CompletableFuture<Void> accepted = new CompletableFuture<>();
+
+        TopicTail(AccountId node) {
+            this.node = node;
+        }
+    }
+
+    private static final class PendingMessage {
+        final ConsensusTopicId topicId;
+
+        final ByteString message;
+
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        // set once the message has been accepted by a node
+        @Nullable
+        volatile TransactionId transactionId;
+
+        volatile long submittedAt;
+
+        // whether a receipt query for the message is outstanding; only set by the receipt poller
+        volatile boolean polling;
+
+        PendingMessage(ConsensusTopicId topicId, ByteString message) {
+            this.topicId = topicId;
+            this.message = message;
+        }
+    }
+}
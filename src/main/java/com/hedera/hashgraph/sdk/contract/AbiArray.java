@@ -0,0 +1,105 @@
+package com.hedera.hashgraph.sdk.contract;
+
+/**
+ * A view over a dynamic array in the Solidity ABI encoding of a function result.
+ * <p>
+ * Elements are addressed by their index in the array with the getters of {@link AbiView};
+ * for example, the elements of a {@code uint256[]} are read with
+ * {@link #getWord(int, long[], int)} and those of a {@code bytes[]} with
+ * {@link #getBytes(int, byte[], int)}.
+ * <p>
+ * The bulk getters decode every element of an array of static values into a buffer supplied by
+ * the caller, which may be reused.
+ */
+public final class AbiArray extends AbiView {
+    private final int length;
+
+    AbiArray(AbiView parent, int offset) {
+        // the elements follow the length
+        super(parent, offset + WORD);
+
+        length = parent.getInt32At(offset);
+
+        if (length < 0 || (long) length * WORD > bytes.size() - start) {
+            throw new IndexOutOfBoundsException("array of " + length + " elements exceeds result of "
+                + bytes.size() + " bytes");
+        }
+    }
+
+    /**
+     * @return the number of elements in the array.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Read every element as a 32-bit integer, truncated to the last 4 bytes if it is wider.
+     *
+     * @return the number of elements read.
+     * @throws IndexOutOfBoundsException if {@code dst} does not have {@link #length()} elements
+     *                                   from {@code dstOffset}.
+     */
+    public int getInt32s(int[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, length);
+
+        for (int i = 0; i < length; i += 1) {
+            dst[dstOffset + i] = getInt32(i);
+        }
+
+        return length;
+    }
+
+    /**
+     * Read every element as a 64-bit integer, truncated to the last 8 bytes if it is wider.
+     *
+     * @return the number of elements read.
+     * @throws IndexOutOfBoundsException if {@code dst} does not have {@link #length()} elements
+     *                                   from {@code dstOffset}.
+     */
+    public int getInt64s(long[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, length);
+
+        for (int i = 0; i < length; i += 1) {
+            dst[dstOffset + i] = getInt64(i);
+        }
+
+        return length;
+    }
+
+    /**
+     * Read every element as a 256-bit value of 4 {@code long}s, most significant first, as with
+     * {@link #getWord(int, long[], int)}.
+     *
+     * @return the number of elements read.
+     * @throws IndexOutOfBoundsException if {@code dst} does not have {@code 4 * length()} elements
+     *                                   from {@code dstOffset}.
+     */
+    public int getWords(long[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, length * 4);
+
+        for (int i = 0; i < length; i += 1) {
+            getWord(i, dst, dstOffset + i * 4);
+        }
+
+        return length;
+    }
+
+    /**
+     * Copy every element as a {@value ADDRESS_LEN}-byte Solidity address, one after the other.
+     *
+     * @return the number of elements read.
+     * @throws IndexOutOfBoundsException if {@code dst} does not have
+     *                                   {@code ADDRESS_LEN * length()} bytes from
+     *                                   {@code dstOffset}.
+     */
+    public int getAddresses(byte[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, length * ADDRESS_LEN);
+
+        for (int i = 0; i < length; i += 1) {
+            getAddress(i, dst, dstOffset + i * ADDRESS_LEN);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Writes Solidity ABI words into a byte array which was sized up front.
+ * <p>
+ * Every byte of a word is written, padding included, so the array may be reused.
+ */
+final class AbiEncoder {
+    static final int WORD = 32;
+
+    private final byte[] buf;
+
+    private int pos;
+
+    AbiEncoder(byte[] buf, int offset) {
+        this.buf = buf;
+        this.pos = offset;
+    }
+
+    int position() {
+        return pos;
+    }
+
+    void seek(int pos) {
+        this.pos = pos;
+    }
+
+    /**
+     * @return a new encoder over the same array at {@code offset}.
+     */
+    AbiEncoder at(int offset) {
+        return new AbiEncoder(buf, offset);
+    }
+
+    /**
+     * @return {@code len} rounded up to a multiple of 32.
+     */
+    static int padded(int len) {
+        return (len + WORD - 1) / WORD * WORD;
+    }
+
+    /**
+     * Write the low {@code bitWidth} bits of {@code val}, padded with ones if it is signed and
+     * negative or zeros otherwise.
+     */
+    void writeInt(long val, int bitWidth, boolean signed) {
+        writeInt(buf, pos, val, bitWidth, signed);
+        pos += WORD;
+    }
+
+    static void writeInt(byte[] buf, int pos, long val, int bitWidth, boolean signed) {
+        // don't try to get wider than a `long` as it should just be filled with padding
+        final int bytes = Math.min(bitWidth, 64) / 8;
+        final byte pad = signed && val < 0 ? (byte) 0xFF : 0;
+
+        Arrays.fill(buf, pos, pos + WORD - bytes, pad);
+
+        // write bytes in big-endian order
+        for (int i = 0; i < bytes; i += 1) {
+            buf[pos + WORD - 1 - i] = (byte) (val >> (i * 8));
+        }
+    }
+
+    void writeUint(long val) {
+        writeInt(val, 64, false);
+    }
+
+    void writeInt256(BigInteger val) {
+        writeLeftPadded(val.toByteArray(), val.signum() < 0);
+    }
+
+    void writeUint256(BigInteger val) {
+        final byte[] bytes = val.toByteArray();
+
+        if (bytes.length > WORD) {
+            // a 256-bit value has a leading zero byte for the sign bit
+            System.arraycopy(bytes, 1, buf, pos, WORD);
+            pos += WORD;
+        } else {
+            writeLeftPadded(bytes, false);
+        }
+    }
+
+    /**
+     * Write at most 32 bytes right-aligned in a word.
+     */
+    void writeLeftPadded(byte[] bytes, boolean negative) {
+        final int padLen = WORD - bytes.length;
+
+        Arrays.fill(buf, pos, pos + padLen, negative ? (byte) 0xFF : 0);
+        System.arraycopy(bytes, 0, buf, pos + padLen, bytes.length);
+        pos += WORD;
+    }
+
+    /**
+     * Write at most 32 bytes left-aligned in a word.
+     */
+    void writeBytes32(byte[] bytes) {
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        Arrays.fill(buf, pos + bytes.length, pos + WORD, (byte) 0);
+        pos += WORD;
+    }
+
+    /**
+     * Write bytes followed by zeros up to a multiple of 32 bytes.
+     */
+    void writeRightPadded(byte[] bytes) {
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+
+        final int end = pos + padded(bytes.length);
+        Arrays.fill(buf, pos + bytes.length, end, (byte) 0);
+        pos = end;
+    }
+
+    /**
+     * Write {@code bytes} or {@code string} contents: the length, then the padded bytes.
+     */
+    void writeDynamicBytes(byte[] bytes) {
+        writeUint(bytes.length);
+        writeRightPadded(bytes);
+    }
+
+    /**
+     * @return the size of the encoding of {@link #writeDynamicBytes(byte[])}.
+     */
+    static int dynamicBytesSize(byte[] bytes) {
+        return WORD + padded(bytes.length);
+    }
+}
@@ -0,0 +1,267 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.UnsafeByteOperations;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An event from a contract ABI, compiled to decode the logs it emits.
+ * <p>
+ * Indexed parameters are decoded from the topics of a log and the others from its data. Indexed
+ * parameters of dynamic or compound types are stored only as the Keccak-256 hash of their
+ * encoding, so they are decoded as that 32-byte hash. See {@link AbiType} for how other values
+ * map to Java types.
+ *
+ * @see ContractAbi#getEvent(String)
+ */
+public final class AbiEvent {
+    private final String name;
+
+    private final List<AbiType> types;
+
+    private final List<String> names;
+
+    private final boolean[] indexed;
+
+    private final int indexedCount;
+
+    // the non-indexed parameters, which are encoded in the data of the log as a tuple
+    private final AbiType data;
+
+    private final boolean anonymous;
+
+    private final String signature;
+
+    // Keccak-256 of the signature, which is the first topic unless the event is anonymous
+    private final byte[] topic;
+
+    AbiEvent(String name, List<AbiType> types, List<String> names, boolean[] indexed, boolean anonymous) {
+        this.name = name;
+        this.types = Collections.unmodifiableList(new ArrayList<>(types));
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.indexed = indexed.clone();
+        this.anonymous = anonymous;
+
+        final ArrayList<AbiType> dataTypes = new ArrayList<>();
+        final ArrayList<String> dataNames = new ArrayList<>();
+        int indexedCount = 0;
+
+        for (int i = 0; i < types.size(); i += 1) {
+            if (indexed[i]) {
+                indexedCount += 1;
+            } else {
+                dataTypes.add(types.get(i));
+                dataNames.add(names.get(i));
+            }
+        }
+
+        this.indexedCount = indexedCount;
+        this.data = AbiType.tuple(dataTypes, dataNames);
+
+        signature = name + AbiType.tuple(types, names).getCanonicalName();
+        topic = new Keccak.Digest256().digest(signature.getBytes(US_ASCII));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the canonical signature of the event, e.g. {@code Transfer(address,address,uint256)}.
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return a copy of the Keccak-256 hash of the signature, which is the first topic of the
+     * logs of the event unless it is anonymous.
+     */
+    public byte[] getTopic() {
+        return topic.clone();
+    }
+
+    public boolean isAnonymous() {
+        return anonymous;
+    }
+
+    /**
+     * @return the canonical type names of the parameters of the event.
+     */
+    public List<String> getParamTypes() {
+        final String[] typeNames = new String[types.size()];
+
+        for (int i = 0; i < typeNames.length; i += 1) {
+            typeNames[i] = types.get(i).getCanonicalName();
+        }
+
+        return Arrays.asList(typeNames);
+    }
+
+    /**
+     * @return whether {@code log} has the topics of this event; anonymous events can only be
+     * matched by their number of indexed parameters.
+     */
+    public boolean matches(ContractLogInfo log) {
+        if (anonymous) {
+            return log.topics.size() == indexedCount;
+        }
+
+        return log.topics.size() == indexedCount + 1 && Arrays.equals(topic, log.topics.get(0));
+    }
+
+    /**
+     * Decode the parameters of the event from {@code log}, in the order they are declared.
+     *
+     * @throws IllegalArgumentException if the log was not emitted by this event.
+     */
+    public List<Object> decode(ContractLogInfo log) {
+        if (!matches(log)) {
+            throw new IllegalArgumentException("log does not match event " + signature);
+        }
+
+        final List<Object> dataValues = data.decodeComponents(
+            new AbiView(UnsafeByteOperations.unsafeWrap(log.data)));
+
+        final ArrayList<Object> values = new ArrayList<>(types.size());
+        int nextTopic = anonymous ? 0 : 1;
+        int nextData = 0;
+
+        for (int i = 0; i < types.size(); i += 1) {
+            if (indexed[i]) {
+                values.add(decodeTopic(types.get(i), log.topics.get(nextTopic)));
+                nextTopic += 1;
+            } else {
+                values.add(dataValues.get(nextData));
+                nextData += 1;
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Decode the parameter with the given name from {@code log}.
+     *
+     * @throws IllegalArgumentException if the event has no parameter with that name or the log was
+     *                                  not emitted by this event.
+     */
+    public Object decode(ContractLogInfo log, String paramName) {
+        return decode(log).get(paramIndex(paramName));
+    }
+
+    int paramIndex(String paramName) {
+        final int index = names.indexOf(paramName);
+
+        if (index < 0) {
+            throw new IllegalArgumentException("event " + signature + " has no parameter `" + paramName + "`");
+        }
+
+        return index;
+    }
+
+    // the number of topics of a log emitted by this event
+    int topicCount() {
+        return anonymous ? indexedCount : indexedCount + 1;
+    }
+
+    int indexedCount() {
+        return indexedCount;
+    }
+
+    // the shared topic which must not be modified
+    byte[] topic() {
+        return topic;
+    }
+
+    /**
+     * Compute the topics of a log of this event with the given values of the indexed parameters,
+     * in the order they are declared, not including the topic of the event itself.
+     * <p>
+     * A {@code null} value gives a {@code null} topic. Strings and {@code bytes} are hashed as
+     * Solidity does; other dynamic or compound values must be given as the 32-byte hash of their
+     * encoding.
+     *
+     * @throws IllegalArgumentException if there are more values than indexed parameters or a value
+     *                                  can't be encoded as the type of its parameter.
+     */
+    byte[][] indexedTopics(Object[] values) {
+        if (values.length > indexedCount) {
+            throw new IllegalArgumentException("event " + signature + " has " + indexedCount
+                + " indexed parameters but got " + values.length + " values");
+        }
+
+        final byte[][] topics = new byte[values.length][];
+        int next = 0;
+
+        for (int i = 0; i < types.size() && next < values.length; i += 1) {
+            if (indexed[i]) {
+                topics[next] = values[next] != null ? encodeTopic(types.get(i), values[next]) : null;
+                next += 1;
+            }
+        }
+
+        return topics;
+    }
+
+    private static byte[] encodeTopic(AbiType type, Object value) {
+        if (isValueType(type)) {
+            final byte[] topic = new byte[AbiEncoder.WORD];
+            type.encode(value, new AbiEncoder(topic, 0));
+            return topic;
+        }
+
+        if (type.kind == AbiType.Kind.STRING && value instanceof String) {
+            return new Keccak.Digest256().digest(((String) value).getBytes(UTF_8));
+        }
+
+        if (type.kind == AbiType.Kind.BYTES && value instanceof byte[]) {
+            return new Keccak.Digest256().digest((byte[]) value);
+        }
+
+        if (value instanceof byte[] && ((byte[]) value).length == AbiEncoder.WORD) {
+            return ((byte[]) value).clone();
+        }
+
+        throw new IllegalArgumentException("expected the 32-byte hash of a value of "
+            + type.getCanonicalName() + " but got " + value);
+    }
+
+    private static Object decodeTopic(AbiType type, byte[] topic) {
+        if (!isValueType(type)) {
+            // the topic is the hash of the encoded value
+            return topic.clone();
+        }
+
+        return type.decode(new AbiView(UnsafeByteOperations.unsafeWrap(topic)), 0);
+    }
+
+    // types encoded in a single word, which are stored in topics as is
+    static boolean isValueType(AbiType type) {
+        switch (type.kind) {
+            case INT:
+            case UINT:
+            case ADDRESS:
+            case BOOL:
+            case FIXED_BYTES:
+            case FUNCTION:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return signature;
+    }
+}
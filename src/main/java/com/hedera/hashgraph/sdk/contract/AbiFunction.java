@@ -0,0 +1,228 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A function or constructor from a contract ABI, compiled to encode calls and decode results.
+ * <p>
+ * The selector and the layout of the inputs and outputs are computed once, so encoding and
+ * decoding only walk the values. See {@link AbiType} for how values map to Java types.
+ *
+ * @see ContractAbi#getFunction(String)
+ */
+public final class AbiFunction {
+    private final String name;
+
+    private final AbiType inputs;
+
+    private final AbiType outputs;
+
+    private final List<String> outputNames;
+
+    // the index of the first word of each output in the head of the result
+    private final int[] outputWords;
+
+    private final boolean constant;
+
+    @Nullable
+    private final ContractFunction descriptor;
+
+    AbiFunction(
+        String name,
+        AbiType inputs,
+        AbiType outputs,
+        List<String> outputNames,
+        boolean constant,
+        boolean isConstructor
+    ) {
+        this.name = name;
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.outputNames = outputNames;
+        this.constant = constant;
+
+        final List<AbiType> outputTypes = outputs.getComponents();
+        outputWords = new int[outputTypes.size()];
+
+        for (int i = 1; i < outputWords.length; i += 1) {
+            outputWords[i] = outputWords[i - 1] + outputTypes.get(i - 1).headSize / AbiEncoder.WORD;
+        }
+
+        descriptor = isConstructor ? null : new ContractFunction(name, getInputTypes().toArray(new String[0]));
+    }
+
+    /**
+     * @return the name of the function, or {@code constructor} for the constructor.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the canonical signature of the function, e.g. {@code transfer(address,uint256)}.
+     */
+    public String getSignature() {
+        return name + inputs.getCanonicalName();
+    }
+
+    /**
+     * @return a copy of the selector, or {@code null} for the constructor which has none.
+     */
+    @Nullable
+    public byte[] getSelector() {
+        return descriptor != null ? descriptor.getSelector() : null;
+    }
+
+    /**
+     * @return a {@link ContractFunction} for this function, for use with
+     * {@link ContractFunctionParams}.
+     * @throws IllegalStateException if this is the constructor, which has no selector.
+     */
+    public ContractFunction toContractFunction() {
+        if (descriptor == null) {
+            throw new IllegalStateException("a constructor has no selector");
+        }
+
+        return descriptor;
+    }
+
+    /**
+     * @return whether the function is declared {@code view} or {@code pure}, and so can be
+     * called with a {@link ContractCallQuery}.
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    public List<String> getInputTypes() {
+        return canonicalNames(inputs);
+    }
+
+    public List<String> getOutputTypes() {
+        return canonicalNames(outputs);
+    }
+
+    /**
+     * Encode a call of this function with the given arguments, in the order they are declared.
+     *
+     * @throws IllegalArgumentException if the arguments do not match the inputs of the function.
+     */
+    public byte[] encodeCall(Object... args) {
+        return encode(args).toByteArray();
+    }
+
+    /**
+     * Write the encoding of a call of this function to {@code buffer} at its position, which is
+     * advanced past it.
+     *
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException if the arguments do not match the inputs of the function.
+     * @throws BufferOverflowException  if the call does not fit in {@code buffer}.
+     */
+    public int encodeCallTo(ByteBuffer buffer, Object... args) {
+        final List<Object> values = Arrays.asList(args);
+        final int size = encodedSize(values);
+
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        if (buffer.hasArray()) {
+            encode(values, buffer.array(), buffer.arrayOffset() + buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            final byte[] bytes = new byte[size];
+            encode(values, bytes, 0);
+            buffer.put(bytes);
+        }
+
+        return size;
+    }
+
+    /**
+     * Decode all outputs of the function from its result, in the order they are declared.
+     */
+    public List<Object> decodeResult(ContractFunctionResult result) {
+        return decodeResult(result.getView());
+    }
+
+    /**
+     * Decode the nth output of the function from its result, without decoding the others.
+     */
+    public Object decodeResult(ContractFunctionResult result, int outputIndex) {
+        return outputs.getComponents().get(outputIndex)
+            .decode(result.getView(), outputWords[outputIndex]);
+    }
+
+    /**
+     * Decode the output with the given name from the result of the function, without decoding
+     * the others.
+     *
+     * @throws IllegalArgumentException if the function has no output with that name.
+     */
+    public Object decodeResult(ContractFunctionResult result, String outputName) {
+        final int index = outputNames.indexOf(outputName);
+
+        if (index < 0) {
+            throw new IllegalArgumentException("function " + getSignature() + " has no output `" + outputName + "`");
+        }
+
+        return decodeResult(result, index);
+    }
+
+    // the index of the first word of the nth output in the head of the result
+    int outputWord(int outputIndex) {
+        return outputWords[outputIndex];
+    }
+
+    List<Object> decodeResult(AbiView view) {
+        // the outputs are encoded in place as a tuple at the start of the result
+        return outputs.decodeComponents(view);
+    }
+
+    ByteString encode(Object[] args) {
+        final List<Object> values = Arrays.asList(args);
+        final byte[] bytes = new byte[encodedSize(values)];
+
+        encode(values, bytes, 0);
+
+        // the array never escapes so it is safe to wrap without a copy
+        return UnsafeByteOperations.unsafeWrap(bytes);
+    }
+
+    private int encodedSize(List<Object> values) {
+        return (descriptor != null ? ContractFunctionParams.SELECTOR_LEN : 0) + inputs.encodedSize(values);
+    }
+
+    private void encode(List<Object> values, byte[] buf, int offset) {
+        if (descriptor != null) {
+            System.arraycopy(descriptor.selector(), 0, buf, offset, ContractFunctionParams.SELECTOR_LEN);
+            offset += ContractFunctionParams.SELECTOR_LEN;
+        }
+
+        inputs.encode(values, new AbiEncoder(buf, offset));
+    }
+
+    private static List<String> canonicalNames(AbiType tuple) {
+        final String[] names = new String[tuple.getComponents().size()];
+
+        for (int i = 0; i < names.length; i += 1) {
+            names[i] = tuple.getComponents().get(i).getCanonicalName();
+        }
+
+        return Arrays.asList(names);
+    }
+
+    @Override
+    public String toString() {
+        return getSignature();
+    }
+}
@@ -0,0 +1,578 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A Solidity type from a contract ABI, compiled to encode and decode values of that type.
+ * <p>
+ * Values are mapped to Java types as follows:
+ * <ul>
+ *     <li>{@code intN} up to 64 bits and {@code uintN} up to 56 bits: {@link Long} (any
+ *     {@link Integer}, {@link Short}, {@link Byte} or {@link BigInteger} in range is also
+ *     accepted when encoding)</li>
+ *     <li>wider integers: {@link BigInteger} (a {@link Long} is also accepted)</li>
+ *     <li>{@code address}: hex-encoded {@link String} (a 20-byte {@code byte[]} is also
+ *     accepted)</li>
+ *     <li>{@code bool}: {@link Boolean}</li>
+ *     <li>{@code bytesN}, {@code function} and {@code bytes}: {@code byte[]}</li>
+ *     <li>{@code string}: {@link String}</li>
+ *     <li>arrays and tuples: {@link List} (an {@code Object[]} is also accepted, as is a
+ *     {@link Map} from component name to value for tuples)</li>
+ * </ul>
+ * The layout of each type (its size in the head of a tuple and whether it is dynamic) is computed
+ * once when the type is compiled.
+ */
+public final class AbiType {
+    private static final int WORD = AbiEncoder.WORD;
+
+    enum Kind {
+        INT, UINT, ADDRESS, BOOL, FIXED_BYTES, FUNCTION, BYTES, STRING, ARRAY, FIXED_ARRAY, TUPLE
+    }
+
+    final Kind kind;
+
+    // bit width of integers, byte length of `bytesN` or element count of fixed arrays
+    private final int size;
+
+    @Nullable
+    private final AbiType element;
+
+    private final List<AbiType> components;
+
+    private final List<String> componentNames;
+
+    private final String canonicalName;
+
+    private final boolean dynamic;
+
+    // bytes taken up in the head of the enclosing tuple
+    final int headSize;
+
+    private AbiType(
+        Kind kind,
+        int size,
+        @Nullable AbiType element,
+        List<AbiType> components,
+        List<String> componentNames,
+        String canonicalName
+    ) {
+        this.kind = kind;
+        this.size = size;
+        this.element = element;
+        this.components = components;
+        this.componentNames = componentNames;
+        this.canonicalName = canonicalName;
+
+        switch (kind) {
+            case BYTES:
+            case STRING:
+            case ARRAY:
+                dynamic = true;
+                headSize = WORD;
+                break;
+
+            case FIXED_ARRAY:
+                dynamic = element().dynamic;
+                headSize = dynamic ? WORD : size * element().headSize;
+                break;
+
+            case TUPLE:
+                dynamic = components.stream().anyMatch(c -> c.dynamic);
+                headSize = dynamic ? WORD : components.stream().mapToInt(c -> c.headSize).sum();
+                break;
+
+            default:
+                dynamic = false;
+                headSize = WORD;
+        }
+    }
+
+    /**
+     * Compile a type name such as {@code uint256}, {@code bytes32[]} or {@code tuple[2]}.
+     *
+     * @param components the components of a tuple type with their names, which may be empty;
+     *                   ignored for other types.
+     * @throws IllegalArgumentException if the type is not supported.
+     */
+    static AbiType parse(String type, List<AbiType> components, List<String> componentNames) {
+        if (type.endsWith("]")) {
+            final int open = type.lastIndexOf('[');
+
+            if (open < 0) {
+                throw new IllegalArgumentException("unsupported Solidity type: " + type);
+            }
+
+            final AbiType element = parse(type.substring(0, open), components, componentNames);
+            final String dim = type.substring(open + 1, type.length() - 1);
+
+            if (dim.isEmpty()) {
+                return new AbiType(Kind.ARRAY, 0, element, Collections.emptyList(),
+                    Collections.emptyList(), element.canonicalName + "[]");
+            }
+
+            final int length = parseSize(type, dim);
+
+            return new AbiType(Kind.FIXED_ARRAY, length, element, Collections.emptyList(),
+                Collections.emptyList(), element.canonicalName + "[" + length + "]");
+        }
+
+        if (type.equals("tuple")) {
+            final StringBuilder name = new StringBuilder("(");
+
+            for (int i = 0; i < components.size(); i += 1) {
+                name.append(i > 0 ? "," : "").append(components.get(i).canonicalName);
+            }
+
+            return new AbiType(Kind.TUPLE, components.size(), null,
+                Collections.unmodifiableList(new ArrayList<>(components)),
+                Collections.unmodifiableList(new ArrayList<>(componentNames)),
+                name.append(')').toString());
+        }
+
+        switch (type) {
+            case "address":
+                return simple(Kind.ADDRESS, 160, type);
+            case "bool":
+                return simple(Kind.BOOL, 8, type);
+            case "string":
+                return simple(Kind.STRING, 0, type);
+            case "bytes":
+                return simple(Kind.BYTES, 0, type);
+            case "function":
+                // an address followed by a selector
+                return simple(Kind.FUNCTION, 24, type);
+            case "int":
+                return simple(Kind.INT, 256, "int256");
+            case "uint":
+                return simple(Kind.UINT, 256, "uint256");
+            default:
+        }
+
+        if (type.startsWith("uint") || type.startsWith("int")) {
+            final boolean signed = type.startsWith("int");
+            final int bits = parseSize(type, type.substring(signed ? 3 : 4));
+
+            if (bits % 8 != 0 || bits > 256) {
+                throw new IllegalArgumentException("unsupported Solidity type: " + type);
+            }
+
+            return simple(signed ? Kind.INT : Kind.UINT, bits, type);
+        }
+
+        if (type.startsWith("bytes")) {
+            final int length = parseSize(type, type.substring(5));
+
+            if (length > WORD) {
+                throw new IllegalArgumentException("unsupported Solidity type: " + type);
+            }
+
+            return simple(Kind.FIXED_BYTES, length, type);
+        }
+
+        throw new IllegalArgumentException("unsupported Solidity type: " + type);
+    }
+
+    static AbiType tuple(List<AbiType> components, List<String> componentNames) {
+        return parse("tuple", components, componentNames);
+    }
+
+    private static AbiType simple(Kind kind, int size, String name) {
+        return new AbiType(kind, size, null, Collections.emptyList(), Collections.emptyList(), name);
+    }
+
+    private static int parseSize(String type, String digits) {
+        try {
+            final int size = Integer.parseInt(digits);
+
+            if (size > 0) {
+                return size;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+
+        throw new IllegalArgumentException("unsupported Solidity type: " + type);
+    }
+
+    /**
+     * @return the canonical name of the type as used in function signatures, e.g.
+     * {@code uint256[]} or {@code (address,bytes)}.
+     */
+    public String getCanonicalName() {
+        return canonicalName;
+    }
+
+    /**
+     * @return whether the type is encoded at an offset after the head of the enclosing tuple.
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @return the types of the components of a tuple, or an empty list for other types.
+     */
+    public List<AbiType> getComponents() {
+        return components;
+    }
+
+    @Override
+    public String toString() {
+        return canonicalName;
+    }
+
+    private AbiType element() {
+        if (element == null) {
+            throw new IllegalStateException("not an array type");
+        }
+
+        return element;
+    }
+
+    /**
+     * @return the number of bytes {@link #encode(Object, AbiEncoder)} will write for
+     * {@code value}.
+     */
+    int encodedSize(Object value) {
+        if (!dynamic) {
+            return headSize;
+        }
+
+        switch (kind) {
+            case BYTES:
+                return WORD + AbiEncoder.padded(toBytes(value).length);
+
+            case STRING:
+                return WORD + AbiEncoder.padded(utf8Length(toString(value)));
+
+            case ARRAY:
+                return WORD + sequenceSize(toList(value));
+
+            default:
+                return sequenceSize(toList(value));
+        }
+    }
+
+    /**
+     * Write the encoding of {@code value} at the position of {@code out}; for dynamic types this
+     * is what the offset in the head of the enclosing tuple points to.
+     *
+     * @throws IllegalArgumentException if {@code value} can't be encoded as this type.
+     */
+    void encode(Object value, AbiEncoder out) {
+        switch (kind) {
+            case INT:
+            case UINT:
+                encodeInt(value, out);
+                break;
+
+            case ADDRESS:
+                out.writeLeftPadded(toAddress(value), false);
+                break;
+
+            case BOOL:
+                if (!(value instanceof Boolean)) {
+                    throw typeError(value);
+                }
+
+                out.writeInt((Boolean) value ? 1 : 0, 8, false);
+                break;
+
+            case FIXED_BYTES:
+            case FUNCTION: {
+                final byte[] bytes = toBytes(value);
+
+                if (kind == Kind.FIXED_BYTES ? bytes.length > size : bytes.length != size) {
+                    throw new IllegalArgumentException(
+                        "expected " + size + " bytes for " + canonicalName + " but got " + bytes.length);
+                }
+
+                out.writeBytes32(bytes);
+                break;
+            }
+
+            case BYTES:
+                out.writeDynamicBytes(toBytes(value));
+                break;
+
+            case STRING:
+                out.writeDynamicBytes(toString(value).getBytes(StandardCharsets.UTF_8));
+                break;
+
+            case ARRAY: {
+                final List<?> values = toList(value);
+                out.writeUint(values.size());
+                encodeSequence(values, out);
+                break;
+            }
+
+            default:
+                encodeSequence(toList(value), out);
+        }
+    }
+
+    /**
+     * Decode the value at the nth word of the head of {@code view}.
+     */
+    Object decode(AbiView view, int valIndex) {
+        switch (kind) {
+            case INT:
+                return size <= 64 ? (Object) view.getInt64(valIndex) : view.getInt256(valIndex);
+
+            case UINT:
+                return size < 64 ? (Object) view.getInt64(valIndex) : view.getUint256(valIndex);
+
+            case ADDRESS:
+                return view.getAddress(valIndex);
+
+            case BOOL:
+                return view.getBool(valIndex);
+
+            case FIXED_BYTES:
+            case FUNCTION: {
+                final byte[] bytes = new byte[size];
+                view.bytes.copyTo(bytes, view.offset(valIndex), 0, size);
+                return bytes;
+            }
+
+            case BYTES:
+                return view.getByteString(valIndex).toByteArray();
+
+            case STRING:
+                return view.getString(valIndex);
+
+            case ARRAY: {
+                final AbiArray array = view.getArray(valIndex);
+                return decodeSequence(array, array.length());
+            }
+
+            default:
+                return decodeSequence(dynamic ? view.getTuple(valIndex) : view.getStaticTuple(valIndex),
+                    kind == Kind.TUPLE ? components.size() : size);
+        }
+    }
+
+    /**
+     * Decode the components of a tuple encoded in place at the start of {@code view}.
+     */
+    List<Object> decodeComponents(AbiView view) {
+        return decodeSequence(view, components.size());
+    }
+
+    // the type of the ith value of a tuple or array
+    private AbiType typeAt(int i) {
+        return kind == Kind.TUPLE ? components.get(i) : element();
+    }
+
+    private int sequenceSize(List<?> values) {
+        int size = 0;
+
+        for (int i = 0; i < values.size(); i += 1) {
+            final AbiType type = typeAt(i);
+            size += type.headSize + (type.dynamic ? type.encodedSize(values.get(i)) : 0);
+        }
+
+        return size;
+    }
+
+    private void encodeSequence(List<?> values, AbiEncoder out) {
+        final int start = out.position();
+        int headLen = 0;
+
+        for (int i = 0; i < values.size(); i += 1) {
+            headLen += typeAt(i).headSize;
+        }
+
+        // dynamic values write their offset from the start of the sequence in the head and
+        // their data in the tail
+        final AbiEncoder tail = out.at(start + headLen);
+
+        for (int i = 0; i < values.size(); i += 1) {
+            final AbiType type = typeAt(i);
+
+            if (type.dynamic) {
+                out.writeUint(tail.position() - start);
+                type.encode(values.get(i), tail);
+            } else {
+                type.encode(values.get(i), out);
+            }
+        }
+
+        out.seek(tail.position());
+    }
+
+    private List<Object> decodeSequence(AbiView view, int count) {
+        final ArrayList<Object> values = new ArrayList<>(count);
+        int valIndex = 0;
+
+        for (int i = 0; i < count; i += 1) {
+            final AbiType type = typeAt(i);
+            values.add(type.decode(view, valIndex));
+            valIndex += type.headSize / WORD;
+        }
+
+        return values;
+    }
+
+    private void encodeInt(Object value, AbiEncoder out) {
+        final boolean signed = kind == Kind.INT;
+
+        if (value instanceof BigInteger) {
+            final BigInteger bigInt = (BigInteger) value;
+
+            if (signed ? bigInt.bitLength() > size - 1 : bigInt.signum() < 0 || bigInt.bitLength() > size) {
+                throw rangeError(value);
+            }
+
+            if (signed) {
+                out.writeInt256(bigInt);
+            } else {
+                out.writeUint256(bigInt);
+            }
+
+            return;
+        }
+
+        if (!(value instanceof Long || value instanceof Integer
+            || value instanceof Short || value instanceof Byte)) {
+            throw typeError(value);
+        }
+
+        final long val = ((Number) value).longValue();
+
+        if (signed && size < 64) {
+            final long bound = 1L << (size - 1);
+
+            if (val < -bound || val >= bound) {
+                throw rangeError(value);
+            }
+        } else if (!signed && (val < 0 || size < 64 && val >= 1L << size)) {
+            throw rangeError(value);
+        }
+
+        // the sign is extended across the whole word
+        out.writeInt(val, 64, signed);
+    }
+
+    private byte[] toAddress(Object value) {
+        final byte[] address;
+
+        if (value instanceof String) {
+            final String hex = (String) value;
+
+            if (hex.length() != ContractFunctionParams.ADDRESS_LEN_HEX) {
+                throw new IllegalArgumentException("Solidity addresses must be 40 hex chars");
+            }
+
+            try {
+                address = Hex.decode(hex);
+            } catch (DecoderException e) {
+                throw new IllegalArgumentException("failed to decode Solidity address as hex", e);
+            }
+        } else if (value instanceof byte[]) {
+            address = (byte[]) value;
+
+            if (address.length != ContractFunctionParams.ADDRESS_LEN) {
+                throw new IllegalArgumentException("Solidity addresses must be 20 bytes or 40 hex chars");
+            }
+        } else {
+            throw typeError(value);
+        }
+
+        return address;
+    }
+
+    private byte[] toBytes(Object value) {
+        if (!(value instanceof byte[])) {
+            throw typeError(value);
+        }
+
+        return (byte[]) value;
+    }
+
+    private String toString(Object value) {
+        if (!(value instanceof String)) {
+            throw typeError(value);
+        }
+
+        return (String) value;
+    }
+
+    private List<?> toList(Object value) {
+        final List<?> values;
+
+        if (value instanceof List) {
+            values = (List<?>) value;
+        } else if (value instanceof Object[]) {
+            values = Arrays.asList((Object[]) value);
+        } else if (value instanceof Map && kind == Kind.TUPLE) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            final ArrayList<Object> ordered = new ArrayList<>(components.size());
+
+            for (String name : componentNames) {
+                if (!map.containsKey(name)) {
+                    throw new IllegalArgumentException("missing component `" + name + "` of " + canonicalName);
+                }
+
+                ordered.add(map.get(name));
+            }
+
+            values = ordered;
+        } else {
+            throw typeError(value);
+        }
+
+        final int expected = kind == Kind.TUPLE ? components.size() : size;
+
+        if (kind != Kind.ARRAY && values.size() != expected) {
+            throw new IllegalArgumentException(
+                "expected " + expected + " values for " + canonicalName + " but got " + values.size());
+        }
+
+        return values;
+    }
+
+    private IllegalArgumentException typeError(@Nullable Object value) {
+        return new IllegalArgumentException("cannot encode "
+            + (value == null ? "null" : value.getClass().getSimpleName()) + " as " + canonicalName);
+    }
+
+    private IllegalArgumentException rangeError(Object value) {
+        return new IllegalArgumentException(value + " out of range for " + canonicalName);
+    }
+
+    private static int utf8Length(String string) {
+        int len = 0;
+
+        for (int i = 0; i < string.length(); i += 1) {
+            final char c = string.charAt(i);
+
+            if (c < 0x80) {
+                len += 1;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length()
+                && Character.isLowSurrogate(string.charAt(i + 1))) {
+                // a surrogate pair is one 4-byte code point
+                len += 4;
+                i += 1;
+            } else {
+                // including lone surrogates which `getBytes()` replaces with `?`
+                len += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+
+        return len;
+    }
+}
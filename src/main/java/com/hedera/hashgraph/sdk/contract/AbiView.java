@@ -0,0 +1,248 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * A view over a tuple in the Solidity ABI encoding of a function result, read in place.
+ * <p>
+ * Values are addressed by their index in the head of the tuple, as with the getters of
+ * {@link ContractFunctionResult}. Primitives are read directly from the underlying bytes without
+ * allocating and bytes can be copied into a buffer supplied by the caller. Dynamic arrays and
+ * tuples are returned as further views which are only decoded as they are read.
+ * <p>
+ * Views are immutable and may be shared between threads.
+ *
+ * @see ContractFunctionResult#getView()
+ */
+public class AbiView {
+    static final int WORD = 32;
+
+    /**
+     * The length of a Solidity address in bytes.
+     */
+    public static final int ADDRESS_LEN = ContractFunctionParams.ADDRESS_LEN;
+
+    final ByteString bytes;
+
+    // read-only and only read with absolute gets so it can be shared
+    final ByteBuffer buffer;
+
+    // the index in `buffer` of the start of `bytes`
+    final int bufferOffset;
+
+    // the index in `bytes` of the head of this tuple
+    final int start;
+
+    AbiView(ByteString bytes) {
+        this.bytes = bytes;
+        this.buffer = bytes.asReadOnlyByteBuffer();
+        this.bufferOffset = buffer.position();
+        this.start = 0;
+    }
+
+    AbiView(AbiView parent, int start) {
+        this.bytes = parent.bytes;
+        this.buffer = parent.buffer;
+        this.bufferOffset = parent.bufferOffset;
+        this.start = start;
+
+        if (start < 0 || start > bytes.size()) {
+            throw new IndexOutOfBoundsException("offset " + start + " outside of result of "
+                + bytes.size() + " bytes");
+        }
+    }
+
+    /**
+     * Get the nth value as a boolean.
+     */
+    public boolean getBool(int valIndex) {
+        return getInt8(valIndex) != 0;
+    }
+
+    /**
+     * Get the nth value as an 8-bit integer, truncated to the last byte if it is wider.
+     */
+    public byte getInt8(int valIndex) {
+        return buffer.get(index(valIndex) + 31);
+    }
+
+    /**
+     * Get the nth value as a 32-bit integer, truncated to the last 4 bytes if it is wider.
+     */
+    public int getInt32(int valIndex) {
+        return buffer.getInt(index(valIndex) + 28);
+    }
+
+    /**
+     * Get the nth value as a 64-bit integer, truncated to the last 8 bytes if it is wider.
+     */
+    public long getInt64(int valIndex) {
+        return buffer.getLong(index(valIndex) + 24);
+    }
+
+    /**
+     * Get the nth value as a 256-bit integer.
+     * <p>
+     * This allocates; use {@link #getWord(int, long[], int)} to read the value without allocating.
+     */
+    public BigInteger getInt256(int valIndex) {
+        final byte[] word = new byte[WORD];
+        getBytes32(valIndex, word, 0);
+        return new BigInteger(word);
+    }
+
+    /**
+     * Get the nth value as a 256-bit unsigned integer.
+     * <p>
+     * This allocates; use {@link #getWord(int, long[], int)} to read the value without allocating.
+     */
+    public BigInteger getUint256(int valIndex) {
+        final byte[] word = new byte[WORD];
+        getBytes32(valIndex, word, 0);
+        return new BigInteger(1, word);
+    }
+
+    /**
+     * Read the nth 256-bit value into 4 {@code long}s, most significant first.
+     *
+     * @throws IndexOutOfBoundsException if {@code dst} does not have 4 elements from
+     *                                   {@code dstOffset}.
+     */
+    public void getWord(int valIndex, long[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, 4);
+
+        final int index = index(valIndex);
+
+        for (int i = 0; i < 4; i += 1) {
+            dst[dstOffset + i] = buffer.getLong(index + i * 8);
+        }
+    }
+
+    /**
+     * Copy the nth 32-byte value into {@code dst}.
+     *
+     * @throws IndexOutOfBoundsException if {@code dst} does not have 32 bytes from
+     *                                   {@code dstOffset}.
+     */
+    public void getBytes32(int valIndex, byte[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, WORD);
+        bytes.copyTo(dst, offset(valIndex), dstOffset, WORD);
+    }
+
+    /**
+     * Get the nth value as a hex-encoded Solidity address.
+     */
+    public String getAddress(int valIndex) {
+        final byte[] address = new byte[ADDRESS_LEN];
+        getAddress(valIndex, address, 0);
+        return Hex.toHexString(address);
+    }
+
+    /**
+     * Copy the nth value as a {@value ADDRESS_LEN}-byte Solidity address into {@code dst}.
+     *
+     * @throws IndexOutOfBoundsException if {@code dst} does not have {@value ADDRESS_LEN} bytes
+     *                                   from {@code dstOffset}.
+     */
+    public void getAddress(int valIndex, byte[] dst, int dstOffset) {
+        checkDst(dst.length, dstOffset, ADDRESS_LEN);
+        // address is a uint160
+        bytes.copyTo(dst, offset(valIndex) + WORD - ADDRESS_LEN, dstOffset, ADDRESS_LEN);
+    }
+
+    /**
+     * Get the length in bytes of the nth value which is a dynamic {@code bytes} or {@code string}.
+     */
+    public int getBytesLength(int valIndex) {
+        return getInt32At(dynamicOffset(valIndex));
+    }
+
+    /**
+     * Copy the nth value which is a dynamic {@code bytes} or {@code string} into {@code dst}.
+     *
+     * @return the number of bytes copied, as given by {@link #getBytesLength(int)}.
+     * @throws IndexOutOfBoundsException if the value does not fit in {@code dst} from
+     *                                   {@code dstOffset}.
+     */
+    public int getBytes(int valIndex, byte[] dst, int dstOffset) {
+        final int offset = dynamicOffset(valIndex);
+        final int len = getInt32At(offset);
+
+        checkDst(dst.length, dstOffset, len);
+        bytes.copyTo(dst, offset + WORD, dstOffset, len);
+
+        return len;
+    }
+
+    /**
+     * Get the nth value which is a dynamic {@code bytes} or {@code string} as a
+     * {@link ByteString} which shares the underlying bytes.
+     */
+    public ByteString getByteString(int valIndex) {
+        final int offset = dynamicOffset(valIndex);
+        return bytes.substring(offset + WORD, offset + WORD + getInt32At(offset));
+    }
+
+    /**
+     * Get the nth value as a string.
+     */
+    public String getString(int valIndex) {
+        return getByteString(valIndex).toStringUtf8();
+    }
+
+    /**
+     * Get a view of the nth value which is a dynamic array such as {@code uint256[]},
+     * {@code address[]} or {@code bytes[]}.
+     */
+    public AbiArray getArray(int valIndex) {
+        return new AbiArray(this, dynamicOffset(valIndex));
+    }
+
+    /**
+     * Get a view of the nth value which is a tuple (or struct) containing dynamic types, and so
+     * is encoded at an offset like other dynamic values.
+     */
+    public AbiView getTuple(int valIndex) {
+        return new AbiView(this, dynamicOffset(valIndex));
+    }
+
+    /**
+     * Get a view of the static tuple (or struct) whose first value is the nth value of this
+     * tuple; static tuples are encoded in place so a tuple of 3 values takes up the nth to the
+     * n+2th values.
+     */
+    public AbiView getStaticTuple(int valIndex) {
+        return new AbiView(this, offset(valIndex));
+    }
+
+    // offset in `bytes` of the nth word of this tuple
+    final int offset(int valIndex) {
+        return start + valIndex * WORD;
+    }
+
+    // index in `buffer` of the nth word of this tuple
+    final int index(int valIndex) {
+        return bufferOffset + offset(valIndex);
+    }
+
+    // offset in `bytes` of the nth value of this tuple, which is dynamic
+    final int dynamicOffset(int valIndex) {
+        return start + getInt32(valIndex);
+    }
+
+    final int getInt32At(int offset) {
+        return buffer.getInt(bufferOffset + offset + 28);
+    }
+
+    static void checkDst(int dstLen, int dstOffset, int len) {
+        if (dstOffset < 0 || len < 0 || dstLen - dstOffset < len) {
+            throw new IndexOutOfBoundsException("destination of " + dstLen + " from offset "
+                + dstOffset + " does not have room for " + len);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * A contract ABI loaded from the standard Solidity JSON format, with each function and event
+ * compiled to encode and decode without parsing types again.
+ * <p>
+ * Load the ABI once and reuse it; the compiled functions and events are immutable and may be
+ * shared between threads.
+ *
+ * <pre>{@code
+ * ContractAbi abi = ContractAbi.fromJson(json);
+ * AbiFunction transfer = abi.getFunction("transfer");
+ *
+ * new ContractExecuteTransaction()
+ *     .setContractId(contractId)
+ *     .setFunction(transfer, recipient, BigInteger.valueOf(100))
+ *     // ...
+ * }</pre>
+ */
+public final class ContractAbi {
+    private static final Gson gson = new Gson();
+
+    private static final JsonParser jsonParser = new JsonParser();
+
+    @Nullable
+    private final AbiFunction constructor;
+
+    // by signature, in the order they are declared
+    private final Map<String, AbiFunction> functions = new LinkedHashMap<>();
+
+    private final Map<String, AbiEvent> events = new LinkedHashMap<>();
+
+    // by name, for names which aren't overloaded
+    private final Map<String, List<AbiFunction>> functionsByName = new HashMap<>();
+
+    private final Map<String, List<AbiEvent>> eventsByName = new HashMap<>();
+
+    private ContractAbi(Entry[] entries) {
+        AbiFunction constructor = null;
+
+        for (Entry entry : entries) {
+            final String type = entry.type != null ? entry.type : "function";
+
+            switch (type) {
+                case "function": {
+                    final AbiFunction function = new AbiFunction(entry.name(), params(entry.inputs),
+                        params(entry.outputs), names(entry.outputs), entry.isConstant(), false);
+
+                    functions.put(function.getSignature(), function);
+                    functionsByName.computeIfAbsent(function.getName(), k -> new ArrayList<>()).add(function);
+                    break;
+                }
+
+                case "constructor":
+                    constructor = new AbiFunction("constructor", params(entry.inputs),
+                        params(null), Collections.emptyList(), false, true);
+                    break;
+
+                case "event": {
+                    final List<Param> inputs = entry.inputs != null ? entry.inputs : Collections.emptyList();
+                    final boolean[] indexed = new boolean[inputs.size()];
+
+                    for (int i = 0; i < indexed.length; i += 1) {
+                        indexed[i] = inputs.get(i).indexed;
+                    }
+
+                    final AbiEvent event = new AbiEvent(entry.name(), params(inputs).getComponents(),
+                        names(inputs), indexed, entry.anonymous);
+
+                    events.put(event.getSignature(), event);
+                    eventsByName.computeIfAbsent(event.getName(), k -> new ArrayList<>()).add(event);
+                    break;
+                }
+
+                default:
+                    // `fallback` and `receive` take no encoded parameters
+            }
+        }
+
+        this.constructor = constructor;
+    }
+
+    /**
+     * Load an ABI from JSON; either the array of functions and events emitted by {@code solc}
+     * or an object with that array as its {@code abi} field, as in the artifacts of most
+     * build tools.
+     *
+     * @throws IllegalArgumentException if the JSON is not an ABI or uses an unsupported type.
+     */
+    public static ContractAbi fromJson(String json) {
+        return fromJson(new StringReader(json));
+    }
+
+    /**
+     * Load an ABI from JSON.
+     *
+     * @see #fromJson(String)
+     */
+    public static ContractAbi fromJson(Reader json) {
+        return fromEntries(parseEntries(json));
+    }
+
+    static JsonArray parseEntries(Reader json) {
+        try {
+            JsonElement element = jsonParser.parse(json);
+
+            if (element.isJsonObject() && element.getAsJsonObject().has("abi")) {
+                element = element.getAsJsonObject().get("abi");
+            }
+
+            if (!element.isJsonArray()) {
+                throw new IllegalArgumentException("expected a JSON array of ABI entries");
+            }
+
+            return element.getAsJsonArray();
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("failed to parse contract ABI", e);
+        }
+    }
+
+    static ContractAbi fromEntries(JsonArray entries) {
+        try {
+            return new ContractAbi(gson.fromJson(entries, Entry[].class));
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("failed to parse contract ABI", e);
+        }
+    }
+
+    /**
+     * @return the constructor, or {@code null} if the ABI does not declare one.
+     */
+    @Nullable
+    public AbiFunction getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * Get a function by its name, or by its signature (e.g. {@code transfer(address,uint256)}) if
+     * the name is overloaded.
+     *
+     * @throws IllegalArgumentException if there is no such function or the name is overloaded.
+     */
+    public AbiFunction getFunction(String nameOrSignature) {
+        return lookup("function", nameOrSignature, functions, functionsByName);
+    }
+
+    /**
+     * @return all functions in the order they are declared.
+     */
+    public List<AbiFunction> getFunctions() {
+        return new ArrayList<>(functions.values());
+    }
+
+    /**
+     * Get an event by its name, or by its signature if the name is overloaded.
+     *
+     * @throws IllegalArgumentException if there is no such event or the name is overloaded.
+     */
+    public AbiEvent getEvent(String nameOrSignature) {
+        return lookup("event", nameOrSignature, events, eventsByName);
+    }
+
+    /**
+     * @return all events in the order they are declared.
+     */
+    public List<AbiEvent> getEvents() {
+        return new ArrayList<>(events.values());
+    }
+
+    private static <T> T lookup(
+        String kind,
+        String nameOrSignature,
+        Map<String, T> bySignature,
+        Map<String, List<T>> byName
+    ) {
+        if (nameOrSignature.indexOf('(') >= 0) {
+            final T item = bySignature.get(nameOrSignature);
+
+            if (item == null) {
+                throw new IllegalArgumentException("no " + kind + " with signature " + nameOrSignature);
+            }
+
+            return item;
+        }
+
+        final List<T> items = byName.get(nameOrSignature);
+
+        if (items == null) {
+            throw new IllegalArgumentException("no " + kind + " named " + nameOrSignature);
+        }
+
+        if (items.size() > 1) {
+            throw new IllegalArgumentException(kind + " " + nameOrSignature
+                + " is overloaded; use one of its signatures: "
+                + items.stream().map(Object::toString).collect(Collectors.joining(", ")));
+        }
+
+        return items.get(0);
+    }
+
+    private static AbiType params(@Nullable List<Param> params) {
+        final ArrayList<AbiType> types = new ArrayList<>();
+
+        if (params != null) {
+            for (Param param : params) {
+                types.add(param.compile());
+            }
+        }
+
+        return AbiType.tuple(types, names(params));
+    }
+
+    private static List<String> names(@Nullable List<Param> params) {
+        if (params == null) {
+            return Collections.emptyList();
+        }
+
+        return params.stream().map(p -> p.name != null ? p.name : "").collect(Collectors.toList());
+    }
+
+    // the JSON representation of an ABI entry
+    private static class Entry {
+        @Nullable
+        private String type;
+
+        @Nullable
+        private String name;
+
+        @Nullable
+        private List<Param> inputs;
+
+        @Nullable
+        private List<Param> outputs;
+
+        @Nullable
+        private String stateMutability;
+
+        // replaced by `stateMutability` in newer compilers
+        private boolean constant;
+
+        private boolean anonymous;
+
+        private String name() {
+            if (name == null) {
+                throw new IllegalArgumentException("ABI " + type + " has no name");
+            }
+
+            return name;
+        }
+
+        private boolean isConstant() {
+            return stateMutability != null
+                ? stateMutability.equals("view") || stateMutability.equals("pure")
+                : constant;
+        }
+    }
+
+    private static class Param {
+        @Nullable
+        private String name;
+
+        @Nullable
+        private String type;
+
+        @Nullable
+        private List<Param> components;
+
+        private boolean indexed;
+
+        private AbiType compile() {
+            if (type == null) {
+                throw new IllegalArgumentException("ABI parameter " + name + " has no type");
+            }
+
+            final ArrayList<AbiType> componentTypes = new ArrayList<>();
+
+            if (components != null) {
+                for (Param component : components) {
+                    componentTypes.add(component.compile());
+                }
+            }
+
+            return AbiType.parse(type, componentTypes, names(components));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate typed bindings for a contract from its JSON ABI at compile time, in the package of the
+ * annotated type.
+ * <p>
+ * The processor is not registered as a service, so it only runs when enabled; e.g. with
+ * {@code -processor com.hedera.hashgraph.sdk.contract.ContractBindingProcessor} or by listing it
+ * in the {@code annotationProcessors} of {@code maven-compiler-plugin}.
+ *
+ * <pre>{@code
+ * @ContractBinding(abi = "Token.json")
+ * interface Token {}
+ *
+ * // generates TokenBinding
+ * new TokenBinding(contractId).transfer(recipient, BigInteger.valueOf(100))
+ *     .setGas(100_000)
+ *     // ...
+ * }</pre>
+ *
+ * @see ContractBindingGenerator
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ContractBinding {
+    /**
+     * The path of the JSON ABI relative to the package of the annotated type, or to the root if it
+     * starts with {@code /}; looked up in the source path, the class path and the class output,
+     * where Maven copies resources before compiling.
+     */
+    String abi();
+
+    /**
+     * The simple name of the class to generate; by default the name of the annotated type followed
+     * by {@code Binding}.
+     */
+    String className() default "";
+}
@@ -0,0 +1,731 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates the source of typed bindings for a contract from its JSON ABI.
+ * <p>
+ * The bindings have a method for each function which returns a {@link ContractCallQuery} for
+ * {@code view} and {@code pure} functions or a {@link ContractExecuteTransaction} for the others,
+ * and a static method to decode each output of a function which reads the word the output was
+ * found at when the bindings were generated. Functions are described by a {@link ContractFunction}
+ * with their arguments added to {@link ContractFunctionParams} by type, so nothing is parsed or
+ * looked up by name when they are called.
+ * <p>
+ * Functions with a type {@link ContractFunctionParams} doesn't support, such as fixed arrays, and
+ * events are compiled to an {@link AbiFunction} or {@link AbiEvent} once when the bindings are
+ * loaded; see {@link AbiType} for how their values map to Java types.
+ * <p>
+ * Tuples are not supported: generation fails for an ABI with a function, constructor or event
+ * which takes or returns one. Call those through {@link ContractAbi} instead.
+ * <p>
+ * Use {@link ContractBinding} to generate bindings while compiling, or run
+ * {@link #main(String[])} as a build step, e.g. with {@code exec-maven-plugin}.
+ */
+public final class ContractBindingGenerator {
+    private static final String PACKAGE = ContractBindingGenerator.class.getPackage().getName();
+
+    private static final Pattern INT_TYPE = Pattern.compile("(u?)int(\\d+)");
+
+    private static final Pattern FIXED_BYTES_TYPE = Pattern.compile("bytes(\\d+)");
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+        "continue", "default", "do", "double", "else", "enum", "extends", "false", "final",
+        "finally", "float", "for", "goto", "if", "implements", "import", "instanceof", "int",
+        "interface", "long", "native", "new", "null", "package", "private", "protected", "public",
+        "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+        "throw", "throws", "transient", "true", "try", "void", "volatile", "while", "_"));
+
+    // names of members of the bindings and of `Object` which a function can't take
+    private static final Set<String> RESERVED_METHODS = new HashSet<>(Arrays.asList(
+        "deploy", "getContractId", "clone", "equals", "finalize", "getClass", "hashCode", "notify",
+        "notifyAll", "toString", "wait"));
+
+    // names used in the generated methods which a parameter can't take
+    private static final Set<String> RESERVED_PARAMS = new HashSet<>(Arrays.asList(
+        "contractId", "bytecodeFileId"));
+
+    // the Java type and the `ContractFunctionParams` method for each type it supports
+    private static final Map<String, String[]> PARAMS = new HashMap<>();
+
+    static {
+        param("address", "String", "addAddress");
+        param("address[]", "String[]", "addAddressArray");
+        param("bool", "boolean", "addBool");
+        param("string", "String", "addString");
+        param("string[]", "String[]", "addStringArray");
+        param("bytes", "byte[]", "addBytes");
+        param("bytes[]", "byte[][]", "addBytesArray");
+        param("bytes32", "byte[]", "addBytes32");
+        param("bytes32[]", "byte[][]", "addBytes32Array");
+
+        for (String sign : new String[]{"int", "uint"}) {
+            final String method = sign.equals("int") ? "addInt" : "addUint";
+
+            param(sign + "8", "byte", method + "8");
+            param(sign + "8[]", "byte[]", method + "8Array");
+            param(sign + "32", "int", method + "32");
+            param(sign + "32[]", "int[]", method + "32Array");
+            param(sign + "64", "long", method + "64");
+            param(sign + "64[]", "long[]", method + "64Array");
+            param(sign + "256", "BigInteger", method + "256");
+            param(sign + "256[]", "BigInteger[]", method + "256Array");
+        }
+    }
+
+    private final String packageName;
+
+    private final String className;
+
+    private final Set<String> imports = new TreeSet<>();
+
+    // JSON of the entries compiled when the bindings are loaded
+    private final List<String> abiEntries = new ArrayList<>();
+
+    private final StringBuilder constants = new StringBuilder();
+
+    private final StringBuilder methods = new StringBuilder();
+
+    // the Java signatures of the methods and the names of the constants, to tell overloads apart
+    private final Set<String> members = new HashSet<>();
+
+    private ContractBindingGenerator(String packageName, String className) {
+        this.packageName = packageName;
+        this.className = className;
+    }
+
+    /**
+     * Generate the source of bindings for a contract.
+     *
+     * @param abiJson     the ABI as accepted by {@link ContractAbi#fromJson(String)}.
+     * @param packageName the package of the bindings, which may be empty.
+     * @param className   the simple name of the class of the bindings.
+     * @return the source of the class.
+     * @throws IllegalArgumentException if the JSON is not an ABI or uses an unsupported type,
+     *                                  such as a tuple.
+     */
+    public static String generate(String abiJson, String packageName, String className) {
+        return new ContractBindingGenerator(packageName, className)
+            .generate(ContractAbi.parseEntries(new StringReader(abiJson)));
+    }
+
+    /**
+     * Generate bindings from the command line:
+     * {@code ContractBindingGenerator <abi.json> <package> <class name> <output directory>}.
+     * <p>
+     * The source is written to the directory of the package under the output directory.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("usage: ContractBindingGenerator <abi.json> <package> <class name> <output directory>");
+            System.exit(1);
+        }
+
+        final String source = generate(new String(Files.readAllBytes(Paths.get(args[0])), UTF_8), args[1], args[2]);
+        Path dir = Paths.get(args[3]);
+
+        for (String part : args[1].split("\\.")) {
+            if (!part.isEmpty()) {
+                dir = dir.resolve(part);
+            }
+        }
+
+        Files.createDirectories(dir);
+        Files.write(dir.resolve(args[2] + ".java"), source.getBytes(UTF_8));
+    }
+
+    private String generate(JsonArray entries) {
+        final Map<String, Integer> overloads = new HashMap<>();
+        boolean hasConstructor = false;
+
+        for (JsonElement entry : entries) {
+            overloads.merge(type(entry) + " " + jsonName(entry), 1, Integer::sum);
+        }
+
+        final Map<String, Integer> ordinals = new HashMap<>();
+
+        for (JsonElement entry : entries) {
+            final String key = type(entry) + " " + jsonName(entry);
+            final int ordinal = ordinals.merge(key, 1, Integer::sum);
+            final int overloadCount = overloads.get(key);
+
+            // compile each entry alone to find its types
+            final JsonArray single = new JsonArray();
+            single.add(entry);
+            final ContractAbi abi = ContractAbi.fromEntries(single);
+
+            switch (type(entry)) {
+                case "function":
+                    requireNoTuples(abi.getFunctions().get(0).getSignature(),
+                        abi.getFunctions().get(0).getInputTypes(), abi.getFunctions().get(0).getOutputTypes());
+                    addFunction(entry.getAsJsonObject(), abi.getFunctions().get(0),
+                        overloadCount > 1 ? ordinal : 0);
+                    break;
+
+                case "constructor":
+                    hasConstructor = true;
+
+                    if (abi.getConstructor() != null) {
+                        requireNoTuples("constructor", abi.getConstructor().getInputTypes(), new ArrayList<>());
+                    }
+
+                    addConstructor(entry.getAsJsonObject(), abi.getConstructor());
+                    break;
+
+                case "event":
+                    requireNoTuples(abi.getEvents().get(0).getSignature(), abi.getEvents().get(0).getParamTypes(),
+                        new ArrayList<>());
+                    addEvent(entry.getAsJsonObject(), abi.getEvents().get(0), overloadCount > 1 ? ordinal : 0);
+                    break;
+
+                default:
+                    // `fallback` and `receive` can't be called by name
+            }
+        }
+
+        if (!hasConstructor) {
+            addDeploy(new ArrayList<>(), new ArrayList<>(), null);
+        }
+
+        return source();
+    }
+
+    private void addFunction(JsonObject entry, AbiFunction function, int ordinal) {
+        final List<String> inputTypes = function.getInputTypes();
+        final List<String> outputTypes = function.getOutputTypes();
+        final List<String> paramNames = paramNames(entry, inputTypes.size());
+
+        boolean typed = inputTypes.stream().allMatch(PARAMS::containsKey);
+
+        for (String type : outputTypes) {
+            typed &= outputDecoder(type, 0) != null;
+        }
+
+        final String baseName = identifier(function.getName(), "function");
+        final String constant = constant(upperSnakeCase(baseName) + (ordinal > 0 ? "_" + ordinal : "") + "_FUNCTION");
+        final String signature = literal(function.getSignature());
+
+        if (typed) {
+            final StringBuilder args = new StringBuilder(literal(function.getName()));
+
+            for (String type : inputTypes) {
+                args.append(", ").append(literal(type));
+            }
+
+            constants.append("    private static final ").append(use("ContractFunction")).append(' ').append(constant)
+                .append(" = new ContractFunction(").append(args).append(");\n\n");
+        } else {
+            abiEntries.add(entry.toString());
+            constants.append("    private static final ").append(use("AbiFunction")).append(' ').append(constant)
+                .append(" = ABI.getFunction(").append(signature).append(");\n\n");
+        }
+
+        // the call
+        final String returnType = use(function.isConstant() ? "ContractCallQuery" : "ContractExecuteTransaction");
+        final List<String> javaTypes = new ArrayList<>();
+
+        for (String type : inputTypes) {
+            javaTypes.add(typed ? use(PARAMS.get(type)[0]) : abiJavaType(type));
+        }
+
+        String methodName = RESERVED_METHODS.contains(baseName) ? baseName + "_" : baseName;
+
+        if (!members.add(methodName + javaTypes)) {
+            methodName += ordinal;
+            members.add(methodName + javaTypes);
+        }
+
+        // the decoders, which are written after the call
+        final String decoderBase = "decode" + capitalize(baseName) + (ordinal > 0 ? ordinal : "");
+        final StringBuilder decoders = new StringBuilder();
+        String firstDecoder = null;
+
+        for (int i = 0; i < outputTypes.size(); i += 1) {
+            final String type = outputTypes.get(i);
+            final String[] direct = outputDecoder(type, function.outputWord(i));
+            final String javaType = direct != null ? direct[0] : abiJavaType(type).replace("<?>", "<Object>");
+            final String name = jsonName(entry.getAsJsonArray("outputs").get(i));
+            final String decoder = unique(decoderBase + (outputTypes.size() > 1 ? capitalize(outputName(entry, i)) : ""));
+
+            if (firstDecoder == null) {
+                firstDecoder = decoder;
+            }
+
+            use(javaType);
+            use("ContractFunctionResult");
+
+            decoders.append("    /**\n")
+                .append("     * Decode the ").append(name.isEmpty() ? "output " + i : "output {@code " + name + "}")
+                .append(" of {@code ").append(function.getSignature()).append("} from its result.\n")
+                .append("     */\n");
+
+            if (direct == null && !javaType.equals("byte[]")) {
+                decoders.append("    @SuppressWarnings(\"unchecked\")\n");
+            }
+
+            decoders.append("    public static ").append(javaType).append(' ').append(decoder)
+                .append("(ContractFunctionResult result) {\n")
+                .append("        return ");
+
+            if (direct != null) {
+                if (direct[1].startsWith("Arrays.")) {
+                    use("Arrays");
+                }
+
+                decoders.append(direct[1]);
+            } else {
+                decoders.append('(').append(javaType).append(") ").append(constant)
+                    .append(".decodeResult(result, ").append(i).append(')');
+            }
+
+            decoders.append(";\n    }\n\n");
+        }
+
+        methods.append("    /**\n")
+            .append("     * ").append(function.isConstant() ? "Call" : "Execute").append(" {@code ")
+            .append(function.getSignature()).append("}.\n");
+
+        if (firstDecoder != null) {
+            methods.append("     *\n")
+                .append("     * @see #").append(firstDecoder).append("(ContractFunctionResult)\n");
+        }
+
+        methods.append("     */\n")
+            .append("    public ").append(returnType).append(' ').append(methodName).append('(')
+            .append(params(javaTypes, paramNames)).append(") {\n")
+            .append("        return new ").append(returnType).append("()\n")
+            .append("            .setContractId(contractId)\n")
+            .append("            .setFunction(").append(constant);
+
+        if (typed) {
+            methods.append(", ").append(typedParams(inputTypes, paramNames, "            "));
+        } else {
+            for (String name : paramNames) {
+                methods.append(", ").append(name);
+            }
+        }
+
+        methods.append(");\n    }\n\n").append(decoders);
+    }
+
+    private void addConstructor(JsonObject entry, @Nullable AbiFunction constructor) {
+        if (constructor == null) {
+            throw new IllegalStateException("constructor entry did not compile to a constructor");
+        }
+
+        final List<String> inputTypes = constructor.getInputTypes();
+
+        if (inputTypes.isEmpty()) {
+            addDeploy(inputTypes, new ArrayList<>(), null);
+            return;
+        }
+
+        final boolean typed = inputTypes.stream().allMatch(PARAMS::containsKey);
+
+        if (!typed) {
+            abiEntries.add(entry.toString());
+            constants.append("    private static final ").append(use("AbiFunction"))
+                .append(" CONSTRUCTOR = ABI.getConstructor();\n\n");
+        }
+
+        addDeploy(inputTypes, paramNames(entry, inputTypes.size()), typed);
+    }
+
+    private void addDeploy(List<String> inputTypes, List<String> paramNames, @Nullable Boolean typed) {
+        final List<String> javaTypes = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+
+        javaTypes.add(use("FileId"));
+        names.add("bytecodeFileId");
+
+        for (int i = 0; i < inputTypes.size(); i += 1) {
+            javaTypes.add(typed == Boolean.TRUE ? use(PARAMS.get(inputTypes.get(i))[0]) : abiJavaType(inputTypes.get(i)));
+            names.add(paramNames.get(i));
+        }
+
+        use("ContractCreateTransaction");
+        members.add("deploy");
+
+        methods.append("    /**\n")
+            .append("     * Create an instance of the contract from the bytecode in {@code bytecodeFileId}")
+            .append(inputTypes.isEmpty() ? ".\n" : ",\n     * passing the arguments to its constructor.\n")
+            .append("     */\n")
+            .append("    public static ContractCreateTransaction deploy(").append(params(javaTypes, names))
+            .append(") {\n")
+            .append("        return new ContractCreateTransaction()\n")
+            .append("            .setBytecodeFileId(bytecodeFileId)");
+
+        if (typed == Boolean.TRUE) {
+            methods.append("\n            .setConstructorParams(")
+                .append(typedParams(inputTypes, paramNames, "            ")).append(')');
+        } else if (typed == Boolean.FALSE) {
+            methods.append("\n            .setConstructorParams(CONSTRUCTOR");
+
+            for (String name : paramNames) {
+                methods.append(", ").append(name);
+            }
+
+            methods.append(')');
+        }
+
+        methods.append(";\n    }\n\n");
+    }
+
+    private void addEvent(JsonObject entry, AbiEvent event, int ordinal) {
+        abiEntries.add(entry.toString());
+
+        final String constant = constant(upperSnakeCase(identifier(event.getName(), "event"))
+            + (ordinal > 0 ? "_" + ordinal : "") + "_EVENT");
+
+        constants.append("    /**\n")
+            .append("     * The event {@code ").append(event.getSignature())
+            .append("}, e.g. to find in results with a\n")
+            .append("     * {@link ").append(PACKAGE).append(".ContractEventFilter}.\n")
+            .append("     */\n")
+            .append("    public static final ").append(use("AbiEvent")).append(' ').append(constant)
+            .append(" = ABI.getEvent(").append(literal(event.getSignature())).append(");\n\n");
+    }
+
+    private String source() {
+        final StringBuilder source = new StringBuilder();
+
+        source.append("// Generated by ").append(ContractBindingGenerator.class.getName()).append("; do not edit.\n");
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n");
+        }
+
+        if (!abiEntries.isEmpty()) {
+            use("ContractAbi");
+        }
+
+        use("ContractId");
+
+        source.append('\n');
+
+        for (String name : imports) {
+            source.append("import ").append(name).append(";\n");
+        }
+
+        source.append('\n')
+            .append("/**\n")
+            .append(" * Typed bindings for a contract, generated from its ABI.\n")
+            .append(" */\n")
+            .append("public final class ").append(className).append(" {\n");
+
+        if (!abiEntries.isEmpty()) {
+            source.append("    // the functions and events which are compiled when the bindings are loaded\n")
+                .append("    private static final ContractAbi ABI = ContractAbi.fromJson(\"[\" + String.join(\",\",");
+
+            for (int i = 0; i < abiEntries.size(); i += 1) {
+                source.append("\n        ").append(literal(abiEntries.get(i)))
+                    .append(i + 1 < abiEntries.size() ? "," : "");
+            }
+
+            source.append(") + \"]\");\n\n");
+        }
+
+        source.append(constants)
+            .append("    private final ContractId contractId;\n\n")
+            .append("    public ").append(className).append("(ContractId contractId) {\n")
+            .append("        this.contractId = contractId;\n")
+            .append("    }\n\n")
+            .append("    public ContractId getContractId() {\n")
+            .append("        return contractId;\n")
+            .append("    }\n\n")
+            .append(methods);
+
+        // drop the blank line after the last member
+        source.setLength(source.length() - 1);
+
+        return source.append("}\n").toString();
+    }
+
+    // the chain of `ContractFunctionParams` calls which adds the parameters
+    private String typedParams(List<String> inputTypes, List<String> paramNames, String indent) {
+        final StringBuilder params = new StringBuilder("new ").append(use("ContractFunctionParams")).append("()");
+
+        for (int i = 0; i < inputTypes.size(); i += 1) {
+            params.append('\n').append(indent).append("    .").append(PARAMS.get(inputTypes.get(i))[1])
+                .append('(').append(paramNames.get(i)).append(')');
+        }
+
+        return params.toString();
+    }
+
+    // the Java type and the expression which decodes an output from the word at `word`, or `null`
+    // if it must be decoded by `AbiFunction`
+    @Nullable
+    private String[] outputDecoder(String type, int word) {
+        final Matcher intType = INT_TYPE.matcher(type);
+
+        if (intType.matches()) {
+            final boolean unsigned = !intType.group(1).isEmpty();
+            final int bits = Integer.parseInt(intType.group(2));
+
+            if (!unsigned && bits <= 8) {
+                return new String[]{"byte", "result.getView().getInt8(" + word + ")"};
+            } else if (unsigned ? bits < 32 : bits <= 32) {
+                return new String[]{"int", "result.getView().getInt32(" + word + ")"};
+            } else if (unsigned ? bits < 64 : bits <= 64) {
+                return new String[]{"long", "result.getView().getInt64(" + word + ")"};
+            }
+
+            return new String[]{"BigInteger",
+                "result.getView()." + (unsigned ? "getUint256(" : "getInt256(") + word + ")"};
+        }
+
+        final Matcher fixedBytes = FIXED_BYTES_TYPE.matcher(type);
+
+        if (fixedBytes.matches()) {
+            final int length = Integer.parseInt(fixedBytes.group(1));
+
+            if (length == 32) {
+                return new String[]{"byte[]", "result.getBytes32(" + word + ")"};
+            }
+
+            return new String[]{"byte[]",
+                "Arrays.copyOf(result.getBytes32(" + word + "), " + length + ")"};
+        }
+
+        switch (type) {
+            case "bool":
+                return new String[]{"boolean", "result.getView().getBool(" + word + ")"};
+
+            case "address":
+                return new String[]{"String", "result.getView().getAddress(" + word + ")"};
+
+            case "string":
+                return new String[]{"String", "result.getView().getString(" + word + ")"};
+
+            case "bytes":
+                return new String[]{"byte[]", "result.getView().getByteString(" + word + ").toByteArray()"};
+
+            default:
+                return null;
+        }
+    }
+
+    // the Java type of a value passed to or returned by `AbiFunction`
+    private String abiJavaType(String type) {
+        if (type.endsWith("]")) {
+            return use("List") + "<?>";
+        }
+
+        final Matcher intType = INT_TYPE.matcher(type);
+
+        if (intType.matches()) {
+            final int bits = Integer.parseInt(intType.group(2));
+            return bits < 64 || (bits == 64 && intType.group(1).isEmpty()) ? "long" : use("BigInteger");
+        }
+
+        switch (type) {
+            case "bool":
+                return "boolean";
+
+            case "address":
+            case "string":
+                return "String";
+
+            default:
+                // `bytes`, `bytesN` and `function`
+                return "byte[]";
+        }
+    }
+
+    // import the class of a type, which may be an array or generic type, if it is not in the
+    // package of the bindings
+    private String use(String type) {
+        final String className = type.replaceAll("[\\[<].*", "");
+        final String classPackage;
+
+        switch (className) {
+            case "BigInteger":
+                classPackage = "java.math";
+                break;
+
+            case "Arrays":
+            case "List":
+                classPackage = "java.util";
+                break;
+
+            case "FileId":
+                classPackage = "com.hedera.hashgraph.sdk.file";
+                break;
+
+            default:
+                classPackage = PACKAGE;
+        }
+
+        if (Character.isUpperCase(className.charAt(0)) && !className.equals("String")
+            && !classPackage.equals(packageName)) {
+            imports.add(classPackage + "." + className);
+        }
+
+        return type;
+    }
+
+    private String constant(String name) {
+        String constant = name;
+
+        for (int i = 2; !members.add(constant); i += 1) {
+            constant = name + "_" + i;
+        }
+
+        return constant;
+    }
+
+    private String unique(String name) {
+        String unique = name;
+
+        for (int i = 2; !members.add(unique + "(result)"); i += 1) {
+            unique = name + i;
+        }
+
+        return unique;
+    }
+
+    private static void requireNoTuples(String name, List<String> inputTypes, List<String> outputTypes) {
+        for (List<String> types : Arrays.asList(inputTypes, outputTypes)) {
+            for (String type : types) {
+                // canonical types, in which a tuple (or an array of them) is in parentheses
+                if (type.startsWith("(")) {
+                    throw new IllegalArgumentException(name + " takes or returns the tuple " + type
+                        + ", which generated bindings don't support; call it through ContractAbi instead");
+                }
+            }
+        }
+    }
+
+    private static void param(String type, String javaType, String method) {
+        PARAMS.put(type, new String[]{javaType, method});
+    }
+
+    private static String params(List<String> javaTypes, List<String> names) {
+        final StringBuilder params = new StringBuilder();
+
+        for (int i = 0; i < javaTypes.size(); i += 1) {
+            params.append(i > 0 ? ", " : "").append(javaTypes.get(i)).append(' ').append(names.get(i));
+        }
+
+        return params.toString();
+    }
+
+    private static List<String> paramNames(JsonObject entry, int count) {
+        final JsonArray inputs = entry.has("inputs") ? entry.getAsJsonArray("inputs") : new JsonArray();
+        final List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < count; i += 1) {
+            String name = identifier(i < inputs.size() ? jsonName(inputs.get(i)) : "", "arg" + i);
+
+            if (RESERVED_PARAMS.contains(name) || names.contains(name)) {
+                name += "_" + i;
+            }
+
+            names.add(name);
+        }
+
+        return names;
+    }
+
+    private static String outputName(JsonObject entry, int index) {
+        final String name = jsonName(entry.getAsJsonArray("outputs").get(index));
+        return identifier(name, "output" + index);
+    }
+
+    private static String type(JsonElement entry) {
+        if (!entry.isJsonObject()) {
+            throw new IllegalArgumentException("expected a JSON object for each ABI entry");
+        }
+
+        final JsonElement type = entry.getAsJsonObject().get("type");
+        return type != null && !type.isJsonNull() ? type.getAsString() : "function";
+    }
+
+    private static String jsonName(JsonElement element) {
+        final JsonElement name = element.getAsJsonObject().get("name");
+        return name != null && !name.isJsonNull() ? name.getAsString() : "";
+    }
+
+    // a valid Java identifier for `name`
+    private static String identifier(String name, String fallback) {
+        if (name.isEmpty()) {
+            return fallback;
+        }
+
+        final StringBuilder identifier = new StringBuilder();
+
+        for (int i = 0; i < name.length(); i += 1) {
+            final char c = name.charAt(i);
+            identifier.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+
+        if (!Character.isJavaIdentifierStart(identifier.charAt(0))) {
+            identifier.insert(0, '_');
+        }
+
+        return KEYWORDS.contains(identifier.toString()) ? identifier + "_" : identifier.toString();
+    }
+
+    private static String upperSnakeCase(String name) {
+        final StringBuilder snake = new StringBuilder();
+
+        for (int i = 0; i < name.length(); i += 1) {
+            final char c = name.charAt(i);
+
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))
+                && name.charAt(i - 1) != '_') {
+                snake.append('_');
+            }
+
+            snake.append(Character.toUpperCase(c));
+        }
+
+        return snake.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String literal(String string) {
+        final StringBuilder literal = new StringBuilder("\"");
+
+        for (int i = 0; i < string.length(); i += 1) {
+            final char c = string.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+}
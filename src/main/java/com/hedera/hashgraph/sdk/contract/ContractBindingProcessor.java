@@ -0,0 +1,96 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates typed bindings for each type annotated with {@link ContractBinding}.
+ * <p>
+ * This is not registered as a service so it only runs when it is enabled explicitly.
+ *
+ * @see ContractBindingGenerator
+ */
+public final class ContractBindingProcessor extends AbstractProcessor {
+    private static final StandardLocation[] ABI_LOCATIONS = {
+        StandardLocation.SOURCE_PATH,
+        StandardLocation.CLASS_PATH,
+        StandardLocation.CLASS_OUTPUT,
+    };
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ContractBinding.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ContractBinding.class)) {
+            final ContractBinding binding = element.getAnnotation(ContractBinding.class);
+            final String packageName = processingEnv.getElementUtils().getPackageOf(element)
+                .getQualifiedName().toString();
+            final String className = binding.className().isEmpty()
+                ? element.getSimpleName() + "Binding"
+                : binding.className();
+
+            try {
+                final String abi = readAbi(packageName, binding.abi());
+
+                if (abi == null) {
+                    error(element, "contract ABI " + binding.abi() + " not found");
+                    continue;
+                }
+
+                final String source = ContractBindingGenerator.generate(abi, packageName, className);
+                final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? className : packageName + "." + className, element);
+
+                try (Writer writer = file.openWriter()) {
+                    writer.write(source);
+                }
+            } catch (IllegalArgumentException | IOException e) {
+                error(element, "failed to generate bindings for " + binding.abi() + ": " + e.getMessage());
+            }
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private String readAbi(String packageName, String path) {
+        final String pkg = path.startsWith("/") ? "" : packageName;
+        final String relativeName = path.startsWith("/") ? path.substring(1) : path;
+
+        for (StandardLocation location : ABI_LOCATIONS) {
+            try {
+                final FileObject file = processingEnv.getFiler().getResource(location, pkg, relativeName);
+                return file.getCharContent(true).toString();
+            } catch (IOException | IllegalArgumentException e) {
+                // not in this location, or the location is not set up
+            }
+        }
+
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
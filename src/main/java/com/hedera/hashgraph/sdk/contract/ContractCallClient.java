@@ -0,0 +1,377 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.account.AccountId;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Makes read-only calls to contract functions with {@link ContractCallQuery}, sharing the
+ * network requests of identical calls.
+ * <p>
+ * Calls to the same contract with the same function parameters and gas are identical: while
+ * one is in flight, identical calls wait for its result instead of making another request, and
+ * once it succeeds its result is cached for {@link #setCacheTtl(Duration) cacheTtl}. A cached
+ * result may be stale by up to the TTL; call {@link #clearCache()} after changing the state of
+ * a contract to see the change at once. Failed calls are not cached.
+ * <p>
+ * Distinct calls are spread round-robin over the current nodes of the client, with at most
+ * {@link #setMaxCallsPerNode(int) maxCallsPerNode} in flight to each node; the others wait for
+ * a node to be free.
+ * <p>
+ * The calls are paid for by the operator of the client. Unless a fixed
+ * {@link #setQueryPayment(Hbar) queryPayment} is set, the cost of each call is queried before
+ * the call is made.
+ */
+public final class ContractCallClient {
+    // expired results are only removed when they are looked up, until the cache grows this large
+    private static final int CACHE_SWEEP_SIZE = 1024;
+
+    private final Client client;
+
+    private volatile Duration cacheTtl = Duration.ofSeconds(2);
+
+    private volatile int maxCallsPerNode = 4;
+
+    private volatile long queryPayment;
+
+    private final Map<CallKey, PendingCall> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<CallKey, CachedResult> cache = new ConcurrentHashMap<>();
+
+    // the state below is guarded by `this`
+
+    // calls waiting for a node to be free
+    private final Queue<PendingCall> waiting = new ArrayDeque<>();
+
+    // the number of calls in flight to each node which has any
+    private final Map<AccountId, Integer> nodeCalls = new HashMap<>();
+
+    private int nextNode;
+
+    public ContractCallClient(Client client) {
+        if (client.getOperatorId() == null) {
+            throw new IllegalArgumentException("client must have an operator to pay for contract calls");
+        }
+
+        this.client = client;
+    }
+
+    /**
+     * Set how long the result of a call is reused for identical calls. Defaults to 2 seconds;
+     * zero disables the cache, but identical calls in flight at the same time still share a
+     * request.
+     *
+     * @param cacheTtl how long a result is kept.
+     * @return {@code this} for fluent usage.
+     */
+    public ContractCallClient setCacheTtl(Duration cacheTtl) {
+        if (cacheTtl.isNegative()) {
+            throw new IllegalArgumentException("cacheTtl must be >= 0");
+        }
+
+        this.cacheTtl = cacheTtl;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of calls in flight to each node. Defaults to 4.
+     *
+     * @param maxCallsPerNode the number of calls.
+     * @return {@code this} for fluent usage.
+     */
+    public ContractCallClient setMaxCallsPerNode(int maxCallsPerNode) {
+        if (maxCallsPerNode < 1) {
+            throw new IllegalArgumentException("maxCallsPerNode must be >= 1");
+        }
+
+        this.maxCallsPerNode = maxCallsPerNode;
+
+        // more calls may be sent now
+        dispatch();
+        return this;
+    }
+
+    /**
+     * Set a fixed payment for each call, which saves querying its cost first. By default the
+     * cost of each call is queried.
+     *
+     * @param queryPayment the payment for a call.
+     * @return {@code this} for fluent usage.
+     */
+    public ContractCallClient setQueryPayment(Hbar queryPayment) {
+        this.queryPayment = queryPayment.asTinybar();
+        return this;
+    }
+
+    /**
+     * Call a function of a contract.
+     *
+     * @param contractId the contract to call.
+     * @param gas the gas to call the function with.
+     * @param function the function to call.
+     * @param params the params to pass to the function.
+     * @return a future of the result of the call.
+     * @throws IllegalArgumentException if the types of {@code params} do not match the parameter
+     *                                  types of {@code function}.
+     */
+    public CompletableFuture<ContractFunctionResult> call(ContractId contractId, long gas, ContractFunction function, ContractFunctionParams params) {
+        return call(contractId, gas, function.encode(params));
+    }
+
+    /**
+     * Call a function of a contract, compiled from the contract ABI.
+     *
+     * @param contractId the contract to call.
+     * @param gas the gas to call the function with.
+     * @param function the function to call.
+     * @param args the arguments to pass, in the order they are declared.
+     * @return a future of the result of the call.
+     * @throws IllegalArgumentException if the arguments do not match the inputs of
+     *                                  {@code function}.
+     */
+    public CompletableFuture<ContractFunctionResult> call(ContractId contractId, long gas, AbiFunction function, Object... args) {
+        return call(contractId, gas, function.encode(args));
+    }
+
+    /**
+     * Call a function of a contract with the function parameters (selector plus arguments) as a
+     * raw byte array.
+     *
+     * @param contractId the contract to call.
+     * @param gas the gas to call the function with.
+     * @param functionParams the function parameters.
+     * @return a future of the result of the call.
+     */
+    public CompletableFuture<ContractFunctionResult> call(ContractId contractId, long gas, byte[] functionParams) {
+        return call(contractId, gas, ByteString.copyFrom(functionParams));
+    }
+
+    /**
+     * Forget the cached results, so the next calls go to the network. Calls in flight are still
+     * cached once they complete.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private CompletableFuture<ContractFunctionResult> call(ContractId contractId, long gas, ByteString functionParams) {
+        final CallKey key = new CallKey(contractId, gas, functionParams);
+
+        final ContractFunctionResult cached = getCached(key);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        final PendingCall created = new PendingCall(key);
+        final PendingCall pending = inFlight.putIfAbsent(key, created);
+
+        if (pending != null) {
+            return pending.share();
+        }
+
+        // an identical call may have completed since the cache was checked
+        final ContractFunctionResult completed = getCached(key);
+
+        if (completed != null) {
+            inFlight.remove(key, created);
+            created.future.complete(completed);
+            return created.share();
+        }
+
+        synchronized (this) {
+            waiting.add(created);
+        }
+
+        dispatch();
+
+        return created.share();
+    }
+
+    @Nullable
+    private ContractFunctionResult getCached(CallKey key) {
+        final CachedResult cached = cache.get(key);
+
+        if (cached == null) {
+            return null;
+        }
+
+        if (cached.isExpired(System.nanoTime())) {
+            cache.remove(key, cached);
+            return null;
+        }
+
+        return cached.result;
+    }
+
+    /**
+     * Send the waiting calls to the nodes which are free.
+     */
+    private void dispatch() {
+        while (true) {
+            final PendingCall call;
+            final AccountId node;
+
+            synchronized (this) {
+                if (waiting.isEmpty()) {
+                    return;
+                }
+
+                node = pickFreeNode();
+
+                if (node == null) {
+                    return;
+                }
+
+                nodeCalls.merge(node, 1, Integer::sum);
+                call = waiting.remove();
+            }
+
+            send(call, node);
+        }
+    }
+
+    // the next node round-robin with fewer than `maxCallsPerNode` calls, or null if all are
+    // busy; the nodes are read from the client each time, as they may be replaced
+    @Nullable
+    private AccountId pickFreeNode() {
+        final List<AccountId> nodes = client.getNodeAccountIds();
+
+        for (int i = 0; i < nodes.size(); i += 1) {
+            final int index = (nextNode + i) % nodes.size();
+            final AccountId node = nodes.get(index);
+
+            if (nodeCalls.getOrDefault(node, 0) < maxCallsPerNode) {
+                nextNode = index + 1;
+                return node;
+            }
+        }
+
+        return null;
+    }
+
+    private void send(PendingCall call, AccountId node) {
+        try {
+            final ContractCallQuery query = new ContractCallQuery()
+                .setContractId(call.key.contractId)
+                .setGas(call.key.gas)
+                .setFunctionParams(call.key.functionParams.toByteArray())
+                .setNodeAccountId(node);
+
+            if (queryPayment != 0) {
+                query.setQueryPayment(queryPayment);
+            }
+
+            query.executeAsync(client,
+                result -> complete(call, node, result, null),
+                error -> complete(call, node, null, (Throwable) error));
+        } catch (RuntimeException e) {
+            complete(call, node, null, e);
+        }
+    }
+
+    private void complete(PendingCall call, AccountId node, @Nullable ContractFunctionResult result, @Nullable Throwable error) {
+        final Duration cacheTtl = this.cacheTtl;
+
+        if (result != null && !cacheTtl.isZero()) {
+            // cache before leaving the in-flight calls, so identical calls find one or the other
+            cache.put(call.key, new CachedResult(result, System.nanoTime() + cacheTtl.toNanos()));
+
+            if (cache.size() > CACHE_SWEEP_SIZE) {
+                final long now = System.nanoTime();
+                cache.values().removeIf(cached -> cached.isExpired(now));
+            }
+        }
+
+        inFlight.remove(call.key, call);
+
+        synchronized (this) {
+            // drop the count once it reaches zero, in case the node was removed from the client
+            nodeCalls.computeIfPresent(node, (id, calls) -> calls > 1 ? calls - 1 : null);
+        }
+
+        dispatch();
+
+        if (result != null) {
+            call.future.complete(result);
+        } else {
+            call.future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * What makes calls identical.
+     */
+    private static final class CallKey {
+        final ContractId contractId;
+
+        final long gas;
+
+        final ByteString functionParams;
+
+        CallKey(ContractId contractId, long gas, ByteString functionParams) {
+            this.contractId = contractId;
+            this.gas = gas;
+            this.functionParams = functionParams;
+        }
+
+        @Override
+        public int hashCode() {
+            return (contractId.hashCode() * 31 + Long.hashCode(gas)) * 31 + functionParams.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof CallKey)) return false;
+
+            final CallKey key = (CallKey) other;
+            return gas == key.gas && contractId.equals(key.contractId) && functionParams.equals(key.functionParams);
+        }
+    }
+
+    private static final class PendingCall {
+        final CallKey key;
+
+        final CompletableFuture<ContractFunctionResult> future = new CompletableFuture<>();
+
+        PendingCall(CallKey key) {
+            this.key = key;
+        }
+
+        /**
+         * @return a future of the result for one caller, which the caller cannot complete for
+         * the others.
+         */
+        CompletableFuture<ContractFunctionResult> share() {
+            return future.thenApply(result -> result);
+        }
+    }
+
+    private static final class CachedResult {
+        final ContractFunctionResult result;
+
+        final long expiresAt;
+
+        CachedResult(ContractFunctionResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
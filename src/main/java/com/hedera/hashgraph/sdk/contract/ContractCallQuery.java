@@ -93,6 +93,35 @@ public class ContractCallQuery extends QueryBuilder<ContractFunctionResult, Cont
         return this;
     }
 
+    /**
+     * Set the function to call and the parameters to pass, using the precomputed selector of
+     * {@code function}.
+     *
+     * @param function the function to call.
+     * @param params the params to pass to the function being executed.
+     * @return {@code this} for fluent API usage.
+     * @throws IllegalArgumentException if the types of {@code params} do not match the parameter
+     *                                  types of {@code function}.
+     */
+    public ContractCallQuery setFunction(ContractFunction function, ContractFunctionParams params) {
+        builder.setFunctionParameters(function.encode(params));
+        return this;
+    }
+
+    /**
+     * Set the function to call, compiled from a contract ABI, and the arguments to pass.
+     *
+     * @param function the function to call.
+     * @param args the arguments to pass, in the order they are declared.
+     * @return {@code this} for fluent API usage.
+     * @throws IllegalArgumentException if the arguments do not match the inputs of
+     *                                  {@code function}.
+     */
+    public ContractCallQuery setFunction(AbiFunction function, Object... args) {
+        builder.setFunctionParameters(function.encode(args));
+        return this;
+    }
+
     public ContractCallQuery setMaxResultSize(long size) {
         builder.setMaxResultSize(size);
         return this;
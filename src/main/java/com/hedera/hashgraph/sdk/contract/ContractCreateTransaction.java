@@ -102,6 +102,19 @@ public class ContractCreateTransaction extends SingleTransactionBuilder<Contract
         return this;
     }
 
+    /**
+     * Set the arguments to pass to the constructor, compiled from a contract ABI.
+     *
+     * @param constructor the constructor from {@link ContractAbi#getConstructor()}.
+     * @param args the arguments to pass, in the order they are declared.
+     * @throws IllegalArgumentException if the arguments do not match the inputs of
+     *                                  {@code constructor}.
+     */
+    public ContractCreateTransaction setConstructorParams(AbiFunction constructor, Object... args) {
+        builder.setConstructorParameters(constructor.encode(args));
+        return this;
+    }
+
     /**
      * Set a memo for the contract itself, as opposed to for this transaction
      * (via {@link #setTransactionMemo(String)}).
@@ -0,0 +1,56 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A log which matched an event of a {@link ContractEventFilter}; the parameters of the event are
+ * only decoded when they are first read.
+ */
+public final class ContractEvent {
+    /**
+     * The event which emitted the log.
+     */
+    public final AbiEvent event;
+
+    public final ContractLogInfo log;
+
+    // racing to decode is harmless as the result is the same and immutable
+    @Nullable
+    private List<Object> values;
+
+    ContractEvent(AbiEvent event, ContractLogInfo log) {
+        this.event = event;
+        this.log = log;
+    }
+
+    /**
+     * @return the parameters of the event in the order they are declared.
+     * @see AbiEvent#decode(ContractLogInfo)
+     */
+    public List<Object> getValues() {
+        List<Object> values = this.values;
+
+        if (values == null) {
+            values = Collections.unmodifiableList(event.decode(log));
+            this.values = values;
+        }
+
+        return values;
+    }
+
+    /**
+     * @return the parameter of the event with the given name.
+     * @throws IllegalArgumentException if the event has no parameter with that name.
+     */
+    public Object getValue(String paramName) {
+        return getValues().get(event.paramIndex(paramName));
+    }
+
+    @Override
+    public String toString() {
+        return event.getSignature() + getValues();
+    }
+}
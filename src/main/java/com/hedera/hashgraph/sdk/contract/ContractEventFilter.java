@@ -0,0 +1,208 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.ContractLoginfo;
+import com.hedera.hashgraph.sdk.TransactionRecord;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds and decodes the logs of a set of events in contract results, skipping results which can't
+ * contain any of them.
+ * <p>
+ * The topics of each event, and of any indexed parameter values it is filtered on, are tested
+ * against the 2048-bit logs bloom of a result before any log is read. Only logs with matching
+ * topics are converted, and their parameters are only decoded when they are read.
+ *
+ * <pre>{@code
+ * ContractEventFilter filter = new ContractEventFilter()
+ *     .addEvent(abi.getEvent("Transfer"), null, myAddress)
+ *     .addEvent(abi.getEvent("Approval"));
+ *
+ * filter.decode(record).forEach(event -> ...);
+ * }</pre>
+ */
+public final class ContractEventFilter {
+    // the length of a logs bloom in bytes
+    static final int BLOOM_LEN = 256;
+
+    // the number of bits set in the bloom for each topic
+    private static final int BLOOM_HASHES = 3;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Add an event to find, optionally only with the given values of its indexed parameters.
+     * <p>
+     * If a log matches more than one event it is decoded as the first which was added.
+     *
+     * @param event         the event to find.
+     * @param indexedValues values of the indexed parameters in the order they are declared, of
+     *                      which any trailing parameters may be omitted and any may be
+     *                      {@code null} to match all values. Strings and {@code bytes} are
+     *                      matched by their hash; other dynamic or compound values must be given
+     *                      as the 32-byte hash of their encoding.
+     * @return {@code this} for fluent API usage.
+     * @throws IllegalArgumentException if there are more values than indexed parameters or a value
+     *                                  can't be encoded as the type of its parameter.
+     */
+    public ContractEventFilter addEvent(AbiEvent event, Object... indexedValues) {
+        // a single `null` is passed as a null array
+        entries.add(new Entry(event, indexedValues != null ? indexedValues : new Object[]{ null }));
+        return this;
+    }
+
+    /**
+     * Test a logs bloom for the topics of each event; if this returns {@code false} no log in the
+     * result it came from matches. A bloom of the wrong length is assumed to have every bit set.
+     */
+    public boolean mightMatch(byte[] bloom) {
+        if (bloom.length != BLOOM_LEN) {
+            return !entries.isEmpty();
+        }
+
+        for (Entry entry : entries) {
+            if (entry.mightMatch(bloom)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return {@code false} if no log in {@code result} matches, without reading any log.
+     */
+    public boolean mightMatch(ContractFunctionResult result) {
+        return !result.rawLogs.isEmpty() && mightMatch(result.bloom);
+    }
+
+    /**
+     * Find the logs in {@code result} which match an event, lazily in the order they were emitted.
+     */
+    public Stream<ContractEvent> decode(ContractFunctionResult result) {
+        if (!mightMatch(result)) {
+            return Stream.empty();
+        }
+
+        return IntStream.range(0, result.rawLogs.size())
+            .mapToObj(i -> match(result, i))
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Find the logs in the contract result of {@code record}, if it has one, which match an event.
+     *
+     * @see #decode(ContractFunctionResult)
+     */
+    public Stream<ContractEvent> decode(TransactionRecord record) {
+        if (record.hasContractExecuteResult()) {
+            return decode(record.getContractExecuteResult());
+        }
+
+        if (record.hasContractCreateResult()) {
+            return decode(record.getContractCreateResult());
+        }
+
+        return Stream.empty();
+    }
+
+    @Nullable
+    private ContractEvent match(ContractFunctionResult result, int logIndex) {
+        final ContractLoginfo rawLog = result.rawLogs.get(logIndex);
+
+        for (Entry entry : entries) {
+            if (entry.matches(rawLog)) {
+                return new ContractEvent(entry.event, result.logs.get(logIndex));
+            }
+        }
+
+        return null;
+    }
+
+    // the indexes of the bits set in a logs bloom for `item`, where bit 0 is the lowest bit of
+    // the last byte
+    static int[] bloomBits(byte[] item) {
+        final byte[] hash = new Keccak.Digest256().digest(item);
+        final int[] bits = new int[BLOOM_HASHES];
+
+        for (int i = 0; i < BLOOM_HASHES; i += 1) {
+            bits[i] = ((hash[2 * i] & 0x7) << 8) | (hash[2 * i + 1] & 0xff);
+        }
+
+        return bits;
+    }
+
+    private static final class Entry {
+        private final AbiEvent event;
+
+        // the topic expected at each position of a matching log, or `null` for any
+        private final ByteString[] topics;
+
+        // the bits which must be set in the bloom of a result with a matching log
+        private final int[] bloomBits;
+
+        private Entry(AbiEvent event, Object[] indexedValues) {
+            this.event = event;
+
+            final byte[][] indexedTopics = event.indexedTopics(indexedValues);
+            final int first = event.isAnonymous() ? 0 : 1;
+
+            topics = new ByteString[event.topicCount()];
+
+            if (!event.isAnonymous()) {
+                topics[0] = ByteString.copyFrom(event.topic());
+            }
+
+            for (int i = 0; i < indexedTopics.length; i += 1) {
+                if (indexedTopics[i] != null) {
+                    topics[first + i] = ByteString.copyFrom(indexedTopics[i]);
+                }
+            }
+
+            final ArrayList<Integer> bits = new ArrayList<>();
+
+            for (ByteString topic : topics) {
+                if (topic != null) {
+                    for (int bit : ContractEventFilter.bloomBits(topic.toByteArray())) {
+                        bits.add(bit);
+                    }
+                }
+            }
+
+            bloomBits = bits.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private boolean mightMatch(byte[] bloom) {
+            for (int bit : bloomBits) {
+                if ((bloom[BLOOM_LEN - 1 - (bit >>> 3)] & (1 << (bit & 7))) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean matches(ContractLoginfo log) {
+            if (log.getTopicCount() != topics.length) {
+                return false;
+            }
+
+            for (int i = 0; i < topics.length; i += 1) {
+                if (topics[i] != null && !topics[i].equals(log.getTopic(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -97,6 +97,35 @@ public final class ContractExecuteTransaction extends SingleTransactionBuilder<C
         return this;
     }
 
+    /**
+     * Set the function to execute and the parameters to pass, using the precomputed selector of
+     * {@code function}.
+     *
+     * @param function the function to execute.
+     * @param params the params to pass to the function being executed.
+     * @return {@code this} for fluent API usage.
+     * @throws IllegalArgumentException if the types of {@code params} do not match the parameter
+     *                                  types of {@code function}.
+     */
+    public ContractExecuteTransaction setFunction(ContractFunction function, ContractFunctionParams params) {
+        builder.setFunctionParameters(function.encode(params));
+        return this;
+    }
+
+    /**
+     * Set the function to execute, compiled from a contract ABI, and the arguments to pass.
+     *
+     * @param function the function to execute.
+     * @param args the arguments to pass, in the order they are declared.
+     * @return {@code this} for fluent API usage.
+     * @throws IllegalArgumentException if the arguments do not match the inputs of
+     *                                  {@code function}.
+     */
+    public ContractExecuteTransaction setFunction(AbiFunction function, Object... args) {
+        builder.setFunctionParameters(function.encode(args));
+        return this;
+    }
+
     @Override
     protected MethodDescriptor<Transaction, TransactionResponse> getMethod() {
         return SmartContractServiceGrpc.getContractCallMethodMethod();
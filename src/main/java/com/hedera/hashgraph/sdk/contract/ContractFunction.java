@@ -0,0 +1,105 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable description of a Solidity function: its name, the types of its parameters and
+ * its precomputed {@value ContractFunctionParams#SELECTOR_LEN}-byte selector.
+ * <p>
+ * Create one of these for each function which is called repeatedly and pass it to
+ * {@link ContractCallQuery#setFunction(ContractFunction, ContractFunctionParams)} or
+ * {@link ContractExecuteTransaction#setFunction(ContractFunction, ContractFunctionParams)}
+ * so the selector is not computed again for every call.
+ */
+public final class ContractFunction {
+    private final String name;
+
+    private final List<String> paramTypes;
+
+    private final String signature;
+
+    private final byte[] selector;
+
+    /**
+     * Describe a function with the given name and parameter types.
+     *
+     * @param name       the name of the function.
+     * @param paramTypes the canonical Solidity type names of the parameters in order, e.g.
+     *                   {@code "address"} and {@code "uint256"}; these must match the types of
+     *                   the parameters added to the {@link ContractFunctionParams} passed with
+     *                   this function.
+     */
+    public ContractFunction(String name, String... paramTypes) {
+        this.name = name;
+        this.paramTypes = Collections.unmodifiableList(Arrays.asList(paramTypes.clone()));
+        this.signature = name + "(" + String.join(",", this.paramTypes) + ")";
+        this.selector = ContractFunctionSelector.forSignature(signature);
+    }
+
+    /**
+     * Describe a function with the given name which takes parameters of the same types as those
+     * added to {@code params}.
+     */
+    public static ContractFunction forParams(String name, ContractFunctionParams params) {
+        return new ContractFunction(name, params.getParamTypes());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getParamTypes() {
+        return paramTypes;
+    }
+
+    /**
+     * @return the canonical signature of the function, e.g. {@code transfer(address,uint256)}.
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return a copy of the {@value ContractFunctionParams#SELECTOR_LEN}-byte function selector.
+     */
+    public byte[] getSelector() {
+        return selector.clone();
+    }
+
+    // the shared selector which must not be modified
+    byte[] selector() {
+        return selector;
+    }
+
+    /**
+     * Write the selector of this function followed by the encoding of {@code params} to
+     * {@code buffer} at its position, which is advanced past it.
+     *
+     * @return the number of bytes written, as given by
+     * {@link ContractFunctionParams#encodedSize(String)} with the name of this function.
+     * @throws IllegalArgumentException if the types of {@code params} do not match the parameter
+     *                                  types of this function.
+     * @throws java.nio.BufferOverflowException if {@code buffer} does not have enough space
+     *                                          remaining.
+     * @see ContractFunctionParams#encodeTo(String, ByteBuffer)
+     */
+    public int encodeTo(ContractFunctionParams params, ByteBuffer buffer) {
+        params.checkParamTypes(this);
+        return params.encodeWithSelector(selector, buffer);
+    }
+
+    ByteString encode(ContractFunctionParams params) {
+        params.checkParamTypes(this);
+        return params.encodeWithSelector(selector);
+    }
+
+    @Override
+    public String toString() {
+        return signature;
+    }
+}
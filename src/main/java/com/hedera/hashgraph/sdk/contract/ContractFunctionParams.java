@@ -1,18 +1,18 @@
 package com.hedera.hashgraph.sdk.contract;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.hedera.hashgraph.sdk.SolidityUtil;
 
 import org.bouncycastle.util.encoders.DecoderException;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -43,15 +43,8 @@ public final class ContractFunctionParams {
      * Function selector length in hex characters
      */
     public static final int SELECTOR_LEN_HEX = 8;
-    // padding that we can substring without new allocations
-    private static final ByteString padding = ByteString.copyFrom(new byte[31]);
-    private static final ByteString negativePadding;
 
-    static {
-        final byte[] fill = new byte[31];
-        Arrays.fill(fill, (byte) 0xFF);
-        negativePadding = ByteString.copyFrom(fill);
-    }
+    private static final int WORD = AbiEncoder.WORD;
 
     private final ArrayList<Argument> args = new ArrayList<>();
 
@@ -63,7 +56,10 @@ public final class ContractFunctionParams {
      * @return {@code this} for fluent usage
      */
     public ContractFunctionParams addString(String param) {
-        args.add(new Argument("string", encodeString(param), true));
+        final byte[] bytes = param.getBytes(StandardCharsets.UTF_8);
+
+        args.add(new Argument("string", true, AbiEncoder.dynamicBytesSize(bytes),
+            encoder -> encoder.writeDynamicBytes(bytes)));
 
         return this;
     }
@@ -74,22 +70,23 @@ public final class ContractFunctionParams {
      * @throws NullPointerException if any value in `strings` is null
      */
     public ContractFunctionParams addStringArray(String[] strings) {
-        final List<ByteString> byteStrings = Arrays.stream(strings)
-            .map(ContractFunctionParams::encodeString)
-            .collect(Collectors.toList());
-
-        final ByteString argBytes = encodeDynArr(byteStrings);
+        final byte[][] byteArrays = new byte[strings.length][];
 
-        args.add(new Argument("string[]", argBytes, true));
+        for (int i = 0; i < strings.length; i += 1) {
+            byteArrays[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+        }
 
-        return this;
+        return addDynArr("string[]", byteArrays);
     }
 
     /**
      * Add a parameter of type {@code bytes}, a byte-string.
      */
     public ContractFunctionParams addBytes(byte[] param) {
-        args.add(new Argument("bytes", encodeBytes(param), true));
+        final byte[] bytes = param.clone();
+
+        args.add(new Argument("bytes", true, AbiEncoder.dynamicBytesSize(bytes),
+            encoder -> encoder.writeDynamicBytes(bytes)));
 
         return this;
     }
@@ -98,13 +95,13 @@ public final class ContractFunctionParams {
      * Add a parameter of type {@code bytes[]}, an array of byte-strings.
      */
     public ContractFunctionParams addBytesArray(byte[][] param) {
-        final List<ByteString> byteArrays = Arrays.stream(param)
-            .map(ContractFunctionParams::encodeBytes)
-            .collect(Collectors.toList());
+        final byte[][] byteArrays = new byte[param.length][];
 
-        args.add(new Argument("bytes[]", encodeDynArr(byteArrays), true));
+        for (int i = 0; i < param.length; i += 1) {
+            byteArrays[i] = param[i].clone();
+        }
 
-        return this;
+        return addDynArr("bytes[]", byteArrays);
     }
 
     /**
@@ -115,7 +112,9 @@ public final class ContractFunctionParams {
      * @throws IllegalArgumentException if the length of the byte array is greater than 32.
      */
     public ContractFunctionParams addBytes32(byte[] param) {
-        args.add(new Argument("bytes32", encodeBytes32(param), false));
+        final byte[] bytes = checkBytes32(param).clone();
+
+        args.add(new Argument("bytes32", false, WORD, encoder -> encoder.writeBytes32(bytes)));
 
         return this;
     }
@@ -129,18 +128,26 @@ public final class ContractFunctionParams {
      */
     public ContractFunctionParams addBytes32Array(byte[][] param) {
         // array of fixed-size elements
-        final Stream<ByteString> byteArrays = Arrays.stream(param)
-            .map(ContractFunctionParams::encodeBytes32);
+        final byte[][] byteArrays = new byte[param.length][];
+
+        for (int i = 0; i < param.length; i += 1) {
+            byteArrays[i] = checkBytes32(param[i]).clone();
+        }
+
+        args.add(new Argument("bytes32[]", true, arraySize(byteArrays.length), encoder -> {
+            encoder.writeUint(byteArrays.length);
 
-        args.add(new Argument("bytes32[]", encodeArray(byteArrays), true));
+            for (byte[] bytes : byteArrays) {
+                encoder.writeBytes32(bytes);
+            }
+        }));
 
         return this;
     }
 
     public ContractFunctionParams addBool(boolean bool) {
         // boolean encodes to `uint8` of values [0, 1]
-        args.add(new Argument("bool", int256(bool ? 1 : 0, 8), false));
-        return this;
+        return addInt("bool", bool ? 1 : 0, 8, true);
     }
 
     /**
@@ -149,27 +156,21 @@ public final class ContractFunctionParams {
      * @implNote The implementation is wasteful as we must pad to 32-bytes to store 1 byte.
      */
     public ContractFunctionParams addInt8(byte value) {
-        args.add(new Argument("int8", int256(value, 32), false));
-
-        return this;
+        return addInt("int8", value, 8, true);
     }
 
     /**
      * Add a 32-bit integer.
      */
     public ContractFunctionParams addInt32(int value) {
-        args.add(new Argument("int32", int256(value, 32), false));
-
-        return this;
+        return addInt("int32", value, 32, true);
     }
 
     /**
      * Add a 64-bit integer.
      */
     public ContractFunctionParams addInt64(long value) {
-        args.add(new Argument("int64", int256(value, 64), false));
-
-        return this;
+        return addInt("int64", value, 64, true);
     }
 
     /**
@@ -180,7 +181,7 @@ public final class ContractFunctionParams {
      */
     public ContractFunctionParams addInt256(BigInteger bigInt) {
         checkBigInt(bigInt);
-        args.add(new Argument("int256", int256(bigInt), false));
+        args.add(new Argument("int256", false, WORD, encoder -> encoder.writeInt256(bigInt)));
 
         return this;
     }
@@ -191,47 +192,21 @@ public final class ContractFunctionParams {
      * @implNote The implementation is wasteful as we must pad to 32-bytes to store 1 byte.
      */
     public ContractFunctionParams addInt8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        ByteString arrayBytes = ByteString.copyFrom(
-            intStream.mapToObj(i -> int256(i, 8))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int8[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("int8[]", intArray, true);
     }
 
     /**
      * Add a dynamic array of 32-bit integers.
      */
     public ContractFunctionParams addInt32Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 32))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int32[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("int32[]", intArray, true);
     }
 
     /**
      * Add a dynamic array of 64-bit integers.
      */
     public ContractFunctionParams addInt64Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 64))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 64).concat(arrayBytes);
-
-        args.add(new Argument("int64[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("int64[]", intArray, true);
     }
 
     /**
@@ -241,13 +216,19 @@ public final class ContractFunctionParams {
      *                                  (max range including the sign bit).
      */
     public ContractFunctionParams addInt256Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(ContractFunctionParams::int256)
-                .collect(Collectors.toList()));
+        final BigInteger[] values = intArray.clone();
+
+        for (BigInteger value : values) {
+            checkBigInt(value);
+        }
 
-        arrayBytes = uint256(intArray.length, 256).concat(arrayBytes);
+        args.add(new Argument("int256[]", true, arraySize(values.length), encoder -> {
+            encoder.writeUint(values.length);
 
-        args.add(new Argument("int256[]", arrayBytes, true));
+            for (BigInteger value : values) {
+                encoder.writeInt256(value);
+            }
+        }));
 
         return this;
     }
@@ -258,9 +239,7 @@ public final class ContractFunctionParams {
      * @implNote The implementation is wasteful as we must pad to 32-bytes to store 1 byte.
      */
     public ContractFunctionParams addUint8(byte value) {
-        args.add(new Argument("uint8", uint256(value, 8), false));
-
-        return this;
+        return addInt("uint8", value, 8, false);
     }
 
     /**
@@ -270,9 +249,7 @@ public final class ContractFunctionParams {
      * sign-extended to 32 bytes).
      */
     public ContractFunctionParams addUint32(int value) {
-        args.add(new Argument("uint32", uint256(value, 32), false));
-
-        return this;
+        return addInt("uint32", value, 32, false);
     }
 
     /**
@@ -282,9 +259,7 @@ public final class ContractFunctionParams {
      * sign-extended to 32 bytes).
      */
     public ContractFunctionParams addUint64(long value) {
-        args.add(new Argument("uint64", uint256(value, 64), false));
-
-        return this;
+        return addInt("uint64", value, 64, false);
     }
 
     /**
@@ -299,7 +274,7 @@ public final class ContractFunctionParams {
      */
     public ContractFunctionParams addUint256(@Nonnegative BigInteger bigUint) {
         checkBigUint(bigUint);
-        args.add(new Argument("uint256", uint256(bigUint), false));
+        args.add(new Argument("uint256", false, WORD, encoder -> encoder.writeUint256(bigUint)));
 
         return this;
     }
@@ -310,17 +285,7 @@ public final class ContractFunctionParams {
      * @implNote The implementation is wasteful as we must pad to 32-bytes to store 1 byte.
      */
     public ContractFunctionParams addUint8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        ByteString arrayBytes = ByteString.copyFrom(
-            intStream.mapToObj(i -> uint256(i, 8))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint8[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("uint8[]", intArray, false);
     }
 
     /**
@@ -330,15 +295,7 @@ public final class ContractFunctionParams {
      * sign-extended to 32 bytes).
      */
     public ContractFunctionParams addUint32Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 32))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint32[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("uint32[]", intArray, false);
     }
 
     /**
@@ -348,15 +305,7 @@ public final class ContractFunctionParams {
      * sign-extended to 32 bytes).
      */
     public ContractFunctionParams addUint64Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 64))
-                .collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 64).concat(arrayBytes);
-
-        args.add(new Argument("uint64[]", arrayBytes, true));
-
-        return this;
+        return addIntArray("uint64[]", intArray, false);
     }
 
     /**
@@ -369,13 +318,19 @@ public final class ContractFunctionParams {
      *                                  (max range including the sign bit) or is negative.
      */
     public ContractFunctionParams addUint256Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(ContractFunctionParams::uint256)
-                .collect(Collectors.toList()));
+        final BigInteger[] values = intArray.clone();
 
-        arrayBytes = uint256(intArray.length, 256).concat(arrayBytes);
+        for (BigInteger value : values) {
+            checkBigUint(value);
+        }
+
+        args.add(new Argument("uint256[]", true, arraySize(values.length), encoder -> {
+            encoder.writeUint(values.length);
 
-        args.add(new Argument("uint256[]", arrayBytes, true));
+            for (BigInteger value : values) {
+                encoder.writeUint256(value);
+            }
+        }));
 
         return this;
     }
@@ -393,7 +348,8 @@ public final class ContractFunctionParams {
     public ContractFunctionParams addAddress(String address) {
         final byte[] addressBytes = decodeAddress(address);
 
-        args.add(new Argument("address", leftPad32(ByteString.copyFrom(addressBytes)), false));
+        args.add(new Argument("address", false, WORD,
+            encoder -> encoder.writeLeftPadded(addressBytes, false)));
 
         return this;
     }
@@ -407,14 +363,20 @@ public final class ContractFunctionParams {
      * @throws NullPointerException     if any value in the array is null.
      */
     public ContractFunctionParams addAddressArray(String[] addresses) {
-        final ByteString addressArray = encodeArray(
-            Arrays.stream(addresses).map(a -> {
-                final byte[] address = decodeAddress(a);
-                checkAddressLen(address);
-                return leftPad32(ByteString.copyFrom(address));
-            }));
+        final byte[][] addressArray = new byte[addresses.length][];
+
+        for (int i = 0; i < addresses.length; i += 1) {
+            addressArray[i] = decodeAddress(addresses[i]);
+            checkAddressLen(addressArray[i]);
+        }
 
-        args.add(new Argument("address[]", addressArray, true));
+        args.add(new Argument("address[]", true, arraySize(addressArray.length), encoder -> {
+            encoder.writeUint(addressArray.length);
+
+            for (byte[] address : addressArray) {
+                encoder.writeLeftPadded(address, false);
+            }
+        }));
 
         return this;
     }
@@ -447,6 +409,33 @@ public final class ContractFunctionParams {
         return addFunction(decodeAddress(address), selector.finish());
     }
 
+    /**
+     * Get the length in bytes of the encoding of the currently added parameters.
+     *
+     * @param funcName the name of the function, or {@code null} to leave out the selector
+     *                 as for constructor parameters.
+     * @return the number of bytes {@link #encodeTo(String, ByteBuffer)} will write.
+     */
+    public int encodedSize(@Nullable String funcName) {
+        return encodedSize(funcName != null);
+    }
+
+    /**
+     * Write the encoding of the currently added parameters to {@code buffer} at its position,
+     * which is advanced past it.
+     * <p>
+     * Every byte of the encoding is written so a buffer may be reused without clearing it.
+     *
+     * @param funcName the name of the function, or {@code null} to leave out the selector
+     *                 as for constructor parameters.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if fewer than {@link #encodedSize(String)} bytes remain
+     *                                 in {@code buffer}.
+     */
+    public int encodeTo(@Nullable String funcName, ByteBuffer buffer) {
+        return encodeWithSelector(funcName != null ? selector(funcName) : null, buffer);
+    }
+
     /**
      * Get the encoding of the currently added parameters as a {@link ByteString}.
      * <p>
@@ -455,87 +444,199 @@ public final class ContractFunctionParams {
      * @return the Solidity encoding of the call parameters in the order they were added.
      */
     ByteString toBytes(@Nullable String funcName) {
-        // offset for dynamic-length data, immediately after value arguments
-        int dynamicOffset = args.size() * 32;
+        return encodeWithSelector(funcName != null ? selector(funcName) : null);
+    }
+
+    /**
+     * @return the Solidity type names of the currently added parameters.
+     */
+    String[] getParamTypes() {
+        final String[] types = new String[args.size()];
+
+        for (int i = 0; i < types.length; i += 1) {
+            types[i] = args.get(i).type;
+        }
+
+        return types;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currently added parameters do not have the types
+     *                                  of the parameters of {@code function}.
+     */
+    void checkParamTypes(ContractFunction function) {
+        final List<String> expected = function.getParamTypes();
+        boolean matches = expected.size() == args.size();
+
+        for (int i = 0; matches && i < args.size(); i += 1) {
+            matches = expected.get(i).equals(args.get(i).type);
+        }
+
+        if (!matches) {
+            throw new IllegalArgumentException("parameters (" + String.join(",", getParamTypes())
+                + ") do not match function " + function.getSignature());
+        }
+    }
+
+    ByteString encodeWithSelector(@Nullable byte[] selector) {
+        final byte[] bytes = new byte[encodedSize(selector != null)];
 
-        ArrayList<ByteString> paramsBytes = new ArrayList<ByteString>(args.size() + 1);
+        encode(selector, bytes, 0);
 
-        ArrayList<ByteString> dynamicArgs = new ArrayList<ByteString>();
+        // the array never escapes so it is safe to wrap without a copy
+        return UnsafeByteOperations.unsafeWrap(bytes);
+    }
+
+    int encodeWithSelector(@Nullable byte[] selector, ByteBuffer buffer) {
+        final int size = encodedSize(selector != null);
+
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        if (buffer.hasArray()) {
+            encode(selector, buffer.array(), buffer.arrayOffset() + buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            final byte[] bytes = new byte[size];
+            encode(selector, bytes, 0);
+            buffer.put(bytes);
+        }
+
+        return size;
+    }
 
-        final ContractFunctionSelector functionSelector = funcName != null
-            ? new ContractFunctionSelector(funcName) : null;
+    private byte[] selector(String funcName) {
+        final ContractFunctionSelector functionSelector = new ContractFunctionSelector(funcName);
 
-        // iterate the arguments and determine whether they are dynamic or not
         for (Argument arg : args) {
-            if (functionSelector != null) {
-                 functionSelector.addParamType(arg.type);
-            }
+            functionSelector.addParamType(arg.type);
+        }
 
+        return functionSelector.finish();
+    }
+
+    private int encodedSize(boolean hasSelector) {
+        // one word per argument in the head, then the data of dynamic arguments
+        int size = (hasSelector ? SELECTOR_LEN : 0) + args.size() * WORD;
+
+        for (Argument arg : args) {
             if (arg.isDynamic) {
-                // dynamic arguments supply their offset in value position and append their data at
-                // that offset
-                paramsBytes.add(int256(dynamicOffset, 256));
-                dynamicArgs.add(arg.value);
-                dynamicOffset += arg.value.size();
-            } else {
-                // value arguments are dropped in the current arg position
-                paramsBytes.add(arg.value);
+                size += arg.size;
             }
         }
 
-        if (functionSelector != null) {
-            paramsBytes.add(0, ByteString.copyFrom(functionSelector.finish()));
+        return size;
+    }
+
+    private void encode(@Nullable byte[] selector, byte[] buf, int offset) {
+        if (selector != null) {
+            System.arraycopy(selector, 0, buf, offset, SELECTOR_LEN);
+            offset += SELECTOR_LEN;
         }
 
-        paramsBytes.addAll(dynamicArgs);
+        // value arguments are written in their position in the head; dynamic arguments write
+        // their offset from the start of the head there and their data in the tail
+        final AbiEncoder head = new AbiEncoder(buf, offset);
+        final AbiEncoder tail = new AbiEncoder(buf, offset + args.size() * WORD);
 
-        return ByteString.copyFrom(paramsBytes);
+        for (Argument arg : args) {
+            if (arg.isDynamic) {
+                head.writeUint(tail.position() - offset);
+                arg.writer.write(tail);
+            } else {
+                arg.writer.write(head);
+            }
+        }
     }
 
-    private static ByteString encodeString(String string) {
-        final ByteString strBytes = ByteString.copyFromUtf8(string);
-        // prepend the size of the string in UTF-8 bytes
-        return int256(strBytes.size(), 32)
-            .concat(rightPad32(strBytes));
+    private ContractFunctionParams addInt(String type, long value, int bitWidth, boolean signed) {
+        args.add(new Argument(type, false, WORD,
+            encoder -> encoder.writeInt(value, bitWidth, signed)));
+
+        return this;
     }
 
-    private static ByteString encodeBytes(byte[] bytes) {
-        return int256(bytes.length, 32)
-            .concat(rightPad32(ByteString.copyFrom(bytes)));
+    private ContractFunctionParams addIntArray(String type, byte[] intArray, boolean signed) {
+        final byte[] values = intArray.clone();
+
+        args.add(new Argument(type, true, arraySize(values.length), encoder -> {
+            encoder.writeUint(values.length);
+
+            for (byte value : values) {
+                encoder.writeInt(value, 8, signed);
+            }
+        }));
+
+        return this;
     }
 
-    private static ByteString encodeBytes32(byte[] bytes) {
-        if (bytes.length > 32) {
-            throw new IllegalArgumentException("byte32 encoding forbids byte array length greater than 32");
-        }
+    private ContractFunctionParams addIntArray(String type, int[] intArray, boolean signed) {
+        final int[] values = intArray.clone();
+
+        args.add(new Argument(type, true, arraySize(values.length), encoder -> {
+            encoder.writeUint(values.length);
 
-        return rightPad32(ByteString.copyFrom(bytes));
+            for (int value : values) {
+                encoder.writeInt(value, 32, signed);
+            }
+        }));
+
+        return this;
     }
 
-    private static ByteString encodeArray(Stream<ByteString> elements) {
-        final List<ByteString> list = elements.collect(Collectors.toList());
+    private ContractFunctionParams addIntArray(String type, long[] intArray, boolean signed) {
+        final long[] values = intArray.clone();
 
-        return int256(list.size(), 32)
-            .concat(ByteString.copyFrom(list));
+        args.add(new Argument(type, true, arraySize(values.length), encoder -> {
+            encoder.writeUint(values.length);
+
+            for (long value : values) {
+                encoder.writeInt(value, 64, signed);
+            }
+        }));
+
+        return this;
     }
 
-    private static ByteString encodeDynArr(List<ByteString> elements) {
-        final int offsetsLen = elements.size();
+    // [len, offset[0], offset[1], ... offset[len - 1], elem[0], elem[1], ... elem[len - 1]]
+    private ContractFunctionParams addDynArr(String type, byte[][] elements) {
+        int size = arraySize(elements.length);
+
+        for (byte[] elem : elements) {
+            size += AbiEncoder.dynamicBytesSize(elem);
+        }
+
+        args.add(new Argument(type, true, size, encoder -> {
+            encoder.writeUint(elements.length);
+
+            // points to start of dynamic segment, *not* including the length of the array
+            long currOffset = elements.length * (long) WORD;
+
+            for (byte[] elem : elements) {
+                encoder.writeUint(currOffset);
+                currOffset += AbiEncoder.dynamicBytesSize(elem);
+            }
 
-        // [len, offset[0], offset[1], ... offset[len - 1]]
-        final ArrayList<ByteString> head = new ArrayList<>(offsetsLen + 1);
+            for (byte[] elem : elements) {
+                encoder.writeDynamicBytes(elem);
+            }
+        }));
 
-        head.add(uint256(elements.size(), 32));
+        return this;
+    }
 
-        // points to start of dynamic segment, *not* including the length of the array
-        long currOffset = offsetsLen * 32L;
+    // the length of the array followed by one word per element
+    private static int arraySize(int len) {
+        return WORD + len * WORD;
+    }
 
-        for (final ByteString elem : elements) {
-            head.add(uint256(currOffset, 64));
-            currOffset += elem.size();
+    private static byte[] checkBytes32(byte[] bytes) {
+        if (bytes.length > WORD) {
+            throw new IllegalArgumentException("byte32 encoding forbids byte array length greater than 32");
         }
 
-        return ByteString.copyFrom(head).concat(ByteString.copyFrom(elements));
+        return bytes;
     }
 
     private static void checkBigInt(BigInteger val) {
@@ -565,57 +666,9 @@ public final class ContractFunctionParams {
     }
 
     static ByteString int256(long val, int bitWidth, boolean signed) {
-        // don't try to get wider than a `long` as it should just be filled with padding
-        bitWidth = Math.min(bitWidth, 64);
-        final ByteString.Output output = ByteString.newOutput(bitWidth / 8);
-
-        // write bytes in big-endian order
-        for (int i = bitWidth - 8; i >= 0; i -= 8) {
-            // widening conversion sign-extends so we don't have to do anything special when
-            // truncating a previously widened value
-            final byte u8 = (byte) (val >> i);
-            output.write(u8);
-        }
-
-        // byte padding will sign-extend appropriately
-        return leftPad32(output.toByteString(), signed && val < 0);
-    }
-
-    static ByteString uint256(BigInteger bigInt) {
-        if (bigInt.bitLength() == 256) {
-            // we have to chop off the sign bit or else we'll have a 33 byte value
-            // we have no choice but to copy twice here but hopefully the JIT elides one
-            return ByteString.copyFrom(bigInt.toByteArray(), 1, 32);
-        }
-
-        return leftPad32(bigInt.toByteArray(), false);
-    }
-
-    static ByteString int256(BigInteger bigInt) {
-        return leftPad32(bigInt.toByteArray(), bigInt.signum() < 0);
-    }
-
-    static ByteString leftPad32(ByteString input) {
-        return leftPad32(input, false);
-    }
-
-    // Solidity contracts require all parameters to be padded to 32 byte multiples but specifies
-    // different requirements for padding for strings/byte arrays vs integers
-    static ByteString leftPad32(ByteString input, boolean negative) {
-        int rem = 32 - input.size() % 32;
-        return rem == 32
-            ? input
-            : (negative ? negativePadding : padding).substring(0, rem)
-            .concat(input);
-    }
-
-    static ByteString leftPad32(byte[] input, boolean negative) {
-        return leftPad32(ByteString.copyFrom(input), negative);
-    }
-
-    static ByteString rightPad32(ByteString input) {
-        int rem = 32 - input.size() % 32;
-        return rem == 32 ? input : input.concat(padding.substring(0, rem));
+        final byte[] word = new byte[WORD];
+        new AbiEncoder(word, 0).writeInt(val, bitWidth, signed);
+        return UnsafeByteOperations.unsafeWrap(word);
     }
 
     private static void checkAddressLen(byte[] address) {
@@ -645,29 +698,33 @@ public final class ContractFunctionParams {
             throw new IllegalArgumentException("function selectors must be 4 bytes or 8 hex chars");
         }
 
-        final ByteString.Output output = ByteString.newOutput(ADDRESS_LEN + SELECTOR_LEN);
-        output.write(address, 0, address.length);
-        output.write(selector, 0, selector.length);
+        final byte[] function = new byte[ADDRESS_LEN + SELECTOR_LEN];
+        System.arraycopy(address, 0, function, 0, ADDRESS_LEN);
+        System.arraycopy(selector, 0, function, ADDRESS_LEN, SELECTOR_LEN);
 
         // function reference encodes as `bytes24`
-        args.add(new Argument("function", rightPad32(output.toByteString()), false));
+        args.add(new Argument("function", false, WORD, encoder -> encoder.writeBytes32(function)));
 
         return this;
     }
 
+    @FunctionalInterface
+    private interface ArgumentWriter {
+        void write(AbiEncoder encoder);
+    }
+
     private final static class Argument {
         private final String type;
-        private final ByteString value;
         private final boolean isDynamic;
+        // the length of the data of a dynamic argument which follows the head
+        private final int size;
+        private final ArgumentWriter writer;
 
-        private Argument(String type, ByteString value, boolean isDynamic) {
+        private Argument(String type, boolean isDynamic, int size, ArgumentWriter writer) {
             this.type = type;
-            if (!isDynamic && value.size() != 32) {
-                throw new IllegalArgumentException("value argument that was not 32 bytes");
-            }
-
-            this.value = value;
             this.isDynamic = isDynamic;
+            this.size = size;
+            this.writer = writer;
         }
     }
 
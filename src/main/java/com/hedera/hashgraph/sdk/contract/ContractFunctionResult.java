@@ -2,16 +2,15 @@ package com.hedera.hashgraph.sdk.contract;
 
 import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.proto.ContractFunctionResultOrBuilder;
+import com.hedera.hashgraph.proto.ContractLoginfo;
 import com.hedera.hashgraph.sdk.Internal;
 import com.hedera.hashgraph.sdk.TransactionRecord;
 
-import org.bouncycastle.util.encoders.Hex;
-
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
 
 import javax.annotation.Nullable;
 
@@ -29,6 +28,8 @@ import javax.annotation.Nullable;
 public final class ContractFunctionResult {
     private final ByteString rawResult;
 
+    private final AbiView view;
+
     /**
      * The ID of the contract that was invoked.
      */
@@ -41,8 +42,14 @@ public final class ContractFunctionResult {
 
     public final long gasUsed;
 
+    /**
+     * The logs emitted by the call, each of which is converted when it is first read.
+     */
     public final List<ContractLogInfo> logs;
 
+    // the logs as received, for filtering without converting them
+    final List<ContractLoginfo> rawLogs;
+
     private static final ByteString errorPrefix = ByteString.copyFrom(new byte[]{8, -61, 121, -96});
 
     @Internal
@@ -65,11 +72,14 @@ public final class ContractFunctionResult {
             rawResult = callResult;
         }
 
+        view = new AbiView(rawResult);
+
         bloom = inner.getBloom().toByteArray();
 
         gasUsed = inner.getGasUsed();
 
-        logs = inner.getLogInfoList().stream().map(ContractLogInfo::new).collect(Collectors.toList());
+        rawLogs = inner.getLogInfoList();
+        logs = new LogList(rawLogs);
     }
 
     /**
@@ -77,11 +87,19 @@ public final class ContractFunctionResult {
      */
     public byte[] asBytes() { return rawResult.toByteArray(); }
 
+    /**
+     * Get a view over the whole result which reads values in place, without allocating for
+     * primitives, and decodes dynamic arrays and tuples lazily.
+     */
+    public AbiView getView() {
+        return view;
+    }
+
     /**
      * Get the nth returned value as a string
      */
     public String getString(int valIndex) {
-        return getDynamicBytes(valIndex).toStringUtf8();
+        return view.getString(valIndex);
     }
 
     /**
@@ -91,26 +109,21 @@ public final class ContractFunctionResult {
      * @param index The index of the list of strings to be retrieved
      */
     public List<String> getStringArray(int index) {
-        final int offset = getInt32(index);
-        final int count = getIntValueAt(offset);
-        ArrayList<String> strings = new ArrayList<>();
-
-        for (int i = 0; i < count; i++) {
-            final int str_offset = getIntValueAt(offset + 32 + (i * 32));
-            final int len = getIntValueAt(offset + str_offset + 32);
-            final String str = getByteString(offset + str_offset + 32 + 32, offset + str_offset + 32 + 32 + len).toStringUtf8();
-            strings.add(str);
+        final AbiArray array = view.getArray(index);
+        final ArrayList<String> strings = new ArrayList<>(array.length());
+
+        for (int i = 0; i < array.length(); i++) {
+            strings.add(array.getString(i));
         }
 
         return strings;
     }
 
-
     /**
      * Get the nth value in the result as a dynamic byte array.
      */
     public byte[] getBytes(int valIndex) {
-        return getDynamicBytes(valIndex).toByteArray();
+        return view.getByteString(valIndex).toByteArray();
     }
 
     /**
@@ -119,13 +132,9 @@ public final class ContractFunctionResult {
      * This is the native word size for the Solidity ABI.
      */
     public byte[] getBytes32(int valIndex) {
-        return getByteString(valIndex * 32, (valIndex + 1) * 32).toByteArray();
-    }
-
-    private ByteString getDynamicBytes(int valIndex) {
-        int offset = getInt32(valIndex);
-        int len = getIntValueAt(offset);
-        return getByteString(offset + 32, offset + 32 + len);
+        final byte[] bytes = new byte[32];
+        view.getBytes32(valIndex, bytes, 0);
+        return bytes;
     }
 
     /**
@@ -147,7 +156,7 @@ public final class ContractFunctionResult {
      * padded to 32 bytes in the ABI.)
      */
     public byte getInt8(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 31).get();
+        return view.getInt8(valIndex);
     }
 
     /**
@@ -158,7 +167,7 @@ public final class ContractFunctionResult {
      */
     public int getInt32(int valIndex) {
         // int will be the last 4 bytes in the "value"
-        return getIntValueAt(valIndex * 32);
+        return view.getInt32(valIndex);
     }
 
     /**
@@ -168,7 +177,7 @@ public final class ContractFunctionResult {
      * integer narrowing semantics).
      */
     public long getInt64(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 24).getLong();
+        return view.getInt64(valIndex);
     }
 
     /**
@@ -177,7 +186,7 @@ public final class ContractFunctionResult {
      * This type can represent the full width of Solidity integers.
      */
     public BigInteger getInt256(int valIndex) {
-        return new BigInteger(getBytes32(valIndex));
+        return view.getInt256(valIndex);
     }
 
     /**
@@ -232,48 +241,48 @@ public final class ContractFunctionResult {
     /**
      * Get the nth returned value as a 256-bit unsigned integer.
      * <p>
-     * The value will be padded with a leading zero-byte so that
-     * {@link BigInteger#BigInteger(byte[])} treats the value as positive regardless of
-     * whether the most significant bit is set or not.
+     * The value is always positive regardless of whether the most significant bit is set or not.
      * <p>
      * This type can represent the full width of Solidity integers.
      */
     public BigInteger getUint256(int valIndex) {
-        // prepend a zero byte so that `BigInteger` finds a zero sign bit and treats it as positive
-        // `ByteString -> byte[]` requires copying anyway so we can amortize these two operations
-        byte[] bytes = new byte[33];
-        getByteString(valIndex * 32, (valIndex + 1) * 32).copyTo(bytes, 1);
-
-        // there's a constructor that takes a signum but we would need to scan the array
-        // to check that it's nonzero; this constructor does that work for us but requires
-        // prepending a sign bit
-        return new BigInteger(bytes);
+        return view.getUint256(valIndex);
     }
 
     /**
      * Get the nth returned value as a Solidity address.
      */
     public String getAddress(int valIndex) {
-        final int offset = valIndex * 32;
-        // address is a uint160
-        return Hex.toHexString(getByteString(offset + 12, offset + 32).toByteArray());
+        return view.getAddress(valIndex);
     }
 
-    private int getIntValueAt(int valueOffset) {
-        return getByteBuffer(valueOffset + 28).getInt();
-    }
+    // records are often read only for their status or return value, so most logs are never used
+    private static final class LogList extends AbstractList<ContractLogInfo> implements RandomAccess {
+        private final List<ContractLoginfo> rawLogs;
 
-    private ByteBuffer getByteBuffer(int offset) {
-        // **NB** `.asReadOnlyByteBuffer()` on a substring returns a `ByteBuffer` with the
-        // offset set as `position()`, so be sure to advance the buffer relative to that
-        ByteBuffer byteBuffer = rawResult.asReadOnlyByteBuffer();
-        byteBuffer.position(byteBuffer.position() + offset);
+        // racing to convert a log is harmless as `ContractLogInfo` is immutable
+        private final ContractLogInfo[] converted;
 
-        return byteBuffer;
-    }
+        private LogList(List<ContractLoginfo> rawLogs) {
+            this.rawLogs = rawLogs;
+            converted = new ContractLogInfo[rawLogs.size()];
+        }
 
-    private ByteString getByteString(int startIndex, int endIndex) {
-        return rawResult.substring(startIndex, endIndex);
-    }
+        @Override
+        public ContractLogInfo get(int index) {
+            ContractLogInfo log = converted[index];
 
+            if (log == null) {
+                log = new ContractLogInfo(rawLogs.get(index));
+                converted[index] = log;
+            }
+
+            return log;
+        }
+
+        @Override
+        public int size() {
+            return converted.length;
+        }
+    }
 }
@@ -3,7 +3,7 @@ package com.hedera.hashgraph.sdk.contract;
 import org.bouncycastle.jcajce.provider.digest.Keccak;
 
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -17,9 +17,13 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP"},
     justification = "we don't care about the contents of `finished`")
 public final class ContractFunctionSelector {
+    // past this many signatures selectors are still computed but no longer cached
+    private static final int MAX_CACHED = 4096;
 
-    @Nullable
-    private Keccak.Digest256 digest;
+    // canonical function signature, e.g. `transfer(address,uint256)` -> selector
+    private static final ConcurrentHashMap<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private final StringBuilder signature;
 
     private boolean needsComma = false;
 
@@ -30,9 +34,7 @@ public final class ContractFunctionSelector {
      * Start building a selector for a function with a given name.
      */
     public ContractFunctionSelector(String funcName) {
-        digest = new Keccak.Digest256();
-        digest.update(funcName.getBytes(US_ASCII));
-        digest.update((byte) '(');
+        signature = new StringBuilder(funcName).append('(');
     }
 
     public ContractFunctionSelector addString() {
@@ -120,13 +122,11 @@ public final class ContractFunctionSelector {
             throw new IllegalStateException("FunctionSelector already finished");
         }
 
-        Objects.requireNonNull(digest);
-
         if (needsComma) {
-            digest.update((byte) ',');
+            signature.append(',');
         }
 
-        digest.update(typeName.getBytes(US_ASCII));
+        signature.append(typeName);
         needsComma = true;
 
         return this;
@@ -144,13 +144,32 @@ public final class ContractFunctionSelector {
      */
     byte[] finish() {
         if (finished == null) {
-            Objects.requireNonNull(digest);
-            digest.update((byte) ')');
-            finished = Arrays.copyOf(digest.digest(), 4);
-            // release digest state
-            digest = null;
+            finished = forSignature(signature.append(')').toString());
         }
 
         return finished;
     }
+
+    /**
+     * Get the selector for a canonical function signature such as {@code transfer(address,uint256)},
+     * only hashing the signature the first time it is seen.
+     * <p>
+     * The returned array is shared and must not be modified.
+     */
+    static byte[] forSignature(String signature) {
+        final byte[] cached = cache.get(signature);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final Keccak.Digest256 digest = new Keccak.Digest256();
+        final byte[] selector = Arrays.copyOf(digest.digest(signature.getBytes(US_ASCII)), 4);
+
+        if (cache.size() < MAX_CACHED) {
+            cache.putIfAbsent(signature, selector);
+        }
+
+        return selector;
+    }
 }
@@ -2,13 +2,10 @@ package com.hedera.hashgraph.sdk.crypto;
 
 import com.hedera.hashgraph.sdk.Internal;
 
-import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA384Digest;
-import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
 import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.KeyParameter;
 
-import java.nio.charset.StandardCharsets;
 import java.security.AlgorithmParameters;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -43,17 +40,14 @@ public final class CryptoUtils {
     private CryptoUtils() { }
 
     static KeyParameter deriveKeySha256(String passphrase, byte[] salt, int iterations, int dkLenBytes) {
-        final PKCS5S2ParametersGenerator gen = new PKCS5S2ParametersGenerator(new SHA256Digest());
-        gen.init(passphrase.getBytes(StandardCharsets.UTF_8), salt, iterations);
-
-        return (KeyParameter) gen.generateDerivedParameters(dkLenBytes * 8);
+        return new KeyParameter(Pbkdf2.getDefault().deriveKey(Pbkdf2.Prf.HMAC_SHA256, passphrase, salt, iterations, dkLenBytes));
     }
 
     static Cipher initAesCtr128(KeyParameter cipherKey, byte[] iv, boolean forDecrypt) {
         final Cipher aesCipher;
 
         try {
-            aesCipher = Cipher.getInstance("AES/CTR/PKCS5Padding");
+            aesCipher = Cipher.getInstance("AES/CTR/NoPadding");
         } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
             throw new Error("platform does not support AES-CTR ciphers");
         }
@@ -4,9 +4,6 @@ import com.hedera.hashgraph.sdk.Internal;
 import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
 
 import org.bouncycastle.crypto.digests.SHA256Digest;
-import org.bouncycastle.crypto.digests.SHA512Digest;
-import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
-import org.bouncycastle.crypto.params.KeyParameter;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -168,14 +165,12 @@ public final class Mnemonic {
         final String salt = "mnemonic" + passphrase;
 
         // BIP-39 seed generation
-        final PKCS5S2ParametersGenerator pbkdf2 = new PKCS5S2ParametersGenerator(new SHA512Digest());
-        pbkdf2.init(
-            toString().getBytes(StandardCharsets.UTF_8),
+        return Pbkdf2.getDefault().deriveKey(
+            Pbkdf2.Prf.HMAC_SHA512,
+            toString(),
             salt.getBytes(StandardCharsets.UTF_8),
-            2048);
-
-        final KeyParameter key = (KeyParameter) pbkdf2.generateDerivedParameters(512);
-        return key.getKey();
+            2048,
+            64);
     }
 
     private byte[] wordsToEntropyAndChecksum() {
@@ -0,0 +1,154 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * An implementation of PBKDF2 (RFC 8018), which derives the seeds of mnemonics and the keys
+ * which encrypt keystores.
+ * <p>
+ * {@link #getDefault()} is used by {@link Mnemonic} and {@link Keystore}; it is {@link #JCA}
+ * if the platform supports it and gives the same keys as {@link #BOUNCY_CASTLE}, as is the case
+ * for the standard JDKs, where its HMACs run on the intrinsified SHA-2 of the JVM. Another
+ * implementation, e.g. one backed by native code or an HSM, can be set with
+ * {@link #setDefault(Pbkdf2)}.
+ */
+public abstract class Pbkdf2 {
+    /**
+     * The pure Java implementation of BouncyCastle, which is available everywhere.
+     */
+    public static final Pbkdf2 BOUNCY_CASTLE = new BouncyCastle();
+
+    /**
+     * The implementation of the installed JCA providers, through {@link SecretKeyFactory}.
+     */
+    public static final Pbkdf2 JCA = new Jca();
+
+    // not ASCII, to check the encoding
+    private static final String PASSWORD = "p\u00e4ssw\u00f6rd";
+
+    private static volatile Pbkdf2 defaultPbkdf2 = JCA.isSupported() ? JCA : BOUNCY_CASTLE;
+
+    /**
+     * The pseudorandom function of PBKDF2.
+     */
+    public enum Prf {
+        HMAC_SHA256("PBKDF2WithHmacSHA256", SHA256Digest::new),
+        HMAC_SHA512("PBKDF2WithHmacSHA512", SHA512Digest::new);
+
+        final String jcaAlgorithm;
+
+        final Supplier<Digest> digest;
+
+        Prf(String jcaAlgorithm, Supplier<Digest> digest) {
+            this.jcaAlgorithm = jcaAlgorithm;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * @return the implementation used by {@link Mnemonic} and {@link Keystore}.
+     */
+    public static Pbkdf2 getDefault() {
+        return defaultPbkdf2;
+    }
+
+    /**
+     * Set the implementation used by {@link Mnemonic} and {@link Keystore}.
+     *
+     * @param pbkdf2 the implementation, which must give the same keys as
+     *               {@link #BOUNCY_CASTLE}.
+     */
+    public static void setDefault(Pbkdf2 pbkdf2) {
+        defaultPbkdf2 = Objects.requireNonNull(pbkdf2);
+    }
+
+    /**
+     * Derive a key from a password.
+     *
+     * @param prf the pseudorandom function.
+     * @param password the password, which is encoded as UTF-8.
+     * @param salt the salt.
+     * @param iterations the iteration count.
+     * @param keyLen the length of the key in bytes.
+     * @return the key.
+     */
+    public abstract byte[] deriveKey(Prf prf, String password, byte[] salt, int iterations, int keyLen);
+
+    /**
+     * @return whether this implementation works on this platform and gives the same keys as
+     * {@link #BOUNCY_CASTLE}, checked with a low iteration count.
+     */
+    public boolean isSupported() {
+        final byte[] salt = "salt".getBytes(StandardCharsets.UTF_8);
+
+        try {
+            for (Prf prf : Prf.values()) {
+                // a length which is not a multiple of the output of the HMAC
+                final byte[] key = deriveKey(prf, PASSWORD, salt, 2, 80);
+
+                if (!Arrays.equals(BOUNCY_CASTLE.deriveKey(prf, PASSWORD, salt, 2, 80), key)) {
+                    return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static final class BouncyCastle extends Pbkdf2 {
+        @Override
+        public byte[] deriveKey(Prf prf, String password, byte[] salt, int iterations, int keyLen) {
+            final PKCS5S2ParametersGenerator gen = new PKCS5S2ParametersGenerator(prf.digest.get());
+            gen.init(password.getBytes(StandardCharsets.UTF_8), salt, iterations);
+
+            return ((KeyParameter) gen.generateDerivedParameters(keyLen * 8)).getKey();
+        }
+
+        @Override
+        public String toString() {
+            return "BOUNCY_CASTLE";
+        }
+    }
+
+    private static final class Jca extends Pbkdf2 {
+        @Override
+        public byte[] deriveKey(Prf prf, String password, byte[] salt, int iterations, int keyLen) {
+            if (password.isEmpty()) {
+                // some providers reject an empty password, which HMAC allows
+                return BOUNCY_CASTLE.deriveKey(prf, password, salt, iterations, keyLen);
+            }
+
+            // the SunJCE provider encodes the password as UTF-8
+            final PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, keyLen * 8);
+
+            try {
+                return SecretKeyFactory.getInstance(prf.jcaAlgorithm).generateSecret(spec).getEncoded();
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                throw new IllegalStateException("platform does not support " + prf.jcaAlgorithm, e);
+            } finally {
+                spec.clearPassword();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "JCA";
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Key;
+import com.hedera.hashgraph.proto.SignatureMap;
+import com.hedera.hashgraph.proto.SignaturePair;
+import com.hedera.hashgraph.sdk.Internal;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PublicKey;
+
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the signatures of transactions against the keys which must sign them, like the
+ * network does.
+ * <p>
+ * An Ed25519 key is satisfied by a valid signature in the signature map whose public key
+ * prefix is a prefix of the key, a {@link KeyList} by all of its keys (and never if it is
+ * empty) and a {@link ThresholdKey} by at least its threshold of its keys (and never if the
+ * threshold is less than 1 or more than its number of keys, which the network rejects as
+ * invalid). Contract keys are never satisfied by signatures.
+ * <p>
+ * The signatures are verified in parallel, and the signature of a key is verified once however
+ * many key lists and threshold keys of the structure the key appears in.
+ */
+public final class SignatureVerifier {
+    private SignatureVerifier() { }
+
+    /**
+     * Check whether the signatures of a transaction satisfy a key.
+     *
+     * @param transaction the signed transaction, e.g. from {@link Transaction#fromBytes(byte[])}.
+     * @param key the key which must sign the transaction, e.g. the key of the payer.
+     * @return whether the key is satisfied.
+     */
+    public static boolean isSatisfied(Transaction transaction, PublicKey key) {
+        final com.hedera.hashgraph.proto.Transaction proto = transaction.toProto();
+        return isSatisfied(proto.getBodyBytes(), proto.getSigMap(), key.toKeyProto());
+    }
+
+    /**
+     * Verify every Ed25519 signature of a transaction whose public key prefix is the full key,
+     * as the SDK signs, whichever keys must sign it. Signatures with shorter prefixes cannot be
+     * verified without their keys and are skipped.
+     *
+     * @param transaction the signed transaction.
+     * @return the keys of the invalid signatures, in the order of the signature map; empty if
+     * every signature is valid.
+     */
+    public static List<Ed25519PublicKey> findInvalidSignatures(Transaction transaction) {
+        final com.hedera.hashgraph.proto.Transaction proto = transaction.toProto();
+        final byte[] message = proto.getBodyBytes().toByteArray();
+
+        return proto.getSigMap().getSigPairList()
+            .parallelStream()
+            .filter(pair -> pair.getSignatureCase() == SignaturePair.SignatureCase.ED25519
+                && pair.getPubKeyPrefix().size() == Ed25519.PUBLIC_KEY_SIZE)
+            .map(pair -> {
+                final Ed25519PublicKey publicKey = Ed25519PublicKey.fromBytes(pair.getPubKeyPrefix().toByteArray());
+                return publicKey.verify(message, pair.getEd25519().toByteArray()) ? null : publicKey;
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Check whether the signatures of a transaction body satisfy a key.
+     */
+    @Internal
+    public static boolean isSatisfied(ByteString bodyBytes, SignatureMap sigMap, Key key) {
+        final Set<ByteString> keys = new HashSet<>();
+        collectEd25519Keys(key, keys);
+
+        final byte[] message = bodyBytes.toByteArray();
+        final Set<ByteString> signed = keys.parallelStream()
+            .filter(publicKey -> isSigned(publicKey, message, sigMap))
+            .collect(Collectors.toSet());
+
+        return isSatisfied(key, signed);
+    }
+
+    private static void collectEd25519Keys(Key key, Set<ByteString> keys) {
+        switch (key.getKeyCase()) {
+            case ED25519:
+                keys.add(key.getEd25519());
+                break;
+
+            case KEYLIST:
+                for (Key child : key.getKeyList().getKeysList()) {
+                    collectEd25519Keys(child, keys);
+                }
+
+                break;
+
+            case THRESHOLDKEY:
+                for (Key child : key.getThresholdKey().getKeys().getKeysList()) {
+                    collectEd25519Keys(child, keys);
+                }
+
+                break;
+
+            default:
+                // not satisfied by signatures
+                break;
+        }
+    }
+
+    private static boolean isSigned(ByteString publicKey, byte[] message, SignatureMap sigMap) {
+        if (publicKey.size() != Ed25519.PUBLIC_KEY_SIZE) {
+            return false;
+        }
+
+        final Ed25519PublicKey ed25519Key = Ed25519PublicKey.fromBytes(publicKey.toByteArray());
+
+        for (SignaturePair pair : sigMap.getSigPairList()) {
+            if (pair.getSignatureCase() == SignaturePair.SignatureCase.ED25519
+                && publicKey.startsWith(pair.getPubKeyPrefix())
+                && ed25519Key.verify(message, pair.getEd25519().toByteArray()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isSatisfied(Key key, Set<ByteString> signed) {
+        switch (key.getKeyCase()) {
+            case ED25519:
+                return signed.contains(key.getEd25519());
+
+            case KEYLIST: {
+                final List<Key> keys = key.getKeyList().getKeysList();
+
+                for (Key child : keys) {
+                    if (!isSatisfied(child, signed)) {
+                        return false;
+                    }
+                }
+
+                return !keys.isEmpty();
+            }
+
+            case THRESHOLDKEY: {
+                final int threshold = key.getThresholdKey().getThreshold();
+                final List<Key> keys = key.getThresholdKey().getKeys().getKeysList();
+
+                if (threshold < 1 || threshold > keys.size()) {
+                    // an invalid key, not one which is always (or never) satisfied
+                    return false;
+                }
+
+                int satisfied = 0;
+
+                for (Key child : keys) {
+                    if (isSatisfied(child, signed) && ++satisfied >= threshold) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+/**
+ * A public key whose private key signs messages, such as an
+ * {@link com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PublicKey}.
+ * <p>
+ * Key lists, threshold keys and contract IDs don't sign; to check the signatures of a
+ * transaction against them, see {@link SignatureVerifier}.
+ */
+public interface SigningPublicKey {
+    /**
+     * Verify a signature of a message by the private key of this key.
+     *
+     * @param message the message which was signed.
+     * @param signature the signature.
+     * @return whether the signature is valid.
+     */
+    default boolean verify(byte[] message, byte[] signature) {
+        return verify(message, 0, message.length, signature);
+    }
+
+    /**
+     * Verify a signature of a range of a message by the private key of this key.
+     *
+     * @param message the array containing the message which was signed.
+     * @param messageOffset the offset of the message in the array.
+     * @param messageLen the length of the message.
+     * @param signature the signature.
+     * @return whether the signature is valid.
+     * @see #verify(byte[], byte[])
+     */
+    boolean verify(byte[] message, int messageOffset, int messageLen, byte[] signature);
+}
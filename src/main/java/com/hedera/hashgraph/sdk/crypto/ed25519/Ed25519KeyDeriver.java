@@ -0,0 +1,160 @@
+package com.hedera.hashgraph.sdk.crypto.ed25519;
+
+import com.hedera.hashgraph.sdk.crypto.Mnemonic;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Derives many child keys of a mnemonic or of a key which supports derivation.
+ * <p>
+ * A path is a list of indices below the root key, each derived like
+ * {@link Ed25519PrivateKey#derive(int)}: {@code derive(1, 2)} is the same key as
+ * {@code root.derive(1).derive(2)}. For a deriver {@link #fromMnemonic(Mnemonic) of a mnemonic},
+ * the root is the key of {@link Ed25519PrivateKey#fromMnemonic(Mnemonic)}, so {@code derive(i)}
+ * is the key the mobile wallets give to account index {@code i}.
+ * <p>
+ * Only the derived key is built (which computes its public key, the bulk of the cost); the
+ * private keys and chain codes of its parents are derived once and cached, so each further key
+ * under the same parent costs a single HMAC. {@link #deriveRange(int[], int, int)} derives a
+ * range of sibling keys in parallel.
+ * <p>
+ * The cached key data is as secret as the root key; a deriver should not outlive its use.
+ */
+public final class Ed25519KeyDeriver {
+    private static final int[] ROOT = {};
+
+    private final byte[] rootData;
+
+    // the key data of each parent path which keys have been derived under
+    private final Map<Path, byte[]> parents = new ConcurrentHashMap<>();
+
+    private Ed25519KeyDeriver(byte[] rootData) {
+        this.rootData = rootData;
+    }
+
+    /**
+     * Create a deriver of the keys of a mnemonic with a passphrase.
+     *
+     * @param mnemonic the mnemonic phrase.
+     * @param passphrase the passphrase used to protect the mnemonic.
+     * @return a deriver rooted at the key of {@link Ed25519PrivateKey#fromMnemonic(Mnemonic, String)}.
+     */
+    public static Ed25519KeyDeriver fromMnemonic(Mnemonic mnemonic, String passphrase) {
+        return new Ed25519KeyDeriver(Ed25519PrivateKey.walletData(mnemonic, passphrase));
+    }
+
+    /**
+     * Create a deriver of the keys of a mnemonic compatible with the iOS and Android wallets.
+     *
+     * @param mnemonic the mnemonic phrase.
+     * @return a deriver rooted at the key of {@link Ed25519PrivateKey#fromMnemonic(Mnemonic)}.
+     */
+    public static Ed25519KeyDeriver fromMnemonic(Mnemonic mnemonic) {
+        return fromMnemonic(mnemonic, "");
+    }
+
+    /**
+     * Create a deriver of the child keys of a key.
+     *
+     * @param key the root key.
+     * @return a deriver rooted at {@code key}.
+     * @throws IllegalStateException if the key does not support derivation.
+     * @see Ed25519PrivateKey#supportsDerivation()
+     */
+    public static Ed25519KeyDeriver fromKey(Ed25519PrivateKey key) {
+        return new Ed25519KeyDeriver(key.deriveData());
+    }
+
+    /**
+     * Derive the key at a path below the root key.
+     *
+     * @param path the indices of the keys along the path; empty for the root key.
+     * @return the derived key, which itself supports derivation.
+     */
+    public Ed25519PrivateKey derive(int... path) {
+        if (path.length == 0) {
+            return Ed25519PrivateKey.derivableKey(rootData);
+        }
+
+        final byte[] parentData = parentData(path, path.length - 1);
+
+        return Ed25519PrivateKey.derivableKey(Ed25519PrivateKey.deriveChildData(parentData, path[path.length - 1]));
+    }
+
+    /**
+     * Derive the consecutive child keys of the root key, in parallel.
+     *
+     * @param startIndex the index of the first key.
+     * @param count the number of keys.
+     * @return the keys at indices {@code startIndex} to {@code startIndex + count - 1}.
+     */
+    public Ed25519PrivateKey[] deriveRange(int startIndex, int count) {
+        return deriveRange(ROOT, startIndex, count);
+    }
+
+    /**
+     * Derive the consecutive child keys of the key at a path, in parallel.
+     * <p>
+     * {@code deriveRange(new int[]{ 5 }, 0, 100)} derives the keys at paths {@code 5/0} to
+     * {@code 5/99}.
+     *
+     * @param parentPath the path of the parent key; empty for the root key.
+     * @param startIndex the index of the first key.
+     * @param count the number of keys.
+     * @return the keys at indices {@code startIndex} to {@code startIndex + count - 1} below
+     * the parent.
+     */
+    public Ed25519PrivateKey[] deriveRange(int[] parentPath, int startIndex, int count) {
+        if (startIndex < 0 || count < 0 || (long) startIndex + count > (long) Integer.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("indices must be between 0 and " + Integer.MAX_VALUE);
+        }
+
+        final byte[] parentData = parentData(parentPath, parentPath.length);
+        final Ed25519PrivateKey[] keys = new Ed25519PrivateKey[count];
+
+        IntStream.range(0, count).parallel().forEach(i -> keys[i] = Ed25519PrivateKey.derivableKey(
+            Ed25519PrivateKey.deriveChildData(parentData, startIndex + i)));
+
+        return keys;
+    }
+
+    // the key data of the first `length` indices of `path`, cached along the way
+    private byte[] parentData(int[] path, int length) {
+        if (length == 0) {
+            return rootData;
+        }
+
+        final Path parent = new Path(Arrays.copyOf(path, length));
+        final byte[] cached = parents.get(parent);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final byte[] parentData = Ed25519PrivateKey.deriveChildData(parentData(path, length - 1), path[length - 1]);
+        final byte[] raced = parents.putIfAbsent(parent, parentData);
+
+        return raced != null ? raced : parentData;
+    }
+
+    private static final class Path {
+        final int[] indices;
+
+        Path(int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(indices);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path && Arrays.equals(indices, ((Path) other).indices);
+        }
+    }
+}
@@ -36,6 +36,9 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import javax.annotation.Nullable;
 
@@ -46,6 +49,18 @@ import javax.annotation.Nullable;
  */
 @SuppressWarnings("Duplicates")
 public final class Ed25519PrivateKey extends PrivateKey<Ed25519PublicKey> {
+    // BIP-44 path with the Hedera Hbar coin-type (omitting key index)
+    // we pre-derive most of the path as the mobile wallets don't expose more than the index
+    // https://github.com/bitcoin/bips/blob/master/bip-0044.mediawiki
+    // https://github.com/satoshilabs/slips/blob/master/slip-0044.md
+    static final int[] WALLET_PATH = {44, 3030, 0, 0};
+
+    // the length of the key data: the private key followed by the chain code
+    static final int DERIVE_DATA_LEN = 64;
+
+    // initialized with a new key for each use and with an empty key after it, so no key material
+    // stays on the thread; SHA-512 digests are costly to create
+    private static final ThreadLocal<HMac> hmacSha512 = ThreadLocal.withInitial(() -> new HMac(new SHA512Digest()));
 
     final Ed25519PrivateKeyParameters privKeyParams;
 
@@ -70,7 +85,7 @@ public final class Ed25519PrivateKey extends PrivateKey<Ed25519PublicKey> {
         this.chainCode = null;
     }
 
-    private static Ed25519PrivateKey derivableKey(byte[] deriveData) {
+    static Ed25519PrivateKey derivableKey(byte[] deriveData) {
         final Ed25519PrivateKeyParameters privateKeyParameters = new Ed25519PrivateKeyParameters(deriveData, 0);
         final KeyParameter chainCode = new KeyParameter(deriveData, 32, 32);
         return new Ed25519PrivateKey(privateKeyParameters, chainCode);
@@ -139,26 +154,75 @@ public final class Ed25519PrivateKey extends PrivateKey<Ed25519PublicKey> {
      * for default account)
      */
     public static Ed25519PrivateKey fromMnemonic(Mnemonic mnemonic, String passphrase) {
-        final byte[] seed = mnemonic.toSeed(passphrase);
+        return derivableKey(walletData(mnemonic, passphrase));
+    }
+
+    /**
+     * Derive the key data of the wallet key of a mnemonic, without building the keys along the
+     * path (which computes each of their public keys).
+     */
+    static byte[] walletData(Mnemonic mnemonic, String passphrase) {
+        byte[] deriveData = masterData(mnemonic.toSeed(passphrase));
 
-        final HMac hmacSha512 = new HMac(new SHA512Digest());
-        hmacSha512.init(new KeyParameter("ed25519 seed".getBytes(StandardCharsets.UTF_8)));
-        hmacSha512.update(seed, 0, seed.length);
+        for (int index : WALLET_PATH) {
+            deriveData = deriveChildData(deriveData, index);
+        }
+
+        return deriveData;
+    }
 
-        final byte[] derivedState = new byte[hmacSha512.getMacSize()];
-        hmacSha512.doFinal(derivedState, 0);
+    // SLIP-10 master key generation
+    // https://github.com/satoshilabs/slips/blob/master/slip-0010.md#master-key-generation
+    private static byte[] masterData(byte[] seed) {
+        final HMac hmacSha512 = Ed25519PrivateKey.hmacSha512.get();
 
-        Ed25519PrivateKey derivedKey = derivableKey(derivedState);
+        try {
+            hmacSha512.init(new KeyParameter("ed25519 seed".getBytes(StandardCharsets.UTF_8)));
+            hmacSha512.update(seed, 0, seed.length);
+
+            final byte[] derivedState = new byte[DERIVE_DATA_LEN];
+            hmacSha512.doFinal(derivedState, 0);
 
-        // BIP-44 path with the Hedera Hbar coin-type (omitting key index)
-        // we pre-derive most of the path as the mobile wallets don't expose more than the index
-        // https://github.com/bitcoin/bips/blob/master/bip-0044.mediawiki
-        // https://github.com/satoshilabs/slips/blob/master/slip-0044.md
-        for (int index : new int[]{44, 3030, 0, 0}) {
-            derivedKey = derivedKey.derive(index);
+            return derivedState;
+        } finally {
+            clear(hmacSha512);
         }
+    }
 
-        return derivedKey;
+    /**
+     * SLIP-10 child key derivation, from the key data (the private key followed by the chain
+     * code) of the parent to that of the child; every index is hardened.
+     * <p>
+     * https://github.com/satoshilabs/slips/blob/master/slip-0010.md#private-parent-key--private-child-key
+     */
+    static byte[] deriveChildData(byte[] parentData, int index) {
+        final HMac hmacSha512 = Ed25519PrivateKey.hmacSha512.get();
+
+        try {
+            hmacSha512.init(new KeyParameter(parentData, Ed25519.SECRET_KEY_SIZE, DERIVE_DATA_LEN - Ed25519.SECRET_KEY_SIZE));
+            hmacSha512.update((byte) 0);
+
+            hmacSha512.update(parentData, 0, Ed25519.SECRET_KEY_SIZE);
+
+            // write the index in big-endian order, setting the 31st bit to mark it "hardened"
+            final byte[] indexBytes = new byte[4];
+            ByteBuffer.wrap(indexBytes).order(ByteOrder.BIG_ENDIAN).putInt(index);
+            indexBytes[0] |= (byte) 0b10000000;
+
+            hmacSha512.update(indexBytes, 0, indexBytes.length);
+
+            final byte[] output = new byte[DERIVE_DATA_LEN];
+            hmacSha512.doFinal(output, 0);
+
+            return output;
+        } finally {
+            clear(hmacSha512);
+        }
+    }
+
+    // replace the key (the chain code of the parent) and any partial input with nothing
+    private static void clear(HMac hmac) {
+        hmac.init(new KeyParameter(new byte[0]));
     }
 
     /**
@@ -195,33 +259,24 @@ public final class Ed25519PrivateKey extends PrivateKey<Ed25519PublicKey> {
      * @see #supportsDerivation()
      */
     public Ed25519PrivateKey derive(int index) {
+        return derivableKey(deriveChildData(deriveData(), index));
+    }
+
+    /**
+     * @return the private key followed by the chain code.
+     * @throws IllegalStateException if this key does not support derivation.
+     */
+    byte[] deriveData() {
         if (this.chainCode == null) {
             throw new IllegalStateException("this private key does not support derivation");
         }
 
-        // SLIP-10 child key derivation
-        // https://github.com/satoshilabs/slips/blob/master/slip-0010.md#master-key-generation
-        final HMac hmacSha512 = new HMac(new SHA512Digest());
+        final byte[] deriveData = new byte[DERIVE_DATA_LEN];
 
-        hmacSha512.init(chainCode);
-        hmacSha512.update((byte) 0);
+        privKeyParams.encode(deriveData, 0);
+        System.arraycopy(chainCode.getKey(), 0, deriveData, Ed25519.SECRET_KEY_SIZE, DERIVE_DATA_LEN - Ed25519.SECRET_KEY_SIZE);
 
-        hmacSha512.update(privKeyParams.getEncoded(), 0, Ed25519.SECRET_KEY_SIZE);
-
-        // write the index in big-endian order, setting the 31st bit to mark it "hardened"
-        final byte[] indexBytes = new byte[4];
-        ByteBuffer.wrap(indexBytes).order(ByteOrder.BIG_ENDIAN).putInt(index);
-        indexBytes[0] |= (byte) 0b10000000;
-
-        hmacSha512.update(indexBytes, 0, indexBytes.length);
-
-        byte[] output = new byte[64];
-        hmacSha512.doFinal(output, 0);
-
-        final Ed25519PrivateKeyParameters childKeyParams = new Ed25519PrivateKeyParameters(output, 0);
-        final KeyParameter childChainCode = new KeyParameter(output, 32, 32);
-
-        return new Ed25519PrivateKey(childKeyParams, childChainCode);
+        return deriveData;
     }
 
     /**
@@ -355,6 +410,43 @@ public final class Ed25519PrivateKey extends PrivateKey<Ed25519PublicKey> {
         }
     }
 
+    /**
+     * Recover the private keys of many encrypted keystores at once. Deriving the key which
+     * encrypts a keystore from its passphrase takes most of the time, so the keystores are
+     * decrypted in parallel.
+     *
+     * @param keystores   the binary-encoded keystores
+     * @param passphrases the passphrase used to encrypt each keystore
+     * @return the recovered keys, in the order of the keystores
+     * @throws IllegalArgumentException if there is not one passphrase for each keystore.
+     * @throws BadKeyException          if there is a problem with any keystore; most likely
+     *                                  if its passphrase is incorrect.
+     */
+    public static Ed25519PrivateKey[] fromKeystores(List<byte[]> keystores, List<String> passphrases) {
+        if (keystores.size() != passphrases.size()) {
+            throw new IllegalArgumentException("expected " + keystores.size() + " passphrases, got " + passphrases.size());
+        }
+
+        return IntStream.range(0, keystores.size())
+            .parallel()
+            .mapToObj(i -> fromKeystore(keystores.get(i), passphrases.get(i)))
+            .toArray(Ed25519PrivateKey[]::new);
+    }
+
+    /**
+     * Recover the private keys of many keystores encrypted with the same passphrase at once.
+     *
+     * @param keystores  the binary-encoded keystores
+     * @param passphrase the passphrase used to encrypt the keystores
+     * @return the recovered keys, in the order of the keystores
+     * @throws BadKeyException if there is a problem with any keystore; most likely
+     *                         if the passphrase is incorrect.
+     * @see #fromKeystores(List, List)
+     */
+    public static Ed25519PrivateKey[] fromKeystores(List<byte[]> keystores, String passphrase) {
+        return fromKeystores(keystores, Collections.nCopies(keystores.size(), passphrase));
+    }
+
     /**
      * Generate a new, random private key which supports child key derivation.
      *
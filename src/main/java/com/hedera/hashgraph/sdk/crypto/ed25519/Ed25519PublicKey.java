@@ -3,6 +3,7 @@ package com.hedera.hashgraph.sdk.crypto.ed25519;
 import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.proto.SignaturePair;
 import com.hedera.hashgraph.sdk.crypto.PublicKey;
+import com.hedera.hashgraph.sdk.crypto.SigningPublicKey;
 
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
@@ -20,7 +21,7 @@ import java.util.Arrays;
  * Ed25519PrivateKey#publicKey}.
  */
 @SuppressWarnings("Duplicates") // difficult to factor out common code for all algos without exposing it
-public final class Ed25519PublicKey extends PublicKey {
+public final class Ed25519PublicKey extends PublicKey implements SigningPublicKey {
     private final Ed25519PublicKeyParameters pubKeyParams;
 
     Ed25519PublicKey(Ed25519PublicKeyParameters pubKeyParams) {
@@ -64,6 +65,12 @@ public final class Ed25519PublicKey extends PublicKey {
         return pubKeyParams.getEncoded();
     }
 
+    @Override
+    public boolean verify(byte[] message, int messageOffset, int messageLen, byte[] signature) {
+        return signature.length == Ed25519.SIGNATURE_SIZE
+            && Ed25519.verify(signature, 0, pubKeyParams.getEncoded(), 0, message, messageOffset, messageLen);
+    }
+
     @Override
     public SignaturePair.SignatureCase getSignatureCase() {
         return SignaturePair.SignatureCase.ED25519;
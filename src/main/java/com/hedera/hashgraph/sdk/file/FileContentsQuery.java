@@ -14,6 +14,9 @@ import io.grpc.MethodDescriptor;
 
 /**
  * Get the contents of a file.
+ * <p>
+ * The contents are copied into a new {@code byte[]}; see {@link FileContentsViewQuery} to read
+ * them without the copy or to write them directly to a sink.
  */
 // `FileGetContentsQuery`
 public class FileContentsQuery extends QueryBuilder<byte[], FileContentsQuery> {
@@ -0,0 +1,121 @@
+package com.hedera.hashgraph.sdk.file;
+
+import com.hedera.hashgraph.proto.FileGetContentsQuery;
+import com.hedera.hashgraph.proto.FileServiceGrpc;
+import com.hedera.hashgraph.proto.Query;
+import com.hedera.hashgraph.proto.QueryHeader;
+import com.hedera.hashgraph.proto.Response;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.HederaNetworkException;
+import com.hedera.hashgraph.sdk.HederaStatusException;
+import com.hedera.hashgraph.sdk.QueryBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import io.grpc.MethodDescriptor;
+
+/**
+ * Get the contents of a file as a read-only {@link ByteBuffer} over the response, without
+ * copying it into a new {@code byte[]}.
+ * <p>
+ * Prefer this over {@link FileContentsQuery} for large files (e.g. fee schedules, address books
+ * or contract bytecode) which are only read once or written straight to a sink.
+ */
+// `FileGetContentsQuery`
+public final class FileContentsViewQuery extends QueryBuilder<ByteBuffer, FileContentsViewQuery> {
+    private final FileGetContentsQuery.Builder builder = inner.getFileGetContentsBuilder();
+
+    public FileContentsViewQuery() {
+        super();
+    }
+
+    @Override
+    protected QueryHeader.Builder getHeaderBuilder() {
+        return builder.getHeaderBuilder();
+    }
+
+    public FileContentsViewQuery setFileId(FileId fileId) {
+        builder.setFileID(fileId.toProto());
+        return this;
+    }
+
+    /**
+     * Execute the query and write the file contents to the given stream.
+     *
+     * @param client the client to execute the query with.
+     * @param outputStream the stream to write the contents to; it is not closed.
+     * @return the number of bytes written.
+     * @throws IOException if any occurs while writing to the stream.
+     */
+    public long executeInto(Client client, OutputStream outputStream) throws HederaStatusException, HederaNetworkException, IOException {
+        return executeInto(client, Channels.newChannel(outputStream));
+    }
+
+    /**
+     * Execute the query and write the file contents to the given channel.
+     *
+     * @param client the client to execute the query with.
+     * @param channel the channel to write the contents to; it is not closed.
+     * @return the number of bytes written.
+     * @throws IOException if any occurs while writing to the channel.
+     */
+    public long executeInto(Client client, WritableByteChannel channel) throws HederaStatusException, HederaNetworkException, IOException {
+        final ByteBuffer contents = execute(client);
+        final long size = contents.remaining();
+
+        while (contents.hasRemaining()) {
+            channel.write(contents);
+        }
+
+        return size;
+    }
+
+    /**
+     * Execute the query and put the file contents into the given buffer, starting at its current
+     * position. This allows the caller to reuse (or pool) buffers between queries.
+     *
+     * @param client the client to execute the query with.
+     * @param buffer the buffer to put the contents into.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException if the buffer does not have enough space remaining for the
+     *                                  contents; the buffer is left unchanged.
+     */
+    public int executeInto(Client client, ByteBuffer buffer) throws HederaStatusException, HederaNetworkException {
+        final ByteBuffer contents = execute(client);
+        final int size = contents.remaining();
+
+        if (size > buffer.remaining()) {
+            throw new IllegalArgumentException("file contents of " + size
+                + " bytes do not fit into a buffer with " + buffer.remaining() + " bytes remaining");
+        }
+
+        buffer.put(contents);
+
+        return size;
+    }
+
+    @Override
+    protected MethodDescriptor<Query, Response> getMethod() {
+        return FileServiceGrpc.getGetFileContentMethod();
+    }
+
+    @Override
+    public long getCost(Client client) throws HederaStatusException, HederaNetworkException {
+        // see FileContentsQuery#getCost
+        return Math.max(super.getCost(client), 50);
+    }
+
+    @Override
+    protected ByteBuffer extractResponse(Response raw) {
+        return raw.getFileGetContents().getFileContents().getContents().asReadOnlyByteBuffer();
+    }
+
+    @Override
+    protected void doValidate() {
+        require(builder.hasFileID(), ".setFileId() required");
+    }
+}
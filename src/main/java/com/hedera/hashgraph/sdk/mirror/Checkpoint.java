@@ -0,0 +1,31 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import java.time.Instant;
+
+/**
+ * The last message of a topic that a subscriber has finished processing.
+ */
+public final class Checkpoint {
+    public final ConsensusTopicId topicId;
+
+    public final long sequenceNumber;
+
+    public final Instant consensusTimestamp;
+
+    public Checkpoint(ConsensusTopicId topicId, long sequenceNumber, Instant consensusTimestamp) {
+        this.topicId = topicId;
+        this.sequenceNumber = sequenceNumber;
+        this.consensusTimestamp = consensusTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{"
+            + "topicId=" + topicId
+            + ", sequenceNumber=" + sequenceNumber
+            + ", consensusTimestamp=" + consensusTimestamp
+            + '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Durable storage for the {@link Checkpoint}s of topic subscriptions, so that a subscription
+ * made after a restart picks up after the last message that was processed.
+ * <p>
+ * Set on a query with {@link MirrorConsensusTopicQuery#setCheckpointStore(CheckpointStore)}.
+ * Implementations must be thread-safe; {@link #save(Checkpoint)} is called after every message
+ * so it should be cheap, and may defer making the checkpoint durable until {@link #flush()}.
+ *
+ * @see FileCheckpointStore
+ */
+public interface CheckpointStore {
+    /**
+     * Get the last checkpoint saved for a topic.
+     *
+     * @param topicId the topic.
+     * @return the checkpoint, or {@code null} if there isn't one.
+     * @throws IOException if the checkpoint could not be read.
+     */
+    @Nullable
+    Checkpoint load(ConsensusTopicId topicId) throws IOException;
+
+    /**
+     * Record that a subscriber has processed all messages of a topic up to and including the
+     * given one.
+     *
+     * @param checkpoint the checkpoint, which replaces any previous one for the topic.
+     * @throws IOException if the checkpoint could not be saved.
+     */
+    void save(Checkpoint checkpoint) throws IOException;
+
+    /**
+     * Make all saved checkpoints durable.
+     *
+     * @throws IOException if the checkpoints could not be written.
+     */
+    void flush() throws IOException;
+}
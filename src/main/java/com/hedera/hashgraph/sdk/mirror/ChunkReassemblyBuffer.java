@@ -0,0 +1,171 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.proto.TransactionID;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects the chunks of fragmented messages until they are complete.
+ * <p>
+ * Pending messages are kept in the order their first chunk arrived, so the oldest is always at
+ * the head; expiring and evicting pending messages only ever looks at the head and never scans
+ * the whole buffer. The buffer holds at most {@code maxBytes} of chunk contents; if a new chunk
+ * would exceed that, the oldest pending messages are dropped to make room.
+ * <p>
+ * Not thread-safe; a subscription only feeds it from one call at a time.
+ */
+final class ChunkReassemblyBuffer {
+    private final long maxBytes;
+
+    private final Duration maxAge;
+
+    private final Runnable onDropped;
+
+    private final LinkedHashMap<TransactionID, PendingMessage> pending = new LinkedHashMap<>();
+
+    private long pendingBytes;
+
+    /**
+     * @param maxBytes the maximum total size of the contents of pending chunks.
+     * @param maxAge how long to wait for the remaining chunks of a message before dropping it.
+     * @param onDropped called each time an incomplete message is dropped.
+     */
+    ChunkReassemblyBuffer(long maxBytes, Duration maxAge, Runnable onDropped) {
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.onDropped = onDropped;
+    }
+
+    /**
+     * Add a chunk to the buffer.
+     *
+     * @param response the chunk, which must have chunk info.
+     * @param now the time the chunk arrived.
+     * @return all the chunks of the message, in the order they arrived, if this was the last one;
+     *         otherwise {@code null}.
+     */
+    @Nullable
+    List<ConsensusTopicResponse> add(ConsensusTopicResponse response, Instant now) {
+        expire(now);
+
+        final ConsensusMessageChunkInfo chunkInfo = response.getChunkInfo();
+        final TransactionID initialTransactionID = chunkInfo.getInitialTransactionID();
+        final long size = response.getMessage().size();
+
+        PendingMessage message = pending.get(initialTransactionID);
+
+        if (chunkInfo.getNumber() < 1 || chunkInfo.getNumber() > chunkInfo.getTotal() || size > maxBytes
+            || (message != null && message.total != chunkInfo.getTotal()))
+        {
+            // malformed, or could never fit; drop whatever we have of the message along with it
+            remove(initialTransactionID);
+            onDropped.run();
+            return null;
+        }
+
+        if (message != null && message.received.get(chunkInfo.getNumber() - 1)) {
+            // a chunk number we already have; keep the first one
+            return null;
+        }
+
+        while (pendingBytes + size > maxBytes) {
+            evictOldest();
+        }
+
+        // we may have evicted the message itself
+        message = pending.get(initialTransactionID);
+
+        if (message == null) {
+            message = new PendingMessage(now, chunkInfo.getTotal());
+            pending.put(initialTransactionID, message);
+        }
+
+        message.received.set(chunkInfo.getNumber() - 1);
+        message.chunks.add(response);
+        message.bytes += size;
+        pendingBytes += size;
+
+        if (message.chunks.size() < message.total) {
+            return null;
+        }
+
+        remove(initialTransactionID);
+
+        return message.chunks;
+    }
+
+    /**
+     * Drop any pending messages whose first chunk arrived more than {@code maxAge} before
+     * {@code now}.
+     */
+    void expire(Instant now) {
+        final Instant cutoff = now.minus(maxAge);
+        final Iterator<PendingMessage> iter = pending.values().iterator();
+
+        while (iter.hasNext()) {
+            final PendingMessage oldest = iter.next();
+
+            if (!oldest.arrived.isBefore(cutoff)) {
+                break;
+            }
+
+            iter.remove();
+            pendingBytes -= oldest.bytes;
+            onDropped.run();
+        }
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    private void evictOldest() {
+        final Iterator<PendingMessage> iter = pending.values().iterator();
+        final PendingMessage oldest = iter.next();
+
+        iter.remove();
+        pendingBytes -= oldest.bytes;
+        onDropped.run();
+    }
+
+    private void remove(TransactionID initialTransactionID) {
+        final PendingMessage message = pending.remove(initialTransactionID);
+
+        if (message != null) {
+            pendingBytes -= message.bytes;
+        }
+    }
+
+    private static final class PendingMessage {
+        final Instant arrived;
+
+        final int total;
+
+        final List<ConsensusTopicResponse> chunks;
+
+        final BitSet received;
+
+        long bytes;
+
+        PendingMessage(Instant arrived, int total) {
+            this.arrived = arrived;
+            this.total = total;
+            this.chunks = new ArrayList<>();
+            this.received = new BitSet();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link CheckpointStore} backed by an append-only file.
+ * <p>
+ * Each checkpoint is appended to the file as a small fixed-size record; the file is only
+ * synced to disk once {@link #setSyncEvery(int) syncEvery} checkpoints have been saved since the
+ * last sync, or once {@link #setSyncInterval(Duration) syncInterval} has passed (checked when a
+ * checkpoint is saved), or on {@link #flush()} and {@link #close()}. Checkpoints saved since the
+ * last sync may be lost in a crash, in which case their messages are delivered again after the
+ * restart; raise the limits for throughput or lower them to replay less.
+ * <p>
+ * When the file holds many more records than there are topics, it is compacted by writing the
+ * latest checkpoints to a new file which atomically replaces it. A torn record at the end of
+ * the file (from a crash in the middle of a write) is ignored.
+ */
+public final class FileCheckpointStore implements CheckpointStore, Closeable {
+    // shard, realm, topic, sequence number, seconds (8 bytes each), nanos and CRC32 (4 bytes each)
+    private static final int RECORD_SIZE = 48;
+
+    private static final int BUFFER_RECORDS = 256;
+
+    // compact when there are more than this many records per topic (and at least MIN_COMPACT_RECORDS)
+    private static final int COMPACT_RATIO = 4;
+
+    private static final int MIN_COMPACT_RECORDS = 4096;
+
+    private final Path path;
+
+    // the state below is guarded by `this`
+
+    private final Map<ConsensusTopicId, Checkpoint> checkpoints = new HashMap<>();
+
+    // checkpoints which have been saved but not written to the file yet
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * BUFFER_RECORDS);
+
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+
+    // the number of records in the file (including those in `buffer`)
+    private long recordCount;
+
+    private int unsyncedCount;
+
+    private long lastSyncNanos = System.nanoTime();
+
+    private int syncEvery = 100;
+
+    private long syncIntervalNanos = Duration.ofSeconds(1).toNanos();
+
+    private boolean closed;
+
+    private FileCheckpointStore(Path path) throws IOException {
+        this.path = path;
+
+        if (Files.exists(path)) {
+            replay();
+        }
+
+        // start from a compacted file, which also drops any torn record at the end
+        channel = compact();
+    }
+
+    /**
+     * Open the store in the given file, creating the file if it does not exist.
+     *
+     * @param path the file.
+     * @return the store.
+     * @throws IOException if the file could not be read or written.
+     */
+    public static FileCheckpointStore open(Path path) throws IOException {
+        return new FileCheckpointStore(path);
+    }
+
+    /**
+     * Set the number of checkpoints saved after which the file is synced to disk. Defaults to
+     * 100.
+     *
+     * @param syncEvery the number of checkpoints, at least 1.
+     * @return {@code this} for fluent usage.
+     */
+    public synchronized FileCheckpointStore setSyncEvery(int syncEvery) {
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("syncEvery must be >= 1");
+        }
+
+        this.syncEvery = syncEvery;
+        return this;
+    }
+
+    /**
+     * Set the time after which the file is synced to disk when the next checkpoint is saved,
+     * however few checkpoints there have been since the last sync. Defaults to 1 second.
+     *
+     * @param syncInterval the interval.
+     * @return {@code this} for fluent usage.
+     */
+    public synchronized FileCheckpointStore setSyncInterval(Duration syncInterval) {
+        if (syncInterval.isNegative()) {
+            throw new IllegalArgumentException("syncInterval must not be negative");
+        }
+
+        this.syncIntervalNanos = syncInterval.toNanos();
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public synchronized Checkpoint load(ConsensusTopicId topicId) {
+        return checkpoints.get(topicId);
+    }
+
+    @Override
+    public synchronized void save(Checkpoint checkpoint) throws IOException {
+        ensureOpen();
+
+        checkpoints.put(checkpoint.topicId, checkpoint);
+
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+
+        putRecord(buffer, checkpoint);
+        recordCount += 1;
+        unsyncedCount += 1;
+
+        if (recordCount > Math.max(MIN_COMPACT_RECORDS, (long) COMPACT_RATIO * checkpoints.size())) {
+            // compaction syncs the new file
+            writeBuffer();
+            channel.close();
+            channel = compact();
+        } else if (unsyncedCount >= syncEvery || System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+            sync();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        sync();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            sync();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("checkpoint store has been closed");
+        }
+    }
+
+    private void sync() throws IOException {
+        writeBuffer();
+        channel.force(false);
+
+        unsyncedCount = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    private void replay() throws IOException {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (true) {
+                record.clear();
+
+                while (record.hasRemaining()) {
+                    if (file.read(record) < 0) {
+                        // end of file, possibly in the middle of a torn record
+                        return;
+                    }
+                }
+
+                record.flip();
+
+                final Checkpoint checkpoint = getRecord(record);
+
+                if (checkpoint == null) {
+                    // a corrupt record can only be the last one written before a crash
+                    return;
+                }
+
+                checkpoints.put(checkpoint.topicId, checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Replace the file with one holding only the latest checkpoint of each topic.
+     *
+     * @return a channel for appending to the new file.
+     */
+    private FileChannel compact() throws IOException {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        final ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * checkpoints.size());
+
+        for (Checkpoint checkpoint : checkpoints.values()) {
+            putRecord(records, checkpoint);
+        }
+
+        records.flip();
+
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            while (records.hasRemaining()) {
+                file.write(records);
+            }
+
+            file.force(false);
+        }
+
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+
+        recordCount = checkpoints.size();
+        unsyncedCount = 0;
+        lastSyncNanos = System.nanoTime();
+
+        return FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Sync the directory of the file, which makes the rename of a compaction durable.
+     */
+    private void syncDirectory() {
+        final Path directory = path.toAbsolutePath().getParent();
+
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // some platforms (e.g. Windows) can't open or sync a directory; the rename is still
+            // atomic there, just not guaranteed to survive a crash right after it
+        }
+    }
+
+    private void putRecord(ByteBuffer target, Checkpoint checkpoint) {
+        final int start = target.position();
+
+        target.putLong(checkpoint.topicId.shard)
+            .putLong(checkpoint.topicId.realm)
+            .putLong(checkpoint.topicId.topic)
+            .putLong(checkpoint.sequenceNumber)
+            .putLong(checkpoint.consensusTimestamp.getEpochSecond())
+            .putInt(checkpoint.consensusTimestamp.getNano());
+
+        crc.reset();
+        crc.update(target.array(), target.arrayOffset() + start, RECORD_SIZE - 4);
+        target.putInt((int) crc.getValue());
+    }
+
+    @Nullable
+    private Checkpoint getRecord(ByteBuffer record) {
+        crc.reset();
+        crc.update(record.array(), record.arrayOffset(), RECORD_SIZE - 4);
+
+        if (record.getInt(RECORD_SIZE - 4) != (int) crc.getValue()) {
+            return null;
+        }
+
+        return new Checkpoint(
+            new ConsensusTopicId(record.getLong(), record.getLong(), record.getLong()),
+            record.getLong(),
+            Instant.ofEpochSecond(record.getLong(), record.getInt()));
+    }
+}
@@ -3,18 +3,182 @@ package com.hedera.hashgraph.sdk.mirror;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 
-import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
 
+/**
+ * A client for one or more mirror nodes.
+ * <p>
+ * With several endpoints, each new subscription goes to the healthy endpoint with the fewest
+ * active subscriptions (then the lowest latency). When a call to an endpoint fails, the
+ * subscription moves to another endpoint and resumes from the last message it received, and the
+ * failed endpoint is avoided for a while; see {@link #getEndpoints()} for the metrics of each
+ * endpoint.
+ */
 public class MirrorClient implements AutoCloseable {
-    final ManagedChannel channel;
+    final List<MirrorEndpoint> endpoints;
+
+    // where the search for the least loaded endpoint starts, so ties are spread round-robin
+    private final AtomicInteger nextEndpoint = new AtomicInteger();
+
+    // used to schedule reconnects of subscriptions without blocking a gRPC thread
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "hedera-mirror-executor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    final List<TopicSubscriptionManager> subscriptionManagers = new CopyOnWriteArrayList<>();
 
     public MirrorClient(String endpoint) {
-        channel = ManagedChannelBuilder.forTarget(endpoint)
+        this(Collections.singletonList(endpoint));
+    }
+
+    /**
+     * @param endpoints the addresses ({@code host:port}) of the mirror nodes to spread
+     *                  subscriptions over; at least one.
+     */
+    public MirrorClient(List<String> endpoints) {
+        this(endpoints, address -> ManagedChannelBuilder.forTarget(address)
             .keepAliveTime(2, TimeUnit.MINUTES)
             .usePlaintext()
-            .build();
+            .build());
+    }
+
+    /**
+     * Create a client which opens its channels to the mirror nodes with a custom factory; e.g.
+     * to use gRPC's in-process transport in tests, or to configure TLS or interceptors.
+     *
+     * @param endpoints the addresses of the mirror nodes to spread subscriptions over; at
+     *                  least one.
+     * @param channelFactory creates a channel to a mirror node from its address.
+     */
+    public MirrorClient(List<String> endpoints, Function<String, ManagedChannel> channelFactory) {
+        this(toEndpoints(endpoints, channelFactory));
+    }
+
+    MirrorClient(Supplier<ManagedChannel> channelFactory) {
+        this(new MirrorEndpoint("default", channelFactory));
+    }
+
+    MirrorClient(MirrorEndpoint... endpoints) {
+        if (endpoints.length == 0) {
+            throw new IllegalArgumentException("at least one endpoint is required");
+        }
+
+        this.endpoints = Collections.unmodifiableList(Arrays.asList(endpoints.clone()));
+    }
+
+    private static MirrorEndpoint[] toEndpoints(List<String> addresses, Function<String, ManagedChannel> channelFactory) {
+        final MirrorEndpoint[] endpoints = new MirrorEndpoint[addresses.size()];
+
+        for (int i = 0; i < endpoints.length; i += 1) {
+            final String address = addresses.get(i);
+
+            endpoints[i] = new MirrorEndpoint(address, () -> channelFactory.apply(address));
+        }
+
+        return endpoints;
+    }
+
+    /**
+     * @return the endpoints of this client, with their metrics.
+     */
+    public List<MirrorEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Pick the endpoint for a new call: the healthy endpoint with the fewest active
+     * subscriptions (then the lowest latency), other than {@code avoid} if there is another
+     * healthy one. If no endpoint is healthy, the one which will be retried soonest.
+     */
+    MirrorEndpoint selectEndpoint(@Nullable MirrorEndpoint avoid) {
+        final long now = System.nanoTime();
+        final int start = Math.floorMod(nextEndpoint.getAndIncrement(), endpoints.size());
+
+        @Nullable MirrorEndpoint best = null;
+        @Nullable MirrorEndpoint soonest = null;
+
+        for (int i = 0; i < endpoints.size(); i += 1) {
+            final MirrorEndpoint endpoint = endpoints.get((start + i) % endpoints.size());
+
+            if (!endpoint.isHealthy(now)) {
+                if (soonest == null || endpoint.getUnhealthyUntil() - soonest.getUnhealthyUntil() < 0) {
+                    soonest = endpoint;
+                }
+            } else if (endpoint != avoid && (best == null || isLessLoaded(endpoint, best))) {
+                best = endpoint;
+            }
+        }
+
+        if (best != null) {
+            return best;
+        }
+
+        if (avoid != null && avoid.isHealthy(now)) {
+            return avoid;
+        }
+
+        // there is always an unhealthy endpoint if there is no healthy one
+        return soonest != null ? soonest : endpoints.get(start);
+    }
+
+    private static boolean isLessLoaded(MirrorEndpoint endpoint, MirrorEndpoint than) {
+        final int subscriptions = endpoint.getActiveSubscriptions();
+        final int thanSubscriptions = than.getActiveSubscriptions();
+
+        if (subscriptions != thanSubscriptions) {
+            return subscriptions < thanSubscriptions;
+        }
+
+        final Duration latency = endpoint.getLatency();
+        final Duration thanLatency = than.getLatency();
+
+        return latency != null && thanLatency != null && latency.compareTo(thanLatency) < 0;
+    }
+
+    /**
+     * Create a manager for many topic subscriptions with one channel per available processor
+     * and a dispatch thread per available processor.
+     *
+     * @return the new subscription manager, which is closed along with this client.
+     * @see #newSubscriptionManager(int, Executor)
+     */
+    public TopicSubscriptionManager newSubscriptionManager() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final TopicSubscriptionManager manager = new TopicSubscriptionManager(this, processors, null);
+
+        subscriptionManagers.add(manager);
+        return manager;
+    }
+
+    /**
+     * Create a manager for many topic subscriptions.
+     *
+     * @param channelCount the number of channels (connections) to spread the subscriptions
+     *                     over.
+     * @param executor the executor to run the callbacks of the subscriptions on; it is not
+     *                 shut down when the manager is closed.
+     * @return the new subscription manager, which is closed along with this client.
+     */
+    public TopicSubscriptionManager newSubscriptionManager(int channelCount, Executor executor) {
+        final TopicSubscriptionManager manager = new TopicSubscriptionManager(this, channelCount, executor);
+
+        subscriptionManagers.add(manager);
+        return manager;
     }
 
     @Override
@@ -23,8 +187,25 @@ public class MirrorClient implements AutoCloseable {
     }
 
     public boolean close(long timeout, TimeUnit timeoutUnit) throws InterruptedException {
+        executor.shutdownNow();
+
+        for (TopicSubscriptionManager manager : subscriptionManagers) {
+            manager.close();
+        }
+
         // shutdownNow() is required because we have by-design infinitely running calls
-        channel.shutdownNow();
-        return channel.awaitTermination(timeout, timeoutUnit);
+        for (MirrorEndpoint endpoint : endpoints) {
+            endpoint.channel.shutdownNow();
+        }
+
+        final long deadline = System.nanoTime() + timeoutUnit.toNanos(timeout);
+
+        for (MirrorEndpoint endpoint : endpoints) {
+            if (!endpoint.channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 }
@@ -1,23 +1,47 @@
 package com.hedera.hashgraph.sdk.mirror;
 
+import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
 import com.hedera.hashgraph.sdk.TimestampHelper;
 
 import java.time.Instant;
 
+import javax.annotation.Nullable;
+
 public final class MirrorConsensusMessageChunk {
     public final Instant consensusTimestamp;
 
     public final long contentSize;
 
+    /**
+     * A copy of the running hash of the topic after this chunk; {@code null} unless the
+     * subscription copies eagerly and includes running hashes (the default). Use
+     * {@link #getRunningHashAsByteString()} instead.
+     */
+    @Nullable
     public final byte[] runningHash;
 
     public final long sequenceNumber;
 
-    MirrorConsensusMessageChunk(ConsensusTopicResponse response) {
+    @Nullable
+    private final ByteString runningHashBytes;
+
+    MirrorConsensusMessageChunk(ConsensusTopicResponse response, boolean eagerCopy, boolean includeRunningHash) {
         consensusTimestamp = TimestampHelper.timestampTo(response.getConsensusTimestamp());
         contentSize = response.getMessage().size();
-        runningHash = response.getRunningHash().toByteArray();
+        runningHashBytes = includeRunningHash ? response.getRunningHash() : null;
+        runningHash = eagerCopy && runningHashBytes != null ? runningHashBytes.toByteArray() : null;
         sequenceNumber = response.getSequenceNumber();
     }
+
+    /**
+     * Get the running hash of the topic after this chunk without copying it.
+     *
+     * @return the running hash, or {@code null} if the subscription was made with
+     *         {@link MirrorConsensusTopicQuery#setIncludeRunningHash(boolean) setIncludeRunningHash(false)}.
+     */
+    @Nullable
+    public ByteString getRunningHashAsByteString() {
+        return runningHashBytes;
+    }
 }
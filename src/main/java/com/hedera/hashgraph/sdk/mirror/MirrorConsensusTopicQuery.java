@@ -1,29 +1,38 @@
 package com.hedera.hashgraph.sdk.mirror;
 
-import com.hedera.hashgraph.proto.TransactionID;
-import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
 import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
-import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
-import io.grpc.StatusException;
 import com.hedera.hashgraph.sdk.TimestampHelper;
 import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
-import io.grpc.CallOptions;
-import io.grpc.ClientCall;
-import io.grpc.stub.ClientCalls;
-import io.grpc.stub.StreamObserver;
-import io.grpc.Status;
 
-import java.time.Duration;
+import org.reactivestreams.Publisher;
+
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
 import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
 public class MirrorConsensusTopicQuery {
+    private static final long DEFAULT_MAX_PENDING_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    private static final int DEFAULT_BATCH_SIZE = 16;
+
     private ConsensusTopicQuery.Builder builder;
 
+    long maxPendingChunkBytes = DEFAULT_MAX_PENDING_CHUNK_BYTES;
+
+    boolean eagerCopy = true;
+
+    boolean includeRunningHash = true;
+
+    int batchSize = DEFAULT_BATCH_SIZE;
+
+    @Nullable
+    CheckpointStore checkpointStore;
+
+    boolean verifyRunningHash;
+
+    boolean decompress = true;
+
     public MirrorConsensusTopicQuery() {
         builder = ConsensusTopicQuery.newBuilder();
     }
@@ -48,123 +57,219 @@ public class MirrorConsensusTopicQuery {
         return this;
     }
 
-    public MirrorSubscriptionHandle subscribe(MirrorClient mirrorClient, Consumer<MirrorConsensusTopicResponse> onNext,
-                                              Consumer<Throwable> onError)
-    {
-        final ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = mirrorClient.channel
-            .newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+    ConsensusTopicQuery toProto() {
+        return builder.build();
+    }
 
-        final MirrorSubscriptionHandle subscriptionHandle = new MirrorSubscriptionHandle(() -> {
-            call.cancel("unsubscribed", null);
-        });
+    MirrorConsensusTopicQuery copy() {
+        final MirrorConsensusTopicQuery copy = new MirrorConsensusTopicQuery();
 
-        makeStreamingCall(call, builder.build(), onNext, onError, 0);
+        copy.builder = builder.clone();
+        copy.maxPendingChunkBytes = maxPendingChunkBytes;
+        copy.eagerCopy = eagerCopy;
+        copy.includeRunningHash = includeRunningHash;
+        copy.batchSize = batchSize;
+        copy.checkpointStore = checkpointStore;
+        copy.verifyRunningHash = verifyRunningHash;
+        copy.decompress = decompress;
 
-        return subscriptionHandle;
+        return copy;
     }
 
-    private static void makeStreamingCall(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call,
-                                          ConsensusTopicQuery query, Consumer<MirrorConsensusTopicResponse> onNext, Consumer<Throwable> onError,
-                                          int attempt)
-    {
-        if (attempt > 10) {
-            onError.accept(new Error("Failed to connect to mirror node"));
+    /**
+     * Set the maximum total size of the chunks of incomplete fragmented messages that the
+     * subscription will hold on to while waiting for the rest of their chunks. When the limit
+     * is reached, the messages which started arriving first are dropped. Defaults to 16 MiB.
+     *
+     * @param maxPendingChunkBytes the limit, in bytes.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setMaxPendingChunkBytes(long maxPendingChunkBytes) {
+        if (maxPendingChunkBytes <= 0) {
+            throw new IllegalArgumentException("maxPendingChunkBytes must be > 0");
         }
 
-        // From our testing `ClientCalls.asyncServerStreamingCall` does *not* call `onNext` before the previous call
-        // to `onNext` finishes. Meaning, there is no use in having `ConcurrentHashmap` or `CopyOnWriteArrayList` since
-        // the callback is never run concurrently.
-        HashMap<TransactionID, Tuple<Instant, ArrayList<ConsensusTopicResponse>>> pendingMessages = new HashMap<>();
-        Instant[] lastInstantChecked = new Instant[]{null};
-
-        ClientCalls.asyncServerStreamingCall(call, query, new StreamObserver<ConsensusTopicResponse>() {
-            private boolean shouldRetry = true;
-
-            @Override
-            public void onNext(ConsensusTopicResponse consensusTopicResponse) {
-                shouldRetry = false;
-
-                if (!consensusTopicResponse.hasChunkInfo()) {
-                    // short circuit for no chunks
-                    onNext.accept(MirrorConsensusTopicResponse.ofSingle(consensusTopicResponse));
-                    return;
-                }
-
-                // get the list of chunks for this pending message
-                TransactionID initialTransactionID = consensusTopicResponse.getChunkInfo().getInitialTransactionID();
-                pendingMessages.putIfAbsent(initialTransactionID, new Tuple<>(Instant.now(), new ArrayList<>()));
-                ArrayList<ConsensusTopicResponse> chunks = pendingMessages.get(initialTransactionID).second;
-
-                // not possible to be null as we do [putIfAbsent]
-                // add our response to the pending chunk list
-                Objects.requireNonNull(chunks).add(consensusTopicResponse);
-
-                // if we now have enough chunks, emit
-                if (chunks.size() == consensusTopicResponse.getChunkInfo().getTotal()) {
-                    // Remove message from pending
-                    pendingMessages.remove(initialTransactionID);
-
-                    // Send message to callback
-                    onNext.accept(MirrorConsensusTopicResponse.ofMany(chunks));
-                }
-
-                // Remove transaction which have not been created for 5 minutes.
-                ArrayList<TransactionID> toRemoveTransactions = new ArrayList<>();
-                Instant now = Instant.now();
-
-                if (lastInstantChecked[0] == null || Duration.between(lastInstantChecked[0], now).compareTo(Duration.ofSeconds(10)) > 0) {
-                    lastInstantChecked[0] = now;
-
-                    for (Map.Entry<TransactionID, Tuple<Instant, ArrayList<ConsensusTopicResponse>>> entry: pendingMessages.entrySet()) {
-                        if (Duration.between(entry.getValue().first, now).compareTo(Duration.ofMinutes(5)) > 0) {
-                            toRemoveTransactions.add(entry.getKey());
-                        }
-                    }
-                }
-
-                for (TransactionID id : toRemoveTransactions) {
-                    pendingMessages.remove(id);
-                }
-            }
+        this.maxPendingChunkBytes = maxPendingChunkBytes;
+        return this;
+    }
+
+    /**
+     * Set whether each message and running hash should be copied into the {@code byte[]} fields
+     * of {@link MirrorConsensusTopicResponse} and {@link MirrorConsensusMessageChunk} as soon as
+     * it arrives. Defaults to {@code true}.
+     * <p>
+     * Set to {@code false} when most messages are only partially read; the fields are then
+     * {@code null} and the contents must be read with the getters, which only copy on request
+     * (e.g. {@link MirrorConsensusTopicResponse#getMessageAsByteBuffer()} never copies a message
+     * that arrived in a single chunk).
+     *
+     * @param eagerCopy whether to copy eagerly.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setEagerCopy(boolean eagerCopy) {
+        this.eagerCopy = eagerCopy;
+        return this;
+    }
+
+    /**
+     * Set whether running hashes should be kept on the responses. Defaults to {@code true}.
+     * <p>
+     * If the running hashes are not needed, set to {@code false} to avoid holding on to
+     * (or copying) them.
+     *
+     * @param includeRunningHash whether to keep running hashes.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setIncludeRunningHash(boolean includeRunningHash) {
+        this.includeRunningHash = includeRunningHash;
+        return this;
+    }
 
-            @Override
-            public void onError(Throwable throwable) {
-                if (shouldRetry) {
-                    if (throwable instanceof StatusException) {
-                        StatusException status = (StatusException) throwable;
+    /**
+     * Set the maximum number of messages to request from the mirror node at a time. Defaults
+     * to 16.
+     * <p>
+     * The mirror node can only send messages that were requested, and the next batch is only
+     * requested once half of the current one has been handed to the consumer; so a slow
+     * consumer holds up the stream instead of messages piling up in memory.
+     *
+     * @param batchSize the number of messages, at least 1.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
 
-                        if (status.getStatus().equals(Status.NOT_FOUND) || status.getStatus().equals(Status.UNAVAILABLE)) {
+        this.batchSize = batchSize;
+        return this;
+    }
 
-                            // Cannot use `CompletableFuture<U>` here since this future is never polled
-                            try {
-                                long delay = Math.min(250 * (long) Math.pow(2, attempt), 16000);
-                                Thread.sleep(delay);
-                            } catch (InterruptedException e) {
-                                // Do nothing
-                            }
+    /**
+     * Set a store for checkpoints of the subscription.
+     * <p>
+     * When the subscription is made, it resumes after the last checkpoint saved for the topic
+     * (unless the start time of this query is later). After {@code onNext} returns for a
+     * message, the message is saved as the new checkpoint. If the store fails, the
+     * subscription is cancelled and {@code onError} is called with the {@link java.io.IOException}.
+     * <p>
+     * A limit set on this query counts the messages after the checkpoint.
+     *
+     * @param checkpointStore the store.
+     * @return {@code this} for fluent usage.
+     * @see FileCheckpointStore
+     */
+    public MirrorConsensusTopicQuery setCheckpointStore(CheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
 
-                            makeStreamingCall(call, query, onNext, onError, attempt + 1);
-                        }
-                    }
-                }
+    /**
+     * Set whether the subscription should verify that each message follows from the previous
+     * one, by its sequence number and running hash. Defaults to {@code false}.
+     * <p>
+     * If a message is missing or its running hash doesn't match, the subscription is cancelled
+     * and {@code onError} is called with a {@link TopicIntegrityException} naming the offending
+     * sequence number. Verification starts from the first message received; its own running
+     * hash can only be verified if it is the first message of the topic.
+     * <p>
+     * Running hash version 3 includes the payer of each message, which the mirror node doesn't
+     * provide; for those messages only the sequence numbers are verified.
+     *
+     * @param verifyRunningHash whether to verify.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setVerifyRunningHash(boolean verifyRunningHash) {
+        this.verifyRunningHash = verifyRunningHash;
+        return this;
+    }
 
-                onError.accept(throwable);
-            }
+    /**
+     * Set whether messages compressed with
+     * {@link com.hedera.hashgraph.sdk.consensus.ConsensusMessageSubmitTransaction#setCompressor}
+     * should be decompressed. Defaults to {@code true}.
+     * <p>
+     * A message which can't be decompressed (e.g. its codec is unknown, see
+     * {@link com.hedera.hashgraph.sdk.consensus.MessageCompressor}) is delivered as it is.
+     *
+     * @param decompress whether to decompress.
+     * @return {@code this} for fluent usage.
+     */
+    public MirrorConsensusTopicQuery setDecompress(boolean decompress) {
+        this.decompress = decompress;
+        return this;
+    }
 
-            @Override
-            public void onCompleted() {
-                // Do nothing
-            }
-        });
+    /**
+     * Subscribe to the topic.
+     * <p>
+     * If the stream to the mirror node fails with a transient error (or an open-ended stream is
+     * closed by the mirror node), it is re-established with backoff, resuming from just after
+     * the last message received (on another endpoint of the mirror client, if it has several);
+     * messages delivered twice by the mirror node are dropped.
+     * {@code onError} is only called once the subscription has failed for good.
+     *
+     * @param mirrorClient the mirror client to subscribe with.
+     * @param onNext called with each (reassembled) message, in consensus order.
+     * @param onError called if the subscription fails permanently.
+     * @return a handle which you can use to cancel the subscription at any time.
+     */
+    public MirrorSubscriptionHandle subscribe(MirrorClient mirrorClient, Consumer<MirrorConsensusTopicResponse> onNext,
+                                              Consumer<Throwable> onError)
+    {
+        // `onNext` needs the subscription to save checkpoints
+        final TopicSubscription[] subscription = new TopicSubscription[1];
+        final MirrorEndpoint endpoint = mirrorClient.selectEndpoint(null);
+
+        subscription[0] = new TopicSubscription(mirrorClient, endpoint, endpoint.channel, this, response -> {
+            onNext.accept(response);
+            subscription[0].checkpoint(response);
+        }, onError, () -> { }, Long.MAX_VALUE);
+
+        subscription[0].start();
+
+        return subscription[0].handle;
     }
 
-    static class Tuple<T1, T2> {
-        T1 first;
-        T2 second;
+    /**
+     * Subscribe to the records of the topic, unpacking the messages published by a
+     * {@link com.hedera.hashgraph.sdk.consensus.MessageBatcher}; otherwise like
+     * {@link #subscribe(MirrorClient, Consumer, Consumer)}.
+     * <p>
+     * A message which isn't an envelope is delivered as a single record. A checkpoint is only
+     * saved once every record of a message has been handed to {@code onNext}.
+     *
+     * @param mirrorClient the mirror client to subscribe with.
+     * @param onNext called with each record, in order.
+     * @param onError called if the subscription fails permanently.
+     * @return a handle which you can use to cancel the subscription at any time.
+     */
+    public MirrorSubscriptionHandle subscribeRecords(MirrorClient mirrorClient, Consumer<MirrorTopicRecord> onNext,
+                                                     Consumer<Throwable> onError)
+    {
+        return subscribe(mirrorClient, message -> {
+            for (MirrorTopicRecord record : MirrorTopicRecord.unpack(message)) {
+                onNext.accept(record);
+            }
+        }, onError);
+    }
 
-        Tuple(T1 first, T2 second) {
-            this.first = first;
-            this.second = second;
-        }
+    /**
+     * Get a Reactive Streams {@link Publisher} of the messages of the topic, which only receives
+     * as many messages from the mirror node as its subscribers request (and at most
+     * {@link #setBatchSize(int) batchSize} at a time). Each subscriber gets its own subscription
+     * which behaves like {@link #subscribe(MirrorClient, Consumer, Consumer)}, except that
+     * {@code onComplete} is signalled if the query has an end time or limit and it is reached.
+     * <p>
+     * On Java 9+, {@code org.reactivestreams.FlowAdapters.toFlowPublisher()} adapts this to a
+     * {@code java.util.concurrent.Flow.Publisher}.
+     * <p>
+     * The options of this query are captured when a subscriber subscribes.
+     *
+     * @param mirrorClient the mirror client to subscribe with.
+     * @return the publisher.
+     */
+    public Publisher<MirrorConsensusTopicResponse> asPublisher(MirrorClient mirrorClient) {
+        return subscriber -> new TopicPublisherSubscription(mirrorClient, this, subscriber).start();
     }
 }
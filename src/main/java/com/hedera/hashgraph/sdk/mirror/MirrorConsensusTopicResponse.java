@@ -3,82 +3,214 @@ package com.hedera.hashgraph.sdk.mirror;
 import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
 import com.hedera.hashgraph.sdk.TimestampHelper;
+import com.hedera.hashgraph.sdk.consensus.MessageCompression;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public class MirrorConsensusTopicResponse {
     public final Instant consensusTimestamp;
 
+    /**
+     * A copy of the message.
+     * <p>
+     * {@code null} if the subscription was made with
+     * {@link MirrorConsensusTopicQuery#setEagerCopy(boolean) setEagerCopy(false)}; use
+     * {@link #getMessage()} or one of its variants instead.
+     */
+    @Nullable
     public final byte[] message;
 
+    /**
+     * A copy of the running hash of the topic after this message.
+     * <p>
+     * {@code null} if the subscription was made with
+     * {@link MirrorConsensusTopicQuery#setEagerCopy(boolean) setEagerCopy(false)} or
+     * {@link MirrorConsensusTopicQuery#setIncludeRunningHash(boolean) setIncludeRunningHash(false)};
+     * use {@link #getRunningHash()} or one of its variants instead.
+     */
+    @Nullable
     public final byte[] runningHash;
 
     public final long sequenceNumber;
 
     public final MirrorConsensusMessageChunk[] chunks;
 
+    private final ByteString messageBytes;
+
+    @Nullable
+    private final ByteString runningHashBytes;
+
+    // lazily copied out of `messageBytes` by `getMessage()` if `message` is null
+    @Nullable
+    private volatile byte[] messageCopy;
+
     MirrorConsensusTopicResponse(
         Instant lastConsensusTimestamp,
-        byte[] message,
-        byte[] lastRunningHash,
+        ByteString message,
+        @Nullable ByteString lastRunningHash,
         long lastSequenceNumber,
-        MirrorConsensusMessageChunk[] chunks)
+        MirrorConsensusMessageChunk[] chunks,
+        boolean eagerCopy)
     {
         this.consensusTimestamp = lastConsensusTimestamp;
-        this.message = message;
-        this.runningHash = lastRunningHash;
+        this.messageBytes = message;
+        this.runningHashBytes = lastRunningHash;
+        this.message = eagerCopy ? message.toByteArray() : null;
+        this.runningHash = eagerCopy && lastRunningHash != null ? lastRunningHash.toByteArray() : null;
         this.sequenceNumber = lastSequenceNumber;
         this.chunks = chunks;
     }
 
-    static MirrorConsensusTopicResponse ofSingle(ConsensusTopicResponse response) {
+    /**
+     * Get the message as a {@code byte[]}; it is only copied out of the response the first time
+     * this is called (or when the response is created, when eager copying is enabled).
+     *
+     * @return the message, which must not be modified.
+     */
+    public byte[] getMessage() {
+        if (message != null) {
+            return message;
+        }
+
+        byte[] copy = messageCopy;
+
+        if (copy == null) {
+            copy = messageBytes.toByteArray();
+            messageCopy = copy;
+        }
+
+        return copy;
+    }
+
+    /**
+     * Get the message without copying it. For a message made of several chunks this is a rope
+     * over the contents of the chunks.
+     *
+     * @return the message.
+     */
+    public ByteString getMessageAsByteString() {
+        return messageBytes;
+    }
+
+    /**
+     * Get a read-only view of the message. This does not copy a message which arrived in a
+     * single chunk.
+     *
+     * @return the message.
+     */
+    public ByteBuffer getMessageAsByteBuffer() {
+        return messageBytes.asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Decode the message as UTF-8.
+     *
+     * @return the message as a string.
+     */
+    public String getMessageString() {
+        return messageBytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a copy of the running hash of the topic after this message.
+     *
+     * @return the running hash, or {@code null} if the subscription was made with
+     *         {@link MirrorConsensusTopicQuery#setIncludeRunningHash(boolean) setIncludeRunningHash(false)}.
+     */
+    @Nullable
+    public byte[] getRunningHash() {
+        if (runningHash != null) {
+            return runningHash;
+        }
+
+        return runningHashBytes != null ? runningHashBytes.toByteArray() : null;
+    }
+
+    /**
+     * Get the running hash of the topic after this message without copying it.
+     *
+     * @return the running hash, or {@code null} if the subscription was made with
+     *         {@link MirrorConsensusTopicQuery#setIncludeRunningHash(boolean) setIncludeRunningHash(false)}.
+     */
+    @Nullable
+    public ByteString getRunningHashAsByteString() {
+        return runningHashBytes;
+    }
+
+    static MirrorConsensusTopicResponse ofSingle(ConsensusTopicResponse response, boolean eagerCopy, boolean includeRunningHash) {
+        return ofSingle(response, eagerCopy, includeRunningHash, true);
+    }
+
+    static MirrorConsensusTopicResponse ofSingle(
+        ConsensusTopicResponse response,
+        boolean eagerCopy,
+        boolean includeRunningHash,
+        boolean decompress)
+    {
         return new MirrorConsensusTopicResponse(
             TimestampHelper.timestampTo(response.getConsensusTimestamp()),
-            response.getMessage().toByteArray(),
-            response.getRunningHash().toByteArray(),
+            decompress ? MessageCompression.decompressIfCompressed(response.getMessage()) : response.getMessage(),
+            includeRunningHash ? response.getRunningHash() : null,
             response.getSequenceNumber(),
-            new MirrorConsensusMessageChunk[]{new MirrorConsensusMessageChunk(response)});
+            new MirrorConsensusMessageChunk[]{new MirrorConsensusMessageChunk(response, eagerCopy, includeRunningHash)},
+            eagerCopy);
     }
 
     static MirrorConsensusTopicResponse ofMany(List<ConsensusTopicResponse> responses) {
+        return ofMany(responses, true, true);
+    }
+
+    static MirrorConsensusTopicResponse ofMany(List<ConsensusTopicResponse> responses, boolean eagerCopy, boolean includeRunningHash) {
+        return ofMany(responses, eagerCopy, includeRunningHash, true);
+    }
+
+    static MirrorConsensusTopicResponse ofMany(
+        List<ConsensusTopicResponse> responses,
+        boolean eagerCopy,
+        boolean includeRunningHash,
+        boolean decompress)
+    {
         // response should be in the order of oldest to newest (not chunk order)
         MirrorConsensusMessageChunk[] chunks = new MirrorConsensusMessageChunk[responses.size()];
         ByteString[] contents = new ByteString[responses.size()];
-        long totalSize = 0;
 
         for (ConsensusTopicResponse r : responses) {
             int index = r.getChunkInfo().getNumber() - 1;
 
-            chunks[index] = new MirrorConsensusMessageChunk(r);
+            chunks[index] = new MirrorConsensusMessageChunk(r, eagerCopy, includeRunningHash);
             contents[index] = r.getMessage();
-            totalSize += r.getMessage().size();
         }
 
-        ByteBuffer wholeMessage = ByteBuffer.allocate((int) totalSize);
+        // `concat` builds a rope over the chunks instead of copying them
+        ByteString wholeMessage = ByteString.EMPTY;
 
         for (ByteString content : contents) {
-            wholeMessage.put(content.asReadOnlyByteBuffer());
+            wholeMessage = wholeMessage.concat(content);
         }
 
         ConsensusTopicResponse lastReceived = responses.get(responses.size() - 1);
 
         return new MirrorConsensusTopicResponse(
             TimestampHelper.timestampTo(lastReceived.getConsensusTimestamp()),
-            wholeMessage.array(),
-            lastReceived.getRunningHash().toByteArray(),
+            decompress ? MessageCompression.decompressIfCompressed(wholeMessage) : wholeMessage,
+            includeRunningHash ? lastReceived.getRunningHash() : null,
             lastReceived.getSequenceNumber(),
-            chunks);
+            chunks,
+            eagerCopy);
     }
 
     @Override
     public String toString() {
         return "ConsensusMessage{"
             + "consensusTimestamp=" + consensusTimestamp
-            + ", message=" + Arrays.toString(message)
-            + ", runningHash=" + Arrays.toString(runningHash)
+            + ", message=" + Arrays.toString(getMessage())
+            + ", runningHash=" + Arrays.toString(getRunningHash())
             + ", sequenceNumber=" + sequenceNumber
             + '}';
     }
@@ -0,0 +1,153 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import io.grpc.ManagedChannel;
+
+/**
+ * One of the mirror nodes of a {@link MirrorClient}, with live metrics of the calls made to it.
+ * <p>
+ * An endpoint whose last call failed is avoided for a while (longer after each consecutive
+ * failure) when subscriptions pick an endpoint, as long as another endpoint is available.
+ */
+public final class MirrorEndpoint {
+    // the weight of each new sample in the average latency
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private static final long BASE_COOLDOWN_NANOS = 1_000_000_000L;
+
+    private static final long MAX_COOLDOWN_NANOS = 60_000_000_000L;
+
+    private final String address;
+
+    // creates the additional channels of subscription managers and backfills
+    final Supplier<ManagedChannel> channelFactory;
+
+    // the channel shared by the subscriptions made directly on the client
+    final ManagedChannel channel;
+
+    // the state below is guarded by `this`
+
+    private int activeSubscriptions;
+
+    private long callCount;
+
+    private long errorCount;
+
+    private int consecutiveErrors;
+
+    // the `System.nanoTime()` until which the endpoint is avoided, if it has failed
+    private long unhealthyUntil;
+
+    // the exponentially weighted average latency in nanos, or -1 before the first sample
+    private double latencyNanos = -1;
+
+    MirrorEndpoint(String address, Supplier<ManagedChannel> channelFactory) {
+        this.address = address;
+        this.channelFactory = channelFactory;
+        this.channel = channelFactory.get();
+    }
+
+    /**
+     * @return the address of the mirror node, as given to the client.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @return the number of subscriptions currently streaming from this endpoint.
+     */
+    public synchronized int getActiveSubscriptions() {
+        return activeSubscriptions;
+    }
+
+    /**
+     * @return the total number of calls made to this endpoint so far.
+     */
+    public synchronized long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * @return the total number of calls to this endpoint which failed so far.
+     */
+    public synchronized long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return the fraction of calls to this endpoint which failed, or zero if no call has been
+     *         made yet.
+     */
+    public synchronized double getErrorRate() {
+        return callCount == 0 ? 0 : (double) errorCount / callCount;
+    }
+
+    /**
+     * Get how long this endpoint takes to answer a call (with its response headers, its first
+     * message or an error), averaged (exponentially weighted) over the recent calls.
+     *
+     * @return the latency, or {@code null} if no call has been answered yet.
+     */
+    @Nullable
+    public synchronized Duration getLatency() {
+        return latencyNanos < 0 ? null : Duration.ofNanos((long) latencyNanos);
+    }
+
+    /**
+     * @return {@code false} while this endpoint is being avoided after a failed call.
+     */
+    public boolean isHealthy() {
+        return isHealthy(System.nanoTime());
+    }
+
+    synchronized boolean isHealthy(long nanoTime) {
+        return consecutiveErrors == 0 || nanoTime - unhealthyUntil >= 0;
+    }
+
+    synchronized long getUnhealthyUntil() {
+        return unhealthyUntil;
+    }
+
+    synchronized void onSubscribed() {
+        activeSubscriptions += 1;
+    }
+
+    synchronized void onUnsubscribed() {
+        activeSubscriptions -= 1;
+    }
+
+    synchronized void onCall() {
+        callCount += 1;
+    }
+
+    synchronized void onAnswered(long latencyNanos) {
+        this.latencyNanos = this.latencyNanos < 0
+            ? latencyNanos
+            : this.latencyNanos + LATENCY_WEIGHT * (latencyNanos - this.latencyNanos);
+    }
+
+    synchronized void onSuccess() {
+        consecutiveErrors = 0;
+    }
+
+    synchronized void onError(long nanoTime) {
+        errorCount += 1;
+        consecutiveErrors += 1;
+        unhealthyUntil = nanoTime + Math.min(BASE_COOLDOWN_NANOS << Math.min(consecutiveErrors - 1, 6), MAX_COOLDOWN_NANOS);
+    }
+
+    @Override
+    public String toString() {
+        return "MirrorEndpoint{"
+            + "address=" + address
+            + ", activeSubscriptions=" + getActiveSubscriptions()
+            + ", errorRate=" + getErrorRate()
+            + ", latency=" + getLatency()
+            + '}';
+    }
+}
@@ -1,13 +1,57 @@
 package com.hedera.hashgraph.sdk.mirror;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class MirrorSubscriptionHandle {
     private final Runnable onUnsubscribe;
 
+    private final AtomicLong reconnectCount;
+
+    private final AtomicLong droppedMessageCount;
+
     MirrorSubscriptionHandle(Runnable onUnsubscribe) {
         this.onUnsubscribe = onUnsubscribe;
+        this.reconnectCount = new AtomicLong();
+        this.droppedMessageCount = new AtomicLong();
+    }
+
+    // a handle with different unsubscribe behavior that shares the counts of `handle`
+    MirrorSubscriptionHandle(Runnable onUnsubscribe, MirrorSubscriptionHandle handle) {
+        this.onUnsubscribe = onUnsubscribe;
+        this.reconnectCount = handle.reconnectCount;
+        this.droppedMessageCount = handle.droppedMessageCount;
     }
 
     public void unsubscribe() {
         this.onUnsubscribe.run();
     }
+
+    /**
+     * Get the number of times the subscription has been re-established after its stream to
+     * the mirror node failed or was closed.
+     *
+     * @return the number of reconnects so far.
+     */
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    /**
+     * Get the number of fragmented messages which were dropped before all of their chunks
+     * arrived, either because they took too long to complete or because the buffer of pending
+     * chunks was full (see {@link MirrorConsensusTopicQuery#setMaxPendingChunkBytes(long)}).
+     *
+     * @return the number of incomplete messages dropped so far.
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    void onReconnect() {
+        reconnectCount.incrementAndGet();
+    }
+
+    void onDroppedMessage() {
+        droppedMessageCount.incrementAndGet();
+    }
 }
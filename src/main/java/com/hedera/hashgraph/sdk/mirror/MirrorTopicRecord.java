@@ -0,0 +1,106 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.consensus.MessageEnvelope;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A record unpacked from a message published through a
+ * {@link com.hedera.hashgraph.sdk.consensus.MessageBatcher}, with its position in the message.
+ * <p>
+ * A message which isn't an envelope is a single record of itself.
+ */
+public final class MirrorTopicRecord {
+    /**
+     * The message the record was published in; its consensus timestamp and sequence number are
+     * those of the record.
+     */
+    public final MirrorConsensusTopicResponse message;
+
+    /**
+     * The position of the record in the message, from 0.
+     */
+    public final int index;
+
+    /**
+     * The number of records in the message.
+     */
+    public final int count;
+
+    private final ByteString data;
+
+    MirrorTopicRecord(MirrorConsensusTopicResponse message, int index, int count, ByteString data) {
+        this.message = message;
+        this.index = index;
+        this.count = count;
+        this.data = data;
+    }
+
+    /**
+     * Unpack the records of a message.
+     * <p>
+     * A message which starts like an envelope but is malformed is returned as a single record,
+     * as it may just be a message which wasn't published as an envelope.
+     *
+     * @param message the message.
+     * @return the records of the message, in order.
+     */
+    public static List<MirrorTopicRecord> unpack(MirrorConsensusTopicResponse message) {
+        final ByteString bytes = message.getMessageAsByteString();
+
+        if (MessageEnvelope.isEnvelope(bytes)) {
+            final List<ByteString> contents;
+
+            try {
+                contents = MessageEnvelope.unpack(bytes);
+            } catch (IllegalArgumentException e) {
+                return Collections.singletonList(new MirrorTopicRecord(message, 0, 1, bytes));
+            }
+
+            final List<MirrorTopicRecord> records = new ArrayList<>(contents.size());
+
+            for (int i = 0; i < contents.size(); i += 1) {
+                records.add(new MirrorTopicRecord(message, i, contents.size(), contents.get(i)));
+            }
+
+            return records;
+        }
+
+        return Collections.singletonList(new MirrorTopicRecord(message, 0, 1, bytes));
+    }
+
+    /**
+     * @return a copy of the record.
+     */
+    public byte[] getData() {
+        return data.toByteArray();
+    }
+
+    /**
+     * @return the record, without copying it.
+     */
+    public ByteString getDataAsByteString() {
+        return data;
+    }
+
+    /**
+     * @return the record decoded as UTF-8.
+     */
+    public String getDataString() {
+        return data.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "MirrorTopicRecord{"
+            + "sequenceNumber=" + message.sequenceNumber
+            + ", index=" + index
+            + ", count=" + count
+            + ", data=" + data
+            + '}';
+    }
+}
@@ -0,0 +1,196 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.TopicID;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+
+import org.bouncycastle.crypto.digests.SHA384Digest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Checks that each message of a topic follows from the previous one: that its sequence number
+ * is the next one and that its running hash is the SHA-384 hash of the previous running hash
+ * and the message (as specified for {@code topicRunningHash} in {@code TransactionReceipt}).
+ * <p>
+ * The hash is computed incrementally with one reusable digest and reusable buffers; verifying
+ * a message allocates nothing. Unless the first message is the first message of the topic, its
+ * running hash is taken as given and verification starts with the message after it.
+ * <p>
+ * Running hash version 3 includes the payer of the message, which the mirror node doesn't
+ * send; for those messages only the sequence number is checked.
+ */
+final class RunningHashVerifier {
+    private static final int HASH_SIZE = 48;
+
+    private final SHA384Digest digest = new SHA384Digest();
+
+    // feeds a `ByteString` to the digest without copying it (`ByteString.writeTo(OutputStream)`
+    // copies, so that the stream can't modify the bytes)
+    private final ByteOutput digestOutput = new ByteOutput() {
+        @Override
+        public void write(byte value) {
+            digest.update(value);
+        }
+
+        @Override
+        public void write(byte[] value, int offset, int length) {
+            digest.update(value, offset, length);
+        }
+
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) {
+            digest.update(value, offset, length);
+        }
+
+        @Override
+        public void write(ByteBuffer value) {
+            while (value.hasRemaining()) {
+                digest.update(value.get());
+            }
+        }
+
+        @Override
+        public void writeLazy(ByteBuffer value) {
+            write(value);
+        }
+    };
+
+    // the topic ID is the same for every message
+    private final byte[] topic = new byte[24];
+
+    private final ByteBuffer versionBytes = ByteBuffer.allocate(8);
+
+    // consensus timestamp (12 bytes) and sequence number (8 bytes)
+    private final ByteBuffer fields = ByteBuffer.allocate(20);
+
+    private final byte[] messageHash = new byte[HASH_SIZE];
+
+    private final byte[] runningHash = new byte[HASH_SIZE];
+
+    private final byte[] expectedHash = new byte[HASH_SIZE];
+
+    private boolean started;
+
+    private long lastSequenceNumber;
+
+    RunningHashVerifier(TopicID topicId) {
+        ByteBuffer.wrap(topic)
+            .putLong(topicId.getShardNum())
+            .putLong(topicId.getRealmNum())
+            .putLong(topicId.getTopicNum());
+    }
+
+    /**
+     * Verify the next message.
+     *
+     * @param response the message.
+     * @throws TopicIntegrityException if the message does not follow from the previous one.
+     */
+    void verify(ConsensusTopicResponse response) throws TopicIntegrityException {
+        final long sequenceNumber = response.getSequenceNumber();
+
+        if (!started) {
+            started = true;
+
+            if (sequenceNumber != 1) {
+                // we can't know the previous running hash
+                accept(response);
+                return;
+            }
+
+            // the running hash of an empty topic
+            Arrays.fill(runningHash, (byte) 0);
+            lastSequenceNumber = 0;
+        }
+
+        if (sequenceNumber != lastSequenceNumber + 1) {
+            throw new TopicIntegrityException(TopicIntegrityException.Reason.GAP, sequenceNumber,
+                "expected sequence number " + (lastSequenceNumber + 1) + " but received " + sequenceNumber);
+        }
+
+        final long version = response.getRunningHashVersion();
+
+        if (version <= 2) {
+            hash(response, version);
+
+            if (!matches(response.getRunningHash())) {
+                throw new TopicIntegrityException(TopicIntegrityException.Reason.RUNNING_HASH_MISMATCH, sequenceNumber,
+                    "running hash of message " + sequenceNumber + " does not follow from the previous message");
+            }
+        }
+
+        accept(response);
+    }
+
+    private void hash(ConsensusTopicResponse response, long version) {
+        final Timestamp timestamp = response.getConsensusTimestamp();
+
+        if (version == 2) {
+            // version 2 hashes the hash of the message instead of the message itself
+            write(response.getMessage());
+            digest.doFinal(messageHash, 0);
+        }
+
+        digest.update(runningHash, 0, HASH_SIZE);
+
+        if (version == 2) {
+            digest.update(versionBytes.putLong(0, version).array(), 0, 8);
+        }
+
+        digest.update(topic, 0, topic.length);
+
+        fields.putLong(0, timestamp.getSeconds())
+            .putInt(8, timestamp.getNanos())
+            .putLong(12, response.getSequenceNumber());
+
+        digest.update(fields.array(), 0, 20);
+
+        if (version == 2) {
+            digest.update(messageHash, 0, HASH_SIZE);
+        } else {
+            write(response.getMessage());
+        }
+
+        digest.doFinal(expectedHash, 0);
+    }
+
+    private void write(ByteString bytes) {
+        try {
+            UnsafeByteOperations.unsafeWriteTo(bytes, digestOutput);
+        } catch (IOException e) {
+            // our output doesn't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean matches(ByteString actualHash) {
+        if (actualHash.size() != HASH_SIZE) {
+            return false;
+        }
+
+        for (int i = 0; i < HASH_SIZE; i += 1) {
+            if (actualHash.byteAt(i) != expectedHash[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void accept(ConsensusTopicResponse response) {
+        final ByteString hash = response.getRunningHash();
+
+        if (hash.size() == HASH_SIZE) {
+            hash.copyTo(runningHash, 0);
+        }
+
+        lastSequenceNumber = response.getSequenceNumber();
+    }
+}
@@ -0,0 +1,69 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks one at a time, in submission order, on a shared executor; many serial executors
+ * over the same executor run in parallel with each other.
+ * <p>
+ * A serial executor gives up its thread after {@link #MAX_TASKS_PER_DRAIN} tasks so that one
+ * busy topic cannot starve the others.
+ */
+final class SerialExecutor implements Executor {
+    private static final int MAX_TASKS_PER_DRAIN = 64;
+
+    private final Executor executor;
+
+    // guarded by `this`
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    // whether a drain is queued on, or running on, the executor; guarded by `this`
+    private boolean draining;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this) {
+            tasks.add(task);
+
+            if (draining) {
+                return;
+            }
+
+            draining = true;
+        }
+
+        executor.execute(this::drain);
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_TASKS_PER_DRAIN; i += 1) {
+            final Runnable task;
+
+            synchronized (this) {
+                task = tasks.poll();
+
+                if (task == null) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // keep draining; a throwing callback must not wedge the topic
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+
+        // yield to the other serial executors and continue later
+        executor.execute(this::drain);
+    }
+}
@@ -0,0 +1,429 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.TimestampHelper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import io.grpc.ManagedChannel;
+
+/**
+ * Replays the history of a topic between a start and an end time by splitting the range into
+ * time slices, which are streamed concurrently over their own channels.
+ * <p>
+ * By default the messages are delivered in order of their sequence numbers: the messages of
+ * the earliest unfinished slice are delivered as they arrive, while each of the later slices
+ * which are streaming at the same time buffers at most its share of
+ * {@link #setMaxBufferedMessages(int) maxBufferedMessages} (it stops asking the mirror node for
+ * more once its buffer is full). With {@link #setOrdered(boolean) setOrdered(false)}, messages
+ * are delivered as they arrive from any slice, without buffering.
+ * <p>
+ * A fragmented message belongs to the slice in which its last chunk reached consensus; each
+ * slice starts streaming {@link #CHUNK_OVERLAP} early to pick up the earlier chunks of such
+ * messages, and drops the messages that belong to the slice before it.
+ * <p>
+ * {@code onNext} is never called concurrently.
+ */
+public final class TopicBackfill {
+    /**
+     * How far before its start time each slice starts streaming. The chunks of a message all
+     * reach consensus within the maximum valid duration of their transactions.
+     */
+    public static final Duration CHUNK_OVERLAP = Duration.ofMinutes(3);
+
+    private final MirrorClient mirrorClient;
+
+    private final MirrorConsensusTopicQuery query;
+
+    private final Instant startTime;
+
+    private final Instant endTime;
+
+    private int sliceCount = 16;
+
+    private int parallelism = 4;
+
+    private int maxBufferedMessages = 4096;
+
+    private boolean ordered = true;
+
+    /**
+     * @param mirrorClient the mirror client to stream with; each slice streaming at the same
+     *                     time gets a channel of its own from it.
+     * @param query the query, which must have a topic ID, a start time and an end time, and no
+     *              limit or checkpoint store. Its other options apply to each slice.
+     */
+    public TopicBackfill(MirrorClient mirrorClient, MirrorConsensusTopicQuery query) {
+        final ConsensusTopicQuery proto = query.toProto();
+
+        if (!proto.hasTopicID() || !proto.hasConsensusStartTime() || !proto.hasConsensusEndTime()) {
+            throw new IllegalArgumentException("query must have a topic ID, start time and end time");
+        }
+
+        if (proto.getLimit() > 0 || query.checkpointStore != null) {
+            throw new IllegalArgumentException("query must not have a limit or checkpoint store");
+        }
+
+        this.mirrorClient = mirrorClient;
+        this.query = query.copy();
+        this.startTime = TimestampHelper.timestampTo(proto.getConsensusStartTime());
+        this.endTime = TimestampHelper.timestampTo(proto.getConsensusEndTime());
+
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("query must start before it ends");
+        }
+    }
+
+    /**
+     * Set the number of slices to split the range into. Defaults to 16. Fewer slices are used
+     * if the range is too short for each to be at least {@link #CHUNK_OVERLAP} long; a range
+     * shorter than that is streamed as a single slice.
+     *
+     * @param sliceCount the number of slices, at least 1.
+     * @return {@code this} for fluent usage.
+     */
+    public TopicBackfill setSliceCount(int sliceCount) {
+        if (sliceCount < 1) {
+            throw new IllegalArgumentException("sliceCount must be >= 1");
+        }
+
+        this.sliceCount = sliceCount;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of slices streaming at the same time (each over its own channel).
+     * Defaults to 4.
+     *
+     * @param parallelism the number of slices, at least 1.
+     * @return {@code this} for fluent usage.
+     */
+    public TopicBackfill setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of messages held back to deliver them in order, shared by the
+     * slices streaming at the same time. Defaults to 4096.
+     *
+     * @param maxBufferedMessages the number of messages, at least {@code parallelism}.
+     * @return {@code this} for fluent usage.
+     */
+    public TopicBackfill setMaxBufferedMessages(int maxBufferedMessages) {
+        if (maxBufferedMessages < 1) {
+            throw new IllegalArgumentException("maxBufferedMessages must be >= 1");
+        }
+
+        this.maxBufferedMessages = maxBufferedMessages;
+        return this;
+    }
+
+    /**
+     * Set whether messages must be delivered in order of their sequence numbers. Defaults to
+     * {@code true}.
+     *
+     * @param ordered whether to deliver in order.
+     * @return {@code this} for fluent usage.
+     */
+    public TopicBackfill setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Start streaming.
+     *
+     * @param onNext called with each (reassembled) message.
+     * @param onError called if any slice fails permanently; the other slices are cancelled.
+     * @param onComplete called once every message has been delivered.
+     * @return a handle which you can use to cancel the backfill at any time.
+     */
+    public MirrorSubscriptionHandle start(
+        Consumer<MirrorConsensusTopicResponse> onNext,
+        Consumer<Throwable> onError,
+        Runnable onComplete)
+    {
+        if (ordered && maxBufferedMessages < parallelism) {
+            throw new IllegalArgumentException("maxBufferedMessages must be >= parallelism");
+        }
+
+        final Run run = new Run(onNext, onError, onComplete);
+        run.startSlices();
+
+        return run.handle;
+    }
+
+    /**
+     * @return the number of slices to use, so that each slice is at least as long as
+     * {@link #CHUNK_OVERLAP}.
+     */
+    private int effectiveSliceCount() {
+        final long maxSlices = Duration.between(startTime, endTime).toMillis() / CHUNK_OVERLAP.toMillis();
+
+        return (int) Math.max(1, Math.min(sliceCount, maxSlices));
+    }
+
+    private final class Run {
+        final Consumer<MirrorConsensusTopicResponse> onNext;
+
+        final Consumer<Throwable> onError;
+
+        final Runnable onComplete;
+
+        final MirrorSubscriptionHandle handle = new MirrorSubscriptionHandle(this::cancel);
+
+        // held while delivering an unordered message, so `onNext` is not called concurrently
+        final Object deliverLock = new Object();
+
+        final Slice[] slices = new Slice[effectiveSliceCount()];
+
+        final ManagedChannel[] channels = new ManagedChannel[Math.min(parallelism, slices.length)];
+
+        // the endpoint of each channel
+        final MirrorEndpoint[] channelEndpoints = new MirrorEndpoint[channels.length];
+
+        // the state below is guarded by `this`
+
+        // the earliest slice which has not been delivered completely (ordered), or the number
+        // of slices which have completed (unordered)
+        int head;
+
+        int startedCount;
+
+        // whether a thread is delivering messages in order
+        boolean draining;
+
+        boolean done;
+
+        Run(Consumer<MirrorConsensusTopicResponse> onNext, Consumer<Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+
+            for (int i = 0; i < channels.length; i += 1) {
+                channelEndpoints[i] = mirrorClient.selectEndpoint(null);
+                channels[i] = channelEndpoints[i].channelFactory.get();
+            }
+        }
+
+        void startSlices() {
+            while (true) {
+                final Slice slice;
+
+                synchronized (this) {
+                    if (done || startedCount == slices.length || startedCount >= head + channels.length) {
+                        return;
+                    }
+
+                    slice = new Slice(startedCount);
+                    slices[startedCount] = slice;
+                    startedCount += 1;
+                }
+
+                slice.subscription.start();
+            }
+        }
+
+        void onSliceMessage(Slice slice, MirrorConsensusTopicResponse response) {
+            if (response.consensusTimestamp.isBefore(slice.start)) {
+                // completed in the overlap with the slice before this one, which delivered it
+                slice.subscription.request(1);
+                return;
+            }
+
+            if (!ordered) {
+                synchronized (deliverLock) {
+                    if (!isDone()) {
+                        onNext.accept(response);
+                    }
+                }
+
+                return;
+            }
+
+            synchronized (this) {
+                slice.buffer.add(response);
+            }
+
+            drain();
+        }
+
+        void onSliceComplete(Slice slice) {
+            synchronized (this) {
+                slice.completed = true;
+
+                if (!ordered) {
+                    head += 1;
+                }
+            }
+
+            if (ordered) {
+                drain();
+            } else {
+                startSlices();
+                finishIfComplete();
+            }
+        }
+
+        void finishIfComplete() {
+            synchronized (this) {
+                if (done || head < slices.length) {
+                    return;
+                }
+
+                done = true;
+            }
+
+            close();
+            onComplete.run();
+        }
+
+        void onSliceError(Throwable error) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                done = true;
+            }
+
+            close();
+            onError.accept(error);
+        }
+
+        /**
+         * Deliver the buffered messages of the earliest slices, moving on to the next slice once
+         * one has completed and been delivered.
+         */
+        void drain() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+
+                draining = true;
+            }
+
+            while (true) {
+                final Slice slice;
+                final MirrorConsensusTopicResponse response;
+                boolean advanced = false;
+
+                synchronized (this) {
+                    // a slice can complete before the next one has been started
+                    while (!done && head < startedCount && slices[head].completed && slices[head].buffer.isEmpty()) {
+                        head += 1;
+                        advanced = true;
+                    }
+
+                    if (done || head == startedCount || slices[head].buffer.isEmpty()) {
+                        draining = false;
+                        response = null;
+                        slice = null;
+                    } else {
+                        slice = slices[head];
+                        response = slice.buffer.poll();
+                    }
+                }
+
+                if (advanced) {
+                    startSlices();
+                }
+
+                if (response == null) {
+                    finishIfComplete();
+                    return;
+                }
+
+                onNext.accept(response);
+                slice.subscription.request(1);
+            }
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        void cancel() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                done = true;
+            }
+
+            close();
+        }
+
+        private void close() {
+            final Slice[] started;
+
+            synchronized (this) {
+                started = slices.clone();
+            }
+
+            for (Slice slice : started) {
+                if (slice != null) {
+                    slice.subscription.cancel();
+                }
+            }
+
+            for (ManagedChannel channel : channels) {
+                channel.shutdownNow();
+            }
+        }
+
+        Instant sliceStart(int index) {
+            if (index == slices.length) {
+                return endTime;
+            }
+
+            return startTime.plus(Duration.between(startTime, endTime).dividedBy(slices.length).multipliedBy(index));
+        }
+
+        private final class Slice {
+            // where this slice's messages start; the query starts earlier
+            final Instant start;
+
+            // guarded by the run
+            final Queue<MirrorConsensusTopicResponse> buffer = new ArrayDeque<>();
+
+            // guarded by the run
+            boolean completed;
+
+            final TopicSubscription subscription;
+
+            Slice(int index) {
+                this.start = sliceStart(index);
+
+                final Instant streamStart = index == 0 || start.minus(CHUNK_OVERLAP).isBefore(startTime)
+                    ? startTime
+                    : start.minus(CHUNK_OVERLAP);
+
+                final MirrorConsensusTopicQuery sliceQuery = query.copy()
+                    .setStartTime(streamStart)
+                    .setEndTime(sliceStart(index + 1));
+
+                final long demand = ordered ? maxBufferedMessages / channels.length : Long.MAX_VALUE;
+
+                final int channel = index % channels.length;
+
+                subscription = new TopicSubscription(mirrorClient, channelEndpoints[channel], channels[channel], sliceQuery,
+                    response -> onSliceMessage(this, response),
+                    Run.this::onSliceError,
+                    () -> onSliceComplete(this),
+                    demand);
+            }
+        }
+    }
+}
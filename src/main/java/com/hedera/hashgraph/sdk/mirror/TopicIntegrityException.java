@@ -0,0 +1,34 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+/**
+ * Thrown (passed to {@code onError}) when a subscription with
+ * {@link MirrorConsensusTopicQuery#setVerifyRunningHash(boolean) running hash verification}
+ * receives a message which does not follow from the previous one.
+ */
+public final class TopicIntegrityException extends Exception {
+    public enum Reason {
+        /**
+         * Messages are missing (or out of order) before the offending message.
+         */
+        GAP,
+
+        /**
+         * The running hash of the offending message is not the hash of the previous running
+         * hash and this message.
+         */
+        RUNNING_HASH_MISMATCH,
+    }
+
+    public final Reason reason;
+
+    /**
+     * The sequence number of the offending message.
+     */
+    public final long sequenceNumber;
+
+    TopicIntegrityException(Reason reason, long sequenceNumber, String message) {
+        super(message);
+        this.reason = reason;
+        this.sequenceNumber = sequenceNumber;
+    }
+}
@@ -0,0 +1,102 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Live metrics of the subscriptions to one topic of a {@link TopicSubscriptionManager}.
+ */
+public final class TopicMetrics {
+    // the time constant of the message rate; a rate of messages decays to 1/e after this long
+    private static final double RATE_WINDOW_SECONDS = 60;
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // the state below is guarded by `this`
+
+    private long messageCount;
+
+    @Nullable
+    private Instant lastConsensusTimestamp;
+
+    private Duration lag = Duration.ZERO;
+
+    // an exponentially decaying count of messages, as of `decayedAt` (in nanos)
+    private double decayingCount;
+
+    private long decayedAt = System.nanoTime();
+
+    TopicMetrics() {
+    }
+
+    /**
+     * @return the total number of messages handed to the callbacks so far.
+     */
+    public synchronized long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * @return the consensus timestamp of the last message handed to the callbacks, or
+     *         {@code null} if there has not been one yet.
+     */
+    @Nullable
+    public synchronized Instant getLastConsensusTimestamp() {
+        return lastConsensusTimestamp;
+    }
+
+    /**
+     * Get how far behind consensus the subscriber was, measured when the last message was
+     * handed to the callbacks. This includes the time spent waiting to be dispatched.
+     *
+     * @return the time between the consensus timestamp of the last message and its dispatch,
+     *         or zero if there has not been a message yet.
+     */
+    public synchronized Duration getLag() {
+        return lag;
+    }
+
+    /**
+     * Get the rate of messages handed to the callbacks, averaged (exponentially weighted) over
+     * about the last minute.
+     *
+     * @return the rate, in messages per second.
+     */
+    public synchronized double getMessageRate() {
+        decay(System.nanoTime());
+        return decayingCount / RATE_WINDOW_SECONDS;
+    }
+
+    /**
+     * @return the number of messages that have been received from the mirror node but are still
+     *         waiting to be handed to the callbacks.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    void onReceived() {
+        pendingCount.incrementAndGet();
+    }
+
+    synchronized void onDispatched(Instant consensusTimestamp, Instant now) {
+        pendingCount.decrementAndGet();
+
+        messageCount += 1;
+        lastConsensusTimestamp = consensusTimestamp;
+        lag = Duration.between(consensusTimestamp, now);
+
+        decay(System.nanoTime());
+        decayingCount += 1;
+    }
+
+    private void decay(long nanoTime) {
+        final double elapsedSeconds = (nanoTime - decayedAt) / 1e9;
+
+        decayingCount *= Math.exp(-elapsedSeconds / RATE_WINDOW_SECONDS);
+        decayedAt = nanoTime;
+    }
+}
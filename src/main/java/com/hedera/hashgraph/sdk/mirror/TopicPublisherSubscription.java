@@ -0,0 +1,54 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapts a {@link TopicSubscription} to a Reactive Streams {@link Subscription}; the demand of
+ * the subscriber is the demand of the topic subscription.
+ */
+final class TopicPublisherSubscription implements Subscription {
+    private final Subscriber<? super MirrorConsensusTopicResponse> subscriber;
+
+    private final TopicSubscription subscription;
+
+    TopicPublisherSubscription(
+        MirrorClient mirrorClient,
+        MirrorConsensusTopicQuery query,
+        Subscriber<? super MirrorConsensusTopicResponse> subscriber)
+    {
+        final MirrorEndpoint endpoint = mirrorClient.selectEndpoint(null);
+
+        this.subscriber = subscriber;
+        this.subscription = new TopicSubscription(mirrorClient, endpoint, endpoint.channel, query,
+            this::onNext, subscriber::onError, subscriber::onComplete, 0);
+    }
+
+    void start() {
+        // the subscriber will usually call `request()` from inside `onSubscribe()`
+        subscriber.onSubscribe(this);
+        subscription.start();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // https://github.com/reactive-streams/reactive-streams-jvm#3.9; signalled through the
+            // subscription so it never overlaps `onNext` and is only signalled once
+            subscription.fail(new IllegalArgumentException("non-positive subscription request: " + n));
+            return;
+        }
+
+        subscription.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        subscription.cancel();
+    }
+
+    private void onNext(MirrorConsensusTopicResponse response) {
+        subscriber.onNext(response);
+        subscription.checkpoint(response);
+    }
+}
@@ -0,0 +1,560 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.TimestampHelper;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+
+/**
+ * The state of a single {@link MirrorConsensusTopicQuery#subscribe} across however many
+ * streaming calls it takes to serve it.
+ * <p>
+ * When a call fails with a transient error, a new call is scheduled (with backoff) on the
+ * {@link MirrorClient}'s executor which resumes 1ns after the last consensus timestamp we
+ * received. Any message the mirror node sends again is dropped by its sequence number. If the
+ * {@link MirrorClient} has several endpoints, a call that failed is retried right away on
+ * another healthy endpoint instead.
+ * <p>
+ * Inbound flow control is manual: at most {@code batchSize} messages are requested from the
+ * mirror node at a time, and never more than the outstanding demand for messages (which is
+ * unbounded for callback subscriptions and driven by the subscriber for
+ * {@link MirrorConsensusTopicQuery#asPublisher(MirrorClient)}).
+ */
+final class TopicSubscription {
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final long BASE_DELAY_MS = 250;
+
+    private static final long MAX_DELAY_MS = 16000;
+
+    // drop fragmented messages which have not been completed within 5 minutes
+    private static final Duration MAX_CHUNK_AGE = Duration.ofMinutes(5);
+
+    private final MirrorClient mirrorClient;
+
+    private final ConsensusTopicQuery query;
+
+    private final Consumer<MirrorConsensusTopicResponse> onNext;
+
+    private final Consumer<Throwable> onError;
+
+    private final Runnable onComplete;
+
+    private final boolean eagerCopy;
+
+    private final boolean includeRunningHash;
+
+    private final boolean decompress;
+
+    private final int batchSize;
+
+    @Nullable
+    private final CheckpointStore checkpointStore;
+
+    private final ConsensusTopicId topicId;
+
+    @Nullable
+    private final RunningHashVerifier verifier;
+
+    final MirrorSubscriptionHandle handle;
+
+    // calls are never run concurrently (a new call is only started once the previous one
+    // has terminated) so the state below is only touched by one thread at a time
+    private final ChunkReassemblyBuffer pendingChunks;
+
+    @Nullable
+    private Instant lastConsensusTimestamp;
+
+    private long lastSequenceNumber;
+
+    private long receivedCount;
+
+    // the endpoint of the current call and the channel to it; a dedicated channel is only
+    // replaced (by the shared channel of another endpoint) on failover
+    private MirrorEndpoint endpoint;
+
+    private Channel channel;
+
+    // the number of consecutive failed attempts since we last received a message
+    private int attempt;
+
+    // the state below is shared with `request()` and `cancel()` which may be called from any
+    // thread; it is guarded by `this`
+
+    @Nullable
+    private ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+
+    private boolean cancelled;
+
+    // whether the subscription has completed or failed; either is signalled at most once
+    private boolean terminated;
+
+    // whether `onNext` is being called, and an error raised meanwhile which is signalled once
+    // it returns so that the callbacks never overlap
+    private boolean emitting;
+
+    @Nullable
+    private Throwable deferredError;
+
+    // whether the subscription has stopped counting towards the active subscriptions of its
+    // endpoint
+    private boolean released;
+
+    // the number of messages we may still emit; `Long.MAX_VALUE` is unbounded
+    private long demand;
+
+    // the number of messages requested from the current call that have not arrived yet
+    private int inFlight;
+
+    TopicSubscription(
+        MirrorClient mirrorClient,
+        MirrorEndpoint endpoint,
+        Channel channel,
+        MirrorConsensusTopicQuery query,
+        Consumer<MirrorConsensusTopicResponse> onNext,
+        Consumer<Throwable> onError,
+        Runnable onComplete,
+        long initialDemand)
+    {
+        this.mirrorClient = mirrorClient;
+        this.endpoint = endpoint;
+        this.channel = channel;
+        this.query = query.toProto();
+        this.onNext = onNext;
+        this.onError = onError;
+        this.onComplete = onComplete;
+        this.eagerCopy = query.eagerCopy;
+        this.includeRunningHash = query.includeRunningHash;
+        this.decompress = query.decompress;
+        this.batchSize = query.batchSize;
+        this.checkpointStore = query.checkpointStore;
+        this.topicId = new ConsensusTopicId(this.query.getTopicID());
+        this.verifier = query.verifyRunningHash ? new RunningHashVerifier(this.query.getTopicID()) : null;
+        this.demand = initialDemand;
+        this.handle = new MirrorSubscriptionHandle(this::cancel);
+        this.pendingChunks = new ChunkReassemblyBuffer(query.maxPendingChunkBytes, MAX_CHUNK_AGE, handle::onDroppedMessage);
+    }
+
+    void start() {
+        synchronized (this) {
+            if (cancelled) {
+                // e.g. the subscription manager was closed before the subscription started
+                return;
+            }
+        }
+
+        if (checkpointStore != null) {
+            final Checkpoint checkpoint;
+
+            try {
+                checkpoint = checkpointStore.load(topicId);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+
+            // resume after the checkpoint unless the query explicitly starts after it
+            if (checkpoint != null && !checkpoint.consensusTimestamp.isBefore(startTime())) {
+                lastSequenceNumber = checkpoint.sequenceNumber;
+                lastConsensusTimestamp = checkpoint.consensusTimestamp;
+            }
+        }
+
+        endpoint.onSubscribed();
+        makeStreamingCall();
+    }
+
+    /**
+     * Record that a message has been processed, if the query has a checkpoint store. If the
+     * checkpoint cannot be saved, the subscription is cancelled and fails with the error; it
+     * could no longer be resumed from where it left off.
+     */
+    void checkpoint(MirrorConsensusTopicResponse response) {
+        if (checkpointStore == null) {
+            return;
+        }
+
+        try {
+            checkpointStore.save(new Checkpoint(topicId, response.sequenceNumber, response.consensusTimestamp));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private Instant startTime() {
+        return query.hasConsensusStartTime()
+            ? TimestampHelper.timestampTo(query.getConsensusStartTime())
+            : Instant.EPOCH;
+    }
+
+    synchronized void cancel() {
+        cancelled = true;
+
+        if (call != null) {
+            call.cancel("unsubscribed", null);
+        }
+
+        release();
+    }
+
+    private synchronized void release() {
+        if (!released) {
+            released = true;
+            endpoint.onUnsubscribed();
+        }
+    }
+
+    /**
+     * Cancel the subscription and signal the error, unless it has already completed or failed.
+     * If a message is being emitted, the error is signalled once its callback returns.
+     */
+    void fail(Throwable error) {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+
+            terminated = true;
+            cancel();
+
+            if (emitting) {
+                deferredError = error;
+                return;
+            }
+        }
+
+        onError.accept(error);
+    }
+
+    /**
+     * Add to the number of messages that may be emitted.
+     */
+    synchronized void request(long n) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+
+        requestMore();
+    }
+
+    private synchronized void requestMore() {
+        if (call == null || cancelled || inFlight > batchSize / 2) {
+            // wait until at least half of the last batch has arrived
+            return;
+        }
+
+        final int wanted = (int) Math.min(demand, batchSize) - inFlight;
+
+        if (wanted > 0) {
+            inFlight += wanted;
+            call.request(wanted);
+        }
+    }
+
+    private void makeStreamingCall() {
+        final ConsensusTopicQuery nextQuery = resumeQuery();
+
+        if (nextQuery == null) {
+            // we already received everything that was asked for
+            complete();
+            return;
+        }
+
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+
+            final MirrorEndpoint callEndpoint = endpoint;
+            final long startedAt = System.nanoTime();
+
+            final ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> nextCall =
+                channel.newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+
+            callEndpoint.onCall();
+
+            nextCall.start(new ClientCall.Listener<ConsensusTopicResponse>() {
+                // the listener is never called concurrently
+                private boolean answered;
+
+                private boolean succeeded;
+
+                @Override
+                public void onHeaders(Metadata headers) {
+                    onAnswered();
+                }
+
+                @Override
+                public void onMessage(ConsensusTopicResponse response) {
+                    onAnswered();
+
+                    if (!succeeded) {
+                        succeeded = true;
+                        callEndpoint.onSuccess();
+                    }
+
+                    synchronized (TopicSubscription.this) {
+                        inFlight -= 1;
+                    }
+
+                    onResponse(response);
+                    requestMore();
+                }
+
+                @Override
+                public void onClose(Status status, Metadata trailers) {
+                    onAnswered();
+
+                    if (status.isOk()) {
+                        callEndpoint.onSuccess();
+                        onCallCompleted();
+                    } else {
+                        onCallError(status.asRuntimeException(trailers));
+                    }
+                }
+
+                private void onAnswered() {
+                    if (!answered) {
+                        answered = true;
+                        callEndpoint.onAnswered(System.nanoTime() - startedAt);
+                    }
+                }
+            }, new Metadata());
+
+            nextCall.sendMessage(nextQuery);
+            nextCall.halfClose();
+
+            call = nextCall;
+            inFlight = 0;
+
+            requestMore();
+        }
+    }
+
+    /**
+     * Build the query for the next call; if we have received messages already this starts 1ns
+     * after the last one and asks only for what remains of the limit.
+     *
+     * @return the query, or {@code null} if the limit has been reached.
+     */
+    @Nullable
+    private ConsensusTopicQuery resumeQuery() {
+        if (lastConsensusTimestamp == null) {
+            return query;
+        }
+
+        final ConsensusTopicQuery.Builder builder = query.toBuilder()
+            .setConsensusStartTime(TimestampHelper.timestampFrom(lastConsensusTimestamp.plusNanos(1)));
+
+        if (query.getLimit() > 0) {
+            final long remaining = query.getLimit() - receivedCount;
+
+            if (remaining <= 0) {
+                return null;
+            }
+
+            builder.setLimit(remaining);
+        }
+
+        return builder.build();
+    }
+
+    private void onResponse(ConsensusTopicResponse response) {
+        attempt = 0;
+
+        if (response.getSequenceNumber() <= lastSequenceNumber) {
+            // duplicate from a resumed call
+            return;
+        }
+
+        if (verifier != null) {
+            try {
+                verifier.verify(response);
+            } catch (TopicIntegrityException e) {
+                fail(e);
+                return;
+            }
+        }
+
+        lastSequenceNumber = response.getSequenceNumber();
+        lastConsensusTimestamp = TimestampHelper.timestampTo(response.getConsensusTimestamp());
+        receivedCount += 1;
+
+        if (!response.hasChunkInfo()) {
+            // short circuit for no chunks
+            emit(MirrorConsensusTopicResponse.ofSingle(response, eagerCopy, includeRunningHash, decompress));
+            return;
+        }
+
+        final List<ConsensusTopicResponse> chunks = pendingChunks.add(response, Instant.now());
+
+        if (chunks != null) {
+            emit(MirrorConsensusTopicResponse.ofMany(chunks, eagerCopy, includeRunningHash, decompress));
+        }
+    }
+
+    private void emit(MirrorConsensusTopicResponse response) {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+
+            if (demand != Long.MAX_VALUE) {
+                demand -= 1;
+            }
+
+            emitting = true;
+        }
+
+        final Throwable error;
+
+        try {
+            onNext.accept(response);
+        } finally {
+            synchronized (this) {
+                emitting = false;
+                error = deferredError;
+                deferredError = null;
+            }
+        }
+
+        if (error != null) {
+            onError.accept(error);
+        }
+    }
+
+    private void complete() {
+        synchronized (this) {
+            if (cancelled || terminated) {
+                return;
+            }
+
+            terminated = true;
+        }
+
+        release();
+        onComplete.run();
+    }
+
+    private void onCallError(Throwable throwable) {
+        synchronized (this) {
+            if (cancelled) {
+                // the error is our own cancellation; the user doesn't need to hear about it
+                return;
+            }
+        }
+
+        if (!shouldRetry(throwable)) {
+            fail(throwable);
+            return;
+        }
+
+        endpoint.onError(System.nanoTime());
+
+        if (attempt < MAX_ATTEMPTS) {
+            failover();
+        } else {
+            fail(throwable);
+        }
+    }
+
+    private void onCallCompleted() {
+        if (query.hasConsensusEndTime() || query.getLimit() > 0) {
+            complete();
+            return;
+        }
+
+        // an open-ended subscription should never complete; the mirror node most likely
+        // went away gracefully (e.g. for a restart) so pick up where we left off
+        if (attempt < MAX_ATTEMPTS) {
+            scheduleReconnect();
+        } else {
+            fail(Status.UNAVAILABLE
+                .withDescription("mirror node repeatedly closed the subscription")
+                .asRuntimeException());
+        }
+    }
+
+    /**
+     * Move to the endpoint picked by the client (which avoids the failed one if another is
+     * healthy) and reconnect; right away if the new endpoint is healthy, otherwise with backoff.
+     */
+    private void failover() {
+        final MirrorEndpoint next = mirrorClient.selectEndpoint(endpoint);
+
+        if (next == endpoint) {
+            scheduleReconnect();
+            return;
+        }
+
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+
+            endpoint.onUnsubscribed();
+            next.onSubscribed();
+
+            endpoint = next;
+            channel = next.channel;
+        }
+
+        if (next.isHealthy()) {
+            attempt += 1;
+            handle.onReconnect();
+
+            reconnectAfter(0);
+        } else {
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        final long delay = Math.min(BASE_DELAY_MS * (1L << attempt), MAX_DELAY_MS);
+        attempt += 1;
+
+        handle.onReconnect();
+        reconnectAfter(delay);
+    }
+
+    private void reconnectAfter(long delay) {
+        try {
+            mirrorClient.executor.schedule(this::makeStreamingCall, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the mirror client has been closed
+        }
+    }
+
+    private static boolean shouldRetry(Throwable throwable) {
+        final Status status = Status.fromThrowable(throwable);
+        final String description = status.getDescription();
+
+        switch (status.getCode()) {
+            // the topic may not have propagated to the mirror node yet
+            case NOT_FOUND:
+            case UNAVAILABLE:
+            case RESOURCE_EXHAUSTED:
+                return true;
+            case INTERNAL:
+                // a proxy or load balancer in front of the mirror node reset the stream
+                return description != null && description.contains("RST_STREAM");
+            default:
+                return false;
+        }
+    }
+}
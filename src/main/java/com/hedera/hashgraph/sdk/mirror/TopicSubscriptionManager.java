@@ -0,0 +1,232 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import io.grpc.ManagedChannel;
+
+/**
+ * Manages many topic subscriptions over a shared pool of channels, dispatching their callbacks
+ * on a shared executor.
+ * <p>
+ * The callbacks of all subscriptions to the same topic are run one at a time, in order; the
+ * callbacks of different topics run in parallel. The mirror node is only asked for more
+ * messages for a topic once its callbacks have caught up (to within
+ * {@link #MAX_PENDING_PER_TOPIC} messages), so a slow topic doesn't pile up in memory.
+ * <p>
+ * A server limits how many streams it allows at once on a single connection, so subscriptions
+ * are spread over the channels round-robin. The channels are spread over the endpoints of the
+ * {@link MirrorClient}; a subscription whose endpoint fails moves to another endpoint.
+ * <p>
+ * Create with {@link MirrorClient#newSubscriptionManager()}.
+ */
+public final class TopicSubscriptionManager implements AutoCloseable {
+    /**
+     * The maximum number of messages of a topic which may be waiting to be dispatched.
+     */
+    public static final int MAX_PENDING_PER_TOPIC = 256;
+
+    private final MirrorClient mirrorClient;
+
+    private final ManagedChannel[] channels;
+
+    // the endpoint of each channel
+    private final MirrorEndpoint[] channelEndpoints;
+
+    private final Executor executor;
+
+    // the executor we created, and have to shut down, if the user didn't provide one
+    @Nullable
+    private final ExecutorService ownedExecutor;
+
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    // guarded by `this`
+    private final Map<ConsensusTopicId, TopicState> topics = new HashMap<>();
+
+    // guarded by `this`
+    private boolean closed;
+
+    TopicSubscriptionManager(MirrorClient mirrorClient, int channelCount, @Nullable Executor executor) {
+        if (channelCount < 1) {
+            throw new IllegalArgumentException("channelCount must be >= 1");
+        }
+
+        this.mirrorClient = mirrorClient;
+        this.channels = new ManagedChannel[channelCount];
+        this.channelEndpoints = new MirrorEndpoint[channelCount];
+
+        for (int i = 0; i < channelCount; i += 1) {
+            channelEndpoints[i] = mirrorClient.endpoints.get(i % mirrorClient.endpoints.size());
+            channels[i] = channelEndpoints[i].channelFactory.get();
+        }
+
+        if (executor != null) {
+            this.executor = executor;
+            this.ownedExecutor = null;
+        } else {
+            final AtomicInteger threadCount = new AtomicInteger();
+
+            this.ownedExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "hedera-mirror-dispatch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Subscribe to a topic; like {@link MirrorConsensusTopicQuery#subscribe}, but with the
+     * callbacks run on the executor of this manager.
+     *
+     * @param query the query, which must have a topic ID.
+     * @param onNext called with each (reassembled) message, in consensus order.
+     * @param onError called if the subscription fails permanently.
+     * @return a handle which you can use to cancel the subscription at any time.
+     * @throws IllegalArgumentException if the query has no topic ID.
+     * @throws IllegalStateException if the manager has been closed.
+     */
+    public MirrorSubscriptionHandle subscribe(
+        MirrorConsensusTopicQuery query,
+        Consumer<MirrorConsensusTopicResponse> onNext,
+        Consumer<Throwable> onError)
+    {
+        if (!query.toProto().hasTopicID()) {
+            throw new IllegalArgumentException("query must have a topic ID");
+        }
+
+        final ConsensusTopicId topicId = new ConsensusTopicId(query.toProto().getTopicID());
+        final int channelIndex = Math.floorMod(nextChannel.getAndIncrement(), channels.length);
+
+        // the state of the topic is only known once the subscription has been registered, but
+        // the callbacks don't run before `start()`
+        final TopicState[] topic = new TopicState[1];
+
+        // `onNext` needs the subscription to ask for more messages once one has been dispatched
+        final TopicSubscription[] subscription = new TopicSubscription[1];
+
+        subscription[0] = new TopicSubscription(mirrorClient, channelEndpoints[channelIndex], channels[channelIndex], query, response -> {
+            topic[0].metrics.onReceived();
+
+            topic[0].dispatcher.execute(() -> {
+                topic[0].metrics.onDispatched(response.consensusTimestamp, Instant.now());
+
+                try {
+                    onNext.accept(response);
+                    subscription[0].checkpoint(response);
+                } finally {
+                    subscription[0].request(1);
+                }
+            });
+        }, error -> topic[0].dispatcher.execute(() -> onError.accept(error)), () -> { }, MAX_PENDING_PER_TOPIC);
+
+        final MirrorSubscriptionHandle handle = new MirrorSubscriptionHandle(() -> {
+            subscription[0].cancel();
+            release(topicId, topic[0], subscription[0].handle);
+        }, subscription[0].handle);
+
+        // registered atomically, so that neither `release()` of the last other subscription to
+        // the topic nor `close()` can run in between
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("subscription manager has been closed");
+            }
+
+            topic[0] = topics.computeIfAbsent(topicId, id -> new TopicState());
+            topic[0].handles.add(subscription[0].handle);
+        }
+
+        subscription[0].start();
+
+        return handle;
+    }
+
+    /**
+     * Get the metrics of a topic.
+     *
+     * @param topicId the topic.
+     * @return the metrics of the subscriptions to the topic, or {@code null} if there are no
+     *         subscriptions to it.
+     */
+    @Nullable
+    public synchronized TopicMetrics getMetrics(ConsensusTopicId topicId) {
+        final TopicState topic = topics.get(topicId);
+        return topic != null ? topic.metrics : null;
+    }
+
+    /**
+     * @return the topics with at least one subscription.
+     */
+    public synchronized List<ConsensusTopicId> getTopicIds() {
+        return new ArrayList<>(topics.keySet());
+    }
+
+    /**
+     * Cancel all subscriptions and close the channels of this manager.
+     */
+    @Override
+    public void close() {
+        final List<MirrorSubscriptionHandle> handles = new ArrayList<>();
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            for (TopicState topic : topics.values()) {
+                handles.addAll(topic.handles);
+            }
+
+            topics.clear();
+        }
+
+        for (MirrorSubscriptionHandle handle : handles) {
+            handle.unsubscribe();
+        }
+
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow();
+        }
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+
+        mirrorClient.subscriptionManagers.remove(this);
+    }
+
+    private synchronized void release(ConsensusTopicId topicId, TopicState topic, MirrorSubscriptionHandle handle) {
+        if (!topic.handles.remove(handle)) {
+            // already released
+            return;
+        }
+
+        if (topic.handles.isEmpty() && topics.get(topicId) == topic) {
+            topics.remove(topicId);
+        }
+    }
+
+    private final class TopicState {
+        final SerialExecutor dispatcher = new SerialExecutor(executor);
+
+        final TopicMetrics metrics = new TopicMetrics();
+
+        final List<MirrorSubscriptionHandle> handles = new ArrayList<>();
+    }
+}
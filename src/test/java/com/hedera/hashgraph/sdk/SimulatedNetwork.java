@@ -0,0 +1,796 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.hedera.hashgraph.proto.AccountID;
+import com.hedera.hashgraph.proto.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.ContractCallLocalQuery;
+import com.hedera.hashgraph.proto.ContractCallLocalResponse;
+import com.hedera.hashgraph.proto.ContractFunctionResult;
+import com.hedera.hashgraph.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.proto.FileID;
+import com.hedera.hashgraph.proto.FileServiceGrpc;
+import com.hedera.hashgraph.proto.Query;
+import com.hedera.hashgraph.proto.QueryHeader;
+import com.hedera.hashgraph.proto.Response;
+import com.hedera.hashgraph.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.proto.ResponseHeader;
+import com.hedera.hashgraph.proto.ResponseType;
+import com.hedera.hashgraph.proto.SmartContractServiceGrpc;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.TokenID;
+import com.hedera.hashgraph.proto.TokenServiceGrpc;
+import com.hedera.hashgraph.proto.TopicID;
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.proto.TransactionGetRecordResponse;
+import com.hedera.hashgraph.proto.TransactionID;
+import com.hedera.hashgraph.proto.TransactionReceipt;
+import com.hedera.hashgraph.proto.TransactionRecord;
+import com.hedera.hashgraph.proto.TransactionResponse;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.mirror.MirrorClient;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * An in-process stand-in for a Hedera network and its mirror node, for integration tests and
+ * benchmarks of the SDK without a live network.
+ * <p>
+ * Each node is an in-process gRPC server with the crypto, consensus, file, token and smart
+ * contract services. Every transaction that passes precheck reaches consensus at once and
+ * succeeds: entities it creates are given the next entity number, and messages submitted to a
+ * topic (which is created on first use) are numbered, hashed and streamed by the mirror node.
+ * Only receipt, record and balance queries are answered, as well as contract calls once they
+ * are given a {@link #setContractCall(Function) result}; other queries fail with
+ * {@code UNIMPLEMENTED}. As on the real network, the receipt and record of a transaction can
+ * only be queried for 3 minutes once the receipt is available.
+ * <p>
+ * The network can be made to misbehave: every call can be delayed by a fixed
+ * {@link #setLatency(Duration) latency}, a fraction of calls can be answered
+ * {@link #setBusyRate(double) BUSY}, transactions can be rejected by a custom
+ * {@link #setPrecheck(Function) precheck}, receipts can be held back for a
+ * {@link #setReceiptDelay(Duration) delay}, and nodes can be made
+ * {@link #setUnavailable(AccountId, boolean) unavailable}. Which calls are answered BUSY depends
+ * only on the seed, the call and how often the same request was made to the same node, so a
+ * run is reproducible regardless of how the calls are scheduled.
+ * <p>
+ * Create clients of the network with {@link #newClient()} and {@link #newMirrorClient()}.
+ */
+public final class SimulatedNetwork implements AutoCloseable {
+    // the first entity number given to a created entity; lower numbers are system entities
+    private static final long FIRST_ENTITY_NUM = 1001;
+
+    private static final long CONSTANT_BALANCE = 10_000 * 100_000_000L;
+
+    // how long a transaction is remembered once its receipt is available, and how long a
+    // request is counted towards whether it is BUSY
+    private static final Duration RETENTION = Duration.ofMinutes(3);
+
+    private final String name = InProcessServerBuilder.generateName();
+
+    private final long seed;
+
+    private final Map<AccountId, String> nodeAddresses = new HashMap<>();
+
+    private final List<Server> servers = new ArrayList<>();
+
+    // answers the calls once their latency has passed
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+        Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "hedera-simulated-network");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final Set<AccountId> unavailable = ConcurrentHashMap.newKeySet();
+
+    private final Map<TransactionID, Consensus> transactions = new ConcurrentHashMap<>();
+
+    private final Map<TopicID, Topic> topics = new ConcurrentHashMap<>();
+
+    // the number of times each request was made to each node, which decides whether it is BUSY
+    private final Map<ByteString, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextEntityNum = new AtomicLong(FIRST_ENTITY_NUM);
+
+    private final AtomicLong transactionCount = new AtomicLong();
+
+    private final AtomicLong busyCount = new AtomicLong();
+
+    private final AtomicLong contractCallCount = new AtomicLong();
+
+    // the number of calls each node is answering, and the most any node was answering at once
+    private final Map<AccountId, AtomicInteger> callsInFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger peakCallsPerNode = new AtomicInteger();
+
+    private volatile Duration latency = Duration.ZERO;
+
+    private volatile double busyRate;
+
+    private volatile Function<TransactionBody, ResponseCodeEnum> precheck = body -> ResponseCodeEnum.OK;
+
+    private volatile Duration receiptDelay = Duration.ZERO;
+
+    @Nullable
+    private volatile Function<ContractCallLocalQuery, ByteString> contractCall;
+
+    // guarded by `this`
+    private Instant lastConsensusTimestamp = Instant.EPOCH;
+
+    /**
+     * Start a network of nodes {@code 0.0.3} to {@code 0.0.(nodeCount + 2)} and a mirror node.
+     *
+     * @param nodeCount the number of nodes, at least 1.
+     * @param seed the seed which decides the calls answered BUSY.
+     */
+    public SimulatedNetwork(int nodeCount, long seed) {
+        if (nodeCount < 1) {
+            throw new IllegalArgumentException("nodeCount must be >= 1");
+        }
+
+        this.seed = seed;
+
+        try {
+            for (int i = 0; i < nodeCount; i += 1) {
+                final AccountId nodeId = new AccountId(3 + i);
+                final String address = name + "-node-" + nodeId;
+
+                nodeAddresses.put(nodeId, address);
+                servers.add(InProcessServerBuilder.forName(address)
+                    .addService(bindNode(CryptoServiceGrpc.getServiceDescriptor(), nodeId))
+                    .addService(bindNode(ConsensusServiceGrpc.getServiceDescriptor(), nodeId))
+                    .addService(bindNode(FileServiceGrpc.getServiceDescriptor(), nodeId))
+                    .addService(bindNode(TokenServiceGrpc.getServiceDescriptor(), nodeId))
+                    .addService(bindNode(SmartContractServiceGrpc.getServiceDescriptor(), nodeId))
+                    .build()
+                    .start());
+            }
+
+            servers.add(InProcessServerBuilder.forName(name + "-mirror")
+                .addService(new MirrorService())
+                .build()
+                .start());
+        } catch (IOException e) {
+            // the in-process transport never fails to start unless the name is taken
+            close();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Set how long every call to a node waits before it is answered. Defaults to zero.
+     *
+     * @param latency the latency.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Set the fraction of calls to a node (transactions and queries) which are answered
+     * {@code BUSY}. Defaults to zero.
+     *
+     * @param busyRate the fraction, from 0 to 1.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setBusyRate(double busyRate) {
+        if (busyRate < 0 || busyRate > 1) {
+            throw new IllegalArgumentException("busyRate must be between 0 and 1");
+        }
+
+        this.busyRate = busyRate;
+        return this;
+    }
+
+    /**
+     * Set a precheck which decides the response code of each transaction which is not BUSY;
+     * any code other than {@code OK} rejects the transaction. By default every transaction
+     * passes.
+     *
+     * @param precheck returns the response code of a transaction.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setPrecheck(Function<TransactionBody, ResponseCodeEnum> precheck) {
+        this.precheck = precheck;
+        return this;
+    }
+
+    /**
+     * Set how long after consensus the receipt of a transaction becomes available; until
+     * then its status is {@code UNKNOWN}. Defaults to zero.
+     *
+     * @param receiptDelay the delay.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setReceiptDelay(Duration receiptDelay) {
+        this.receiptDelay = receiptDelay;
+        return this;
+    }
+
+    /**
+     * Set how contract calls are answered: the result of each call which is not BUSY. By
+     * default contract calls fail with {@code UNIMPLEMENTED}.
+     *
+     * @param contractCall returns the bytes returned by the function called by a query.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setContractCall(Function<ContractCallLocalQuery, ByteString> contractCall) {
+        this.contractCall = contractCall;
+        return this;
+    }
+
+    /**
+     * Set whether calls to a node fail with the gRPC status {@code UNAVAILABLE}.
+     *
+     * @param nodeId the node.
+     * @param unavailable whether the node is unavailable.
+     * @return {@code this} for fluent usage.
+     */
+    public SimulatedNetwork setUnavailable(AccountId nodeId, boolean unavailable) {
+        if (unavailable) {
+            this.unavailable.add(nodeId);
+        } else {
+            this.unavailable.remove(nodeId);
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the addresses of the nodes, for {@link Client#Client(Map, Function)}.
+     */
+    public Map<AccountId, String> getNodes() {
+        return Collections.unmodifiableMap(nodeAddresses);
+    }
+
+    /**
+     * @return a new client of the nodes, without an operator.
+     */
+    public Client newClient() {
+        return new Client(nodeAddresses, address -> InProcessChannelBuilder.forName(address).build());
+    }
+
+    /**
+     * @return a new client of the mirror node.
+     */
+    public MirrorClient newMirrorClient() {
+        return new MirrorClient(
+            Collections.singletonList(name + "-mirror"),
+            address -> InProcessChannelBuilder.forName(address).build());
+    }
+
+    /**
+     * @return the number of transactions which reached consensus.
+     */
+    public long getTransactionCount() {
+        return transactionCount.get();
+    }
+
+    /**
+     * @return the number of calls which were answered {@code BUSY}.
+     */
+    public long getBusyCount() {
+        return busyCount.get();
+    }
+
+    /**
+     * @return the number of contract calls which were answered with a result (not counting
+     * the queries for their cost).
+     */
+    public long getContractCallCount() {
+        return contractCallCount.get();
+    }
+
+    /**
+     * @return the most calls any one node was answering at the same time.
+     */
+    public int getPeakCallsPerNode() {
+        return peakCallsPerNode.get();
+    }
+
+    @Override
+    public void close() {
+        for (Server server : servers) {
+            server.shutdownNow();
+        }
+
+        scheduler.shutdownNow();
+    }
+
+    private ServerServiceDefinition bindNode(ServiceDescriptor service, AccountId nodeId) {
+        final ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(service);
+
+        for (MethodDescriptor<?, ?> method : service.getMethods()) {
+            builder.addMethod(bindNodeMethod(method, nodeId));
+        }
+
+        return builder.build();
+    }
+
+    // every method of the node services takes either a transaction or a query
+    @SuppressWarnings("unchecked")
+    private <Req, Resp> ServerMethodDefinition<Req, Resp> bindNodeMethod(MethodDescriptor<Req, Resp> method, AccountId nodeId) {
+        final Object prototype = ((MethodDescriptor.PrototypeMarshaller<Req>) method.getRequestMarshaller())
+            .getMessagePrototype();
+
+        if (prototype instanceof com.hedera.hashgraph.proto.Transaction) {
+            return ServerMethodDefinition.create(method, ServerCalls.asyncUnaryCall((request, observer) ->
+                answer(nodeId, ((MessageLite) request).toByteString(), (StreamObserver<TransactionResponse>) observer,
+                    busy -> onTransaction(nodeId, (com.hedera.hashgraph.proto.Transaction) request, busy))));
+        }
+
+        return ServerMethodDefinition.create(method, ServerCalls.asyncUnaryCall((request, observer) ->
+            answer(nodeId, ((MessageLite) request).toByteString(), (StreamObserver<Response>) observer,
+                busy -> onQuery((Query) request, busy))));
+    }
+
+    /**
+     * Answer a call after the latency, unless the node is unavailable; {@code onCall} returns
+     * the response, or {@code null} if the call is BUSY.
+     */
+    private <Resp> void answer(AccountId nodeId, ByteString request, StreamObserver<Resp> observer, Callable<Resp> onCall) {
+        final AtomicInteger nodeCalls = callsInFlight.computeIfAbsent(nodeId, id -> new AtomicInteger());
+        final int calls = nodeCalls.incrementAndGet();
+
+        peakCallsPerNode.accumulateAndGet(calls, Math::max);
+
+        scheduler.schedule(() -> {
+            // the call is answered below, and the client can call again once it has the answer
+            nodeCalls.decrementAndGet();
+
+            if (unavailable.contains(nodeId)) {
+                observer.onError(Status.UNAVAILABLE.withDescription("node is unavailable").asRuntimeException());
+                return;
+            }
+
+            final Resp response;
+
+            try {
+                response = onCall.call(isBusy(nodeId, request));
+            } catch (InvalidProtocolBufferException e) {
+                observer.onError(Status.INVALID_ARGUMENT.withCause(e).asRuntimeException());
+                return;
+            } catch (RuntimeException e) {
+                observer.onError(Status.fromThrowable(e).asRuntimeException());
+                return;
+            }
+
+            observer.onNext(response);
+            observer.onCompleted();
+        }, latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean isBusy(AccountId nodeId, ByteString request) {
+        if (busyRate == 0) {
+            return false;
+        }
+
+        final ByteString key = ByteString.copyFromUtf8(nodeId.toString()).concat(request);
+        final int count = requestCounts.computeIfAbsent(key, k -> {
+            scheduler.schedule(() -> requestCounts.remove(k), RETENTION.toNanos(), TimeUnit.NANOSECONDS);
+            return new AtomicInteger();
+        }).getAndIncrement();
+
+        // a hash of the seed, the request and its count, as a fraction from 0 to 1
+        final long hash = mix(seed ^ mix(key.hashCode() * 31L + count));
+        final boolean busy = (hash >>> 11) * 0x1.0p-53 < busyRate;
+
+        if (busy) {
+            busyCount.incrementAndGet();
+        }
+
+        return busy;
+    }
+
+    // the finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private TransactionResponse onTransaction(AccountId nodeId, com.hedera.hashgraph.proto.Transaction transaction, boolean busy)
+        throws InvalidProtocolBufferException
+    {
+        if (busy) {
+            return transactionResponse(ResponseCodeEnum.BUSY);
+        }
+
+        final TransactionBody body = TransactionBody.parseFrom(transaction.getBodyBytes());
+
+        if (!body.getNodeAccountID().equals(nodeId.toProto())) {
+            return transactionResponse(ResponseCodeEnum.INVALID_NODE_ACCOUNT);
+        }
+
+        final ResponseCodeEnum code = precheck.apply(body);
+
+        if (code != ResponseCodeEnum.OK) {
+            return transactionResponse(code);
+        }
+
+        final Consensus consensus = new Consensus(body, nextConsensusTimestamp());
+
+        if (transactions.putIfAbsent(body.getTransactionID(), consensus) != null) {
+            return transactionResponse(ResponseCodeEnum.DUPLICATE_TRANSACTION);
+        }
+
+        scheduler.schedule(() -> transactions.remove(body.getTransactionID(), consensus),
+            consensus.receiptAvailableAt - System.nanoTime() + RETENTION.toNanos(), TimeUnit.NANOSECONDS);
+
+        transactionCount.incrementAndGet();
+        consensus.reach();
+
+        return transactionResponse(ResponseCodeEnum.OK);
+    }
+
+    private static TransactionResponse transactionResponse(ResponseCodeEnum code) {
+        return TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(code).build();
+    }
+
+    private Response onQuery(Query query, boolean busy) {
+        final ResponseHeader.Builder header = ResponseHeader.newBuilder()
+            .setNodeTransactionPrecheckCode(busy ? ResponseCodeEnum.BUSY : ResponseCodeEnum.OK);
+
+        switch (query.getQueryCase()) {
+            case TRANSACTIONGETRECEIPT: {
+                final TransactionGetReceiptResponse.Builder response = TransactionGetReceiptResponse.newBuilder();
+
+                if (!busy) {
+                    final Consensus consensus = transactions.get(query.getTransactionGetReceipt().getTransactionID());
+
+                    if (consensus == null) {
+                        header.setNodeTransactionPrecheckCode(ResponseCodeEnum.RECEIPT_NOT_FOUND);
+                    } else {
+                        response.setReceipt(consensus.receipt());
+                    }
+                }
+
+                return Response.newBuilder()
+                    .setTransactionGetReceipt(response.setHeader(answerHeader(header, query.getTransactionGetReceipt().getHeader())))
+                    .build();
+            }
+
+            case TRANSACTIONGETRECORD: {
+                final QueryHeader queryHeader = query.getTransactionGetRecord().getHeader();
+                final TransactionGetRecordResponse.Builder response = TransactionGetRecordResponse.newBuilder();
+
+                if (!busy && queryHeader.getResponseType() != ResponseType.COST_ANSWER) {
+                    final Consensus consensus = transactions.get(query.getTransactionGetRecord().getTransactionID());
+
+                    if (consensus == null) {
+                        header.setNodeTransactionPrecheckCode(ResponseCodeEnum.RECORD_NOT_FOUND);
+                    } else {
+                        response.setTransactionRecord(consensus.record());
+                    }
+                }
+
+                return Response.newBuilder()
+                    .setTransactionGetRecord(response.setHeader(answerHeader(header, queryHeader)))
+                    .build();
+            }
+
+            case CRYPTOGETACCOUNTBALANCE: {
+                final QueryHeader queryHeader = query.getCryptogetAccountBalance().getHeader();
+
+                return Response.newBuilder()
+                    .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .setHeader(answerHeader(header, queryHeader))
+                        .setAccountID(query.getCryptogetAccountBalance().getAccountID())
+                        .setBalance(CONSTANT_BALANCE))
+                    .build();
+            }
+
+            case CONTRACTCALLLOCAL: {
+                final QueryHeader queryHeader = query.getContractCallLocal().getHeader();
+                final Function<ContractCallLocalQuery, ByteString> contractCall = this.contractCall;
+
+                if (contractCall == null) {
+                    break;
+                }
+
+                final ContractCallLocalResponse.Builder response = ContractCallLocalResponse.newBuilder();
+
+                if (!busy && queryHeader.getResponseType() != ResponseType.COST_ANSWER) {
+                    contractCallCount.incrementAndGet();
+                    response.setFunctionResult(ContractFunctionResult.newBuilder()
+                        .setContractID(query.getContractCallLocal().getContractID())
+                        .setContractCallResult(contractCall.apply(query.getContractCallLocal())));
+                }
+
+                return Response.newBuilder()
+                    .setContractCallLocal(response.setHeader(answerHeader(header, queryHeader)))
+                    .build();
+            }
+
+            default:
+                break;
+        }
+
+        throw Status.UNIMPLEMENTED
+            .withDescription("the simulated network does not answer " + query.getQueryCase())
+            .asRuntimeException();
+    }
+
+    // every answered query is free
+    private static ResponseHeader answerHeader(ResponseHeader.Builder header, QueryHeader queryHeader) {
+        return header.setResponseType(queryHeader.getResponseType()).setCost(0).build();
+    }
+
+    private synchronized Instant nextConsensusTimestamp() {
+        final Instant now = Instant.now();
+
+        lastConsensusTimestamp = now.isAfter(lastConsensusTimestamp) ? now : lastConsensusTimestamp.plusNanos(1);
+        return lastConsensusTimestamp;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return Timestamp.newBuilder()
+            .setSeconds(instant.getEpochSecond())
+            .setNanos(instant.getNano())
+            .build();
+    }
+
+    /**
+     * Produce the response to a call.
+     */
+    private interface Callable<Resp> {
+        Resp call(boolean busy) throws InvalidProtocolBufferException;
+    }
+
+    /**
+     * A transaction which reached consensus.
+     */
+    private final class Consensus {
+        final TransactionBody body;
+
+        final Instant consensusTimestamp;
+
+        final long receiptAvailableAt = System.nanoTime() + receiptDelay.toNanos();
+
+        final TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder()
+            .setStatus(ResponseCodeEnum.SUCCESS);
+
+        Consensus(TransactionBody body, Instant consensusTimestamp) {
+            this.body = body;
+            this.consensusTimestamp = consensusTimestamp;
+        }
+
+        /**
+         * Apply the transaction, filling in its receipt.
+         */
+        synchronized void reach() {
+            switch (body.getDataCase()) {
+                case CRYPTOCREATEACCOUNT:
+                    receipt.setAccountID(AccountID.newBuilder().setAccountNum(nextEntityNum.getAndIncrement()));
+                    break;
+
+                case FILECREATE:
+                    receipt.setFileID(FileID.newBuilder().setFileNum(nextEntityNum.getAndIncrement()));
+                    break;
+
+                case CONSENSUSCREATETOPIC:
+                    receipt.setTopicID(TopicID.newBuilder().setTopicNum(nextEntityNum.getAndIncrement()));
+                    break;
+
+                case TOKENCREATION:
+                    receipt.setTokenId(TokenID.newBuilder().setTokenNum(nextEntityNum.getAndIncrement()));
+                    break;
+
+                case CONSENSUSSUBMITMESSAGE:
+                    topics.computeIfAbsent(body.getConsensusSubmitMessage().getTopicID(), Topic::new)
+                        .submit(this);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        synchronized TransactionReceipt receipt() {
+            if (System.nanoTime() - receiptAvailableAt < 0) {
+                return TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.UNKNOWN).build();
+            }
+
+            return receipt.build();
+        }
+
+        TransactionRecord record() {
+            return TransactionRecord.newBuilder()
+                .setReceipt(receipt())
+                .setConsensusTimestamp(timestamp(consensusTimestamp))
+                .setTransactionID(body.getTransactionID())
+                .setMemo(body.getMemo())
+                .build();
+        }
+    }
+
+    /**
+     * The messages of a topic, and the mirror node subscriptions streaming them.
+     */
+    private static final class Topic {
+        private static final int RUNNING_HASH_VERSION = 2;
+
+        final TopicID topicId;
+
+        // the state below is guarded by `this`
+
+        final List<ConsensusTopicResponse> messages = new ArrayList<>();
+
+        final List<Subscription> subscriptions = new ArrayList<>();
+
+        byte[] runningHash = new byte[48];
+
+        Topic(TopicID topicId) {
+            this.topicId = topicId;
+        }
+
+        synchronized void submit(Consensus consensus) {
+            final ByteString message = consensus.body.getConsensusSubmitMessage().getMessage();
+            final long sequenceNumber = messages.size() + 1;
+
+            // not the network's running hash, which also covers the payer, topic and timestamp
+            final MessageDigest digest;
+
+            try {
+                digest = MessageDigest.getInstance("SHA-384");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+
+            digest.update(runningHash);
+            digest.update(ByteBuffer.allocate(8).putLong(sequenceNumber).array());
+            digest.update(message.asReadOnlyByteBuffer());
+            runningHash = digest.digest();
+
+            // the caller holds the lock of `consensus`
+            consensus.receipt
+                .setTopicSequenceNumber(sequenceNumber)
+                .setTopicRunningHash(ByteString.copyFrom(runningHash))
+                .setTopicRunningHashVersion(RUNNING_HASH_VERSION);
+
+            final ConsensusTopicResponse.Builder response = ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(timestamp(consensus.consensusTimestamp))
+                .setMessage(message)
+                .setRunningHash(ByteString.copyFrom(runningHash))
+                .setSequenceNumber(sequenceNumber)
+                .setRunningHashVersion(RUNNING_HASH_VERSION);
+
+            if (consensus.body.getConsensusSubmitMessage().hasChunkInfo()) {
+                response.setChunkInfo(consensus.body.getConsensusSubmitMessage().getChunkInfo());
+            }
+
+            messages.add(response.build());
+
+            subscriptions.removeIf(subscription -> !subscription.send(messages.get(messages.size() - 1)));
+        }
+
+        synchronized void subscribe(Subscription subscription) {
+            for (ConsensusTopicResponse message : messages) {
+                if (!subscription.send(message)) {
+                    return;
+                }
+            }
+
+            // later messages reach consensus after now
+            if (subscription.endTime != null && !Instant.now().isBefore(subscription.endTime)) {
+                subscription.observer.onCompleted();
+                return;
+            }
+
+            subscriptions.add(subscription);
+        }
+
+        synchronized void unsubscribe(Subscription subscription) {
+            subscriptions.remove(subscription);
+        }
+    }
+
+    /**
+     * A subscription of the mirror node to a topic.
+     */
+    private static final class Subscription {
+        final ConsensusTopicQuery query;
+
+        final StreamObserver<ConsensusTopicResponse> observer;
+
+        final Instant startTime;
+
+        @Nullable
+        final Instant endTime;
+
+        // guarded by the topic
+        long sentCount;
+
+        Subscription(ConsensusTopicQuery query, StreamObserver<ConsensusTopicResponse> observer) {
+            this.query = query;
+            this.observer = observer;
+            this.startTime = query.hasConsensusStartTime()
+                ? TimestampHelper.timestampTo(query.getConsensusStartTime())
+                : Instant.EPOCH;
+            this.endTime = query.hasConsensusEndTime()
+                ? TimestampHelper.timestampTo(query.getConsensusEndTime())
+                : null;
+        }
+
+        /**
+         * Send a message if it is in range of the query.
+         *
+         * @return whether the subscription may want more messages.
+         */
+        boolean send(ConsensusTopicResponse message) {
+            final Instant consensusTimestamp = TimestampHelper.timestampTo(message.getConsensusTimestamp());
+
+            if (consensusTimestamp.isBefore(startTime)) {
+                return true;
+            }
+
+            if (endTime != null && !consensusTimestamp.isBefore(endTime)) {
+                observer.onCompleted();
+                return false;
+            }
+
+            observer.onNext(message);
+            sentCount += 1;
+
+            if (query.getLimit() > 0 && sentCount == query.getLimit()) {
+                observer.onCompleted();
+                return false;
+            }
+
+            return true;
+        }
+    }
+
+    private final class MirrorService extends com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc.ConsensusServiceImplBase {
+        @Override
+        public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+            final Topic topic = topics.computeIfAbsent(request.getTopicID(), Topic::new);
+            final Subscription subscription = new Subscription(request, observer);
+
+            ((ServerCallStreamObserver<ConsensusTopicResponse>) observer)
+                .setOnCancelHandler(() -> topic.unsubscribe(subscription));
+
+            topic.subscribe(subscription);
+        }
+    }
+}
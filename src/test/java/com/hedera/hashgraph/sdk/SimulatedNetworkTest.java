@@ -0,0 +1,134 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.consensus.ConsensusMessageSubmitTransaction;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicCreateTransaction;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+import com.hedera.hashgraph.sdk.mirror.MirrorClient;
+import com.hedera.hashgraph.sdk.mirror.MirrorConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.mirror.MirrorSubscriptionHandle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulatedNetworkTest {
+    private SimulatedNetwork network;
+
+    private Client client;
+
+    private MirrorClient mirrorClient;
+
+    @BeforeEach
+    void setUp() {
+        network = new SimulatedNetwork(3, 42);
+        client = network.newClient().setOperator(new AccountId(2), Ed25519PrivateKey.generate());
+        mirrorClient = network.newMirrorClient();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        mirrorClient.close();
+        network.close();
+    }
+
+    @Test
+    @DisplayName("messages submitted to a created topic are streamed by the mirror node")
+    void submitsAndStreams() throws Exception {
+        final ConsensusTopicId topicId = new ConsensusTopicCreateTransaction()
+            .execute(client)
+            .getReceipt(client)
+            .getConsensusTopicId();
+
+        assertEquals(1001, topicId.topic);
+
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        final MirrorSubscriptionHandle handle = new MirrorConsensusTopicQuery()
+            .setTopicId(topicId)
+            .setStartTime(Instant.EPOCH)
+            .subscribe(mirrorClient, message -> {
+                received.add(new String(message.message, StandardCharsets.UTF_8));
+                latch.countDown();
+            }, errors::add);
+
+        final List<String> messages = Arrays.asList("hello", "world");
+
+        for (int i = 0; i < messages.size(); i += 1) {
+            final TransactionReceipt receipt = new ConsensusMessageSubmitTransaction()
+                .setTopicId(topicId)
+                .setMessage(messages.get(i))
+                .execute(client)
+                .getReceipt(client);
+
+            assertEquals(i + 1, receipt.getConsensusTopicSequenceNumber());
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        handle.unsubscribe();
+
+        assertEquals(messages, received);
+        assertEquals(Collections.emptyList(), errors);
+        assertEquals(3, network.getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("BUSY nodes and delayed receipts are retried by the client")
+    void retriesBusyAndDelayedReceipts() throws Exception {
+        network.setBusyRate(0.3).setReceiptDelay(Duration.ofMillis(200)).setLatency(Duration.ofMillis(5));
+
+        for (int i = 0; i < 5; i += 1) {
+            final Instant start = Instant.now();
+            final TransactionId transactionId = new ConsensusMessageSubmitTransaction()
+                .setTopicId(new ConsensusTopicId(1000))
+                .setMessage("message " + i)
+                .execute(client);
+
+            assertEquals(i + 1, transactionId.getReceipt(client).getConsensusTopicSequenceNumber());
+            assertTrue(Duration.between(start, Instant.now()).compareTo(Duration.ofMillis(200)) >= 0);
+        }
+
+        assertEquals(5, network.getTransactionCount());
+
+        // some of the calls were answered BUSY and retried
+        assertTrue(network.getBusyCount() > 0);
+    }
+
+    @Test
+    @DisplayName("a failed precheck is reported to the caller")
+    void failsPrecheck() {
+        network.setPrecheck(body -> body.hasConsensusSubmitMessage()
+            ? ResponseCodeEnum.INVALID_TOPIC_ID
+            : ResponseCodeEnum.OK);
+
+        final HederaPrecheckStatusException e = assertThrows(HederaPrecheckStatusException.class,
+            () -> new ConsensusMessageSubmitTransaction()
+                .setTopicId(new ConsensusTopicId(1000))
+                .setMessage("hello")
+                .execute(client));
+
+        assertEquals(Status.InvalidTopicId, e.status);
+        assertEquals(0, network.getTransactionCount());
+    }
+}
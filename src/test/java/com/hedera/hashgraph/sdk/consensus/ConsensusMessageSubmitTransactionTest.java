@@ -0,0 +1,249 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.proto.AccountID;
+import com.hedera.hashgraph.proto.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.proto.Transaction;
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.proto.TransactionResponse;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.HederaPrecheckStatusException;
+import com.hedera.hashgraph.sdk.HederaThrowable;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsensusMessageSubmitTransactionTest {
+    private static final AccountId NODE_3 = new AccountId(3);
+
+    private static final AccountId NODE_4 = new AccountId(4);
+
+    // every chunk submitted, in the order they arrived
+    private final List<TransactionBody> submitted = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // decides the precheck code of a chunk from its body and the number of times it was submitted
+    private volatile BiFunction<TransactionBody, Integer, ResponseCodeEnum> precheck = (body, attempt) -> ResponseCodeEnum.OK;
+
+    private Server server;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final Map<ByteString, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+        server = ServerBuilder.forPort(0)
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void submitMessage(Transaction request, StreamObserver<TransactionResponse> observer) {
+                    final TransactionBody body;
+
+                    try {
+                        body = TransactionBody.parseFrom(request.getBodyBytes());
+                    } catch (InvalidProtocolBufferException e) {
+                        observer.onError(e);
+                        return;
+                    }
+
+                    final int attempt = attempts
+                        .computeIfAbsent(body.getTransactionID().toByteString(), id -> new AtomicInteger())
+                        .getAndIncrement();
+
+                    submitted.add(body);
+                    maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                    // hold on to the chunk for a bit so concurrent chunks overlap
+                    scheduler.schedule(() -> {
+                        inFlight.decrementAndGet();
+
+                        observer.onNext(TransactionResponse.newBuilder()
+                            .setNodeTransactionPrecheckCode(precheck.apply(body, attempt))
+                            .build());
+                        observer.onCompleted();
+                    }, 50, TimeUnit.MILLISECONDS);
+                }
+            })
+            .build()
+            .start();
+
+        final Map<AccountId, String> nodes = new HashMap<>();
+        nodes.put(NODE_3, "localhost:" + server.getPort());
+        nodes.put(NODE_4, "localhost:" + server.getPort());
+
+        client = new Client(nodes).setOperator(new AccountId(2), Ed25519PrivateKey.generate());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        server.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("chunks are submitted concurrently within the window and spread over the nodes")
+    void submitsChunksConcurrently() throws Exception {
+        final List<TransactionId> transactionIds = executeAllAsync(message(10), 4).get(10, TimeUnit.SECONDS);
+
+        assertEquals(10, transactionIds.size());
+        assertEquals(10, submitted.size());
+        assertTrue(maxObservedInFlight.get() > 1);
+        assertTrue(maxObservedInFlight.get() <= 4);
+
+        // the chunks keep their cascading transaction IDs, in order
+        for (int i = 1; i < transactionIds.size(); i += 1) {
+            assertEquals(
+                transactionIds.get(i - 1).validStart.plusNanos(1),
+                transactionIds.get(i).validStart);
+        }
+
+        final Set<AccountID> usedNodes = ConcurrentHashMap.newKeySet();
+
+        for (TransactionBody body : submitted) {
+            usedNodes.add(body.getNodeAccountID());
+        }
+
+        assertEquals(2, usedNodes.size());
+    }
+
+    @Test
+    @DisplayName("a chunk a node can't take is resubmitted alone to another node")
+    void retriesChunkOnAnotherNode() throws Exception {
+        precheck = (body, attempt) -> {
+            final int number = body.getConsensusSubmitMessage().getChunkInfo().getNumber();
+
+            if (number == 2 && attempt == 0) {
+                return ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
+            }
+
+            // the first attempt of chunk 3 timed out on our side but did reach the network
+            if (number == 3 && attempt == 0) {
+                return ResponseCodeEnum.PLATFORM_NOT_ACTIVE;
+            }
+
+            if (number == 3) {
+                return ResponseCodeEnum.DUPLICATE_TRANSACTION;
+            }
+
+            return ResponseCodeEnum.OK;
+        };
+
+        final List<TransactionId> transactionIds = executeAllAsync(message(4), 4).get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, transactionIds.size());
+
+        // only chunks 2 and 3 were sent twice, each to both nodes
+        assertEquals(6, submitted.size());
+
+        for (int number = 1; number <= 4; number += 1) {
+            final int expected = number == 2 || number == 3 ? 2 : 1;
+            final Set<AccountID> usedNodes = ConcurrentHashMap.newKeySet();
+            int count = 0;
+
+            for (TransactionBody body : submitted) {
+                if (body.getConsensusSubmitMessage().getChunkInfo().getNumber() == number) {
+                    usedNodes.add(body.getNodeAccountID());
+                    count += 1;
+                }
+            }
+
+            assertEquals(expected, count);
+            assertEquals(expected, usedNodes.size());
+        }
+    }
+
+    @Test
+    @DisplayName("a chunk failing precheck stops the submission")
+    void failsOnPrecheck() {
+        precheck = (body, attempt) -> body.getConsensusSubmitMessage().getChunkInfo().getNumber() == 2
+            ? ResponseCodeEnum.INVALID_TOPIC_ID
+            : ResponseCodeEnum.OK;
+
+        final ExecutionException e = assertThrows(ExecutionException.class,
+            () -> executeAllAsync(message(10), 1).get(10, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof HederaPrecheckStatusException);
+        assertEquals(Status.InvalidTopicId, ((HederaPrecheckStatusException) e.getCause()).status);
+
+        // with a window of 1 nothing was sent after the failed chunk
+        assertEquals(2, submitted.size());
+    }
+
+    private CompletableFuture<List<TransactionId>> executeAllAsync(byte[] message, int window) {
+        final CompletableFuture<List<TransactionId>> future = new CompletableFuture<>();
+
+        new ConsensusMessageSubmitTransaction()
+            .setTopicId(new ConsensusTopicId(1000))
+            .setMessage(message)
+            .executeAllAsync(client, window, future::complete,
+                (HederaThrowable error) -> future.completeExceptionally((Throwable) error));
+
+        return future;
+    }
+
+    private static byte[] message(int chunks) {
+        final byte[] message = new byte[ConsensusMessageSubmitTransaction.CHUNK_SIZE * chunks];
+
+        for (int i = 0; i < message.length; i += 1) {
+            message[i] = (byte) i;
+        }
+
+        return message;
+    }
+
+    @Test
+    @DisplayName("a compressed message is split into fewer chunks")
+    void compressesBeforeChunking() throws Exception {
+        final ByteString message = MessageCompressionTest.json(400);
+
+        assertTrue(message.size() > ConsensusMessageSubmitTransaction.CHUNK_SIZE * 7);
+
+        final CompletableFuture<List<TransactionId>> future = new CompletableFuture<>();
+
+        new ConsensusMessageSubmitTransaction()
+            .setTopicId(new ConsensusTopicId(1000))
+            .setMessage(message.toByteArray())
+            .setCompressor(new DeflateCompressor())
+            .executeAllAsync(client, future::complete,
+                (HederaThrowable error) -> future.completeExceptionally((Throwable) error));
+
+        assertEquals(1, future.get(10, TimeUnit.SECONDS).size());
+        assertEquals(message, MessageCompression.decompress(submitted.get(0).getConsensusSubmitMessage().getMessage()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageCompressionTest {
+    private static final MessageCompressor DEFLATE = new DeflateCompressor();
+
+    @Test
+    @DisplayName("compressible messages survive a round trip")
+    void roundTrip() throws IOException {
+        final ByteString message = json(200);
+        final ByteString compressed = MessageCompression.compress(message, DEFLATE);
+
+        assertTrue(MessageCompression.isCompressed(compressed));
+        assertTrue(compressed.size() * 5 < message.size(), "compressed to " + compressed.size());
+        assertEquals(message, MessageCompression.decompress(compressed));
+        assertEquals(message, MessageCompression.decompressIfCompressed(compressed));
+
+        // the pooled deflaters and inflaters are reset between messages
+        assertEquals(json(3), MessageCompression.decompress(MessageCompression.compress(json(3), DEFLATE)));
+    }
+
+    @Test
+    @DisplayName("messages which don't get smaller are left alone")
+    void incompressible() {
+        final byte[] random = new byte[1024];
+        new Random(1).nextBytes(random);
+
+        final ByteString message = ByteString.copyFrom(random);
+
+        assertSame(message, MessageCompression.compress(message, DEFLATE));
+        assertFalse(MessageCompression.isCompressed(ByteString.copyFromUtf8("{\"event\": 1}")));
+    }
+
+    @Test
+    @DisplayName("malformed, unknown and oversized messages are rejected")
+    void rejectsBadMessages() {
+        final ByteString compressed = MessageCompression.compress(json(200), DEFLATE);
+
+        // truncated
+        assertThrows(IOException.class,
+            () -> MessageCompression.decompress(compressed.substring(0, compressed.size() - 10)));
+
+        // unknown codec
+        final ByteString unknown = ByteString.copyFrom(new byte[]{ (byte) 0xFE, 'Z', 15, 1, 0 });
+        assertThrows(IOException.class, () -> MessageCompression.decompress(unknown));
+        assertSame(unknown, MessageCompression.decompressIfCompressed(unknown));
+
+        // claims to expand to 1 GiB
+        final ByteString bomb = ByteString.copyFrom(new byte[]{ (byte) 0xFE, 'Z', 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 4, 0 });
+        assertThrows(IOException.class, () -> MessageCompression.decompress(bomb));
+    }
+
+    static ByteString json(int events) {
+        final StringBuilder json = new StringBuilder("[");
+
+        for (int i = 0; i < events; i += 1) {
+            json.append("{\"event\": \"transfer\", \"id\": ").append(i)
+                .append(", \"from\": \"0.0.1001\", \"to\": \"0.0.1002\", \"amount\": 100},");
+        }
+
+        return ByteString.copyFromUtf8(json.append("]").toString());
+    }
+}
@@ -0,0 +1,60 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageEnvelopeTest {
+    @Test
+    @DisplayName("records survive a round trip")
+    void roundTrip() {
+        final List<ByteString> records = new ArrayList<>();
+
+        records.add(ByteString.copyFromUtf8("first"));
+        records.add(ByteString.EMPTY);
+        // long enough for a two-byte length
+        records.add(ByteString.copyFrom(new byte[300]));
+
+        final ByteString envelope = MessageEnvelope.pack(records);
+
+        assertTrue(MessageEnvelope.isEnvelope(envelope));
+        assertEquals(MessageEnvelope.sizeOf(3, 1 + 5 + 1 + 2 + 300), envelope.size());
+        assertEquals(records, MessageEnvelope.unpack(envelope));
+        assertEquals(Collections.emptyList(), MessageEnvelope.unpack(MessageEnvelope.pack(Collections.emptyList())));
+    }
+
+    @Test
+    @DisplayName("plain messages are not envelopes")
+    void plainMessages() {
+        assertFalse(MessageEnvelope.isEnvelope(ByteString.copyFromUtf8("{\"event\": 1}")));
+        assertFalse(MessageEnvelope.isEnvelope(ByteString.EMPTY));
+        assertThrows(IllegalArgumentException.class, () -> MessageEnvelope.unpack(ByteString.copyFromUtf8("hello")));
+    }
+
+    @Test
+    @DisplayName("malformed envelopes are rejected")
+    void malformed() {
+        final ByteString envelope = MessageEnvelope.pack(Arrays.asList(
+            ByteString.copyFromUtf8("first"),
+            ByteString.copyFromUtf8("second")));
+
+        // truncated in the middle of the last record
+        assertThrows(IllegalArgumentException.class,
+            () -> MessageEnvelope.unpack(envelope.substring(0, envelope.size() - 1)));
+
+        // trailing bytes
+        assertThrows(IllegalArgumentException.class,
+            () -> MessageEnvelope.unpack(envelope.concat(ByteString.copyFromUtf8("x"))));
+    }
+}
@@ -0,0 +1,290 @@
+package com.hedera.hashgraph.sdk.consensus;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.proto.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.proto.Query;
+import com.hedera.hashgraph.proto.Response;
+import com.hedera.hashgraph.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.proto.TopicID;
+import com.hedera.hashgraph.proto.Transaction;
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.proto.TransactionID;
+import com.hedera.hashgraph.proto.TransactionReceipt;
+import com.hedera.hashgraph.proto.TransactionResponse;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicPublisherTest {
+    private static final int MAX_IN_FLIGHT = 8;
+
+    // the next sequence number of each topic
+    private final Map<TopicID, AtomicInteger> sequenceNumbers = new ConcurrentHashMap<>();
+
+    // the sequence number assigned to each transaction, and how often its receipt was polled
+    private final Map<TransactionID, Long> assigned = new ConcurrentHashMap<>();
+
+    private final Map<TransactionID, AtomicInteger> polls = new ConcurrentHashMap<>();
+
+    // the message of every submission, in the order they arrived
+    private final List<ByteString> messages = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+
+    // submissions are held in precheck until this is released
+    private volatile CountDownLatch precheck = new CountDownLatch(0);
+
+    private Server server;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final String name = InProcessServerBuilder.generateName();
+
+        server = InProcessServerBuilder.forName(name)
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void submitMessage(Transaction request, StreamObserver<TransactionResponse> observer) {
+                    final TransactionBody body;
+
+                    try {
+                        precheck.await();
+                        body = TransactionBody.parseFrom(request.getBodyBytes());
+                    } catch (InterruptedException | InvalidProtocolBufferException e) {
+                        observer.onError(e);
+                        return;
+                    }
+
+                    final TopicID topicId = body.getConsensusSubmitMessage().getTopicID();
+                    final long sequenceNumber = sequenceNumbers
+                        .computeIfAbsent(topicId, id -> new AtomicInteger())
+                        .incrementAndGet();
+
+                    messages.add(body.getConsensusSubmitMessage().getMessage());
+                    assigned.put(body.getTransactionID(), sequenceNumber);
+                    polls.put(body.getTransactionID(), new AtomicInteger());
+                    maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                    observer.onNext(TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                        .build());
+                    observer.onCompleted();
+                }
+            })
+            .addService(new CryptoServiceGrpc.CryptoServiceImplBase() {
+                @Override
+                public void getTransactionReceipts(Query request, StreamObserver<Response> observer) {
+                    final TransactionID transactionId = request.getTransactionGetReceipt().getTransactionID();
+                    final TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder();
+
+                    // the first poll is too early
+                    if (polls.get(transactionId).getAndIncrement() == 0) {
+                        receipt.setStatus(ResponseCodeEnum.UNKNOWN);
+                    } else {
+                        inFlight.decrementAndGet();
+                        receipt.setStatus(ResponseCodeEnum.SUCCESS)
+                            .setTopicSequenceNumber(assigned.get(transactionId));
+                    }
+
+                    observer.onNext(Response.newBuilder()
+                        .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder().setReceipt(receipt))
+                        .build());
+                    observer.onCompleted();
+                }
+            })
+            .build()
+            .start();
+
+        final Map<AccountId, String> nodes = new HashMap<>();
+        nodes.put(new AccountId(3), name);
+        nodes.put(new AccountId(4), name);
+
+        client = new Client(nodes, address -> InProcessChannelBuilder.forName(address).build())
+            .setOperator(new AccountId(2), Ed25519PrivateKey.generate());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("messages are published in order with a bounded window")
+    void publishesInOrder() throws Exception {
+        final List<ConsensusTopicId> topics = new ArrayList<>();
+        final Map<ConsensusTopicId, List<CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt>>> futures = new HashMap<>();
+
+        for (int topic = 1; topic <= 3; topic += 1) {
+            topics.add(new ConsensusTopicId(topic));
+            futures.put(new ConsensusTopicId(topic), new ArrayList<>());
+        }
+
+        try (TopicPublisher publisher = new TopicPublisher(client)
+            .setMaxInFlight(MAX_IN_FLIGHT)
+            .setMaxQueueSize(16)
+            .setPreserveOrder(true)
+            .setReceiptPollInterval(Duration.ofMillis(5)))
+        {
+            for (int i = 0; i < 90; i += 1) {
+                final ConsensusTopicId topicId = topics.get(i % topics.size());
+                futures.get(topicId).add(publisher.publish(topicId, "message " + i));
+            }
+        }
+
+        for (List<CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt>> topicFutures : futures.values()) {
+            for (int i = 0; i < topicFutures.size(); i += 1) {
+                assertEquals(i + 1, topicFutures.get(i).get(10, TimeUnit.SECONDS).getConsensusTopicSequenceNumber());
+            }
+        }
+
+        assertTrue(maxObservedInFlight.get() <= MAX_IN_FLIGHT, "in flight: " + maxObservedInFlight.get());
+    }
+
+    @Test
+    @DisplayName("messages still in precheck when the publisher is closed are confirmed")
+    void confirmsMessagesInPrecheckAfterClose() throws Exception {
+        final List<CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt>> futures = new ArrayList<>();
+
+        precheck = new CountDownLatch(1);
+
+        try (TopicPublisher publisher = new TopicPublisher(client)
+            .setReceiptPollInterval(Duration.ofMillis(5)))
+        {
+            for (int i = 0; i < 4; i += 1) {
+                futures.add(publisher.publish(new ConsensusTopicId(1), "message " + i));
+            }
+        }
+
+        // long enough for the dispatcher to stop and the receipt poller to run several rounds
+        Thread.sleep(500);
+        precheck.countDown();
+
+        for (CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(4, messages.size());
+    }
+
+    @Test
+    @DisplayName("batcher packs records into envelopes of at most the batch size")
+    void batchesRecords() throws Exception {
+        final ConsensusTopicId topicId = new ConsensusTopicId(1);
+        final List<ByteString> records = new ArrayList<>();
+        final List<CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt>> futures = new ArrayList<>();
+
+        try (TopicPublisher publisher = new TopicPublisher(client)
+            .setPreserveOrder(true)
+            .setReceiptPollInterval(Duration.ofMillis(5)))
+        {
+            try (MessageBatcher batcher = new MessageBatcher(publisher)
+                .setMaxBatchSize(1024)
+                .setLinger(Duration.ofSeconds(10)))
+            {
+                for (int i = 0; i < 50; i += 1) {
+                    final String record = String.format("record %03d %0100d", i, 0);
+
+                    records.add(ByteString.copyFromUtf8(record));
+                    futures.add(batcher.add(topicId, record));
+                }
+            }
+        }
+
+        for (CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // 9 records of 112 bytes fit in 1024 bytes, with the envelope
+        assertEquals(6, messages.size());
+
+        final List<ByteString> unpacked = new ArrayList<>();
+
+        for (ByteString message : messages) {
+            assertTrue(message.size() <= 1024);
+            unpacked.addAll(MessageEnvelope.unpack(message));
+        }
+
+        assertEquals(records, unpacked);
+    }
+
+    @Test
+    @DisplayName("batcher publishes a batch once it has lingered")
+    void batcherLingers() throws Exception {
+        try (TopicPublisher publisher = new TopicPublisher(client)
+            .setReceiptPollInterval(Duration.ofMillis(5)))
+        {
+            final MessageBatcher batcher = new MessageBatcher(publisher)
+                .setLinger(Duration.ofMillis(10));
+
+            final CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt> first = batcher.add(new ConsensusTopicId(1), "first");
+            final CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt> second = batcher.add(new ConsensusTopicId(1), "second");
+
+            // without closing the batcher
+            assertEquals(1, first.get(10, TimeUnit.SECONDS).getConsensusTopicSequenceNumber());
+            assertEquals(1, second.get(10, TimeUnit.SECONDS).getConsensusTopicSequenceNumber());
+            assertEquals(1, messages.size());
+
+            batcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("lingering batches wait for room in a full publisher")
+    void batcherLingersWhileFull() throws Exception {
+        final List<CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt>> futures = new ArrayList<>();
+
+        try (TopicPublisher publisher = new TopicPublisher(client)
+            .setMaxQueueSize(1)
+            .setMaxInFlight(1)
+            .setReceiptPollInterval(Duration.ofMillis(5)))
+        {
+            final MessageBatcher batcher = new MessageBatcher(publisher)
+                .setLinger(Duration.ofMillis(1));
+
+            // more topics than fit in the publisher, so the linger thread finds it full
+            for (int topic = 1; topic <= 20; topic += 1) {
+                futures.add(batcher.add(new ConsensusTopicId(topic), "record " + topic));
+            }
+
+            for (CompletableFuture<com.hedera.hashgraph.sdk.TransactionReceipt> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(20, messages.size());
+
+            batcher.close();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.ContractLoginfo;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractAbiTest {
+    private static final String ADDRESS = "00112233445566778899aabbccddeeff00112233";
+
+    private static final String OTHER_ADDRESS = "ffeeddccbbaa99887766554433221100ffeeddcc";
+
+    private static final String ORDER_PARAMS = ""
+        + "{\"name\": \"order\", \"type\": \"tuple\", \"components\": ["
+        + " {\"name\": \"id\", \"type\": \"uint64\"}, {\"name\": \"memo\", \"type\": \"string\"}]},"
+        + "{\"name\": \"ids\", \"type\": \"uint32[]\"},"
+        + "{\"name\": \"pairs\", \"type\": \"int8[2][]\"}";
+
+    private static final String ABI_JSON = "{\"abi\": ["
+        + "{\"type\": \"constructor\", \"inputs\": [{\"name\": \"supply\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"transfer\", \"stateMutability\": \"nonpayable\","
+        + " \"inputs\": [{\"name\": \"to\", \"type\": \"address\"}, {\"name\": \"amount\", \"type\": \"uint256\"}],"
+        + " \"outputs\": [{\"name\": \"\", \"type\": \"bool\"}]},"
+        + "{\"type\": \"function\", \"name\": \"balanceOf\", \"constant\": true,"
+        + " \"inputs\": [{\"name\": \"owner\", \"type\": \"address\"}],"
+        + " \"outputs\": [{\"name\": \"balance\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"mint\", \"inputs\": [{\"name\": \"amount\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"mint\", \"inputs\": ["
+        + " {\"name\": \"to\", \"type\": \"address\"}, {\"name\": \"amount\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"echo\", \"stateMutability\": \"pure\","
+        + " \"inputs\": [" + ORDER_PARAMS + "],"
+        + " \"outputs\": [" + ORDER_PARAMS + "]},"
+        + "{\"type\": \"event\", \"name\": \"Transfer\", \"anonymous\": false, \"inputs\": ["
+        + " {\"name\": \"from\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"to\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\", \"indexed\": false}]},"
+        + "{\"type\": \"event\", \"name\": \"Note\", \"inputs\": ["
+        + " {\"name\": \"topic\", \"type\": \"string\", \"indexed\": true},"
+        + " {\"name\": \"text\", \"type\": \"string\", \"indexed\": false}]},"
+        + "{\"type\": \"fallback\"}"
+        + "]}";
+
+    private static final ContractAbi abi = ContractAbi.fromJson(ABI_JSON);
+
+    @Test
+    @DisplayName("loads functions, the constructor and events")
+    void loadsAbi() {
+        assertEquals(5, abi.getFunctions().size());
+        assertEquals(2, abi.getEvents().size());
+
+        final AbiFunction transfer = abi.getFunction("transfer");
+        assertEquals("transfer(address,uint256)", transfer.getSignature());
+        assertEquals("a9059cbb", Hex.toHexString(transfer.getSelector()));
+        assertEquals(Collections.singletonList("bool"), transfer.getOutputTypes());
+        assertFalse(transfer.isConstant());
+        assertTrue(abi.getFunction("balanceOf").isConstant());
+        assertTrue(abi.getFunction("echo").isConstant());
+
+        assertEquals("echo((uint64,string),uint32[],int8[2][])", abi.getFunction("echo").getSignature());
+
+        final AbiFunction constructor = abi.getConstructor();
+        assertNotNull(constructor);
+        assertEquals(Collections.singletonList("uint256"), constructor.getInputTypes());
+
+        final AbiEvent event = abi.getEvent("Transfer");
+        assertEquals("Transfer(address,address,uint256)", event.getSignature());
+        assertEquals(
+            "ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef",
+            Hex.toHexString(event.getTopic()));
+    }
+
+    @Test
+    @DisplayName("requires a signature for overloaded functions")
+    void resolvesOverloads() {
+        final IllegalArgumentException e = assertThrows(
+            IllegalArgumentException.class,
+            () -> abi.getFunction("mint"));
+
+        assertEquals(
+            "function mint is overloaded; use one of its signatures: mint(uint256), mint(address,uint256)",
+            e.getMessage());
+
+        assertEquals("mint(address,uint256)", abi.getFunction("mint(address,uint256)").getSignature());
+        assertThrows(IllegalArgumentException.class, () -> abi.getFunction("burn"));
+        assertThrows(IllegalArgumentException.class, () -> abi.getFunction("mint(uint8)"));
+    }
+
+    @Test
+    @DisplayName("encodes calls the same as ContractFunctionParams")
+    void encodesLikeParams() {
+        final AbiFunction transfer = abi.getFunction("transfer");
+
+        final ContractFunctionParams params = new ContractFunctionParams()
+            .addAddress(ADDRESS)
+            .addUint256(BigInteger.valueOf(100));
+
+        final byte[] expected = params.toBytes("transfer").toByteArray();
+
+        assertArrayEquals(expected, transfer.encodeCall(ADDRESS, BigInteger.valueOf(100)));
+        assertArrayEquals(expected, transfer.encodeCall(ADDRESS, 100L));
+        assertArrayEquals(expected, transfer.encodeCall(Hex.decode(ADDRESS), 100));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+        assertEquals(expected.length, transfer.encodeCallTo(buffer, ADDRESS, 100));
+        assertArrayEquals(expected, buffer.array());
+
+        // the constructor has no selector
+        assertArrayEquals(
+            new ContractFunctionParams().addUint256(BigInteger.TEN).toBytes(null).toByteArray(),
+            abi.getConstructor().encodeCall(BigInteger.TEN));
+    }
+
+    @Test
+    @DisplayName("decodes tuples and arrays it encodes")
+    void roundTripsTuples() {
+        final AbiFunction echo = abi.getFunction("echo");
+
+        final List<Object> order = Arrays.asList(BigInteger.valueOf(42), "hello, world");
+        final List<Object> ids = Arrays.asList(1L, 2L, 0xffff_ffffL);
+        final List<Object> pairs = Arrays.asList(Arrays.asList(-1L, 1L), Arrays.asList(127L, -128L));
+
+        final byte[] call = echo.encodeCall(order, ids, pairs);
+        final List<Object> decoded = echo.decodeResult(result(call));
+
+        assertEquals(Arrays.asList(order, ids, pairs), decoded);
+        assertEquals(ids, echo.decodeResult(result(call), "ids"));
+        assertEquals(pairs, echo.decodeResult(result(call), 2));
+
+        // tuples may also be given as maps by component name and arrays as Object[]
+        final Map<String, Object> orderMap = new HashMap<>();
+        orderMap.put("id", 42);
+        orderMap.put("memo", "hello, world");
+
+        assertArrayEquals(call, echo.encodeCall(orderMap, new Object[]{1, 2, 0xffff_ffffL}, pairs));
+    }
+
+    @Test
+    @DisplayName("encodes nested dynamic values like solc")
+    void encodesKnownAnswers() {
+        final ContractAbi nested = ContractAbi.fromJson("["
+            + "{\"type\": \"function\", \"name\": \"g\", \"inputs\": ["
+            + " {\"name\": \"a\", \"type\": \"uint256[][]\"}, {\"name\": \"b\", \"type\": \"string[]\"}]},"
+            + "{\"type\": \"function\", \"name\": \"submit\", \"inputs\": ["
+            + " {\"name\": \"orders\", \"type\": \"tuple[]\", \"components\": ["
+            + "  {\"name\": \"id\", \"type\": \"uint256\"}, {\"name\": \"memo\", \"type\": \"string\"}]}]}"
+            + "]");
+
+        // the example of the Solidity ABI specification
+        final String g = "2289b18c"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "0000000000000000000000000000000000000000000000000000000000000140"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "00000000000000000000000000000000000000000000000000000000000000a0"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "0000000000000000000000000000000000000000000000000000000000000060"
+            + "00000000000000000000000000000000000000000000000000000000000000a0"
+            + "00000000000000000000000000000000000000000000000000000000000000e0"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "6f6e650000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "74776f0000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000005"
+            + "7468726565000000000000000000000000000000000000000000000000000000";
+
+        assertEquals(g, Hex.toHexString(nested.getFunction("g").encodeCall(
+            Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)),
+            Arrays.asList("one", "two", "three"))));
+
+        // [(1, "one"), (2, "two")]: the offsets of the tuples are relative to the start of the
+        // array's contents, after its length, and those of the strings to the start of each tuple
+        final AbiFunction submit = nested.getFunction("submit");
+        final String orders = ""
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "00000000000000000000000000000000000000000000000000000000000000c0"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "6f6e650000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "74776f0000000000000000000000000000000000000000000000000000000000";
+
+        assertEquals("submit((uint256,string)[])", submit.getSignature());
+        assertEquals(Hex.toHexString(submit.getSelector()) + orders, Hex.toHexString(submit.encodeCall(
+            Arrays.asList(Arrays.asList(1, "one"), Arrays.asList(2, "two")))));
+    }
+
+    @Test
+    @DisplayName("rejects arguments which don't match the inputs")
+    void rejectsBadArguments() {
+        final AbiFunction transfer = abi.getFunction("transfer");
+        final AbiFunction echo = abi.getFunction("echo");
+
+        // wrong number of arguments
+        assertThrows(IllegalArgumentException.class, () -> transfer.encodeCall(ADDRESS));
+
+        // wrong types
+        assertThrows(IllegalArgumentException.class, () -> transfer.encodeCall(100, ADDRESS));
+        assertThrows(IllegalArgumentException.class, () -> transfer.encodeCall("0011", 100));
+
+        // out of range
+        assertThrows(IllegalArgumentException.class, () -> transfer.encodeCall(ADDRESS, -1));
+        assertThrows(IllegalArgumentException.class, () -> echo.encodeCall(
+            Arrays.asList(1, ""), Collections.singletonList(1L << 32), Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> echo.encodeCall(
+            Arrays.asList(1, ""), Collections.emptyList(), Collections.singletonList(Arrays.asList(128, 0))));
+
+        // fixed arrays must have the declared length
+        assertThrows(IllegalArgumentException.class, () -> echo.encodeCall(
+            Arrays.asList(1, ""), Collections.emptyList(), Collections.singletonList(Arrays.asList(1, 2, 3))));
+    }
+
+    @Test
+    @DisplayName("decodes event logs")
+    void decodesEvents() {
+        final AbiEvent transfer = abi.getEvent("Transfer");
+
+        final ContractLogInfo log = new ContractLogInfo(ContractLoginfo.newBuilder()
+            .addTopic(ByteString.copyFrom(transfer.getTopic()))
+            .addTopic(new ContractFunctionParams().addAddress(ADDRESS).toBytes(null))
+            .addTopic(new ContractFunctionParams().addAddress(OTHER_ADDRESS).toBytes(null))
+            .setData(new ContractFunctionParams().addUint256(BigInteger.valueOf(500)).toBytes(null)));
+
+        assertTrue(transfer.matches(log));
+        assertFalse(abi.getEvent("Note").matches(log));
+
+        assertEquals(Arrays.asList(ADDRESS, OTHER_ADDRESS, BigInteger.valueOf(500)), transfer.decode(log));
+        assertEquals(OTHER_ADDRESS, transfer.decode(log, "to"));
+        assertThrows(IllegalArgumentException.class, () -> abi.getEvent("Note").decode(log));
+    }
+
+    @Test
+    @DisplayName("decodes indexed dynamic values as their hash")
+    void decodesIndexedHash() {
+        final AbiEvent note = abi.getEvent("Note");
+        final byte[] hash = new byte[32];
+        Arrays.fill(hash, (byte) 0xab);
+
+        final ContractLogInfo log = new ContractLogInfo(ContractLoginfo.newBuilder()
+            .addTopic(ByteString.copyFrom(note.getTopic()))
+            .addTopic(ByteString.copyFrom(hash))
+            .setData(new ContractFunctionParams().addString("hi").toBytes(null)));
+
+        final List<Object> values = note.decode(log);
+
+        assertArrayEquals(hash, (byte[]) values.get(0));
+        assertEquals("hi", values.get(1));
+    }
+
+    @Test
+    @DisplayName("rejects JSON which isn't an ABI")
+    void rejectsInvalidJson() {
+        assertThrows(IllegalArgumentException.class, () -> ContractAbi.fromJson("{\"abi\": 1}"));
+        assertThrows(IllegalArgumentException.class, () -> ContractAbi.fromJson("[{\"type\": "));
+        assertThrows(IllegalArgumentException.class, () -> ContractAbi.fromJson(
+            "[{\"type\": \"function\", \"name\": \"f\", \"inputs\": [{\"type\": \"uint7\"}]}]"));
+    }
+
+    private static ContractFunctionResult result(byte[] call) {
+        // drop the selector; the outputs have the same types as the inputs
+        return new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(ByteString.copyFrom(
+                    call, ContractFunctionParams.SELECTOR_LEN, call.length - ContractFunctionParams.SELECTOR_LEN)));
+    }
+}
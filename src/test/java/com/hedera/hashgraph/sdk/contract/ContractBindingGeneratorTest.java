@@ -0,0 +1,216 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.SingleTransactionBuilder;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.file.FileId;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractBindingGeneratorTest {
+    private static final String ADDRESS = "00112233445566778899aabbccddeeff00112233";
+
+    private static final String RESERVES = "["
+        + "{\"name\": \"reserve0\", \"type\": \"uint112\"},"
+        + "{\"name\": \"pair\", \"type\": \"int16[2]\"},"
+        + "{\"name\": \"memo\", \"type\": \"string\"},"
+        + "{\"name\": \"timestamp\", \"type\": \"uint32\"}"
+        + "]";
+
+    private static final String ABI_JSON = "["
+        + "{\"type\": \"constructor\", \"inputs\": [{\"name\": \"supply\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"transfer\", \"inputs\": ["
+        + " {\"name\": \"to\", \"type\": \"address\"}, {\"name\": \"amount\", \"type\": \"uint256\"}],"
+        + " \"outputs\": [{\"name\": \"\", \"type\": \"bool\"}]},"
+        + "{\"type\": \"function\", \"name\": \"balanceOf\", \"stateMutability\": \"view\","
+        + " \"inputs\": [{\"name\": \"owner\", \"type\": \"address\"}],"
+        + " \"outputs\": [{\"name\": \"balance\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"getReserves\", \"stateMutability\": \"view\", \"inputs\": [],"
+        + " \"outputs\": " + RESERVES + "},"
+        + "{\"type\": \"function\", \"name\": \"submit\", \"inputs\": ["
+        + " {\"name\": \"ids\", \"type\": \"uint64[2]\"},"
+        + " {\"name\": \"new\", \"type\": \"uint16\"}]},"
+        + "{\"type\": \"function\", \"name\": \"mint\", \"inputs\": [{\"name\": \"amount\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"function\", \"name\": \"mint\", \"inputs\": ["
+        + " {\"name\": \"to\", \"type\": \"address\"}, {\"name\": \"amount\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"event\", \"name\": \"Transfer\", \"inputs\": ["
+        + " {\"name\": \"from\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"to\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\"}]}"
+        + "]";
+
+    private static final ContractId CONTRACT_ID = new ContractId(0, 0, 1234);
+
+    @Test
+    @DisplayName("generated bindings encode and decode like the SDK")
+    void generatedBindings(@TempDir Path dir) throws Exception {
+        final String source = ContractBindingGenerator.generate(ABI_JSON, "com.example.token", "TokenBinding");
+        final Path sourceFile = dir.resolve("com/example/token/TokenBinding.java");
+
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+        compile(dir, sourceFile.toString());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+            final Class<?> bindings = loader.loadClass("com.example.token.TokenBinding");
+            final Object token = bindings.getConstructor(ContractId.class).newInstance(CONTRACT_ID);
+
+            // typed functions encode the same as `ContractFunctionParams`
+            final Object transfer = bindings.getMethod("transfer", String.class, BigInteger.class)
+                .invoke(token, ADDRESS, BigInteger.TEN);
+
+            assertEquals(
+                body(new ContractExecuteTransaction()
+                    .setContractId(CONTRACT_ID)
+                    .setFunction("transfer", new ContractFunctionParams()
+                        .addAddress(ADDRESS)
+                        .addUint256(BigInteger.TEN))),
+                body((ContractExecuteTransaction) transfer));
+
+            assertTrue(bindings.getMethod("balanceOf", String.class).invoke(token, ADDRESS)
+                instanceof ContractCallQuery);
+
+            // overloads are kept apart by their parameter types
+            bindings.getMethod("mint", BigInteger.class);
+            bindings.getMethod("mint", String.class, BigInteger.class);
+
+            // functions with types `ContractFunctionParams` doesn't support go through the ABI
+            final Object submit = bindings.getMethod("submit", List.class, long.class)
+                .invoke(token, Arrays.asList(1, 2), 7L);
+
+            assertEquals(
+                body(new ContractExecuteTransaction()
+                    .setContractId(CONTRACT_ID)
+                    .setFunction(ContractAbi.fromJson(ABI_JSON).getFunction("submit"), Arrays.asList(1, 2), 7)),
+                body((ContractExecuteTransaction) submit));
+
+            final Object deploy = bindings.getMethod("deploy", FileId.class, BigInteger.class)
+                .invoke(null, new FileId(0, 0, 5), BigInteger.ONE);
+
+            assertEquals(
+                body(new ContractCreateTransaction()
+                    .setBytecodeFileId(new FileId(0, 0, 5))
+                    .setConstructorParams(new ContractFunctionParams().addUint256(BigInteger.ONE))),
+                body((ContractCreateTransaction) deploy));
+
+            // outputs are decoded from the words they were found at
+            // encode the outputs as the arguments of a function with the same types
+            final byte[] encoded = ContractAbi.fromJson("[{\"name\": \"f\", \"inputs\": " + RESERVES + "}]")
+                .getFunction("f")
+                .encodeCall(BigInteger.valueOf(1000), Arrays.asList(200, -3), "hello", 0xffff_fff0L);
+
+            final ContractFunctionResult result = new ContractFunctionResult(
+                com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                    .setContractCallResult(ByteString.copyFrom(
+                        encoded, ContractFunctionParams.SELECTOR_LEN, encoded.length - ContractFunctionParams.SELECTOR_LEN)));
+
+            assertEquals(BigInteger.valueOf(1000), bindings.getMethod("decodeGetReservesReserve0", ContractFunctionResult.class)
+                .invoke(null, result));
+            assertEquals(Arrays.asList(200L, -3L), bindings.getMethod("decodeGetReservesPair", ContractFunctionResult.class)
+                .invoke(null, result));
+            assertEquals("hello", bindings.getMethod("decodeGetReservesMemo", ContractFunctionResult.class)
+                .invoke(null, result));
+            assertEquals(0xffff_fff0L, bindings.getMethod("decodeGetReservesTimestamp", ContractFunctionResult.class)
+                .invoke(null, result));
+
+            final AbiEvent event = (AbiEvent) bindings.getField("TRANSFER_EVENT").get(null);
+            assertEquals("Transfer(address,address,uint256)", event.getSignature());
+        }
+    }
+
+    @Test
+    @DisplayName("ABIs with tuples are rejected")
+    void rejectsTuples() {
+        final String tuple = "{\"name\": \"order\", \"type\": \"tuple\", \"components\": ["
+            + " {\"name\": \"id\", \"type\": \"uint64\"}, {\"name\": \"memo\", \"type\": \"string\"}]}";
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+            ContractBindingGenerator.generate("[{\"type\": \"function\", \"name\": \"submit\", \"inputs\": ["
+                + tuple + "]}]", "com.example", "Orders"));
+
+        assertEquals("submit((uint64,string)) takes or returns the tuple (uint64,string), which generated bindings "
+            + "don't support; call it through ContractAbi instead", e.getMessage());
+
+        // also as outputs, in arrays, and in constructors and events
+        for (String entry : Arrays.asList(
+            "{\"type\": \"function\", \"name\": \"get\", \"inputs\": [], \"outputs\": [" + tuple + "]}",
+            "{\"type\": \"function\", \"name\": \"submit\", \"inputs\": ["
+                + tuple.replace("\"tuple\"", "\"tuple[]\"") + "]}",
+            "{\"type\": \"constructor\", \"inputs\": [" + tuple + "]}",
+            "{\"type\": \"event\", \"name\": \"Submitted\", \"inputs\": [" + tuple + "]}"))
+        {
+            assertThrows(IllegalArgumentException.class,
+                () -> ContractBindingGenerator.generate("[" + entry + "]", "com.example", "Orders"));
+        }
+    }
+
+    @Test
+    @DisplayName("annotation processor generates bindings while compiling")
+    void annotationProcessor(@TempDir Path dir) throws Exception {
+        final Path sourceFile = dir.resolve("com/example/Token.java");
+
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(dir.resolve("com/example/Token.json"), ABI_JSON.getBytes(StandardCharsets.UTF_8));
+        Files.write(sourceFile, ("package com.example;\n"
+            + "@com.hedera.hashgraph.sdk.contract.ContractBinding(abi = \"Token.json\")\n"
+            + "interface Token {}\n").getBytes(StandardCharsets.UTF_8));
+
+        compile(dir, "-processor", ContractBindingProcessor.class.getName(),
+            "-sourcepath", dir.toString(), "-s", dir.toString(), sourceFile.toString());
+
+        assertTrue(Files.exists(dir.resolve("com/example/TokenBinding.java")));
+        assertTrue(Files.exists(dir.resolve("com/example/TokenBinding.class")));
+    }
+
+    private static void compile(Path outputDir, String... args) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final List<String> options = new ArrayList<>(Arrays.asList(
+            "-classpath", System.getProperty("java.class.path") + File.pathSeparator + classesDir(),
+            "-d", outputDir.toString(), "-proc:none"));
+
+        if (Arrays.asList(args).contains("-processor")) {
+            options.remove("-proc:none");
+        }
+
+        options.addAll(Arrays.asList(args));
+
+        assertEquals(0, compiler.run(null, null, null, options.toArray(new String[0])));
+    }
+
+    private static String classesDir() {
+        return ContractBindingGenerator.class.getProtectionDomain().getCodeSource().getLocation().getPath();
+    }
+
+    private static ByteString body(SingleTransactionBuilder<?> transaction) {
+        return transaction
+            .setNodeAccountId(new AccountId(3))
+            .setTransactionId(TransactionId.withValidStart(new AccountId(2), Instant.ofEpochSecond(1554158542)))
+            .setMaxTransactionFee(100_000)
+            .build(null)
+            .toProto()
+            .getBodyBytes();
+    }
+}
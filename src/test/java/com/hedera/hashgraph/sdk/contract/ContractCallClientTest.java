@@ -0,0 +1,180 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.proto.ContractCallLocalQuery;
+import com.hedera.hashgraph.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.Hbar;
+import com.hedera.hashgraph.sdk.SimulatedNetwork;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractCallClientTest {
+    private static final ContractId CONTRACT_ID = new ContractId(0, 0, 1234);
+
+    private static final ContractFunction BALANCE_OF = new ContractFunction("balanceOf", "uint256");
+
+    private SimulatedNetwork network;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        network = new SimulatedNetwork(3, 42)
+            .setLatency(Duration.ofMillis(20))
+            // the balance of an account is its number
+            .setContractCall(query -> query.getFunctionParameters()
+                .substring(ContractFunctionParams.SELECTOR_LEN));
+        client = network.newClient().setOperator(new AccountId(2), Ed25519PrivateKey.generate());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        network.close();
+    }
+
+    @Test
+    @DisplayName("identical calls share a request and its cached result")
+    void coalescesIdenticalCalls() throws Exception {
+        final ContractCallClient calls = new ContractCallClient(client);
+        final List<CompletableFuture<ContractFunctionResult>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 10; i += 1) {
+            futures.add(calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7)));
+        }
+
+        for (CompletableFuture<ContractFunctionResult> future : futures) {
+            assertEquals(BigInteger.valueOf(7), future.get(10, TimeUnit.SECONDS).getUint256(0));
+        }
+
+        assertEquals(1, network.getContractCallCount());
+
+        // cached
+        assertEquals(BigInteger.valueOf(7), calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7))
+            .get(10, TimeUnit.SECONDS).getUint256(0));
+        assertEquals(1, network.getContractCallCount());
+
+        // a different contract, gas or calldata is a different call
+        calls.call(new ContractId(0, 0, 1235), 30_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS);
+        calls.call(CONTRACT_ID, 40_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS);
+        calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(8)).get(10, TimeUnit.SECONDS);
+        assertEquals(4, network.getContractCallCount());
+
+        calls.clearCache();
+        calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS);
+        assertEquals(5, network.getContractCallCount());
+    }
+
+    @Test
+    @DisplayName("results expire after the TTL")
+    void expiresResults() throws Exception {
+        final ContractCallClient calls = new ContractCallClient(client)
+            .setCacheTtl(Duration.ofMillis(50))
+            .setQueryPayment(new Hbar(1));
+
+        calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, network.getContractCallCount());
+    }
+
+    @Test
+    @DisplayName("distinct calls run concurrently within the limit per node")
+    void limitsCallsPerNode() throws Exception {
+        final ContractCallClient calls = new ContractCallClient(client).setMaxCallsPerNode(2);
+        final List<CompletableFuture<ContractFunctionResult>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 30; i += 1) {
+            futures.add(calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(i)));
+        }
+
+        for (int i = 0; i < futures.size(); i += 1) {
+            assertEquals(BigInteger.valueOf(i), futures.get(i).get(10, TimeUnit.SECONDS).getUint256(0));
+        }
+
+        assertEquals(30, network.getContractCallCount());
+        assertTrue(network.getPeakCallsPerNode() <= 2, "peak of " + network.getPeakCallsPerNode());
+    }
+
+    @Test
+    @DisplayName("failed calls are not cached")
+    void doesNotCacheFailures() throws Exception {
+        network.setContractCall(query -> {
+            throw new IllegalStateException("reverted");
+        });
+
+        final ContractCallClient calls = new ContractCallClient(client);
+
+        assertThrows(ExecutionException.class,
+            () -> calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7)).get(10, TimeUnit.SECONDS));
+
+        network.setContractCall(query -> ByteString.copyFrom(new byte[32]));
+
+        assertEquals(BigInteger.ZERO, calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(7))
+            .get(10, TimeUnit.SECONDS).getUint256(0));
+    }
+
+    @Test
+    @DisplayName("calls are spread over the current nodes of the client")
+    void followsClientNodes() throws Exception {
+        final Set<AccountId> nodes = ConcurrentHashMap.newKeySet();
+
+        network.setContractCall(query -> {
+            nodes.add(new AccountId(paymentBody(query).getNodeAccountID()));
+            return ByteString.copyFrom(new byte[32]);
+        });
+
+        final Map<AccountId, String> allNodes = network.getNodes();
+        client.replaceNodes(Collections.singletonMap(new AccountId(3), allNodes.get(new AccountId(3))));
+
+        final ContractCallClient calls = new ContractCallClient(client).setQueryPayment(new Hbar(1));
+
+        calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(1)).get(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singleton(new AccountId(3)), nodes);
+
+        // nodes added to the client after the calls client was created
+        client.replaceNodes(allNodes);
+
+        for (int i = 2; i < 8; i += 1) {
+            calls.call(CONTRACT_ID, 30_000, BALANCE_OF, balanceOf(i)).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(allNodes.keySet(), nodes);
+    }
+
+    private static TransactionBody paymentBody(ContractCallLocalQuery query) {
+        try {
+            return TransactionBody.parseFrom(query.getHeader().getPayment().getBodyBytes());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ContractFunctionParams balanceOf(long account) {
+        return new ContractFunctionParams().addUint256(BigInteger.valueOf(account));
+    }
+}
@@ -74,4 +74,27 @@ class ContractCallQueryTest {
             query.toProto().toString()
         );
     }
+
+    @Test
+    @DisplayName("payment must be for the node the query is sent to")
+    void paymentForOtherNode() {
+        final ContractCallQuery query = new ContractCallQuery()
+            .setPaymentTransaction(
+                new CryptoTransferTransaction()
+                    .setTransactionId(TransactionId.withValidStart(new AccountId(2), Instant.ofEpochSecond(1559868457)))
+                    .setNodeAccountId(new AccountId(3))
+                    .addSender(new AccountId(2), 10000)
+                    .addRecipient(new AccountId(3), 10000)
+                    .setMaxTransactionFee(100_000).build(null)
+                    .sign(key))
+            .setContractId(new ContractId(0, 0, 0))
+            .setNodeAccountId(new AccountId(4));
+
+        assertEquals(
+            "query builder failed local validation:\n"
+                + "payment transaction is for node 0.0.3 but the query is sent to node 0.0.4",
+            assertThrows(IllegalStateException.class, query::validate).getMessage());
+
+        query.setNodeAccountId(new AccountId(3)).validate();
+    }
 }
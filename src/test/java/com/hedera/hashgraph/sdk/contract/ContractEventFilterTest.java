@@ -0,0 +1,154 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.ContractLoginfo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractEventFilterTest {
+    private static final String ALICE = "00112233445566778899aabbccddeeff00112233";
+
+    private static final String BOB = "ffeeddccbbaa99887766554433221100ffeeddcc";
+
+    private static final String CAROL = "0123456789abcdef0123456789abcdef01234567";
+
+    private static final ContractAbi abi = ContractAbi.fromJson("["
+        + "{\"type\": \"event\", \"name\": \"Transfer\", \"inputs\": ["
+        + " {\"name\": \"from\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"to\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\"}]},"
+        + "{\"type\": \"event\", \"name\": \"Note\", \"inputs\": ["
+        + " {\"name\": \"tag\", \"type\": \"string\", \"indexed\": true},"
+        + " {\"name\": \"text\", \"type\": \"string\"}]},"
+        + "{\"type\": \"event\", \"name\": \"Approval\", \"inputs\": ["
+        + " {\"name\": \"owner\", \"type\": \"address\", \"indexed\": true},"
+        + " {\"name\": \"value\", \"type\": \"uint256\"}]}"
+        + "]");
+
+    private static final AbiEvent transfer = abi.getEvent("Transfer");
+
+    private static final AbiEvent note = abi.getEvent("Note");
+
+    private static final AbiEvent approval = abi.getEvent("Approval");
+
+    @Test
+    @DisplayName("decodes only logs of the events added")
+    void decodesMatchingLogs() {
+        final ContractFunctionResult result = result(
+            log(transfer, new Object[]{ALICE, BOB}, BigInteger.valueOf(5)),
+            log(note, new Object[]{"tag"}, "hello"),
+            log(transfer, new Object[]{BOB, ALICE}, BigInteger.valueOf(7)));
+
+        final ContractEventFilter filter = new ContractEventFilter().addEvent(transfer);
+        assertTrue(filter.mightMatch(result));
+
+        final List<ContractEvent> events = filter.decode(result).collect(Collectors.toList());
+
+        assertEquals(2, events.size());
+        assertEquals(Arrays.asList(ALICE, BOB, BigInteger.valueOf(5)), events.get(0).getValues());
+        assertEquals(BigInteger.valueOf(7), events.get(1).getValue("value"));
+        assertEquals(transfer, events.get(1).event);
+        assertThrows(IllegalArgumentException.class, () -> events.get(0).getValue("amount"));
+    }
+
+    @Test
+    @DisplayName("filters on the values of indexed parameters")
+    void filtersIndexedValues() {
+        final ContractFunctionResult result = result(
+            log(transfer, new Object[]{ALICE, BOB}, BigInteger.valueOf(5)),
+            log(transfer, new Object[]{BOB, ALICE}, BigInteger.valueOf(7)),
+            log(note, new Object[]{"tag"}, "hello"));
+
+        final List<Object> toAlice = new ContractEventFilter()
+            .addEvent(transfer, null, ALICE)
+            .decode(result)
+            .map(e -> e.getValue("value"))
+            .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList((Object) BigInteger.valueOf(7)), toAlice);
+
+        // strings are matched by their hash
+        assertEquals(1, new ContractEventFilter().addEvent(note, "tag").decode(result).count());
+        assertEquals(0, new ContractEventFilter().addEvent(note, "other").decode(result).count());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContractEventFilter().addEvent(note, "tag", "extra"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContractEventFilter().addEvent(transfer, 5));
+    }
+
+    @Test
+    @DisplayName("skips results by their bloom without reading logs")
+    void skipsByBloom() {
+        final ContractFunctionResult result = result(
+            log(transfer, new Object[]{ALICE, BOB}, BigInteger.valueOf(5)));
+
+        assertFalse(new ContractEventFilter().addEvent(approval).mightMatch(result));
+        assertFalse(new ContractEventFilter().addEvent(transfer, CAROL).mightMatch(result));
+        assertTrue(new ContractEventFilter().addEvent(transfer, ALICE).mightMatch(result));
+        assertFalse(new ContractEventFilter().mightMatch(result));
+
+        // if the bloom excludes the event the logs are not checked, even if they would match
+        final ContractFunctionResult noBloom = new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .setBloom(ByteString.copyFrom(new byte[ContractEventFilter.BLOOM_LEN]))
+                .addLogInfo(log(transfer, new Object[]{ALICE, BOB}, BigInteger.valueOf(5))));
+
+        assertEquals(0, new ContractEventFilter().addEvent(transfer).decode(noBloom).count());
+
+        // a missing bloom can't exclude anything
+        final ContractFunctionResult emptyBloom = new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .addLogInfo(log(transfer, new Object[]{ALICE, BOB}, BigInteger.valueOf(5))));
+
+        assertEquals(1, new ContractEventFilter().addEvent(transfer).decode(emptyBloom).count());
+    }
+
+    private static ContractLoginfo log(AbiEvent event, Object[] indexedValues, Object data) {
+        final ContractLoginfo.Builder log = ContractLoginfo.newBuilder()
+            .addTopic(ByteString.copyFrom(event.topic()));
+
+        for (byte[] topic : event.indexedTopics(indexedValues)) {
+            log.addTopic(ByteString.copyFrom(topic));
+        }
+
+        // each event has a single non-indexed parameter
+        final ContractFunctionParams params = new ContractFunctionParams();
+
+        if (data instanceof String) {
+            params.addString((String) data);
+        } else {
+            params.addUint256((BigInteger) data);
+        }
+
+        return log.setData(params.toBytes(null)).build();
+    }
+
+    private static ContractFunctionResult result(ContractLoginfo... logs) {
+        final byte[] bloom = new byte[ContractEventFilter.BLOOM_LEN];
+
+        for (ContractLoginfo log : logs) {
+            for (ByteString topic : log.getTopicList()) {
+                for (int bit : ContractEventFilter.bloomBits(topic.toByteArray())) {
+                    bloom[ContractEventFilter.BLOOM_LEN - 1 - (bit >>> 3)] |= 1 << (bit & 7);
+                }
+            }
+        }
+
+        return new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .setBloom(ByteString.copyFrom(bloom))
+                .addAllLogInfo(Arrays.asList(logs)));
+    }
+}
@@ -9,9 +9,13 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -203,6 +207,93 @@ class ContractFunctionParamsTest {
         );
     }
 
+    @Test
+    @DisplayName("encodeTo() writes the same bytes as toBytes() into a reused buffer")
+    void encodesToReusedBuffer() {
+        final ContractFunctionParams params = new ContractFunctionParams()
+            .addStringArray(new String[]{"hello", ",", "world!"})
+            .addInt64(-1)
+            .addBytes32(new byte[0])
+            .addAddress("00112233445566778899aabbccddeeff00112233")
+            .addUint256Array(new BigInteger[]{BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE)});
+
+        final byte[] expected = params.toBytes("foo").toByteArray();
+
+        assertEquals(expected.length, params.encodedSize("foo"));
+        assertEquals(expected.length - 4, params.encodedSize(null));
+
+        // padding must be written rather than assumed to be zero
+        final ByteBuffer buffer = ByteBuffer.allocate(expected.length + 8);
+        Arrays.fill(buffer.array(), (byte) 0xAB);
+        buffer.position(8);
+
+        assertEquals(expected.length, params.encodeTo("foo", buffer));
+        assertEquals(buffer.capacity(), buffer.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 8, buffer.capacity()));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+        params.encodeTo("foo", direct);
+        direct.flip();
+
+        assertEquals(ByteString.copyFrom(expected), ByteString.copyFrom(direct));
+
+        assertThrows(BufferOverflowException.class,
+            () -> params.encodeTo("foo", ByteBuffer.allocate(expected.length - 1)));
+    }
+
+    @Test
+    @DisplayName("large arrays encode with the correct offsets")
+    void largeArrayEncoding() {
+        final BigInteger[] values = new BigInteger[1000];
+
+        for (int i = 0; i < values.length; i += 1) {
+            values[i] = BigInteger.valueOf(i).shiftLeft(200);
+        }
+
+        final byte[][] elements = new byte[1000][];
+
+        for (int i = 0; i < elements.length; i += 1) {
+            elements[i] = new byte[i % 40];
+            Arrays.fill(elements[i], (byte) i);
+        }
+
+        final ByteBuffer bytes = new ContractFunctionParams()
+            .addUint256Array(values)
+            .addBytesArray(elements)
+            .toBytes(null)
+            .asReadOnlyByteBuffer();
+
+        // the uint256[] follows the head of two words
+        assertEquals(64, word(bytes, 0));
+        assertEquals(1000, word(bytes, 64));
+
+        for (int i = 0; i < values.length; i += 1) {
+            assertEquals(values[i], new BigInteger(1, slice(bytes, 96 + i * 32, 32)));
+        }
+
+        final int bytesArray = (int) word(bytes, 32);
+        assertEquals(64 + 32 + 1000 * 32, bytesArray);
+        assertEquals(1000, word(bytes, bytesArray));
+
+        for (int i = 0; i < elements.length; i += 1) {
+            // offsets of the elements don't include the length of the array
+            final int elem = bytesArray + 32 + (int) word(bytes, bytesArray + 32 + i * 32);
+
+            assertEquals(elements[i].length, word(bytes, elem));
+            assertArrayEquals(elements[i], slice(bytes, elem + 32, elements[i].length));
+        }
+    }
+
+    private static long word(ByteBuffer bytes, int offset) {
+        return bytes.getLong(offset + 24);
+    }
+
+    private static byte[] slice(ByteBuffer bytes, int offset, int len) {
+        final byte[] slice = new byte[len];
+        ((ByteBuffer) bytes.duplicate().position(offset)).get(slice);
+        return slice;
+    }
+
     @Test
     @DisplayName("BigInteger checks")
     void bigIntChecks() {
@@ -8,9 +8,12 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ContractFunctionResultTest {
@@ -82,4 +85,90 @@ class ContractFunctionResultTest {
         assertEquals(strings.get(0), "random bytes");
         assertEquals(strings.get(1), "random bytes");
     }
+
+    @Test
+    @DisplayName("view reads arrays into reused buffers")
+    void viewReadsArrays() {
+        final BigInteger big = BigInteger.ONE.shiftLeft(255).add(BigInteger.valueOf(7));
+
+        final ContractFunctionResult result = result(new ContractFunctionParams()
+            .addUint256Array(new BigInteger[]{BigInteger.ONE, big})
+            .addAddressArray(new String[]{
+                "11223344556677889900aabbccddeeff00112233",
+                "00112233445566778899aabbccddeeff00112233"})
+            .addBytesArray(new byte[][]{{1, 2, 3}, new byte[40]})
+            .addInt64Array(new long[]{-1, 5})
+            .toBytes(null));
+
+        final AbiView view = result.getView();
+
+        final AbiArray uints = view.getArray(0);
+        final long[] words = new long[8];
+        assertEquals(2, uints.length());
+        assertEquals(2, uints.getWords(words, 0));
+        assertArrayEquals(new long[]{0, 0, 0, 1, Long.MIN_VALUE, 0, 0, 7}, words);
+        assertEquals(big, uints.getUint256(1));
+
+        final AbiArray addresses = view.getArray(1);
+        final byte[] addressBytes = new byte[40];
+        assertEquals(2, addresses.getAddresses(addressBytes, 0));
+        assertEquals("11223344556677889900aabbccddeeff00112233"
+            + "00112233445566778899aabbccddeeff00112233", Hex.toHexString(addressBytes));
+        assertEquals("00112233445566778899aabbccddeeff00112233", addresses.getAddress(1));
+
+        final AbiArray bytes = view.getArray(2);
+        final byte[] buffer = new byte[64];
+        assertEquals(3, bytes.getBytesLength(0));
+        assertEquals(3, bytes.getBytes(0, buffer, 0));
+        assertArrayEquals(new byte[]{1, 2, 3}, Arrays.copyOf(buffer, 3));
+        assertEquals(40, bytes.getBytes(1, buffer, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> bytes.getBytes(1, buffer, 30));
+
+        final long[] longs = new long[3];
+        assertEquals(2, view.getArray(3).getInt64s(longs, 1));
+        assertArrayEquals(new long[]{0, -1, 5}, longs);
+    }
+
+    @Test
+    @DisplayName("view reads tuples")
+    void viewReadsTuples() {
+        // (uint64 id, string name) encoded at an offset as it contains a dynamic type
+        final ByteString tuple = new ContractFunctionParams()
+            .addUint64(42)
+            .addString("Hello, world!")
+            .toBytes(null);
+
+        final ContractFunctionResult result = result(new ContractFunctionParams()
+            .addBool(true)
+            .addUint32(7)
+            .toBytes(null)
+            .concat(ContractFunctionParams.uint256(96, 64))
+            .concat(tuple));
+
+        final AbiView view = result.getView();
+
+        // a static tuple (bool, uint32) is encoded in place
+        final AbiView staticTuple = view.getStaticTuple(0);
+        assertTrue(staticTuple.getBool(0));
+        assertEquals(7, staticTuple.getInt32(1));
+
+        final AbiView dynamicTuple = view.getTuple(2);
+        assertEquals(42, dynamicTuple.getInt64(0));
+        assertEquals("Hello, world!", dynamicTuple.getString(1));
+    }
+
+    @Test
+    @DisplayName("view rejects offsets outside of the result")
+    void viewChecksOffsets() {
+        final AbiView view = result(ContractFunctionParams.uint256(1 << 20, 32)).getView();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> view.getArray(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.getInt64(1));
+    }
+
+    private static ContractFunctionResult result(ByteString callResult) {
+        return new ContractFunctionResult(
+            com.hedera.hashgraph.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(callResult));
+    }
 }
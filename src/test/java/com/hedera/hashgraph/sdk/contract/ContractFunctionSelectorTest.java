@@ -2,6 +2,7 @@ package com.hedera.hashgraph.sdk.contract;
 
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -9,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class ContractFunctionSelectorTest {
     @SuppressWarnings("unused")
@@ -43,4 +45,13 @@ class ContractFunctionSelectorTest {
             Hex.toHexString(funcSelector.finish())
         );
     }
+
+    @Test
+    @DisplayName("selectors are only computed once per signature")
+    void cachesSelectors() {
+        final byte[] selector = new ContractFunctionSelector("baz").addInt32().addBool().finish();
+
+        assertSame(selector, ContractFunctionSelector.forSignature("baz(int32,bool)"));
+        assertSame(selector, new ContractFunctionSelector("baz").addInt32().addBool().finish());
+    }
 }
@@ -0,0 +1,67 @@
+package com.hedera.hashgraph.sdk.contract;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContractFunctionTest {
+    private static final String ADDRESS = "00112233445566778899aabbccddeeff00112233";
+
+    @Test
+    @DisplayName("describes a function by its signature and selector")
+    void describesFunction() {
+        final ContractFunction function = new ContractFunction("baz", "uint32", "bool");
+
+        assertEquals("baz", function.getName());
+        assertEquals(Arrays.asList("uint32", "bool"), function.getParamTypes());
+        assertEquals("baz(uint32,bool)", function.getSignature());
+        assertEquals("cdcd77c0", Hex.toHexString(function.getSelector()));
+
+        // the selector can't be modified through the getter
+        function.getSelector()[0] = 0;
+        assertEquals("cdcd77c0", Hex.toHexString(function.getSelector()));
+    }
+
+    @Test
+    @DisplayName("encodes the same as the function name")
+    void encodesSameAsName() {
+        final ContractFunctionParams params = new ContractFunctionParams()
+            .addAddress(ADDRESS)
+            .addUint256(BigInteger.TEN)
+            .addString("memo");
+
+        final ContractFunction function = new ContractFunction("transfer", "address", "uint256", "string");
+
+        assertEquals(function.getSignature(), ContractFunction.forParams("transfer", params).getSignature());
+        assertEquals(params.toBytes("transfer"), function.encode(params));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(params.encodedSize("transfer"));
+        assertEquals(buffer.capacity(), function.encodeTo(params, buffer));
+        assertArrayEquals(params.toBytes("transfer").toByteArray(), buffer.array());
+    }
+
+    @Test
+    @DisplayName("rejects parameters of the wrong types")
+    void rejectsMismatchedParams() {
+        final ContractFunction function = new ContractFunction("transfer", "address", "uint256");
+
+        final ContractFunctionParams params = new ContractFunctionParams()
+            .addAddress(ADDRESS)
+            .addUint64(10);
+
+        assertEquals(
+            "parameters (address,uint64) do not match function transfer(address,uint256)",
+            assertThrows(IllegalArgumentException.class, () -> function.encode(params)).getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> function.encode(new ContractFunctionParams().addAddress(ADDRESS)));
+    }
+}
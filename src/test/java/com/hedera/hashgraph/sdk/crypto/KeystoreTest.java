@@ -2,7 +2,6 @@ package com.hedera.hashgraph.sdk.crypto;
 
 import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
 import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -11,13 +10,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
-// FIXME: Test breaks on macOS
 class KeystoreTest {
     private static final String testKeyStr = "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10";
     private static final String passphrase = "asdf1234";
 
     @Test
-    @Disabled
     @DisplayName("Keystore.fromStream returns correct key")
     void keystoreFromStream() throws IOException {
         // keystore file generated by hedera-sdk-js from `testKeyStr` and `passphrase`
@@ -30,7 +27,6 @@ class KeystoreTest {
     }
 
     @Test
-    @Disabled
     @DisplayName("Keystore.toStream produces decodable value")
     void keystoreToStream() throws IOException {
         final Ed25519PrivateKey privateKey = Ed25519PrivateKey.fromString(testKeyStr);
@@ -0,0 +1,98 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Pbkdf2Test {
+    private static final byte[] SALT = "salt".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("implementations derive the test vector of RFC 7914")
+    void derivesTestVector() {
+        final String expected = "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+            + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783";
+
+        for (Pbkdf2 pbkdf2 : new Pbkdf2[]{Pbkdf2.BOUNCY_CASTLE, Pbkdf2.JCA}) {
+            assertEquals(expected, Hex.toHexString(pbkdf2.deriveKey(Pbkdf2.Prf.HMAC_SHA256, "passwd", SALT, 1, 64)));
+        }
+    }
+
+    @Test
+    @DisplayName("the JCA is the default where it gives the same keys")
+    void prefersJca() {
+        assertTrue(Pbkdf2.JCA.isSupported());
+        assertSame(Pbkdf2.JCA, Pbkdf2.getDefault());
+
+        for (String password : Arrays.asList("", "passphrase", "🔑 ключ")) {
+            for (Pbkdf2.Prf prf : Pbkdf2.Prf.values()) {
+                assertArrayEquals(
+                    Pbkdf2.BOUNCY_CASTLE.deriveKey(prf, password, SALT, 2048, 64),
+                    Pbkdf2.JCA.deriveKey(prf, password, SALT, 2048, 64));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("mnemonics use the default implementation")
+    void mnemonicUsesDefault() {
+        final Mnemonic mnemonic = Mnemonic.generate();
+        final byte[] seed = mnemonic.toSeed("passphrase");
+        final AtomicInteger calls = new AtomicInteger();
+
+        Pbkdf2.setDefault(new Pbkdf2() {
+            @Override
+            public byte[] deriveKey(Prf prf, String password, byte[] salt, int iterations, int keyLen) {
+                calls.incrementAndGet();
+                return BOUNCY_CASTLE.deriveKey(prf, password, salt, iterations, keyLen);
+            }
+        });
+
+        try {
+            assertArrayEquals(seed, mnemonic.toSeed("passphrase"));
+            assertEquals(1, calls.get());
+        } finally {
+            Pbkdf2.setDefault(Pbkdf2.JCA);
+        }
+    }
+
+    @Test
+    @DisplayName("keystores are decrypted in parallel")
+    void decryptsKeystores() {
+        final List<Ed25519PrivateKey> keys = new ArrayList<>();
+        final List<byte[]> keystores = new ArrayList<>();
+        final List<String> passphrases = new ArrayList<>();
+
+        for (int i = 0; i < 4; i += 1) {
+            final Ed25519PrivateKey key = Ed25519PrivateKey.generate();
+
+            keys.add(key);
+            passphrases.add("passphrase " + i);
+            keystores.add(key.toKeystore("passphrase " + i));
+        }
+
+        final Ed25519PrivateKey[] decrypted = Ed25519PrivateKey.fromKeystores(keystores, passphrases);
+
+        for (int i = 0; i < keys.size(); i += 1) {
+            assertEquals(keys.get(i).toString(), decrypted[i].toString());
+        }
+
+        assertThrows(BadKeyException.class, () -> Ed25519PrivateKey.fromKeystores(keystores, "passphrase 0"));
+        assertThrows(IllegalArgumentException.class,
+            () -> Ed25519PrivateKey.fromKeystores(keystores, passphrases.subList(0, 1)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.hedera.hashgraph.sdk.crypto;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Key;
+import com.hedera.hashgraph.proto.SignaturePair;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.account.AccountId;
+import com.hedera.hashgraph.sdk.account.CryptoTransferTransaction;
+import com.hedera.hashgraph.sdk.contract.ContractId;
+import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignatureVerifierTest {
+    private final Ed25519PrivateKey alice = Ed25519PrivateKey.generate();
+
+    private final Ed25519PrivateKey bob = Ed25519PrivateKey.generate();
+
+    private final Ed25519PrivateKey carol = Ed25519PrivateKey.generate();
+
+    @Test
+    @DisplayName("single keys are satisfied by their valid signatures")
+    void verifiesSingleKeys() throws Exception {
+        final Transaction transaction = transaction().build(null).sign(alice);
+
+        assertTrue(SignatureVerifier.isSatisfied(transaction, alice.publicKey));
+        assertFalse(SignatureVerifier.isSatisfied(transaction, bob.publicKey));
+        assertFalse(SignatureVerifier.isSatisfied(transaction, new ContractId(0, 0, 5)));
+
+        // a signature of another body
+        final Transaction forged = Transaction.fromBytes(transaction.toProto().toBuilder()
+            .setBodyBytes(transaction().setTransactionMemo("forged").build(null).toProto().getBodyBytes())
+            .build()
+            .toByteArray());
+
+        assertFalse(SignatureVerifier.isSatisfied(forged, alice.publicKey));
+        assertEquals(Collections.singletonList(alice.publicKey), SignatureVerifier.findInvalidSignatures(forged));
+        assertEquals(Collections.emptyList(), SignatureVerifier.findInvalidSignatures(transaction));
+    }
+
+    @Test
+    @DisplayName("key lists and threshold keys are satisfied by enough of their keys")
+    void verifiesKeyStructures() throws Exception {
+        final Transaction transaction = transaction().build(null).sign(alice).sign(bob);
+        // as received from another party
+        final Transaction received = Transaction.fromBytes(transaction.toBytes());
+
+        assertTrue(SignatureVerifier.isSatisfied(received, new KeyList().addAll(alice.publicKey, bob.publicKey)));
+        assertFalse(SignatureVerifier.isSatisfied(received, new KeyList().addAll(alice.publicKey, carol.publicKey)));
+        assertFalse(SignatureVerifier.isSatisfied(received, new KeyList()));
+
+        assertTrue(SignatureVerifier.isSatisfied(received,
+            new ThresholdKey(2).addAll(alice.publicKey, bob.publicKey, carol.publicKey)));
+        assertFalse(SignatureVerifier.isSatisfied(received,
+            new ThresholdKey(3).addAll(alice.publicKey, bob.publicKey, carol.publicKey)));
+
+        // invalid thresholds are never satisfied, even without any keys to sign
+        assertFalse(SignatureVerifier.isSatisfied(received, new ThresholdKey(0)));
+        assertFalse(SignatureVerifier.isSatisfied(received, new ThresholdKey(0).addAll(alice.publicKey, bob.publicKey)));
+        assertFalse(SignatureVerifier.isSatisfied(received, new ThresholdKey(-1).add(alice.publicKey)));
+
+        // which the SDK won't build, but can be received
+        final com.hedera.hashgraph.proto.Transaction proto = received.toProto();
+
+        assertFalse(SignatureVerifier.isSatisfied(proto.getBodyBytes(), proto.getSigMap(), Key.newBuilder()
+            .setThresholdKey(com.hedera.hashgraph.proto.ThresholdKey.newBuilder()
+                .setThreshold(3)
+                .setKeys(new KeyList().addAll(alice.publicKey, bob.publicKey).toKeyProto().getKeyList()))
+            .build()));
+
+        // nested, with keys repeated
+        assertTrue(SignatureVerifier.isSatisfied(received, new KeyList()
+            .add(alice.publicKey)
+            .add(new ThresholdKey(1).addAll(carol.publicKey, bob.publicKey))
+            .add(new ThresholdKey(2).addAll(alice.publicKey, carol.publicKey, new KeyList().add(bob.publicKey)))));
+        assertFalse(SignatureVerifier.isSatisfied(received, new ThresholdKey(1)
+            .add(new KeyList().addAll(alice.publicKey, carol.publicKey))
+            .add(new ContractId(0, 0, 5))));
+    }
+
+    @Test
+    @DisplayName("signatures with a prefix of the key are matched to the key")
+    void matchesPrefixes() throws Exception {
+        final com.hedera.hashgraph.proto.Transaction proto = transaction().build(null).sign(alice).toProto();
+        final SignaturePair pair = proto.getSigMap().getSigPair(0);
+
+        final Transaction prefixed = Transaction.fromBytes(proto.toBuilder()
+            .setSigMap(proto.getSigMap().toBuilder()
+                .setSigPair(0, pair.toBuilder().setPubKeyPrefix(pair.getPubKeyPrefix().substring(0, 4))))
+            .build()
+            .toByteArray());
+
+        assertTrue(SignatureVerifier.isSatisfied(prefixed, alice.publicKey));
+        assertFalse(SignatureVerifier.isSatisfied(prefixed, bob.publicKey));
+
+        // can't be verified without the key
+        assertEquals(Collections.emptyList(), SignatureVerifier.findInvalidSignatures(prefixed));
+
+        final Transaction wrongPrefix = Transaction.fromBytes(proto.toBuilder()
+            .setSigMap(proto.getSigMap().toBuilder()
+                .setSigPair(0, pair.toBuilder().setPubKeyPrefix(ByteString.copyFrom(bob.publicKey.toBytes()))))
+            .build()
+            .toByteArray());
+
+        assertFalse(SignatureVerifier.isSatisfied(wrongPrefix, alice.publicKey));
+        assertFalse(SignatureVerifier.isSatisfied(wrongPrefix, bob.publicKey));
+    }
+
+    private static CryptoTransferTransaction transaction() {
+        return new CryptoTransferTransaction()
+            .setNodeAccountId(new AccountId(3))
+            .setTransactionId(TransactionId.withValidStart(new AccountId(2), Instant.ofEpochSecond(1554158542)))
+            .setMaxTransactionFee(100_000)
+            .addSender(new AccountId(2), 100)
+            .addRecipient(new AccountId(4), 100);
+    }
+}
@@ -0,0 +1,82 @@
+package com.hedera.hashgraph.sdk.crypto.ed25519;
+
+import com.hedera.hashgraph.sdk.crypto.Mnemonic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Ed25519KeyDeriverTest {
+    private static final String iosMnemonicString = "tiny denial casual grass skull spare awkward indoor ethics dash enough flavor good daughter early hard rug staff capable swallow raise flavor empty angle";
+
+    // private key followed by public key
+    private static final String iosDefaultPrivateKey = "5f66a51931e8c99089472e0d70516b6272b94dd772b967f8221e1077f966dbda2b60cf7ee8cf10ecd5a076bffad9a7c7b97df370ad758c0f1dd4ef738e04ceb6";
+
+    private final Mnemonic mnemonic = Mnemonic.fromString(iosMnemonicString);
+
+    @Test
+    @DisplayName("derived keys match those of the mobile wallets")
+    void derivesWalletKeys() {
+        final Ed25519KeyDeriver deriver = Ed25519KeyDeriver.fromMnemonic(mnemonic);
+
+        assertArrayEquals(
+            Ed25519PrivateKey.fromString(iosDefaultPrivateKey).toBytes(),
+            deriver.derive(0).toBytes());
+
+        assertArrayEquals(Ed25519PrivateKey.fromMnemonic(mnemonic).toBytes(), deriver.derive().toBytes());
+    }
+
+    @Test
+    @DisplayName("paths derive the same keys as derive(int)")
+    void derivesPaths() {
+        final Ed25519PrivateKey root = Ed25519PrivateKey.fromMnemonic(mnemonic, "passphrase");
+        final Ed25519KeyDeriver deriver = Ed25519KeyDeriver.fromMnemonic(mnemonic, "passphrase");
+
+        final Ed25519PrivateKey expected = root.derive(5).derive(7).derive(11);
+
+        assertArrayEquals(expected.toBytes(), deriver.derive(5, 7, 11).toBytes());
+        // from the cached parents
+        assertArrayEquals(expected.toBytes(), deriver.derive(5, 7, 11).toBytes());
+        assertArrayEquals(root.derive(5).derive(8).toBytes(), deriver.derive(5, 8).toBytes());
+
+        // the derived keys are derivable
+        assertArrayEquals(expected.derive(0).toBytes(), deriver.derive(5, 7, 11).derive(0).toBytes());
+
+        // as is the root of a key
+        assertArrayEquals(expected.toBytes(), Ed25519KeyDeriver.fromKey(root.derive(5)).derive(7, 11).toBytes());
+    }
+
+    @Test
+    @DisplayName("ranges derive the same keys as one at a time")
+    void derivesRanges() {
+        final Ed25519PrivateKey root = Ed25519PrivateKey.fromMnemonic(mnemonic);
+        final Ed25519KeyDeriver deriver = Ed25519KeyDeriver.fromMnemonic(mnemonic);
+
+        final Ed25519PrivateKey[] keys = deriver.deriveRange(100, 64);
+
+        assertEquals(64, keys.length);
+
+        for (int i = 0; i < keys.length; i += 1) {
+            assertArrayEquals(root.derive(100 + i).toBytes(), keys[i].toBytes());
+            assertEquals(root.derive(100 + i).publicKey, keys[i].publicKey);
+        }
+
+        final Ed25519PrivateKey[] nested = deriver.deriveRange(new int[]{3}, Integer.MAX_VALUE, 1);
+        assertArrayEquals(root.derive(3).derive(Integer.MAX_VALUE).toBytes(), nested[0].toBytes());
+
+        assertEquals(0, deriver.deriveRange(0, 0).length);
+        assertThrows(IllegalArgumentException.class, () -> deriver.deriveRange(Integer.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> deriver.deriveRange(-1, 1));
+    }
+
+    @Test
+    @DisplayName("keys without a chain code cannot be derived from")
+    void requiresDerivableKey() {
+        final Ed25519PrivateKey key = Ed25519PrivateKey.fromBytes(Ed25519PrivateKey.generate().toBytes());
+
+        assertThrows(IllegalStateException.class, () -> Ed25519KeyDeriver.fromKey(key));
+    }
+}
@@ -7,9 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Ed25519PublicKeyTest {
 
@@ -42,6 +47,23 @@ class Ed25519PublicKeyTest {
         assertEquals(key1Str, key3Str);
     }
 
+    @Test
+    @DisplayName("public key verifies signatures of its private key")
+    void verifiesSignatures() {
+        final Ed25519PrivateKey privateKey = Ed25519PrivateKey.generate();
+        final byte[] message = "hello, world".getBytes(StandardCharsets.UTF_8);
+        final byte[] signature = privateKey.sign(message);
+
+        assertTrue(privateKey.publicKey.verify(message, signature));
+        assertTrue(privateKey.publicKey.verify(message, 0, message.length, signature));
+        assertFalse(privateKey.publicKey.verify(message, 1, message.length - 1, signature));
+        assertFalse(Ed25519PrivateKey.generate().publicKey.verify(message, signature));
+        assertFalse(privateKey.publicKey.verify(message, Arrays.copyOf(signature, 63)));
+
+        signature[0] ^= 1;
+        assertFalse(privateKey.publicKey.verify(message, signature));
+    }
+
     @ParameterizedTest
     @DisplayName("public key can be recovered from external string")
     @ValueSource(strings = {
@@ -0,0 +1,49 @@
+package com.hedera.hashgraph.sdk.file;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.proto.Response;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileContentsViewQueryTest {
+
+    @Test
+    @DisplayName("empty builder fails validation")
+    void emptyBuilder() {
+        assertEquals(
+            "query builder failed local validation:\n" +
+                ".setPayment() required\n" +
+                ".setFileId() required",
+            assertThrows(
+                IllegalStateException.class,
+                () -> new FileContentsViewQuery().validate()
+            ).getMessage()
+        );
+    }
+
+    @Test
+    @DisplayName("contents are returned as a read-only view")
+    void readOnlyView() {
+        final Response response = Response.newBuilder()
+            .setFileGetContents(FileGetContentsResponse.newBuilder()
+                .setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                    .setContents(ByteString.copyFromUtf8("hello, file"))))
+            .build();
+
+        final ByteBuffer contents = new FileContentsViewQuery().extractResponse(response);
+
+        assertTrue(contents.isReadOnly());
+        assertEquals(11, contents.remaining());
+        assertEquals((byte) 'h', contents.get(0));
+        assertThrows(ReadOnlyBufferException.class, () -> contents.put(0, (byte) 0));
+    }
+}
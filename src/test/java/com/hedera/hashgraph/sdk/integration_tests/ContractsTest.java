@@ -10,6 +10,7 @@ import com.hedera.hashgraph.sdk.contract.ContractFunctionResult;
 import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
 import com.hedera.hashgraph.sdk.file.FileCreateTransaction;
 import com.hedera.hashgraph.sdk.file.FileId;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +22,11 @@ class ContractsTest {
 
     private final TestEnv testEnv = new TestEnv();
 
+    @AfterEach
+    void tearDown() throws Exception {
+        testEnv.close();
+    }
+
     @Test
     void issue376() throws IOException, HederaStatusException {
         ClassLoader cl = getClass().getClassLoader();
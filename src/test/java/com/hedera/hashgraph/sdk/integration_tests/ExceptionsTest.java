@@ -19,6 +19,7 @@ import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
 import com.hedera.hashgraph.sdk.file.FileCreateTransaction;
 import com.hedera.hashgraph.sdk.file.FileId;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +34,11 @@ public class ExceptionsTest {
 
     private final TestEnv testEnv = new TestEnv();
 
+    @AfterEach
+    void tearDown() throws Exception {
+        testEnv.close();
+    }
+
     @Test
     @DisplayName("HederaPrecheckStatusException is thrown for bad account amounts")
     void precheckException() {
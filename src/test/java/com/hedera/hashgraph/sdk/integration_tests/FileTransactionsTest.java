@@ -16,6 +16,7 @@ import com.hedera.hashgraph.sdk.file.FileInfo;
 import com.hedera.hashgraph.sdk.file.FileInfoQuery;
 import com.hedera.hashgraph.sdk.file.FileUpdateTransaction;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +37,11 @@ public class FileTransactionsTest {
         testEnv.client.setMaxTransactionFee(new Hbar(100));
     }
 
+    @AfterEach
+    void tearDown() throws Exception {
+        testEnv.close();
+    }
+
     @Test
     void testFileMultiKey() throws HederaStatusException {
         Ed25519PrivateKey key1 = Ed25519PrivateKey.generate();
@@ -1,26 +1,48 @@
 package com.hedera.hashgraph.sdk.integration_tests;
 
 import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.SimulatedNetwork;
 import com.hedera.hashgraph.sdk.account.AccountId;
 import com.hedera.hashgraph.sdk.crypto.ed25519.Ed25519PrivateKey;
 
 import java.io.FileNotFoundException;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nullable;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
-public class TestEnv {
+public class TestEnv implements AutoCloseable {
 
     public final AccountId operatorId;
     public final Ed25519PrivateKey operatorKey;
     public final Client client;
 
+    // the network when HEDERA_NETWORK is "simulated"
+    @Nullable
+    public final SimulatedNetwork network;
+
     public TestEnv() {
         final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
         String configFile = dotenv.get("CONFIG_FILE");
         String hederaNetwork = dotenv.get("HEDERA_NETWORK");
 
+        Client client;
+
+        if (hederaNetwork != null && hederaNetwork.equals("simulated")) {
+            // an in-process network which accepts any operator; see SimulatedNetwork for what
+            // it supports
+            network = new SimulatedNetwork(4, 0);
+            operatorId = new AccountId(2);
+            operatorKey = Ed25519PrivateKey.generate();
+            this.client = network.newClient().setOperator(operatorId, operatorKey);
+            return;
+        }
+
+        network = null;
+
         operatorId = AccountId.fromString(Objects.requireNonNull(
             dotenv.get("OPERATOR_ID"),
             "OPERATOR_ID must be set in environment or .env"));
@@ -29,9 +51,6 @@ public class TestEnv {
             dotenv.get("OPERATOR_KEY"),
             "OPERATOR_KEY must be set in environment or .env"));
 
-
-        Client client;
-
         if (hederaNetwork != null && hederaNetwork.equals("previewnet")) {
             client = Client.forPreviewnet();
         } else {
@@ -44,4 +63,13 @@ public class TestEnv {
 
         this.client = client.setOperator(operatorId, operatorKey);
     }
+
+    @Override
+    public void close() throws InterruptedException, TimeoutException {
+        client.close();
+
+        if (network != null) {
+            network.close();
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.AccountID;
+import com.hedera.hashgraph.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.TransactionID;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChunkReassemblyBufferTest {
+    private static final Instant NOW = Instant.ofEpochSecond(1_600_000_000);
+
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    @Test
+    @DisplayName("chunks are reassembled in chunk order")
+    void reassembles() {
+        final ChunkReassemblyBuffer buffer = new ChunkReassemblyBuffer(1024, Duration.ofMinutes(5), dropped::incrementAndGet);
+
+        assertNull(buffer.add(chunk(1, 2, 2, "world"), NOW));
+
+        final List<ConsensusTopicResponse> chunks = buffer.add(chunk(1, 1, 2, "hello "), NOW);
+        assertNotNull(chunks);
+
+        final MirrorConsensusTopicResponse response = MirrorConsensusTopicResponse.ofMany(chunks);
+        assertEquals("hello world", new String(response.message, StandardCharsets.UTF_8));
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getPendingBytes());
+        assertEquals(0, dropped.get());
+    }
+
+    @Test
+    @DisplayName("oldest messages are evicted when the byte budget is exceeded")
+    void evictsOldest() {
+        final ChunkReassemblyBuffer buffer = new ChunkReassemblyBuffer(10, Duration.ofMinutes(5), dropped::incrementAndGet);
+
+        assertNull(buffer.add(chunk(1, 1, 2, "aaaa"), NOW));
+        assertNull(buffer.add(chunk(2, 1, 2, "bbbb"), NOW.plusSeconds(1)));
+        assertNull(buffer.add(chunk(3, 1, 2, "cccc"), NOW.plusSeconds(2)));
+
+        assertEquals(1, dropped.get());
+        assertEquals(2, buffer.size());
+        assertEquals(8, buffer.getPendingBytes());
+
+        // message 1 is gone so its last chunk starts over
+        assertNull(buffer.add(chunk(1, 2, 2, "aa"), NOW.plusSeconds(3)));
+        assertNotNull(buffer.add(chunk(3, 2, 2, "cc"), NOW.plusSeconds(4)));
+    }
+
+    @Test
+    @DisplayName("messages which take too long to complete are expired")
+    void expires() {
+        final ChunkReassemblyBuffer buffer = new ChunkReassemblyBuffer(1024, Duration.ofMinutes(5), dropped::incrementAndGet);
+
+        assertNull(buffer.add(chunk(1, 1, 2, "aaaa"), NOW));
+        assertNull(buffer.add(chunk(2, 1, 2, "bbbb"), NOW.plusSeconds(200)));
+
+        buffer.expire(NOW.plusSeconds(301));
+
+        assertEquals(1, dropped.get());
+        assertEquals(1, buffer.size());
+        assertEquals(4, buffer.getPendingBytes());
+    }
+
+    @Test
+    @DisplayName("malformed chunks are dropped")
+    void dropsMalformed() {
+        final ChunkReassemblyBuffer buffer = new ChunkReassemblyBuffer(1024, Duration.ofMinutes(5), dropped::incrementAndGet);
+
+        assertNull(buffer.add(chunk(1, 3, 2, "aaaa"), NOW));
+        assertNull(buffer.add(chunk(2, 1, 2, "bbbb"), NOW));
+        // same chunk number again
+        assertNull(buffer.add(chunk(2, 1, 2, "bbbb"), NOW));
+
+        assertEquals(1, dropped.get());
+        assertEquals(1, buffer.size());
+        assertEquals(4, buffer.getPendingBytes());
+    }
+
+    private static ConsensusTopicResponse chunk(long message, int number, int total, String contents) {
+        return ConsensusTopicResponse.newBuilder()
+            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(message).setNanos(number))
+            .setMessage(ByteString.copyFromUtf8(contents))
+            .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                .setInitialTransactionID(TransactionID.newBuilder()
+                    .setAccountID(AccountID.newBuilder().setAccountNum(2))
+                    .setTransactionValidStart(Timestamp.newBuilder().setSeconds(message)))
+                .setNumber(number)
+                .setTotal(total))
+            .build();
+    }
+}
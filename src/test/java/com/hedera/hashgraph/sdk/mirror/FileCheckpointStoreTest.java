@@ -0,0 +1,95 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileCheckpointStoreTest {
+    private static final ConsensusTopicId TOPIC_A = new ConsensusTopicId(0, 0, 1000);
+
+    private static final ConsensusTopicId TOPIC_B = new ConsensusTopicId(0, 0, 1001);
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("checkpoints", ".log");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    @DisplayName("latest checkpoints survive reopening")
+    void reopens() throws IOException {
+        try (FileCheckpointStore store = FileCheckpointStore.open(path).setSyncEvery(10)) {
+            for (long i = 1; i <= 25; i += 1) {
+                store.save(new Checkpoint(TOPIC_A, i, Instant.ofEpochSecond(i, 5)));
+            }
+
+            store.save(new Checkpoint(TOPIC_B, 7, Instant.ofEpochSecond(7)));
+        }
+
+        try (FileCheckpointStore store = FileCheckpointStore.open(path)) {
+            final Checkpoint a = store.load(TOPIC_A);
+            assertNotNull(a);
+            assertEquals(25, a.sequenceNumber);
+            assertEquals(Instant.ofEpochSecond(25, 5), a.consensusTimestamp);
+
+            final Checkpoint b = store.load(TOPIC_B);
+            assertNotNull(b);
+            assertEquals(7, b.sequenceNumber);
+
+            assertNull(store.load(new ConsensusTopicId(0, 0, 1002)));
+        }
+
+        // reopening compacts the file to one record per topic
+        assertEquals(2 * 48, Files.size(path));
+    }
+
+    @Test
+    @DisplayName("a torn record at the end of the file is ignored")
+    void ignoresTornRecord() throws IOException {
+        try (FileCheckpointStore store = FileCheckpointStore.open(path)) {
+            store.save(new Checkpoint(TOPIC_A, 1, Instant.ofEpochSecond(1)));
+        }
+
+        Files.write(path, new byte[20], StandardOpenOption.APPEND);
+
+        try (FileCheckpointStore store = FileCheckpointStore.open(path)) {
+            final Checkpoint a = store.load(TOPIC_A);
+            assertNotNull(a);
+            assertEquals(1, a.sequenceNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("the file is compacted as it grows")
+    void compacts() throws IOException {
+        try (FileCheckpointStore store = FileCheckpointStore.open(path)) {
+            for (long i = 1; i <= 5000; i += 1) {
+                store.save(new Checkpoint(TOPIC_A, i, Instant.ofEpochSecond(i)));
+            }
+
+            store.flush();
+
+            // compacted after 4096 records, then appended to
+            assertEquals((5000 - 4097 + 1) * 48, Files.size(path));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.TimestampHelper;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MirrorClientTest {
+    private final List<ConsensusTopicQuery> queriesA = new CopyOnWriteArrayList<>();
+
+    private final List<ConsensusTopicQuery> queriesB = new CopyOnWriteArrayList<>();
+
+    private final List<Long> received = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    // whether endpoint A fails after its first five messages
+    private volatile boolean failA;
+
+    private Server serverA;
+
+    private Server serverB;
+
+    private MirrorEndpoint endpointA;
+
+    private MirrorEndpoint endpointB;
+
+    private MirrorClient mirrorClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final String nameA = InProcessServerBuilder.generateName();
+        final String nameB = InProcessServerBuilder.generateName();
+
+        serverA = start(nameA, queriesA);
+        serverB = start(nameB, queriesB);
+
+        endpointA = new MirrorEndpoint("a", InProcessChannelBuilder.forName(nameA)::build);
+        endpointB = new MirrorEndpoint("b", InProcessChannelBuilder.forName(nameB)::build);
+        mirrorClient = new MirrorClient(endpointA, endpointB);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mirrorClient.close();
+        serverA.shutdownNow();
+        serverB.shutdownNow();
+    }
+
+    private Server start(String name, List<ConsensusTopicQuery> queries) throws Exception {
+        return InProcessServerBuilder.forName(name)
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+                    queries.add(request);
+
+                    final Instant start = TimestampHelper.timestampTo(request.getConsensusStartTime());
+
+                    // message N reaches consensus N seconds after the epoch
+                    for (long i = 1; i <= 10; i += 1) {
+                        if (failA && queries == queriesA && i > 5) {
+                            observer.onError(Status.UNAVAILABLE.asRuntimeException());
+                            return;
+                        }
+
+                        if (!Instant.ofEpochSecond(i).isBefore(start)) {
+                            observer.onNext(message(i));
+                        }
+                    }
+
+                    // the stream stays open
+                }
+            })
+            .build()
+            .start();
+    }
+
+    @Test
+    @DisplayName("new subscriptions are spread over the endpoints")
+    void spreadsSubscriptions() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(40);
+        final List<MirrorSubscriptionHandle> handles = new ArrayList<>();
+
+        for (int i = 0; i < 4; i += 1) {
+            handles.add(query().subscribe(mirrorClient, message -> latch.countDown(), errors::add));
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        assertEquals(2, queriesA.size());
+        assertEquals(2, queriesB.size());
+        assertEquals(2, endpointA.getActiveSubscriptions());
+        assertEquals(2, endpointB.getActiveSubscriptions());
+        assertNotNull(endpointA.getLatency());
+
+        for (MirrorSubscriptionHandle handle : handles) {
+            handle.unsubscribe();
+        }
+
+        assertEquals(0, endpointA.getActiveSubscriptions());
+        assertEquals(0, endpointB.getActiveSubscriptions());
+        assertEquals(Collections.emptyList(), errors);
+    }
+
+    @Test
+    @DisplayName("a failed subscription moves to another endpoint and resumes after the last message")
+    void failsOver() throws InterruptedException {
+        failA = true;
+
+        final CountDownLatch latch = new CountDownLatch(10);
+
+        // the first subscription of a client goes to the first endpoint
+        final MirrorSubscriptionHandle handle = query().subscribe(mirrorClient, message -> {
+            received.add(message.sequenceNumber);
+            latch.countDown();
+        }, errors::add);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        final List<Long> expected = new ArrayList<>();
+
+        for (long i = 1; i <= 10; i += 1) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, received);
+        assertEquals(Collections.emptyList(), errors);
+        assertEquals(1, handle.getReconnectCount());
+
+        assertEquals(1, queriesB.size());
+        assertEquals(Instant.ofEpochSecond(5).plusNanos(1),
+            TimestampHelper.timestampTo(queriesB.get(0).getConsensusStartTime()));
+
+        assertEquals(1, endpointA.getErrorCount());
+        assertEquals(1.0, endpointA.getErrorRate());
+        assertFalse(endpointA.isHealthy());
+        assertEquals(0, endpointB.getErrorCount());
+        assertEquals(0, endpointA.getActiveSubscriptions());
+        assertEquals(1, endpointB.getActiveSubscriptions());
+
+        // new subscriptions avoid the failed endpoint
+        assertEquals(endpointB, mirrorClient.selectEndpoint(null));
+
+        handle.unsubscribe();
+
+        assertEquals(0, endpointB.getActiveSubscriptions());
+    }
+
+    private static MirrorConsensusTopicQuery query() {
+        return new MirrorConsensusTopicQuery()
+            .setTopicId(new ConsensusTopicId(1000))
+            .setStartTime(Instant.EPOCH);
+    }
+
+    private static ConsensusTopicResponse message(long sequenceNumber) {
+        return ConsensusTopicResponse.newBuilder()
+            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(sequenceNumber))
+            .setSequenceNumber(sequenceNumber)
+            .setMessage(ByteString.copyFromUtf8("message " + sequenceNumber))
+            .build();
+    }
+}
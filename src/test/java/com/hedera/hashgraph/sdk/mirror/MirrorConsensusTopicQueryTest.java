@@ -0,0 +1,251 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MirrorConsensusTopicQueryTest {
+    private final List<ConsensusTopicQuery> queries = new CopyOnWriteArrayList<>();
+
+    private final List<Long> received = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    private Server server;
+
+    private MirrorClient mirrorClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final String name = InProcessServerBuilder.generateName();
+
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+                    queries.add(request);
+
+                    if (request.getLimit() > 0) {
+                        // a finite backlog which completes
+                        for (long i = 1; i <= request.getLimit(); i += 1) {
+                            observer.onNext(message(i));
+                        }
+
+                        observer.onCompleted();
+                    } else if (queries.size() == 1) {
+                        // the mirror node restarts after sending two messages
+                        observer.onNext(message(1));
+                        observer.onNext(message(2));
+                        observer.onError(Status.UNAVAILABLE.asRuntimeException());
+                    } else {
+                        // and then sends the last message again; the stream stays open
+                        observer.onNext(message(2));
+                        observer.onNext(message(3));
+                    }
+                }
+            })
+            .build()
+            .start();
+
+        mirrorClient = new MirrorClient(InProcessChannelBuilder.forName(name).directExecutor()::build);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mirrorClient.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("subscription resumes after the last message and drops duplicates")
+    void resumesAfterError() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        final MirrorSubscriptionHandle handle = new MirrorConsensusTopicQuery()
+            .setTopicId(new ConsensusTopicId(0, 0, 1000))
+            .subscribe(mirrorClient, message -> {
+                received.add(message.sequenceNumber);
+                latch.countDown();
+            }, errors::add);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        handle.unsubscribe();
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), received);
+        assertEquals(Collections.emptyList(), errors);
+        assertEquals(1, handle.getReconnectCount());
+
+        assertEquals(2, queries.size());
+        assertEquals(
+            Timestamp.newBuilder().setSeconds(2).setNanos(1).build(),
+            queries.get(1).getConsensusStartTime());
+    }
+
+    @Test
+    @DisplayName("publisher only delivers what was requested and then completes")
+    void publisherHonorsDemand() throws InterruptedException {
+        final CountDownLatch completed = new CountDownLatch(1);
+        final Subscription[] subscription = new Subscription[1];
+
+        new MirrorConsensusTopicQuery()
+            .setTopicId(new ConsensusTopicId(0, 0, 1000))
+            .setLimit(5)
+            .setBatchSize(2)
+            .asPublisher(mirrorClient)
+            .subscribe(new Subscriber<MirrorConsensusTopicResponse>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription[0] = s;
+                    s.request(3);
+                }
+
+                @Override
+                public void onNext(MirrorConsensusTopicResponse response) {
+                    received.add(response.sequenceNumber);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    errors.add(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), received);
+        assertEquals(1, completed.getCount());
+
+        subscription[0].request(10);
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), received);
+        assertEquals(Collections.emptyList(), errors);
+    }
+
+    @Test
+    @DisplayName("publisher signals a non-positive request once and after onNext returns")
+    void publisherRejectsNonPositiveRequest() throws InterruptedException {
+        final CountDownLatch failed = new CountDownLatch(1);
+        final List<String> signals = new CopyOnWriteArrayList<>();
+
+        new MirrorConsensusTopicQuery()
+            .setTopicId(new ConsensusTopicId(0, 0, 1000))
+            .setLimit(5)
+            .asPublisher(mirrorClient)
+            .subscribe(new Subscriber<MirrorConsensusTopicResponse>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription = s;
+                    s.request(5);
+                }
+
+                @Override
+                public void onNext(MirrorConsensusTopicResponse response) {
+                    signals.add("onNext " + response.sequenceNumber);
+                    subscription.request(0);
+                    subscription.request(-1);
+                    signals.add("returned " + response.sequenceNumber);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    signals.add("onError");
+                    errors.add(t);
+                    failed.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    signals.add("onComplete");
+                }
+            });
+
+        assertTrue(failed.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("onNext 1", "returned 1", "onError"), signals);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("subscription resumes from and saves checkpoints")
+    void resumesFromCheckpoint() throws Exception {
+        final ConsensusTopicId topicId = new ConsensusTopicId(0, 0, 1000);
+        final Path path = Files.createTempFile("checkpoints", ".log");
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        try (FileCheckpointStore store = FileCheckpointStore.open(path)) {
+            store.save(new Checkpoint(topicId, 2, Instant.ofEpochSecond(2)));
+
+            new MirrorConsensusTopicQuery()
+                .setTopicId(topicId)
+                .setLimit(3)
+                .setCheckpointStore(store)
+                .subscribe(mirrorClient, message -> {
+                    received.add(message.sequenceNumber);
+                    latch.countDown();
+                }, errors::add);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+            assertEquals(
+                Timestamp.newBuilder().setSeconds(2).setNanos(1).build(),
+                queries.get(0).getConsensusStartTime());
+
+            // messages 1 and 2 were already processed before the "restart"
+            assertEquals(Collections.singletonList(3L), received);
+            assertEquals(Collections.emptyList(), errors);
+
+            final Checkpoint checkpoint = store.load(topicId);
+            assertNotNull(checkpoint);
+            assertEquals(3, checkpoint.sequenceNumber);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static ConsensusTopicResponse message(long sequenceNumber) {
+        return ConsensusTopicResponse.newBuilder()
+            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(sequenceNumber))
+            .setSequenceNumber(sequenceNumber)
+            .setMessage(ByteString.copyFromUtf8("message " + sequenceNumber))
+            .build();
+    }
+}
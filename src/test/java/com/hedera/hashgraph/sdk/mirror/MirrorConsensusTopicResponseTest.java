@@ -0,0 +1,87 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.consensus.DeflateCompressor;
+import com.hedera.hashgraph.sdk.consensus.MessageCompression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MirrorConsensusTopicResponseTest {
+    private static final ConsensusTopicResponse RESPONSE = ConsensusTopicResponse.newBuilder()
+        .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(1_600_000_000).setNanos(5))
+        .setMessage(ByteString.copyFromUtf8("hello, topic"))
+        .setRunningHash(ByteString.copyFrom(new byte[48]))
+        .setSequenceNumber(7)
+        .build();
+
+    @Test
+    @DisplayName("copies eagerly by default")
+    void eagerCopy() {
+        final MirrorConsensusTopicResponse response = MirrorConsensusTopicResponse.ofSingle(RESPONSE, true, true);
+
+        assertEquals(Instant.ofEpochSecond(1_600_000_000, 5), response.consensusTimestamp);
+        assertArrayEquals("hello, topic".getBytes(), response.message);
+        assertArrayEquals(new byte[48], response.runningHash);
+        assertSame(response.message, response.getMessage());
+        assertEquals(7, response.sequenceNumber);
+    }
+
+    @Test
+    @DisplayName("lazy responses share the underlying bytes")
+    void lazy() {
+        final MirrorConsensusTopicResponse response = MirrorConsensusTopicResponse.ofSingle(RESPONSE, false, true);
+
+        assertNull(response.message);
+        assertNull(response.runningHash);
+        assertNull(response.chunks[0].runningHash);
+
+        assertSame(RESPONSE.getMessage(), response.getMessageAsByteString());
+        assertSame(RESPONSE.getRunningHash(), response.getRunningHashAsByteString());
+        assertEquals("hello, topic", response.getMessageString());
+
+        final ByteBuffer buffer = response.getMessageAsByteBuffer();
+        assertTrue(buffer.isReadOnly());
+        assertEquals(12, buffer.remaining());
+
+        // materialized once, on demand
+        assertArrayEquals("hello, topic".getBytes(), response.getMessage());
+        assertSame(response.getMessage(), response.getMessage());
+    }
+
+    @Test
+    @DisplayName("running hashes can be skipped")
+    void withoutRunningHash() {
+        final MirrorConsensusTopicResponse response = MirrorConsensusTopicResponse.ofSingle(RESPONSE, true, false);
+
+        assertArrayEquals("hello, topic".getBytes(), response.message);
+        assertNull(response.runningHash);
+        assertNull(response.getRunningHash());
+        assertNull(response.chunks[0].getRunningHashAsByteString());
+    }
+
+    @Test
+    @DisplayName("compressed messages are decompressed unless disabled")
+    void decompresses() {
+        final ByteString message = ByteString.copyFromUtf8(String.join(",", Collections.nCopies(100, "hello, topic")));
+        final ConsensusTopicResponse compressed = RESPONSE.toBuilder()
+            .setMessage(MessageCompression.compress(message, new DeflateCompressor()))
+            .build();
+
+        assertEquals(message, MirrorConsensusTopicResponse.ofSingle(compressed, true, true).getMessageAsByteString());
+        assertEquals(compressed.getMessage(),
+            MirrorConsensusTopicResponse.ofSingle(compressed, true, true, false).getMessageAsByteString());
+    }
+}
@@ -0,0 +1,170 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.TopicID;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RunningHashVerifierTest {
+    private static final TopicID TOPIC_ID = TopicID.newBuilder().setTopicNum(1000).build();
+
+    @Test
+    @DisplayName("a valid chain of messages verifies")
+    void verifiesChain() throws Exception {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+
+        for (ConsensusTopicResponse response : chain(10, 2)) {
+            verifier.verify(response);
+        }
+    }
+
+    @Test
+    @DisplayName("a chain with the original hash version verifies")
+    void verifiesVersion1() throws Exception {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+
+        for (ConsensusTopicResponse response : chain(10, 1)) {
+            verifier.verify(response);
+        }
+    }
+
+    @Test
+    @DisplayName("running hashes of fixed vectors verify")
+    void verifiesKnownAnswers() throws Exception {
+        // computed independently of this SDK, with Python's hashlib, from the byte layout of
+        // `MerkleTopic` in hedera-services: topic 0.0.1000, message N is "message N" at
+        // 1600000000 + N seconds and 7 nanos
+        final String[] version1 = {
+            "5afb70238fe0400c440251844f6f8c018069950dc51ec716adb5074eaa902397fe24aab591f74bcf64908fd6cfd4c099",
+            "441849b3d0e62411185bb278688550e23315c7966c5e0da1b4a4dda42db54fa3c7217def6da59925550ab391685921c8",
+            "ca23f2cb83b0c0382b7f48c67272751639e0d5c60fd181a43f44b2bd58324f823644043c056ff4361148ce9be6f33c10",
+        };
+
+        final String[] version2 = {
+            "dd7b54d2d11eb7fd74fc8f105a5c74aa616387141ed407bed03303f8a733594834ae26981b6080cf45c23cbcdcac1f11",
+            "378e840a1e019a6c3c4c8813e6c3d1e6cfe85e58cfec595ab2a747133bb5925cc8e5b758b98bd1231c16350127b96d86",
+            "54496ea681866234213e33a558bf4e8e266c0beda6720f09d9258cc7a4693357c6670baabb186071360684a63799fc7e",
+        };
+
+        for (int version = 1; version <= 2; version += 1) {
+            final String[] runningHashes = version == 1 ? version1 : version2;
+            final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+
+            for (int i = 0; i < runningHashes.length; i += 1) {
+                final long sequenceNumber = i + 1;
+
+                verifier.verify(ConsensusTopicResponse.newBuilder()
+                    .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(1_600_000_000 + sequenceNumber).setNanos(7))
+                    .setMessage(ByteString.copyFromUtf8("message " + sequenceNumber))
+                    .setRunningHash(ByteString.copyFrom(Hex.decode(runningHashes[i])))
+                    .setRunningHashVersion(version)
+                    .setSequenceNumber(sequenceNumber)
+                    .build());
+            }
+
+            // the reference implementation below agrees
+            final List<ConsensusTopicResponse> chain = chain(runningHashes.length, version);
+
+            for (int i = 0; i < runningHashes.length; i += 1) {
+                assertEquals(runningHashes[i], Hex.toHexString(chain.get(i).getRunningHash().toByteArray()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("verification starts from a message in the middle of the topic")
+    void startsInTheMiddle() throws Exception {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+
+        for (ConsensusTopicResponse response : chain(10, 2).subList(4, 10)) {
+            verifier.verify(response);
+        }
+    }
+
+    @Test
+    @DisplayName("a missing message is a gap")
+    void detectsGap() throws Exception {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+        final List<ConsensusTopicResponse> chain = chain(5, 2);
+
+        verifier.verify(chain.get(0));
+        verifier.verify(chain.get(1));
+
+        final TopicIntegrityException e = assertThrows(TopicIntegrityException.class, () -> verifier.verify(chain.get(3)));
+        assertEquals(TopicIntegrityException.Reason.GAP, e.reason);
+        assertEquals(4, e.sequenceNumber);
+    }
+
+    @Test
+    @DisplayName("a modified message is a mismatch")
+    void detectsMismatch() throws Exception {
+        final RunningHashVerifier verifier = new RunningHashVerifier(TOPIC_ID);
+        final List<ConsensusTopicResponse> chain = chain(5, 2);
+
+        verifier.verify(chain.get(0));
+        verifier.verify(chain.get(1));
+
+        final ConsensusTopicResponse modified = chain.get(2).toBuilder()
+            .setMessage(ByteString.copyFromUtf8("something else"))
+            .build();
+
+        final TopicIntegrityException e = assertThrows(TopicIntegrityException.class, () -> verifier.verify(modified));
+        assertEquals(TopicIntegrityException.Reason.RUNNING_HASH_MISMATCH, e.reason);
+        assertEquals(3, e.sequenceNumber);
+    }
+
+    /**
+     * Build a topic of messages with a straightforward implementation of the running hash.
+     */
+    static List<ConsensusTopicResponse> chain(int count, long version) throws NoSuchAlgorithmException {
+        final List<ConsensusTopicResponse> responses = new ArrayList<>();
+        byte[] runningHash = new byte[48];
+
+        for (long sequenceNumber = 1; sequenceNumber <= count; sequenceNumber += 1) {
+            final byte[] message = ("message " + sequenceNumber).getBytes();
+            final Timestamp timestamp = Timestamp.newBuilder().setSeconds(1_600_000_000 + sequenceNumber).setNanos(7).build();
+
+            final ByteBuffer input = ByteBuffer.allocate(48 + 8 + 24 + 12 + 8 + Math.max(48, message.length));
+            input.put(runningHash);
+
+            if (version == 2) {
+                input.putLong(version);
+            }
+
+            input.putLong(TOPIC_ID.getShardNum())
+                .putLong(TOPIC_ID.getRealmNum())
+                .putLong(TOPIC_ID.getTopicNum())
+                .putLong(timestamp.getSeconds())
+                .putInt(timestamp.getNanos())
+                .putLong(sequenceNumber)
+                .put(version == 2 ? MessageDigest.getInstance("SHA-384").digest(message) : message);
+
+            final MessageDigest digest = MessageDigest.getInstance("SHA-384");
+            digest.update(input.array(), 0, input.position());
+            runningHash = digest.digest();
+
+            responses.add(ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(timestamp)
+                .setMessage(ByteString.copyFrom(message))
+                .setRunningHash(ByteString.copyFrom(runningHash))
+                .setRunningHashVersion(version)
+                .setSequenceNumber(sequenceNumber)
+                .build());
+        }
+
+        return responses;
+    }
+}
@@ -0,0 +1,215 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.TransactionID;
+import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.TimestampHelper;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicBackfillTest {
+    private static final int MESSAGE_COUNT = 1000;
+
+    private final List<ConsensusTopicQuery> queries = new CopyOnWriteArrayList<>();
+
+    private final List<Long> received = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    // the number of calls to onNext running at once, which must never be more than 1
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+    // the sequence number of the first of the two chunks of the only fragmented message
+    private volatile long chunked;
+
+    private Server server;
+
+    private MirrorClient mirrorClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final String name = InProcessServerBuilder.generateName();
+
+        server = InProcessServerBuilder.forName(name)
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+                    queries.add(request);
+
+                    final Instant start = TimestampHelper.timestampTo(request.getConsensusStartTime());
+                    final Instant end = TimestampHelper.timestampTo(request.getConsensusEndTime());
+
+                    // message N reaches consensus N minutes after the epoch
+                    for (long i = 1; i <= MESSAGE_COUNT; i += 1) {
+                        final Instant timestamp = Instant.ofEpochSecond(i * 60);
+
+                        if (!timestamp.isBefore(start) && timestamp.isBefore(end)) {
+                            observer.onNext(message(i));
+                        }
+                    }
+
+                    observer.onCompleted();
+                }
+            })
+            .build()
+            .start();
+
+        mirrorClient = new MirrorClient(InProcessChannelBuilder.forName(name)::build);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mirrorClient.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("slices are merged back in order with a bounded buffer")
+    void ordered() throws InterruptedException {
+        // the slices are 143 minutes long; the chunks straddle the third boundary
+        chunked = 428;
+
+        run(new TopicBackfill(mirrorClient, query())
+            .setSliceCount(7)
+            .setParallelism(3)
+            .setMaxBufferedMessages(12));
+
+        assertEquals(expected(), received);
+        assertEquals(7, queries.size());
+
+        // each slice (but the first) started a little early for chunks from the slice before
+        final Set<Instant> starts = new HashSet<>();
+
+        for (ConsensusTopicQuery query : queries) {
+            starts.add(TimestampHelper.timestampTo(query.getConsensusStartTime()));
+        }
+
+        for (long boundary = 143; boundary < MESSAGE_COUNT; boundary += 143) {
+            assertTrue(starts.contains(Instant.ofEpochSecond(boundary * 60).minus(TopicBackfill.CHUNK_OVERLAP)));
+        }
+    }
+
+    @Test
+    @DisplayName("slices can be delivered unordered")
+    void unordered() throws InterruptedException {
+        // the slices are 200.2 minutes long; the chunks straddle the second boundary
+        chunked = 400;
+
+        run(new TopicBackfill(mirrorClient, query())
+            .setSliceCount(5)
+            .setParallelism(5)
+            .setOrdered(false));
+
+        final List<Long> sorted = new ArrayList<>(received);
+        Collections.sort(sorted);
+
+        assertEquals(expected(), sorted);
+    }
+
+    @Test
+    @DisplayName("short ranges are split into fewer slices")
+    void shortRanges() throws InterruptedException {
+        // outside of both ranges
+        chunked = 500;
+
+        // a range of 2 seconds around the first message is a single slice
+        run(new TopicBackfill(mirrorClient, query()
+            .setStartTime(Instant.ofEpochSecond(59))
+            .setEndTime(Instant.ofEpochSecond(61))));
+
+        assertEquals(Collections.singletonList(1L), received);
+        assertEquals(1, queries.size());
+
+        received.clear();
+        queries.clear();
+
+        // 10 minutes only fit 3 slices of at least CHUNK_OVERLAP, instead of the default 16
+        run(new TopicBackfill(mirrorClient, query()
+            .setEndTime(Instant.ofEpochSecond(10 * 60))));
+
+        assertEquals(LongStream.rangeClosed(1, 9).boxed().collect(Collectors.toList()), received);
+        assertEquals(3, queries.size());
+    }
+
+    private void run(TopicBackfill backfill) throws InterruptedException {
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        backfill.start(message -> {
+            assertEquals(1, concurrentCalls.incrementAndGet());
+            received.add(message.sequenceNumber);
+            concurrentCalls.decrementAndGet();
+        }, error -> {
+            errors.add(error);
+            completed.countDown();
+        }, completed::countDown);
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(Collections.emptyList(), errors);
+    }
+
+    private static MirrorConsensusTopicQuery query() {
+        return new MirrorConsensusTopicQuery()
+            .setTopicId(new ConsensusTopicId(1000))
+            .setStartTime(Instant.EPOCH)
+            .setEndTime(Instant.ofEpochSecond((MESSAGE_COUNT + 1) * 60));
+    }
+
+    private List<Long> expected() {
+        final List<Long> expected = new ArrayList<>();
+
+        for (long i = 1; i <= MESSAGE_COUNT; i += 1) {
+            // the first chunk is only delivered as part of the message completed by the second
+            if (i != chunked) {
+                expected.add(i);
+            }
+        }
+
+        return expected;
+    }
+
+    private ConsensusTopicResponse message(long sequenceNumber) {
+        final ConsensusTopicResponse.Builder message = ConsensusTopicResponse.newBuilder()
+            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(sequenceNumber * 60))
+            .setSequenceNumber(sequenceNumber)
+            .setMessage(ByteString.copyFromUtf8("message " + sequenceNumber));
+
+        if (sequenceNumber == chunked || sequenceNumber == chunked + 1) {
+            message.setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                .setInitialTransactionID(TransactionID.newBuilder()
+                    .setTransactionValidStart(Timestamp.newBuilder().setSeconds(chunked * 60)))
+                .setTotal(2)
+                .setNumber((int) (sequenceNumber - chunked + 1)));
+        }
+
+        return message.build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.hedera.hashgraph.sdk.mirror;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.proto.Timestamp;
+import com.hedera.hashgraph.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.proto.mirror.ConsensusTopicResponse;
+import com.hedera.hashgraph.sdk.consensus.ConsensusTopicId;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicSubscriptionManagerTest {
+    private static final int TOPICS = 8;
+
+    private static final int MESSAGES = 100;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private Server server;
+
+    private MirrorClient mirrorClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final String name = InProcessServerBuilder.generateName();
+
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                @Override
+                public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+                    for (long i = 1; i <= request.getLimit(); i += 1) {
+                        observer.onNext(ConsensusTopicResponse.newBuilder()
+                            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(i))
+                            .setSequenceNumber(i)
+                            .setMessage(ByteString.copyFromUtf8("message " + i))
+                            .build());
+                    }
+
+                    observer.onCompleted();
+                }
+            })
+            .build()
+            .start();
+
+        mirrorClient = new MirrorClient(InProcessChannelBuilder.forName(name).directExecutor()::build);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mirrorClient.close();
+        server.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("topics are dispatched in order and measured")
+    void dispatchesInOrder() throws InterruptedException {
+        final TopicSubscriptionManager manager = mirrorClient.newSubscriptionManager(3, executor);
+        final Map<ConsensusTopicId, List<Long>> received = new ConcurrentHashMap<>();
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(TOPICS * MESSAGES);
+
+        for (int topic = 1; topic <= TOPICS; topic += 1) {
+            final ConsensusTopicId topicId = new ConsensusTopicId(topic);
+            final List<Long> messages = Collections.synchronizedList(new ArrayList<>());
+
+            received.put(topicId, messages);
+
+            manager.subscribe(new MirrorConsensusTopicQuery().setTopicId(topicId).setLimit(MESSAGES), message -> {
+                messages.add(message.sequenceNumber);
+                latch.countDown();
+            }, errors::add);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Collections.emptyList(), errors);
+
+        final List<Long> expected = LongStream.rangeClosed(1, MESSAGES).boxed().collect(Collectors.toList());
+
+        for (Map.Entry<ConsensusTopicId, List<Long>> entry : received.entrySet()) {
+            assertEquals(expected, entry.getValue());
+
+            final TopicMetrics metrics = manager.getMetrics(entry.getKey());
+            assertNotNull(metrics);
+            assertEquals(MESSAGES, metrics.getMessageCount());
+            assertEquals(0, metrics.getPendingCount());
+            assertEquals(MESSAGES, metrics.getLastConsensusTimestamp().getEpochSecond());
+            assertTrue(metrics.getMessageRate() > 0);
+        }
+
+        manager.close();
+
+        assertNull(manager.getMetrics(new ConsensusTopicId(1)));
+    }
+
+    @Test
+    @DisplayName("a topic keeps its state while it has subscriptions")
+    void sharesTopicState() throws InterruptedException {
+        final TopicSubscriptionManager manager = mirrorClient.newSubscriptionManager(3, executor);
+        final ConsensusTopicId topicId = new ConsensusTopicId(1);
+        final MirrorConsensusTopicQuery query = new MirrorConsensusTopicQuery().setTopicId(topicId).setLimit(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final MirrorSubscriptionHandle first = manager.subscribe(query, message -> { }, error -> { });
+        final TopicMetrics metrics = manager.getMetrics(topicId);
+        final MirrorSubscriptionHandle second = manager.subscribe(query, message -> latch.countDown(), error -> { });
+
+        first.unsubscribe();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertSame(metrics, manager.getMetrics(topicId));
+
+        second.unsubscribe();
+
+        assertNull(manager.getMetrics(topicId));
+
+        manager.close();
+
+        assertThrows(IllegalStateException.class, () -> manager.subscribe(query, message -> { }, error -> { }));
+        assertEquals(Collections.emptyList(), manager.getTopicIds());
+    }
+}